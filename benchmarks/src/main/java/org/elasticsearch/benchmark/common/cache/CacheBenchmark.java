@@ -0,0 +1,113 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.common.cache;
+
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link Cache} under contention. Keys follow a skewed distribution so that most reads hit a
+ * small set of hot entries, like the request cache or the roles cache do in practice, and a fraction of the operations
+ * load keys that are mostly used once, like a scan, to exercise eviction.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class CacheBenchmark {
+    private static final int MASK = (1 << 16) - 1;
+
+    @Param({ "false", "true" })
+    private boolean frequencyAwareEviction;
+
+    @Param({ "1000", "10000" })
+    private int maximumWeight;
+
+    // percentage of the operations that load a key which is unlikely to be in the cache
+    @Param({ "0", "10" })
+    private int scanPercentage;
+
+    private Cache<Integer, Integer> cache;
+    private int[] keys;
+
+    @Setup
+    public void setup() {
+        cache = CacheBuilder.<Integer, Integer>builder()
+            .setMaximumWeight(maximumWeight)
+            .setFrequencyAwareEviction(frequencyAwareEviction)
+            .build();
+        Random random = new Random(0);
+        keys = new int[MASK + 1];
+        for (int i = 0; i < keys.length; i++) {
+            // the square of a uniform value favors small keys, the hottest keys fit in the cache
+            double uniform = random.nextDouble();
+            keys[i] = (int) (uniform * uniform * maximumWeight * 4);
+        }
+        for (int i = 0; i < maximumWeight; i++) {
+            cache.put(i, i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private final Random random = new Random();
+        private int index = new Random().nextInt();
+    }
+
+    private Integer next(ThreadState state) throws ExecutionException {
+        state.index++;
+        int key = keys[state.index & MASK];
+        if (scanPercentage > 0 && state.random.nextInt(100) < scanPercentage) {
+            key = Integer.MAX_VALUE - state.random.nextInt(Integer.MAX_VALUE / 2);
+        }
+        return cache.computeIfAbsent(key, k -> k);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer computeIfAbsent_01(ThreadState state) throws ExecutionException {
+        return next(state);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer computeIfAbsent_08(ThreadState state) throws ExecutionException {
+        return next(state);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Integer computeIfAbsent_32(ThreadState state) throws ExecutionException {
+        return next(state);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Integer computeIfAbsent_64(ThreadState state) throws ExecutionException {
+        return next(state);
+    }
+}
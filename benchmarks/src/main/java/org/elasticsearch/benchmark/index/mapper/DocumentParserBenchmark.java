@@ -0,0 +1,151 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.index.mapper;
+
+import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.index.mapper.LuceneDocument;
+import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.SourceToParse;
+import org.elasticsearch.xcontent.XContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of documents into Lucene documents, with field names that are either dotted or nested in objects
+ * and with fields that aren't mapped. Run with {@code -prof gc} to compare the allocation rate per parsed document.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DocumentParserBenchmark {
+
+    @Param({ "1600172297" })
+    private long seed;
+
+    @Param({ "objects", "dotted" })
+    private String notation;
+
+    @Param({ "0", "10" })
+    private int unmappedFields;
+
+    private Random random;
+    private MapperService mapperService;
+    private SourceToParse[] sources;
+
+    @Setup
+    public void setUp() {
+        this.random = new Random(seed);
+        this.mapperService = MapperServiceFactory.create("""
+            {
+              "_doc": {
+                "dynamic": false,
+                "properties": {
+                  "@timestamp": {
+                    "type": "date"
+                  },
+                  "host": {
+                    "properties": {
+                      "name": {
+                        "type": "keyword"
+                      },
+                      "ip": {
+                        "type": "ip"
+                      }
+                    }
+                  },
+                  "http": {
+                    "properties": {
+                      "request": {
+                        "properties": {
+                          "method": {
+                            "type": "keyword"
+                          },
+                          "bytes": {
+                            "type": "long"
+                          }
+                        }
+                      },
+                      "response": {
+                        "properties": {
+                          "status_code": {
+                            "type": "long"
+                          },
+                          "bytes": {
+                            "type": "long"
+                          }
+                        }
+                      }
+                    }
+                  }
+                }
+              }
+            }
+            """);
+        this.sources = new SourceToParse[10_000];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = generateRandomDocument();
+        }
+    }
+
+    private SourceToParse generateRandomDocument() {
+        StringBuilder source = new StringBuilder("{\"@timestamp\":").append(System.currentTimeMillis());
+        if (notation.equals("dotted")) {
+            source.append(",\"host.name\":\"").append(randomFrom("host-1", "host-2", "host-3")).append('"');
+            source.append(",\"host.ip\":\"").append(randomIp()).append('"');
+            source.append(",\"http.request.method\":\"").append(randomFrom("GET", "POST")).append('"');
+            source.append(",\"http.request.bytes\":").append(random.nextInt(1024));
+            source.append(",\"http.response.status_code\":").append(randomFrom(200, 204, 300, 404, 500));
+            source.append(",\"http.response.bytes\":").append(random.nextInt(1024));
+        } else {
+            source.append(",\"host\":{\"name\":\"").append(randomFrom("host-1", "host-2", "host-3")).append('"');
+            source.append(",\"ip\":\"").append(randomIp()).append("\"}");
+            source.append(",\"http\":{\"request\":{\"method\":\"").append(randomFrom("GET", "POST")).append('"');
+            source.append(",\"bytes\":").append(random.nextInt(1024)).append('}');
+            source.append(",\"response\":{\"status_code\":").append(randomFrom(200, 204, 300, 404, 500));
+            source.append(",\"bytes\":").append(random.nextInt(1024)).append("}}");
+        }
+        for (int i = 0; i < unmappedFields; i++) {
+            source.append(",\"unmapped_").append(i).append("\":\"").append(random.nextInt()).append('"');
+        }
+        source.append('}');
+        return new SourceToParse(UUIDs.randomBase64UUID(), new BytesArray(source.toString()), XContentType.JSON);
+    }
+
+    private String randomIp() {
+        return "" + random.nextInt(255) + '.' + random.nextInt(255) + '.' + random.nextInt(255) + '.' + random.nextInt(255);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    private <T> T randomFrom(T... items) {
+        return items[random.nextInt(items.length)];
+    }
+
+    @Benchmark
+    public List<LuceneDocument> benchmarkParseDocument() {
+        return mapperService.documentMapper().parse(randomFrom(sources)).docs();
+    }
+}
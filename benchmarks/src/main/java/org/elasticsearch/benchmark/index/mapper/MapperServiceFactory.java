@@ -68,7 +68,8 @@ public class MapperServiceFactory {
                 public <T> T compile(Script script, ScriptContext<T> scriptContext) {
                     throw new UnsupportedOperationException();
                 }
-            }
+            },
+            query -> { throw new UnsupportedOperationException(); }
         );
 
         try {
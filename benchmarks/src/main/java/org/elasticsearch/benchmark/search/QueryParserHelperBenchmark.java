@@ -189,7 +189,8 @@ public class QueryParserHelperBenchmark {
                 public <T> T compile(Script script, ScriptContext<T> scriptContext) {
                     throw new UnsupportedOperationException();
                 }
-            }
+            },
+            query -> { throw new UnsupportedOperationException(); }
         );
 
         try {
@@ -41,7 +41,7 @@ public class SourceFilteringBenchmark {
     private BytesReference sourceBytes;
     private SourceFilter filter;
 
-    @Param({ "tiny", "short", "one_4k_field", "one_4m_field" })
+    @Param({ "tiny", "short", "one_4k_field", "one_4m_field", "wide" })
     private String source;
     @Param({ "message" })
     private String includes;
@@ -55,6 +55,7 @@ public class SourceFilteringBenchmark {
             case "short" -> read300BytesExample();
             case "one_4k_field" -> buildBigExample("huge".repeat(1024));
             case "one_4m_field" -> buildBigExample("huge".repeat(1024 * 1024));
+            case "wide" -> buildWideExample(500);
             default -> throw new IllegalArgumentException("Unknown source [" + source + "]");
         };
         FetchSourceContext fetchContext = FetchSourceContext.of(
@@ -75,6 +76,15 @@ public class SourceFilteringBenchmark {
         return new BytesArray(bigger);
     }
 
+    private BytesReference buildWideExample(int numFields) throws IOException {
+        StringBuilder wide = new StringBuilder("{");
+        for (int i = 0; i < numFields; i++) {
+            wide.append("\"field_").append(i).append("\": \"value_").append(i).append("\",");
+        }
+        String example = read300BytesExample().utf8ToString();
+        return new BytesArray(wide.append(example.substring(1)).toString());
+    }
+
     // We want to compare map filtering with bytes filtering when the map has already
     // been parsed.
 
@@ -91,4 +101,11 @@ public class SourceFilteringBenchmark {
         source.source();    // build map
         return filter.filterBytes(source);
     }
+
+    // And how the fetch phase filters a source that was just loaded.
+
+    @Benchmark
+    public Source filterUnparsed() {
+        return Source.fromBytes(sourceBytes).filter(filter);
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.transport;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
+
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.http.netty4.Netty4HttpServerTransport;
+import org.elasticsearch.transport.netty4.CopyBytesToHeapHandler;
+import org.elasticsearch.transport.netty4.Netty4Transport;
+import org.elasticsearch.transport.netty4.SharedGroupFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the round trip of a message over a loopback connection between two channels of the shared event loop groups of the
+ * Netty transport, with the NIO or the native epoll event loops and channels. The server echoes every message back to the client.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 7)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1)
+public class Netty4TransportTypeBenchmark {
+
+    // epoll_tcp_cork sets TCP_CORK on the epoll channels
+    @Param({ "nio", "epoll", "epoll_tcp_cork" })
+    private String transportType;
+
+    @Param({ "128", "16384", "1048576" })
+    private int messageSize;
+
+    private SharedGroupFactory.SharedGroup group;
+    private Channel serverChannel;
+    private Channel clientChannel;
+    private ByteBuf message;
+
+    private final AtomicLong receivedBytes = new AtomicLong();
+    private volatile CountDownLatch roundTrip;
+
+    @Setup
+    public void setUp() throws Exception {
+        final boolean tcpCork = transportType.equals("epoll_tcp_cork");
+        final Settings settings = Settings.builder()
+            .put(Netty4Transport.WORKER_COUNT.getKey(), 2)
+            .put(Netty4HttpServerTransport.SETTING_HTTP_WORKER_COUNT.getKey(), 0)
+            .put(Netty4Transport.NETTY_TRANSPORT_TYPE.getKey(), tcpCork ? "epoll" : transportType)
+            .build();
+        final SharedGroupFactory groupFactory = new SharedGroupFactory(settings);
+        if (groupFactory.getTransportType() != Netty4Transport.NETTY_TRANSPORT_TYPE.get(settings)) {
+            throw new IllegalStateException("transport type [" + transportType + "] is not available on this platform");
+        }
+        group = groupFactory.getTransportGroup();
+
+        final ServerBootstrap serverBootstrap = new ServerBootstrap().group(group.getLowLevelGroup())
+            .channel(group.getServerChannelType())
+            .option(ChannelOption.ALLOCATOR, group.getAllocator())
+            .childOption(ChannelOption.ALLOCATOR, group.getAllocator())
+            .childOption(ChannelOption.TCP_NODELAY, true)
+            .childHandler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    if (CopyBytesToHeapHandler.isNeeded(ch)) {
+                        ch.pipeline().addLast(CopyBytesToHeapHandler.INSTANCE);
+                    }
+                    ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            ctx.writeAndFlush(msg);
+                        }
+                    });
+                }
+            });
+        if (tcpCork) {
+            serverBootstrap.childOption(EpollChannelOption.TCP_CORK, true);
+        }
+        serverChannel = serverBootstrap.bind(InetAddress.getLoopbackAddress(), 0).sync().channel();
+
+        final Bootstrap clientBootstrap = new Bootstrap().group(group.getLowLevelGroup())
+            .channel(group.getChannelType())
+            .option(ChannelOption.ALLOCATOR, group.getAllocator())
+            .option(ChannelOption.TCP_NODELAY, true)
+            .handler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    if (CopyBytesToHeapHandler.isNeeded(ch)) {
+                        ch.pipeline().addLast(CopyBytesToHeapHandler.INSTANCE);
+                    }
+                    ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            final ByteBuf buf = (ByteBuf) msg;
+                            try {
+                                if (receivedBytes.addAndGet(buf.readableBytes()) >= messageSize) {
+                                    roundTrip.countDown();
+                                }
+                            } finally {
+                                buf.release();
+                            }
+                        }
+                    });
+                }
+            });
+        if (tcpCork) {
+            clientBootstrap.option(EpollChannelOption.TCP_CORK, true);
+        }
+        clientChannel = clientBootstrap.connect(serverChannel.localAddress()).sync().channel();
+
+        message = group.getAllocator().heapBuffer(messageSize);
+        for (int i = 0; i < messageSize; i++) {
+            message.writeByte(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        message.release();
+        clientChannel.close().sync();
+        serverChannel.close().sync();
+        group.shutdown();
+    }
+
+    @Benchmark
+    public long roundTrip() throws InterruptedException {
+        receivedBytes.set(0);
+        roundTrip = new CountDownLatch(1);
+        clientChannel.writeAndFlush(message.retainedDuplicate());
+        if (roundTrip.await(10, TimeUnit.SECONDS) == false) {
+            throw new IllegalStateException("round trip did not complete");
+        }
+        return receivedBytes.get();
+    }
+}
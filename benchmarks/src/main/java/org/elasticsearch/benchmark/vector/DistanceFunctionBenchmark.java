@@ -40,6 +40,8 @@ import java.util.function.Consumer;
  * fork, measurement, and operations per invocation. (Note
  * to also update the benchmark loop if operations per invocation
  * is increased.)
+ * The functions run with their scalar implementation here, see
+ * {@link DistanceFunctionVectorizedBenchmark} for the vectorized one.
  */
 @Fork(1)
 @Warmup(iterations = 1)
@@ -53,7 +55,7 @@ public class DistanceFunctionBenchmark {
     @Param({ "float", "byte" })
     private String element;
 
-    @Param({ "96" })
+    @Param({ "96", "768" })
     private int dims;
 
     @Param({ "dot", "cosine", "l1", "l2" })
@@ -0,0 +1,28 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.vector;
+
+import org.elasticsearch.simdvec.ESVectorUtil;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Runs the benchmarks of {@link DistanceFunctionBenchmark} with the vector API enabled, so that the results of the two
+ * benchmarks compare the vectorized distance functions against their scalar fallback.
+ */
+@Fork(value = 1, jvmArgsAppend = { "--add-modules=jdk.incubator.vector" })
+public class DistanceFunctionVectorizedBenchmark extends DistanceFunctionBenchmark {
+
+    @Setup
+    public void checkVectorized() {
+        if (ESVectorUtil.isVectorized() == false) {
+            throw new IllegalStateException("the distance functions are not vectorized on this platform");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.index.engine;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.index.mapper.Uid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reproduces the access pattern of the engine on the {@link LiveVersionMap} of a shard that receives updates: every operation
+ * locks its uid, reads the current version and stores the new one, and the shard is refreshed every {@code refreshEvery}
+ * operations, e.g. every second for 20k updates per second. Run with {@code -prof gc} to compare the allocation rates.
+ * <p>
+ * This benchmark lives in the package of the engine since the version map is package private.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class LiveVersionMapBenchmark {
+
+    @Param({ "10000", "1000000" })
+    private int numIds;
+
+    @Param({ "20000" })
+    private int refreshEvery;
+
+    private LiveVersionMap versionMap;
+    private BytesRef[] uids;
+    private final AtomicLong seqNo = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        versionMap = new LiveVersionMap();
+        // updates of existing documents need the version map, like when documents are not appended with auto generated ids
+        versionMap.enforceSafeAccess();
+        uids = new BytesRef[numIds];
+        for (int i = 0; i < numIds; i++) {
+            uids[i] = Uid.encodeId(Integer.toString(i));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private final Random random = new Random();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public VersionValue update(ThreadState state) throws IOException {
+        final BytesRef uid = uids[state.random.nextInt(uids.length)];
+        final long opSeqNo = seqNo.incrementAndGet();
+        final VersionValue previous;
+        try (Releasable ignored = versionMap.acquireLock(uid)) {
+            previous = versionMap.getUnderLock(uid);
+            final long version = previous == null ? 1 : previous.version + 1;
+            versionMap.putIndexUnderLock(uid, new IndexVersionValue(null, version, opSeqNo, 1));
+        }
+        if (opSeqNo % refreshEvery == 0) {
+            versionMap.beforeRefresh();
+            versionMap.afterRefresh(true);
+        }
+        return previous;
+    }
+}
@@ -62,6 +62,8 @@ final class SystemJvmOptions {
              * TODO: either modularlize Elasticsearch so that we can limit the opening of this module, or find an alternative
              */
             "--add-opens=java.base/java.io=ALL-UNNAMED",
+            // the vector API is used to compute vector similarities with SIMD instructions, see org.elasticsearch.simdvec.ESVectorUtil
+            "--add-modules=jdk.incubator.vector",
             maybeOverrideDockerCgroup()
         ).stream().filter(e -> e.isEmpty() == false).collect(Collectors.toList());
     }
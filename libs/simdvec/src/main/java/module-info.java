@@ -0,0 +1,14 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+module org.elasticsearch.simdvec {
+    // optional, the scalar implementation is used when the module is not added to the boot layer
+    requires static jdk.incubator.vector;
+
+    exports org.elasticsearch.simdvec;
+}
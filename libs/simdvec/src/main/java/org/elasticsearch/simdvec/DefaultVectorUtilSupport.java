@@ -0,0 +1,78 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec;
+
+/**
+ * Scalar implementation of the distance functions, used when the vector API is not available.
+ */
+final class DefaultVectorUtilSupport implements VectorUtilSupport {
+
+    @Override
+    public float dotProduct(float[] a, float[] b) {
+        float result = 0f;
+        for (int i = 0; i < a.length; i++) {
+            result += a[i] * b[i];
+        }
+        return result;
+    }
+
+    @Override
+    public float squareDistance(float[] a, float[] b) {
+        float result = 0f;
+        for (int i = 0; i < a.length; i++) {
+            float diff = a[i] - b[i];
+            result += diff * diff;
+        }
+        return result;
+    }
+
+    @Override
+    public float l1Distance(float[] a, float[] b) {
+        float result = 0f;
+        for (int i = 0; i < a.length; i++) {
+            result += Math.abs(a[i] - b[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public int dotProduct(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            result += a[aOffset + i] * b[bOffset + i];
+        }
+        return result;
+    }
+
+    @Override
+    public int squareDistance(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            int diff = a[aOffset + i] - b[bOffset + i];
+            result += diff * diff;
+        }
+        return result;
+    }
+
+    @Override
+    public int l1Distance(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            int diff = a[aOffset + i] - b[bOffset + i];
+            // the difference of two bytes cannot overflow
+            result += diff < 0 ? -diff : diff;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultVectorUtilSupport";
+    }
+}
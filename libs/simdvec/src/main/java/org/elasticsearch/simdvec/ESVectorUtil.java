@@ -0,0 +1,109 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec;
+
+/**
+ * Distance functions between vectors, used to score {@code dense_vector} fields.
+ * <p>
+ * When the {@code jdk.incubator.vector} module is part of the boot layer, which is the case for Elasticsearch nodes
+ * that run with the default JVM options, the functions are implemented with the vector API so that the JIT compiles them
+ * to SIMD instructions. Otherwise they fall back to scalar loops. Both implementations accumulate floats in float
+ * precision, the results of the two implementations may differ slightly due to the different order of summation.
+ */
+public final class ESVectorUtil {
+
+    private static final VectorUtilSupport IMPL = lookup();
+
+    private ESVectorUtil() {}
+
+    static VectorUtilSupport lookup() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                if (PanamaVectorUtilSupport.isSupported()) {
+                    return new PanamaVectorUtilSupport();
+                }
+            } catch (LinkageError e) {
+                // the module is not readable from here, for instance because of a custom layer
+            }
+        }
+        return new DefaultVectorUtilSupport();
+    }
+
+    /**
+     * Returns {@code true} if the distance functions are vectorized.
+     */
+    public static boolean isVectorized() {
+        return IMPL instanceof PanamaVectorUtilSupport;
+    }
+
+    /**
+     * Returns the dot product of two float vectors of the same length.
+     */
+    public static float dotProduct(float[] a, float[] b) {
+        checkLength(a.length, b.length);
+        return IMPL.dotProduct(a, b);
+    }
+
+    /**
+     * Returns the sum of the squared differences of two float vectors of the same length.
+     */
+    public static float squareDistance(float[] a, float[] b) {
+        checkLength(a.length, b.length);
+        return IMPL.squareDistance(a, b);
+    }
+
+    /**
+     * Returns the sum of the absolute differences of two float vectors of the same length.
+     */
+    public static float l1Distance(float[] a, float[] b) {
+        checkLength(a.length, b.length);
+        return IMPL.l1Distance(a, b);
+    }
+
+    /**
+     * Returns the dot product of the {@code length} bytes of {@code a} and {@code b} starting at the given offsets.
+     */
+    public static int dotProduct(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        checkBounds(a, aOffset, b, bOffset, length);
+        return IMPL.dotProduct(a, aOffset, b, bOffset, length);
+    }
+
+    /**
+     * Returns the sum of the squared differences of the {@code length} bytes of {@code a} and {@code b} starting at the given
+     * offsets.
+     */
+    public static int squareDistance(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        checkBounds(a, aOffset, b, bOffset, length);
+        return IMPL.squareDistance(a, aOffset, b, bOffset, length);
+    }
+
+    /**
+     * Returns the sum of the absolute differences of the {@code length} bytes of {@code a} and {@code b} starting at the given
+     * offsets.
+     */
+    public static int l1Distance(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        checkBounds(a, aOffset, b, bOffset, length);
+        return IMPL.l1Distance(a, aOffset, b, bOffset, length);
+    }
+
+    private static void checkLength(int aLength, int bLength) {
+        if (aLength != bLength) {
+            throw new IllegalArgumentException("vector dimensions differ: " + aLength + " != " + bLength);
+        }
+    }
+
+    private static void checkBounds(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        if (aOffset < 0 || bOffset < 0 || length < 0 || aOffset > a.length - length || bOffset > b.length - length) {
+            throw new IndexOutOfBoundsException(
+                "invalid range [" + length + "] at offsets [" + aOffset + "] and [" + bOffset + "] of arrays of length ["
+                    + a.length + "] and [" + b.length + "]"
+            );
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.Vector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of the distance functions on top of the incubating vector API. Floats are processed with the preferred
+ * species of the platform. Bytes are widened to shorts to be multiplied and then to ints to be accumulated, which is only
+ * worth it when the platform supports 256 bits vectors, so byte vectors fall back to the scalar implementation otherwise.
+ * Remaining elements that don't fill a whole vector are processed with scalar loops.
+ */
+final class PanamaVectorUtilSupport implements VectorUtilSupport {
+
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    // 8 lanes for each of the steps from bytes to ints
+    private static final VectorSpecies<Byte> BYTE_SPECIES = ByteVector.SPECIES_64;
+    private static final VectorSpecies<Short> SHORT_SPECIES = ShortVector.SPECIES_128;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_256;
+
+    private final boolean vectorizeBytes = IntVector.SPECIES_PREFERRED.vectorBitSize() >= INT_SPECIES.vectorBitSize();
+    private final DefaultVectorUtilSupport scalar = new DefaultVectorUtilSupport();
+
+    /**
+     * Returns {@code true} if the platform has vector registers that make vectorized floats worth it.
+     */
+    static boolean isSupported() {
+        return FLOAT_SPECIES.vectorBitSize() >= 128;
+    }
+
+    @Override
+    public float dotProduct(float[] a, float[] b) {
+        int i = 0;
+        float result = 0f;
+        if (a.length >= FLOAT_SPECIES.length()) {
+            FloatVector acc = FloatVector.zero(FLOAT_SPECIES);
+            int upperBound = FLOAT_SPECIES.loopBound(a.length);
+            for (; i < upperBound; i += FLOAT_SPECIES.length()) {
+                FloatVector va = FloatVector.fromArray(FLOAT_SPECIES, a, i);
+                FloatVector vb = FloatVector.fromArray(FLOAT_SPECIES, b, i);
+                // not fma, which is very slow on platforms that don't support it natively
+                acc = acc.add(va.mul(vb));
+            }
+            result = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < a.length; i++) {
+            result += a[i] * b[i];
+        }
+        return result;
+    }
+
+    @Override
+    public float squareDistance(float[] a, float[] b) {
+        int i = 0;
+        float result = 0f;
+        if (a.length >= FLOAT_SPECIES.length()) {
+            FloatVector acc = FloatVector.zero(FLOAT_SPECIES);
+            int upperBound = FLOAT_SPECIES.loopBound(a.length);
+            for (; i < upperBound; i += FLOAT_SPECIES.length()) {
+                FloatVector diff = FloatVector.fromArray(FLOAT_SPECIES, a, i).sub(FloatVector.fromArray(FLOAT_SPECIES, b, i));
+                acc = acc.add(diff.mul(diff));
+            }
+            result = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < a.length; i++) {
+            float diff = a[i] - b[i];
+            result += diff * diff;
+        }
+        return result;
+    }
+
+    @Override
+    public float l1Distance(float[] a, float[] b) {
+        int i = 0;
+        float result = 0f;
+        if (a.length >= FLOAT_SPECIES.length()) {
+            FloatVector acc = FloatVector.zero(FLOAT_SPECIES);
+            int upperBound = FLOAT_SPECIES.loopBound(a.length);
+            for (; i < upperBound; i += FLOAT_SPECIES.length()) {
+                FloatVector diff = FloatVector.fromArray(FLOAT_SPECIES, a, i).sub(FloatVector.fromArray(FLOAT_SPECIES, b, i));
+                acc = acc.add(diff.abs());
+            }
+            result = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < a.length; i++) {
+            result += Math.abs(a[i] - b[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public int dotProduct(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        if (vectorizeBytes == false) {
+            return scalar.dotProduct(a, aOffset, b, bOffset, length);
+        }
+        int i = 0;
+        int result = 0;
+        if (length >= BYTE_SPECIES.length()) {
+            IntVector acc = IntVector.zero(INT_SPECIES);
+            int upperBound = BYTE_SPECIES.loopBound(length);
+            for (; i < upperBound; i += BYTE_SPECIES.length()) {
+                Vector<Short> va = ByteVector.fromArray(BYTE_SPECIES, a, aOffset + i).convertShape(VectorOperators.B2S, SHORT_SPECIES, 0);
+                Vector<Short> vb = ByteVector.fromArray(BYTE_SPECIES, b, bOffset + i).convertShape(VectorOperators.B2S, SHORT_SPECIES, 0);
+                // the product of two bytes always fits in a short
+                Vector<Short> product = va.mul(vb);
+                acc = acc.add(product.convertShape(VectorOperators.S2I, INT_SPECIES, 0));
+            }
+            result = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < length; i++) {
+            result += a[aOffset + i] * b[bOffset + i];
+        }
+        return result;
+    }
+
+    @Override
+    public int squareDistance(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        if (vectorizeBytes == false) {
+            return scalar.squareDistance(a, aOffset, b, bOffset, length);
+        }
+        int i = 0;
+        int result = 0;
+        if (length >= BYTE_SPECIES.length()) {
+            IntVector acc = IntVector.zero(INT_SPECIES);
+            int upperBound = BYTE_SPECIES.loopBound(length);
+            for (; i < upperBound; i += BYTE_SPECIES.length()) {
+                Vector<Short> va = ByteVector.fromArray(BYTE_SPECIES, a, aOffset + i).convertShape(VectorOperators.B2S, SHORT_SPECIES, 0);
+                Vector<Short> vb = ByteVector.fromArray(BYTE_SPECIES, b, bOffset + i).convertShape(VectorOperators.B2S, SHORT_SPECIES, 0);
+                // the difference of two bytes fits in a short, but its square does not
+                Vector<Integer> diff = va.sub(vb).convertShape(VectorOperators.S2I, INT_SPECIES, 0);
+                acc = acc.add(diff.mul(diff));
+            }
+            result = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < length; i++) {
+            int diff = a[aOffset + i] - b[bOffset + i];
+            result += diff * diff;
+        }
+        return result;
+    }
+
+    @Override
+    public int l1Distance(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        if (vectorizeBytes == false) {
+            return scalar.l1Distance(a, aOffset, b, bOffset, length);
+        }
+        int i = 0;
+        int result = 0;
+        if (length >= BYTE_SPECIES.length()) {
+            IntVector acc = IntVector.zero(INT_SPECIES);
+            int upperBound = BYTE_SPECIES.loopBound(length);
+            for (; i < upperBound; i += BYTE_SPECIES.length()) {
+                Vector<Short> va = ByteVector.fromArray(BYTE_SPECIES, a, aOffset + i).convertShape(VectorOperators.B2S, SHORT_SPECIES, 0);
+                Vector<Short> vb = ByteVector.fromArray(BYTE_SPECIES, b, bOffset + i).convertShape(VectorOperators.B2S, SHORT_SPECIES, 0);
+                acc = acc.add(va.sub(vb).abs().convertShape(VectorOperators.S2I, INT_SPECIES, 0));
+            }
+            result = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < length; i++) {
+            int diff = a[aOffset + i] - b[bOffset + i];
+            result += diff < 0 ? -diff : diff;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PanamaVectorUtilSupport(floatBitSize=" + FLOAT_SPECIES.vectorBitSize() + ", vectorizeBytes=" + vectorizeBytes + ")";
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec;
+
+/**
+ * Implementations of the distance functions of {@link ESVectorUtil}. Byte vectors are passed with offsets so that
+ * vectors that are encoded in a larger array, like the doc values of a {@code dense_vector} field, don't need to be copied.
+ */
+interface VectorUtilSupport {
+
+    float dotProduct(float[] a, float[] b);
+
+    float squareDistance(float[] a, float[] b);
+
+    float l1Distance(float[] a, float[] b);
+
+    int dotProduct(byte[] a, int aOffset, byte[] b, int bOffset, int length);
+
+    int squareDistance(byte[] a, int aOffset, byte[] b, int bOffset, int length);
+
+    int l1Distance(byte[] a, int aOffset, byte[] b, int bOffset, int length);
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.simdvec;
+
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ESVectorUtilTests extends ESTestCase {
+
+    public void testVectorizedWhenModuleIsPresent() {
+        boolean modulePresent = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        if (modulePresent == false) {
+            assertFalse(ESVectorUtil.isVectorized());
+        }
+    }
+
+    public void testFloatFunctions() {
+        for (VectorUtilSupport impl : implementations()) {
+            int dims = randomIntBetween(1, 1024);
+            float[] a = randomFloatVector(dims);
+            float[] b = randomFloatVector(dims);
+            double dot = 0;
+            double square = 0;
+            double l1 = 0;
+            for (int i = 0; i < dims; i++) {
+                dot += (double) a[i] * b[i];
+                double diff = (double) a[i] - b[i];
+                square += diff * diff;
+                l1 += Math.abs(diff);
+            }
+            double delta = 1e-4 * dims;
+            assertEquals(impl.toString(), dot, impl.dotProduct(a, b), delta);
+            assertEquals(impl.toString(), square, impl.squareDistance(a, b), delta);
+            assertEquals(impl.toString(), l1, impl.l1Distance(a, b), delta);
+        }
+    }
+
+    public void testByteFunctions() {
+        for (VectorUtilSupport impl : implementations()) {
+            int dims = randomIntBetween(1, 1024);
+            int aOffset = randomIntBetween(0, 10);
+            int bOffset = randomIntBetween(0, 10);
+            byte[] a = randomByteArrayOfLength(aOffset + dims + randomIntBetween(0, 10));
+            byte[] b = randomByteArrayOfLength(bOffset + dims + randomIntBetween(0, 10));
+            int dot = 0;
+            int square = 0;
+            int l1 = 0;
+            for (int i = 0; i < dims; i++) {
+                int x = a[aOffset + i];
+                int y = b[bOffset + i];
+                dot += x * y;
+                square += (x - y) * (x - y);
+                l1 += Math.abs(x - y);
+            }
+            assertEquals(impl.toString(), dot, impl.dotProduct(a, aOffset, b, bOffset, dims));
+            assertEquals(impl.toString(), square, impl.squareDistance(a, aOffset, b, bOffset, dims));
+            assertEquals(impl.toString(), l1, impl.l1Distance(a, aOffset, b, bOffset, dims));
+        }
+    }
+
+    public void testExtremeByteValues() {
+        for (VectorUtilSupport impl : implementations()) {
+            int dims = randomIntBetween(1, 1024);
+            byte[] min = new byte[dims];
+            byte[] max = new byte[dims];
+            for (int i = 0; i < dims; i++) {
+                min[i] = Byte.MIN_VALUE;
+                max[i] = Byte.MAX_VALUE;
+            }
+            assertEquals(impl.toString(), dims * 128 * 128, impl.dotProduct(min, 0, min, 0, dims));
+            assertEquals(impl.toString(), dims * 255 * 255, impl.squareDistance(min, 0, max, 0, dims));
+            assertEquals(impl.toString(), dims * 255, impl.l1Distance(max, 0, min, 0, dims));
+        }
+    }
+
+    public void testDimensionMismatch() {
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> ESVectorUtil.dotProduct(new float[3], new float[4])
+        );
+        assertEquals("vector dimensions differ: 3 != 4", e.getMessage());
+        expectThrows(IndexOutOfBoundsException.class, () -> ESVectorUtil.dotProduct(new byte[3], 1, new byte[3], 0, 3));
+    }
+
+    private static List<VectorUtilSupport> implementations() {
+        List<VectorUtilSupport> implementations = new ArrayList<>();
+        implementations.add(new DefaultVectorUtilSupport());
+        VectorUtilSupport impl = ESVectorUtil.lookup();
+        if (impl instanceof PanamaVectorUtilSupport) {
+            implementations.add(impl);
+        }
+        return implementations;
+    }
+
+    private static float[] randomFloatVector(int dims) {
+        float[] vector = new float[dims];
+        for (int i = 0; i < dims; i++) {
+            vector[i] = randomFloat() * 2 - 1;
+        }
+        return vector;
+    }
+}
@@ -18,7 +18,6 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.RecvByteBufAllocator;
-import io.netty.channel.socket.nio.NioChannelOption;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpContentDecompressor;
@@ -55,6 +54,7 @@ import org.elasticsearch.http.HttpServerTransport;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.tracing.Tracer;
 import org.elasticsearch.transport.netty4.AcceptChannelHandler;
+import org.elasticsearch.transport.netty4.CopyBytesToHeapHandler;
 import org.elasticsearch.transport.netty4.NetUtils;
 import org.elasticsearch.transport.netty4.Netty4Utils;
 import org.elasticsearch.transport.netty4.Netty4WriteThrottlingHandler;
@@ -214,12 +214,12 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
 
             serverBootstrap.group(sharedGroup.getLowLevelGroup());
 
-            // NettyAllocator will return the channel type designed to work with the configuredAllocator
-            serverBootstrap.channel(NettyAllocator.getServerChannelType());
+            // the shared group will return the channel type designed to work with its event loops and the allocator for that type
+            serverBootstrap.channel(sharedGroup.getServerChannelType());
 
             // Set the allocators for both the server channel and the child channels created
-            serverBootstrap.option(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator());
-            serverBootstrap.childOption(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator());
+            serverBootstrap.option(ChannelOption.ALLOCATOR, sharedGroup.getAllocator());
+            serverBootstrap.childOption(ChannelOption.ALLOCATOR, sharedGroup.getAllocator());
 
             serverBootstrap.childHandler(configureServerChannelHandler());
             serverBootstrap.handler(ServerChannelExceptionHandler.INSTANCE);
@@ -230,21 +230,22 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
             if (SETTING_HTTP_TCP_KEEP_ALIVE.get(settings)) {
                 // Netty logs a warning if it can't set the option, so try this only on supported platforms
                 if (IOUtils.LINUX || IOUtils.MAC_OS_X) {
+                    final boolean epoll = sharedGroup.isEpoll();
                     if (SETTING_HTTP_TCP_KEEP_IDLE.get(settings) >= 0) {
                         serverBootstrap.childOption(
-                            NioChannelOption.of(NetUtils.getTcpKeepIdleSocketOption()),
+                            NetUtils.getTcpKeepIdleChannelOption(epoll),
                             SETTING_HTTP_TCP_KEEP_IDLE.get(settings)
                         );
                     }
                     if (SETTING_HTTP_TCP_KEEP_INTERVAL.get(settings) >= 0) {
                         serverBootstrap.childOption(
-                            NioChannelOption.of(NetUtils.getTcpKeepIntervalSocketOption()),
+                            NetUtils.getTcpKeepIntervalChannelOption(epoll),
                             SETTING_HTTP_TCP_KEEP_INTERVAL.get(settings)
                         );
                     }
                     if (SETTING_HTTP_TCP_KEEP_COUNT.get(settings) >= 0) {
                         serverBootstrap.childOption(
-                            NioChannelOption.of(NetUtils.getTcpKeepCountSocketOption()),
+                            NetUtils.getTcpKeepCountChannelOption(epoll),
                             SETTING_HTTP_TCP_KEEP_COUNT.get(settings)
                         );
                     }
@@ -352,6 +353,9 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
         protected void initChannel(Channel ch) throws Exception {
             Netty4HttpChannel nettyHttpChannel = new Netty4HttpChannel(ch);
             ch.attr(HTTP_CHANNEL_KEY).set(nettyHttpChannel);
+            if (CopyBytesToHeapHandler.isNeeded(ch)) {
+                ch.pipeline().addLast("copy_to_heap", CopyBytesToHeapHandler.INSTANCE);
+            }
             if (acceptChannelPredicate != null) {
                 ch.pipeline()
                     .addLast(
@@ -0,0 +1,55 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport.netty4;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+/**
+ * Copies the bytes that a channel of the native epoll transport reads into direct buffers to heap buffers, and releases the
+ * direct buffers. Messages are aggregated and retained on heap, where the circuit breakers account for them, rather than in
+ * direct memory. This is the equivalent of {@link CopyBytesSocketChannel} for the channels that need direct buffers, see
+ * {@link NettyAllocator#getNativeTransportAllocator()}.
+ */
+@ChannelHandler.Sharable
+public class CopyBytesToHeapHandler extends ChannelInboundHandlerAdapter {
+
+    public static final CopyBytesToHeapHandler INSTANCE = new CopyBytesToHeapHandler();
+
+    private CopyBytesToHeapHandler() {
+        // sharable singleton
+    }
+
+    /**
+     * Returns whether the pipeline of the given channel needs this handler, i.e. whether the channel reads into direct buffers
+     * although the configured allocator does not allocate direct buffers.
+     */
+    public static boolean isNeeded(Channel channel) {
+        return channel.config().getAllocator() instanceof NettyAllocator.DirectIoBuffers;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof ByteBuf buf && buf.isDirect()) {
+            final ByteBuf heapBuf;
+            try {
+                heapBuf = ctx.alloc().heapBuffer(buf.readableBytes());
+                heapBuf.writeBytes(buf);
+            } finally {
+                buf.release();
+            }
+            ctx.fireChannelRead(heapBuf);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
@@ -8,6 +8,11 @@
 
 package org.elasticsearch.transport.netty4;
 
+import io.netty.channel.ChannelException;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollSocketChannelConfig;
+import io.netty.channel.socket.nio.NioChannelOption;
 import jdk.net.ExtendedSocketOptions;
 
 import org.elasticsearch.core.SuppressForbidden;
@@ -52,6 +57,27 @@ public class NetUtils {
         return ExtendedSocketOptions.TCP_KEEPCOUNT;
     }
 
+    /**
+     * Returns the channel option for TCP_KEEPIDLE of the channels of the NIO or of the native epoll transport.
+     */
+    public static ChannelOption<Integer> getTcpKeepIdleChannelOption(boolean epoll) {
+        return epoll ? EpollChannelOption.TCP_KEEPIDLE : NioChannelOption.of(getTcpKeepIdleSocketOption());
+    }
+
+    /**
+     * Returns the channel option for TCP_KEEPINTERVAL of the channels of the NIO or of the native epoll transport.
+     */
+    public static ChannelOption<Integer> getTcpKeepIntervalChannelOption(boolean epoll) {
+        return epoll ? EpollChannelOption.TCP_KEEPINTVL : NioChannelOption.of(getTcpKeepIntervalSocketOption());
+    }
+
+    /**
+     * Returns the channel option for TCP_KEEPCOUNT of the channels of the NIO or of the native epoll transport.
+     */
+    public static ChannelOption<Integer> getTcpKeepCountChannelOption(boolean epoll) {
+        return epoll ? EpollChannelOption.TCP_KEEPCNT : NioChannelOption.of(getTcpKeepCountSocketOption());
+    }
+
     /**
      * If SO_KEEPALIVE is enabled (default), this method ensures sane default values for the extended socket options
      * TCP_KEEPIDLE and TCP_KEEPINTERVAL. The default value for TCP_KEEPIDLE is system dependent, but is typically 2 hours.
@@ -76,6 +102,25 @@ public class NetUtils {
         }
     }
 
+    /**
+     * Same as {@link #tryEnsureReasonableKeepAliveConfig(NetworkChannel)} for the channels of the native epoll transport.
+     */
+    public static void tryEnsureReasonableKeepAliveConfig(EpollSocketChannelConfig config) {
+        assert config != null;
+        try {
+            if (config.isKeepAlive()) {
+                if (config.getTcpKeepIdle() > 300) {
+                    config.setTcpKeepIdle(300);
+                }
+                if (config.getTcpKeepIntvl() > 300) {
+                    config.setTcpKeepIntvl(300);
+                }
+            }
+        } catch (ChannelException e) {
+            // Getting an exception here should be ok when concurrently closing the channel
+        }
+    }
+
     private static void setMinValueForSocketOption(NetworkChannel socketChannel, SocketOption<Integer> option, int minValue) {
         Objects.requireNonNull(option);
         if (socketChannel.supportedOptions().contains(option)) {
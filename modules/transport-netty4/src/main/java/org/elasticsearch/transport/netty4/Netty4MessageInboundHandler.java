@@ -45,6 +45,7 @@ public class Netty4MessageInboundHandler extends ChannelInboundHandlerAdapter {
             threadPool::relativeTimeInMillis,
             transport.getInflightBreaker(),
             requestHandlers::getHandler,
+            transport.getResponseHandlers()::getAction,
             transport::inboundMessage,
             transport.ignoreDeserializationErrors()
         );
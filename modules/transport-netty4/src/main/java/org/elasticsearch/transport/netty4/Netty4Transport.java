@@ -19,7 +19,8 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.RecvByteBufAllocator;
-import io.netty.channel.socket.nio.NioChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.util.AttributeKey;
 
 import org.apache.logging.log4j.LogManager;
@@ -40,6 +41,7 @@ import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.core.SuppressForbidden;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.TcpTransport;
@@ -88,10 +90,46 @@ public class Netty4Transport extends TcpTransport {
 
     public static final Setting<Integer> NETTY_BOSS_COUNT = intSetting("transport.netty.boss_count", 1, 1, Property.NodeScope);
 
+    /**
+     * The implementation of the event loops and channels of the transport and HTTP layers. The native epoll transport is only
+     * available on Linux; if it is configured but not available then the node logs a warning and uses NIO.
+     */
+    public static final Setting<SharedGroupFactory.TransportType> NETTY_TRANSPORT_TYPE = Setting.enumSetting(
+        SharedGroupFactory.TransportType.class,
+        "transport.netty.transport_type",
+        SharedGroupFactory.TransportType.NIO,
+        Property.NodeScope
+    );
+
+    /**
+     * Whether to set {@code TCP_CORK} on the transport channels of the epoll transport, which only sends full segments. Linux sends
+     * partial segments that are corked for 200ms at most, so this trades the latency of small messages for fewer packets.
+     * Ignored with NIO.
+     */
+    public static final Setting<Boolean> NETTY_EPOLL_TCP_CORK = Setting.boolSetting(
+        "transport.netty.epoll.tcp_cork",
+        false,
+        Property.NodeScope
+    );
+
+    /**
+     * The value of {@code SO_BUSY_POLL} on the transport channels of the epoll transport, i.e. how long a read on a channel
+     * busy polls the device queue for new packets. Zero disables busy polling. Values above the {@code net.core.busy_read}
+     * sysctl need {@code CAP_NET_ADMIN}. Ignored with NIO.
+     */
+    public static final Setting<TimeValue> NETTY_EPOLL_BUSY_POLL = Setting.timeSetting(
+        "transport.netty.epoll.busy_poll",
+        TimeValue.ZERO,
+        TimeValue.ZERO,
+        Property.NodeScope
+    );
+
     private final SharedGroupFactory sharedGroupFactory;
     private final RecvByteBufAllocator recvByteBufAllocator;
     private final ByteSizeValue receivePredictorMin;
     private final ByteSizeValue receivePredictorMax;
+    private final boolean tcpCork;
+    private final int busyPollMicros;
     private final Map<String, ServerBootstrap> serverBootstraps = newConcurrentMap();
     private volatile Bootstrap clientBootstrap;
     private volatile SharedGroupFactory.SharedGroup sharedGroup;
@@ -114,6 +152,8 @@ public class Netty4Transport extends TcpTransport {
         // See AdaptiveReceiveBufferSizePredictor#DEFAULT_XXX for default values in netty..., we can use higher ones for us, even fixed one
         this.receivePredictorMin = NETTY_RECEIVE_PREDICTOR_MIN.get(settings);
         this.receivePredictorMax = NETTY_RECEIVE_PREDICTOR_MAX.get(settings);
+        this.tcpCork = NETTY_EPOLL_TCP_CORK.get(settings);
+        this.busyPollMicros = Math.toIntExact(NETTY_EPOLL_BUSY_POLL.get(settings).micros());
         if (receivePredictorMax.getBytes() == receivePredictorMin.getBytes()) {
             recvByteBufAllocator = new FixedRecvByteBufAllocator((int) receivePredictorMax.getBytes());
         } else {
@@ -154,29 +194,29 @@ public class Netty4Transport extends TcpTransport {
         final Bootstrap bootstrap = new Bootstrap();
         bootstrap.group(sharedGroupForBootstrap.getLowLevelGroup());
 
-        // NettyAllocator will return the channel type designed to work with the configured allocator
-        assert Netty4NioSocketChannel.class.isAssignableFrom(NettyAllocator.getChannelType());
-        bootstrap.channel(NettyAllocator.getChannelType());
-        bootstrap.option(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator());
+        // the shared group will return the channel type designed to work with its event loops and the allocator for that type
+        bootstrap.channel(sharedGroupForBootstrap.getChannelType());
+        bootstrap.option(ChannelOption.ALLOCATOR, sharedGroupForBootstrap.getAllocator());
 
+        final boolean epoll = sharedGroupForBootstrap.isEpoll();
         bootstrap.option(ChannelOption.TCP_NODELAY, TransportSettings.TCP_NO_DELAY.get(settings));
         bootstrap.option(ChannelOption.SO_KEEPALIVE, TransportSettings.TCP_KEEP_ALIVE.get(settings));
         if (TransportSettings.TCP_KEEP_ALIVE.get(settings)) {
             // Note that Netty logs a warning if it can't set the option
             if (TransportSettings.TCP_KEEP_IDLE.get(settings) >= 0) {
-                bootstrap.option(NioChannelOption.of(NetUtils.getTcpKeepIdleSocketOption()), TransportSettings.TCP_KEEP_IDLE.get(settings));
+                bootstrap.option(NetUtils.getTcpKeepIdleChannelOption(epoll), TransportSettings.TCP_KEEP_IDLE.get(settings));
             }
             if (TransportSettings.TCP_KEEP_INTERVAL.get(settings) >= 0) {
-                bootstrap.option(
-                    NioChannelOption.of(NetUtils.getTcpKeepIntervalSocketOption()),
-                    TransportSettings.TCP_KEEP_INTERVAL.get(settings)
-                );
+                bootstrap.option(NetUtils.getTcpKeepIntervalChannelOption(epoll), TransportSettings.TCP_KEEP_INTERVAL.get(settings));
             }
             if (TransportSettings.TCP_KEEP_COUNT.get(settings) >= 0) {
-                bootstrap.option(
-                    NioChannelOption.of(NetUtils.getTcpKeepCountSocketOption()),
-                    TransportSettings.TCP_KEEP_COUNT.get(settings)
-                );
+                bootstrap.option(NetUtils.getTcpKeepCountChannelOption(epoll), TransportSettings.TCP_KEEP_COUNT.get(settings));
+            }
+        }
+        if (epoll) {
+            bootstrap.option(EpollChannelOption.TCP_CORK, tcpCork);
+            if (busyPollMicros > 0) {
+                bootstrap.option(EpollChannelOption.SO_BUSY_POLL, busyPollMicros);
             }
         }
 
@@ -217,31 +257,35 @@ public class Netty4Transport extends TcpTransport {
 
         serverBootstrap.group(sharedGroupForServerBootstrap.getLowLevelGroup());
 
-        // NettyAllocator will return the channel type designed to work with the configuredAllocator
-        serverBootstrap.channel(NettyAllocator.getServerChannelType());
+        // the shared group will return the channel type designed to work with its event loops and the allocator for that type
+        serverBootstrap.channel(sharedGroupForServerBootstrap.getServerChannelType());
 
         // Set the allocators for both the server channel and the child channels created
-        serverBootstrap.option(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator());
-        serverBootstrap.childOption(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator());
+        serverBootstrap.option(ChannelOption.ALLOCATOR, sharedGroupForServerBootstrap.getAllocator());
+        serverBootstrap.childOption(ChannelOption.ALLOCATOR, sharedGroupForServerBootstrap.getAllocator());
 
         serverBootstrap.childHandler(getServerChannelInitializer(name));
         serverBootstrap.handler(new ServerChannelExceptionHandler());
 
+        final boolean epoll = sharedGroupForServerBootstrap.isEpoll();
         serverBootstrap.childOption(ChannelOption.TCP_NODELAY, profileSettings.tcpNoDelay);
         serverBootstrap.childOption(ChannelOption.SO_KEEPALIVE, profileSettings.tcpKeepAlive);
         if (profileSettings.tcpKeepAlive) {
             // Note that Netty logs a warning if it can't set the option
             if (profileSettings.tcpKeepIdle >= 0) {
-                serverBootstrap.childOption(NioChannelOption.of(NetUtils.getTcpKeepIdleSocketOption()), profileSettings.tcpKeepIdle);
+                serverBootstrap.childOption(NetUtils.getTcpKeepIdleChannelOption(epoll), profileSettings.tcpKeepIdle);
             }
             if (profileSettings.tcpKeepInterval >= 0) {
-                serverBootstrap.childOption(
-                    NioChannelOption.of(NetUtils.getTcpKeepIntervalSocketOption()),
-                    profileSettings.tcpKeepInterval
-                );
+                serverBootstrap.childOption(NetUtils.getTcpKeepIntervalChannelOption(epoll), profileSettings.tcpKeepInterval);
             }
             if (profileSettings.tcpKeepCount >= 0) {
-                serverBootstrap.childOption(NioChannelOption.of(NetUtils.getTcpKeepCountSocketOption()), profileSettings.tcpKeepCount);
+                serverBootstrap.childOption(NetUtils.getTcpKeepCountChannelOption(epoll), profileSettings.tcpKeepCount);
+            }
+        }
+        if (epoll) {
+            serverBootstrap.childOption(EpollChannelOption.TCP_CORK, tcpCork);
+            if (busyPollMicros > 0) {
+                serverBootstrap.childOption(EpollChannelOption.SO_BUSY_POLL, busyPollMicros);
             }
         }
 
@@ -263,6 +307,15 @@ public class Netty4Transport extends TcpTransport {
         serverBootstraps.put(name, serverBootstrap);
     }
 
+    private static void ensureReasonableKeepAliveConfig(Channel ch) {
+        if (ch instanceof EpollSocketChannel epollSocketChannel) {
+            NetUtils.tryEnsureReasonableKeepAliveConfig(epollSocketChannel.config());
+        } else {
+            assert ch instanceof Netty4NioSocketChannel;
+            NetUtils.tryEnsureReasonableKeepAliveConfig(((Netty4NioSocketChannel) ch).javaChannel());
+        }
+    }
+
     protected ChannelHandler getServerChannelInitializer(String name) {
         return new ServerChannelInitializer(name);
     }
@@ -317,8 +370,7 @@ public class Netty4Transport extends TcpTransport {
         @Override
         protected void initChannel(Channel ch) throws Exception {
             addClosedExceptionLogger(ch);
-            assert ch instanceof Netty4NioSocketChannel;
-            NetUtils.tryEnsureReasonableKeepAliveConfig(((Netty4NioSocketChannel) ch).javaChannel());
+            ensureReasonableKeepAliveConfig(ch);
             setupPipeline(ch);
         }
 
@@ -340,8 +392,7 @@ public class Netty4Transport extends TcpTransport {
         @Override
         protected void initChannel(Channel ch) throws Exception {
             addClosedExceptionLogger(ch);
-            assert ch instanceof Netty4NioSocketChannel;
-            NetUtils.tryEnsureReasonableKeepAliveConfig(((Netty4NioSocketChannel) ch).javaChannel());
+            ensureReasonableKeepAliveConfig(ch);
             Netty4TcpChannel nettyTcpChannel = new Netty4TcpChannel(ch, true, name, rstOnClose, ch.newSucceededFuture());
             ch.attr(CHANNEL_KEY).set(nettyTcpChannel);
             setupPipeline(ch);
@@ -356,6 +407,9 @@ public class Netty4Transport extends TcpTransport {
     }
 
     private void setupPipeline(Channel ch) {
+        if (CopyBytesToHeapHandler.isNeeded(ch)) {
+            ch.pipeline().addLast("copy_to_heap", CopyBytesToHeapHandler.INSTANCE);
+        }
         ch.pipeline()
             .addLast("byte_buf_sizer", NettyByteBufSizer.INSTANCE)
             .addLast("logging", ESLoggingHandler.INSTANCE)
@@ -28,14 +28,28 @@ import java.util.Queue;
  * Channel handler that queues up writes it receives and tries to only flush bytes as they can be written by the backing channel.
  * This is helpful in reducing heap usage with handlers like {@link io.netty.handler.ssl.SslHandler} that might otherwise themselves
  * buffer a large amount of data when the channel is not able to physically execute writes immediately.
+ * <p>
+ * Queued messages of up to {@link #MAX_PRIORITY_WRITE_BYTES} are written before the larger queued messages, so that small
+ * messages like cluster coordination requests and their responses aren't delayed by large recovery chunks or bulk requests
+ * queued on the same channel. Messages are only reordered at message boundaries: a message that is partially written is
+ * always written in full first, and messages of the same class are written in the order they were received. Once
+ * {@link #MAX_CONSECUTIVE_PRIORITY_WRITE_BYTES} have been written from small messages while a larger message was waiting, the
+ * larger message is written next so that a steady stream of small messages can't hold it back indefinitely.
  */
 public final class Netty4WriteThrottlingHandler extends ChannelDuplexHandler {
 
     public static final int MAX_BYTES_PER_WRITE = 1 << 18;
+    public static final int MAX_PRIORITY_WRITE_BYTES = 1 << 14;
+    /**
+     * The number of bytes of small messages that are written ahead of a queued larger message before that message gets its turn.
+     */
+    public static final int MAX_CONSECUTIVE_PRIORITY_WRITE_BYTES = MAX_BYTES_PER_WRITE;
     private final Queue<WriteOperation> queuedWrites = new ArrayDeque<>();
+    private final Queue<WriteOperation> queuedPriorityWrites = new ArrayDeque<>();
 
     private final ThreadContext threadContext;
     private WriteOperation currentWrite;
+    private int priorityBytesSinceLastWrite;
 
     public Netty4WriteThrottlingHandler(ThreadContext threadContext) {
         this.threadContext = threadContext;
@@ -47,7 +61,7 @@ public final class Netty4WriteThrottlingHandler extends ChannelDuplexHandler {
         assert Transports.assertDefaultThreadContext(threadContext);
         assert Transports.assertTransportThread();
         final ByteBuf buf = (ByteBuf) msg;
-        if (ctx.channel().isWritable() && currentWrite == null && queuedWrites.isEmpty()) {
+        if (ctx.channel().isWritable() && currentWrite == null && queuedWrites.isEmpty() && queuedPriorityWrites.isEmpty()) {
             // nothing is queued for writing and the channel is writable, just pass the write down the pipeline directly
             if (buf.readableBytes() > MAX_BYTES_PER_WRITE) {
                 writeInSlices(ctx, promise, buf);
@@ -76,15 +90,17 @@ public final class Netty4WriteThrottlingHandler extends ChannelDuplexHandler {
             buf.readerIndex(readerIndex + bufferSize);
             ctx.write(writeBuffer).addListener(forwardFailureListener(ctx, promise));
             if (ctx.channel().isWritable() == false) {
-                // channel isn't writable any longer -> move to queuing
-                queueWrite(buf, promise);
+                // channel isn't writable any longer -> move to queuing, the rest of the message is written before any queued message
+                assert currentWrite == null;
+                currentWrite = new WriteOperation(buf, promise);
                 return;
             }
         }
     }
 
     private void queueWrite(ByteBuf buf, ChannelPromise promise) {
-        final boolean queued = queuedWrites.offer(new WriteOperation(buf, promise));
+        final Queue<WriteOperation> queue = buf.readableBytes() <= MAX_PRIORITY_WRITE_BYTES ? queuedPriorityWrites : queuedWrites;
+        final boolean queued = queue.offer(new WriteOperation(buf, promise));
         assert queued;
     }
 
@@ -118,7 +134,7 @@ public final class Netty4WriteThrottlingHandler extends ChannelDuplexHandler {
         }
         while (channel.isWritable()) {
             if (currentWrite == null) {
-                currentWrite = queuedWrites.poll();
+                currentWrite = pollQueuedWrite();
             }
             if (currentWrite == null) {
                 break;
@@ -150,6 +166,26 @@ public final class Netty4WriteThrottlingHandler extends ChannelDuplexHandler {
         return true;
     }
 
+    /**
+     * Takes the next queued message to write, preferring small messages until {@link #MAX_CONSECUTIVE_PRIORITY_WRITE_BYTES} of them
+     * have been taken while a larger message is waiting.
+     */
+    private WriteOperation pollQueuedWrite() {
+        if (queuedWrites.isEmpty()) {
+            priorityBytesSinceLastWrite = 0;
+            return queuedPriorityWrites.poll();
+        }
+        if (priorityBytesSinceLastWrite < MAX_CONSECUTIVE_PRIORITY_WRITE_BYTES) {
+            final WriteOperation write = queuedPriorityWrites.poll();
+            if (write != null) {
+                priorityBytesSinceLastWrite += write.buf.readableBytes();
+                return write;
+            }
+        }
+        priorityBytesSinceLastWrite = 0;
+        return queuedWrites.poll();
+    }
+
     private static GenericFutureListener<Future<Void>> forwardFailureListener(ChannelHandlerContext ctx, ChannelPromise promise) {
         return future -> {
             assert ctx.executor().inEventLoop();
@@ -177,6 +213,9 @@ public final class Netty4WriteThrottlingHandler extends ChannelDuplexHandler {
             current.failAsClosedChannel();
         }
         WriteOperation queuedWrite;
+        while ((queuedWrite = queuedPriorityWrites.poll()) != null) {
+            queuedWrite.failAsClosedChannel();
+        }
         while ((queuedWrite = queuedWrites.poll()) != null) {
             queuedWrite.failAsClosedChannel();
         }
@@ -165,6 +165,20 @@ public class NettyAllocator {
         return ALLOCATOR;
     }
 
+    /**
+     * Returns the allocator for the channels of the native epoll transport, which can only read from and write to the socket through
+     * direct buffers. If {@link #getAllocator()} does not allocate direct buffers then the buffers for socket I/O are taken from a
+     * dedicated pool of direct buffers and all other buffers from {@link #getAllocator()}. The pipeline of such a channel must copy
+     * the bytes that it reads to heap buffers with {@link CopyBytesToHeapHandler} so that the direct buffers are released right away.
+     */
+    public static ByteBufAllocator getNativeTransportAllocator() {
+        if (ALLOCATOR instanceof NoDirectBuffers) {
+            return DirectIoBuffers.INSTANCE;
+        } else {
+            return ALLOCATOR;
+        }
+    }
+
     public static Recycler<BytesRef> getRecycler() {
         return RECYCLER;
     }
@@ -347,4 +361,130 @@ public class NettyAllocator {
             return delegate;
         }
     }
+
+    /**
+     * Allocates the buffers for socket I/O from a pool of direct buffers and all other buffers from {@link #getAllocator()}.
+     */
+    public static class DirectIoBuffers implements ByteBufAllocator {
+
+        // created lazily, the pool is only needed if the epoll transport is used
+        private static final DirectIoBuffers INSTANCE = new DirectIoBuffers(
+            new PooledByteBufAllocator(
+                true,
+                0,
+                PooledByteBufAllocator.defaultNumDirectArena(),
+                8192,
+                7, // 1 MB chunk sizes, the buffers are only used for a single read or write
+                PooledByteBufAllocator.defaultSmallCacheSize(),
+                PooledByteBufAllocator.defaultNormalCacheSize(),
+                false
+            )
+        );
+
+        private final ByteBufAllocator directDelegate;
+
+        private DirectIoBuffers(ByteBufAllocator directDelegate) {
+            this.directDelegate = directDelegate;
+        }
+
+        @Override
+        public ByteBuf buffer() {
+            return ALLOCATOR.buffer();
+        }
+
+        @Override
+        public ByteBuf buffer(int initialCapacity) {
+            return ALLOCATOR.buffer(initialCapacity);
+        }
+
+        @Override
+        public ByteBuf buffer(int initialCapacity, int maxCapacity) {
+            return ALLOCATOR.buffer(initialCapacity, maxCapacity);
+        }
+
+        @Override
+        public ByteBuf ioBuffer() {
+            return directBuffer();
+        }
+
+        @Override
+        public ByteBuf ioBuffer(int initialCapacity) {
+            return directBuffer(initialCapacity);
+        }
+
+        @Override
+        public ByteBuf ioBuffer(int initialCapacity, int maxCapacity) {
+            return directBuffer(initialCapacity, maxCapacity);
+        }
+
+        @Override
+        public ByteBuf heapBuffer() {
+            return ALLOCATOR.heapBuffer();
+        }
+
+        @Override
+        public ByteBuf heapBuffer(int initialCapacity) {
+            return ALLOCATOR.heapBuffer(initialCapacity);
+        }
+
+        @Override
+        public ByteBuf heapBuffer(int initialCapacity, int maxCapacity) {
+            return ALLOCATOR.heapBuffer(initialCapacity, maxCapacity);
+        }
+
+        @Override
+        public ByteBuf directBuffer() {
+            return directDelegate.directBuffer();
+        }
+
+        @Override
+        public ByteBuf directBuffer(int initialCapacity) {
+            return directDelegate.directBuffer(initialCapacity);
+        }
+
+        @Override
+        public ByteBuf directBuffer(int initialCapacity, int maxCapacity) {
+            return directDelegate.directBuffer(initialCapacity, maxCapacity);
+        }
+
+        @Override
+        public CompositeByteBuf compositeBuffer() {
+            return ALLOCATOR.compositeBuffer();
+        }
+
+        @Override
+        public CompositeByteBuf compositeBuffer(int maxNumComponents) {
+            return ALLOCATOR.compositeBuffer(maxNumComponents);
+        }
+
+        @Override
+        public CompositeByteBuf compositeHeapBuffer() {
+            return ALLOCATOR.compositeHeapBuffer();
+        }
+
+        @Override
+        public CompositeByteBuf compositeHeapBuffer(int maxNumComponents) {
+            return ALLOCATOR.compositeHeapBuffer(maxNumComponents);
+        }
+
+        @Override
+        public CompositeByteBuf compositeDirectBuffer() {
+            return directDelegate.compositeDirectBuffer();
+        }
+
+        @Override
+        public CompositeByteBuf compositeDirectBuffer(int maxNumComponents) {
+            return directDelegate.compositeDirectBuffer(maxNumComponents);
+        }
+
+        @Override
+        public boolean isDirectBufferPooled() {
+            return directDelegate.isDirectBufferPooled();
+        }
+
+        @Override
+        public int calculateNewCapacity(int minNewCapacity, int maxCapacity) {
+            return ALLOCATOR.calculateNewCapacity(minNewCapacity, maxCapacity);
+        }
+    }
 }
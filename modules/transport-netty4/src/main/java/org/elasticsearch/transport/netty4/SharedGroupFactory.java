@@ -8,7 +8,14 @@
 
 package org.elasticsearch.transport.netty4;
 
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.concurrent.Future;
 
@@ -21,16 +28,24 @@ import org.elasticsearch.http.HttpServerTransport;
 import org.elasticsearch.http.netty4.Netty4HttpServerTransport;
 import org.elasticsearch.transport.TcpTransport;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.elasticsearch.common.util.concurrent.EsExecutors.daemonThreadFactory;
+import static org.elasticsearch.core.Strings.format;
 
 /**
  * Creates and returns {@link io.netty.channel.EventLoopGroup} instances. It will return a shared group for
  * both {@link #getHttpGroup()} and {@link #getTransportGroup()} if
  * {@link org.elasticsearch.http.netty4.Netty4HttpServerTransport#SETTING_HTTP_WORKER_COUNT} is configured to be 0.
  * If that setting is not 0, then it will return a different group in the {@link #getHttpGroup()} call.
+ * <p>
+ * The groups use the event loop implementation of the {@link Netty4Transport#NETTY_TRANSPORT_TYPE}, falling back to NIO if the
+ * native epoll transport is not available on this platform. The channels registered with a group must be of the types and use
+ * the allocator that the group returns, since the event loop implementation and the channel implementation must match.
  */
 public final class SharedGroupFactory {
 
@@ -39,6 +54,7 @@ public final class SharedGroupFactory {
     private final Settings settings;
     private final int workerCount;
     private final int httpWorkerCount;
+    private final TransportType transportType;
 
     private RefCountedGroup genericGroup;
     private SharedGroup dedicatedHttpGroup;
@@ -47,6 +63,28 @@ public final class SharedGroupFactory {
         this.settings = settings;
         this.workerCount = Netty4Transport.WORKER_COUNT.get(settings);
         this.httpWorkerCount = Netty4HttpServerTransport.SETTING_HTTP_WORKER_COUNT.get(settings);
+        this.transportType = resolveTransportType(Netty4Transport.NETTY_TRANSPORT_TYPE.get(settings));
+    }
+
+    private static TransportType resolveTransportType(TransportType configuredType) {
+        if (configuredType == TransportType.EPOLL && isEpollAvailable() == false) {
+            logger.warn(
+                () -> format(
+                    "[%s] is [epoll] but epoll is not available on this platform, falling back to [nio]",
+                    Netty4Transport.NETTY_TRANSPORT_TYPE.getKey()
+                ),
+                Epoll.unavailabilityCause()
+            );
+            return TransportType.NIO;
+        }
+        return configuredType;
+    }
+
+    /**
+     * Returns whether the native epoll transport can be used on this platform. Loads its native library on first call.
+     */
+    static boolean isEpollAvailable() {
+        return AccessController.doPrivileged((PrivilegedAction<Boolean>) Epoll::isAvailable);
     }
 
     public Settings getSettings() {
@@ -57,6 +95,13 @@ public final class SharedGroupFactory {
         return workerCount;
     }
 
+    /**
+     * Returns the type of the event loops and channels of the groups, which is NIO if epoll was configured but is not available.
+     */
+    public TransportType getTransportType() {
+        return transportType;
+    }
+
     public synchronized SharedGroup getTransportGroup() {
         return getGenericGroup();
     }
@@ -66,11 +111,9 @@ public final class SharedGroupFactory {
             return getGenericGroup();
         } else {
             if (dedicatedHttpGroup == null) {
-                NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(
-                    httpWorkerCount,
-                    daemonThreadFactory(settings, HttpServerTransport.HTTP_SERVER_WORKER_THREAD_NAME_PREFIX)
+                dedicatedHttpGroup = new SharedGroup(
+                    newGroup(httpWorkerCount, daemonThreadFactory(settings, HttpServerTransport.HTTP_SERVER_WORKER_THREAD_NAME_PREFIX))
                 );
-                dedicatedHttpGroup = new SharedGroup(new RefCountedGroup(eventLoopGroup));
             }
             return dedicatedHttpGroup;
         }
@@ -78,23 +121,58 @@ public final class SharedGroupFactory {
 
     private SharedGroup getGenericGroup() {
         if (genericGroup == null) {
-            EventLoopGroup eventLoopGroup = new NioEventLoopGroup(
+            this.genericGroup = newGroup(
                 workerCount,
                 EsExecutors.daemonThreadFactory(settings, TcpTransport.TRANSPORT_WORKER_THREAD_NAME_PREFIX)
             );
-            this.genericGroup = new RefCountedGroup(eventLoopGroup);
         } else {
             genericGroup.incRef();
         }
         return new SharedGroup(genericGroup);
     }
 
+    private RefCountedGroup newGroup(int threadCount, ThreadFactory threadFactory) {
+        return switch (transportType) {
+            case NIO -> new RefCountedGroup(
+                new NioEventLoopGroup(threadCount, threadFactory),
+                NettyAllocator.getChannelType(),
+                NettyAllocator.getServerChannelType(),
+                NettyAllocator.getAllocator()
+            );
+            case EPOLL -> new RefCountedGroup(
+                new EpollEventLoopGroup(threadCount, threadFactory),
+                EpollSocketChannel.class,
+                EpollServerSocketChannel.class,
+                NettyAllocator.getNativeTransportAllocator()
+            );
+        };
+    }
+
+    /**
+     * The implementations of the event loops and channels that Netty can use.
+     */
+    public enum TransportType {
+        NIO,
+        EPOLL
+    }
+
     private static class RefCountedGroup extends AbstractRefCounted {
 
         private final EventLoopGroup eventLoopGroup;
-
-        private RefCountedGroup(EventLoopGroup eventLoopGroup) {
+        private final Class<? extends Channel> channelType;
+        private final Class<? extends ServerChannel> serverChannelType;
+        private final ByteBufAllocator allocator;
+
+        private RefCountedGroup(
+            EventLoopGroup eventLoopGroup,
+            Class<? extends Channel> channelType,
+            Class<? extends ServerChannel> serverChannelType,
+            ByteBufAllocator allocator
+        ) {
             this.eventLoopGroup = eventLoopGroup;
+            this.channelType = channelType;
+            this.serverChannelType = serverChannelType;
+            this.allocator = allocator;
         }
 
         @Override
@@ -125,6 +203,31 @@ public final class SharedGroupFactory {
             return refCountedGroup.eventLoopGroup;
         }
 
+        /**
+         * Returns the type of the client channels to register with this group.
+         */
+        public Class<? extends Channel> getChannelType() {
+            return refCountedGroup.channelType;
+        }
+
+        /**
+         * Returns the type of the server channels to register with this group.
+         */
+        public Class<? extends ServerChannel> getServerChannelType() {
+            return refCountedGroup.serverChannelType;
+        }
+
+        /**
+         * Returns the allocator that the channels registered with this group must use.
+         */
+        public ByteBufAllocator getAllocator() {
+            return refCountedGroup.allocator;
+        }
+
+        public boolean isEpoll() {
+            return refCountedGroup.eventLoopGroup instanceof EpollEventLoopGroup;
+        }
+
         public void shutdown() {
             if (isOpen.compareAndSet(true, false)) {
                 refCountedGroup.decRef();
@@ -20,6 +20,7 @@ import org.elasticsearch.test.ESTestCase;
 import org.junit.After;
 import org.junit.Before;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
@@ -126,6 +127,83 @@ public class Netty4WriteThrottlingHandlerTests extends ESTestCase {
         assertTrue(promiseForQueued.isDone());
     }
 
+    public void testWritesSmallQueuedMessagesFirst() throws ExecutionException, InterruptedException {
+        final List<ByteBuf> seen = new CopyOnWriteArrayList<>();
+        final EmbeddedChannel embeddedChannel = new EmbeddedChannel(
+            new CapturingHandler(seen),
+            new Netty4WriteThrottlingHandler(new ThreadContext(Settings.EMPTY))
+        );
+        final int writeableBytes = Math.toIntExact(embeddedChannel.bytesBeforeUnwritable());
+        final ByteBuf message = Unpooled.wrappedBuffer(randomByteArrayOfLength(writeableBytes + randomIntBetween(0, 10)));
+        transportGroup.getLowLevelGroup().submit(() -> embeddedChannel.write(message, embeddedChannel.newPromise())).get();
+        assertThat(seen, hasSize(1));
+        final int maxPriorityBytes = Netty4WriteThrottlingHandler.MAX_PRIORITY_WRITE_BYTES;
+        final ByteBuf largeMessage = Unpooled.wrappedBuffer(
+            randomByteArrayOfLength(randomIntBetween(maxPriorityBytes + 1, Netty4WriteThrottlingHandler.MAX_BYTES_PER_WRITE))
+        );
+        final ByteBuf smallMessage = Unpooled.wrappedBuffer(randomByteArrayOfLength(randomIntBetween(0, maxPriorityBytes)));
+        final ByteBuf otherSmallMessage = Unpooled.wrappedBuffer(randomByteArrayOfLength(randomIntBetween(0, maxPriorityBytes)));
+        final ChannelPromise largePromise = embeddedChannel.newPromise();
+        final ChannelPromise smallPromise = embeddedChannel.newPromise();
+        final ChannelPromise otherSmallPromise = embeddedChannel.newPromise();
+        transportGroup.getLowLevelGroup().submit(() -> {
+            embeddedChannel.write(largeMessage, largePromise);
+            embeddedChannel.write(smallMessage, smallPromise);
+            embeddedChannel.write(otherSmallMessage, otherSmallPromise);
+        }).get();
+        assertThat(seen, hasSize(1));
+        transportGroup.getLowLevelGroup().submit(embeddedChannel::flush).get();
+        assertTrue(largePromise.isDone());
+        assertTrue(smallPromise.isDone());
+        assertTrue(otherSmallPromise.isDone());
+        // the small messages overtake the large one that was queued before them but keep their order
+        assertThat(seen, hasSize(4));
+        assertSame(smallMessage, seen.get(1));
+        assertSame(otherSmallMessage, seen.get(2));
+        assertSame(largeMessage, seen.get(3));
+    }
+
+    public void testWritesLargeQueuedMessageAfterPriorityBudget() throws ExecutionException, InterruptedException {
+        final List<ByteBuf> seen = new CopyOnWriteArrayList<>();
+        final EmbeddedChannel embeddedChannel = new EmbeddedChannel(
+            new CapturingHandler(seen),
+            new Netty4WriteThrottlingHandler(new ThreadContext(Settings.EMPTY))
+        );
+        final int writeableBytes = Math.toIntExact(embeddedChannel.bytesBeforeUnwritable());
+        final ByteBuf message = Unpooled.wrappedBuffer(randomByteArrayOfLength(writeableBytes + randomIntBetween(0, 10)));
+        transportGroup.getLowLevelGroup().submit(() -> embeddedChannel.write(message, embeddedChannel.newPromise())).get();
+        assertThat(seen, hasSize(1));
+        final int maxPriorityBytes = Netty4WriteThrottlingHandler.MAX_PRIORITY_WRITE_BYTES;
+        final ByteBuf largeMessage = Unpooled.wrappedBuffer(
+            randomByteArrayOfLength(randomIntBetween(maxPriorityBytes + 1, Netty4WriteThrottlingHandler.MAX_BYTES_PER_WRITE))
+        );
+        final int smallMessagesBeforeLarge = Netty4WriteThrottlingHandler.MAX_CONSECUTIVE_PRIORITY_WRITE_BYTES / maxPriorityBytes;
+        final int smallMessagesAfterLarge = randomIntBetween(1, 10);
+        final List<ByteBuf> smallMessages = new ArrayList<>();
+        for (int i = 0; i < smallMessagesBeforeLarge + smallMessagesAfterLarge; i++) {
+            smallMessages.add(Unpooled.wrappedBuffer(randomByteArrayOfLength(maxPriorityBytes)));
+        }
+        final ChannelPromise largePromise = embeddedChannel.newPromise();
+        transportGroup.getLowLevelGroup().submit(() -> {
+            embeddedChannel.write(largeMessage, largePromise);
+            for (ByteBuf smallMessage : smallMessages) {
+                embeddedChannel.write(smallMessage, embeddedChannel.newPromise());
+            }
+        }).get();
+        assertThat(seen, hasSize(1));
+        transportGroup.getLowLevelGroup().submit(embeddedChannel::flush).get();
+        assertTrue(largePromise.isDone());
+        // the small messages overtake the large one only until they used up their budget
+        assertThat(seen, hasSize(2 + smallMessages.size()));
+        for (int i = 0; i < smallMessagesBeforeLarge; i++) {
+            assertSame(smallMessages.get(i), seen.get(1 + i));
+        }
+        assertSame(largeMessage, seen.get(1 + smallMessagesBeforeLarge));
+        for (int i = smallMessagesBeforeLarge; i < smallMessages.size(); i++) {
+            assertSame(smallMessages.get(i), seen.get(2 + i));
+        }
+    }
+
     private static class CapturingHandler extends ChannelOutboundHandlerAdapter {
         private final List<ByteBuf> seen;
 
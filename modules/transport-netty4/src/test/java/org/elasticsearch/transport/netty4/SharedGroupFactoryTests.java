@@ -8,10 +8,17 @@
 
 package org.elasticsearch.transport.netty4;
 
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.http.netty4.Netty4HttpServerTransport;
 import org.elasticsearch.test.ESTestCase;
 
+import static org.hamcrest.Matchers.instanceOf;
+
 public final class SharedGroupFactoryTests extends ESTestCase {
 
     public void testSharedEventLoops() throws Exception {
@@ -60,4 +67,50 @@ public final class SharedGroupFactoryTests extends ESTestCase {
             assertTrue(transportGroup.getLowLevelGroup().terminationFuture().isDone());
         }
     }
+
+    public void testNioTransportTypeByDefault() {
+        SharedGroupFactory sharedGroupFactory = new SharedGroupFactory(Settings.EMPTY);
+        assertEquals(SharedGroupFactory.TransportType.NIO, sharedGroupFactory.getTransportType());
+        SharedGroupFactory.SharedGroup transportGroup = sharedGroupFactory.getTransportGroup();
+        try {
+            assertThat(transportGroup.getLowLevelGroup(), instanceOf(NioEventLoopGroup.class));
+            assertFalse(transportGroup.isEpoll());
+            assertSame(NettyAllocator.getChannelType(), transportGroup.getChannelType());
+            assertSame(NettyAllocator.getServerChannelType(), transportGroup.getServerChannelType());
+            assertSame(NettyAllocator.getAllocator(), transportGroup.getAllocator());
+        } finally {
+            transportGroup.shutdown();
+        }
+    }
+
+    public void testEpollTransportTypeFallsBackToNio() {
+        Settings settings = Settings.builder()
+            .put(Netty4Transport.NETTY_TRANSPORT_TYPE.getKey(), "epoll")
+            .put(Netty4HttpServerTransport.SETTING_HTTP_WORKER_COUNT.getKey(), randomIntBetween(0, 2))
+            .build();
+        SharedGroupFactory sharedGroupFactory = new SharedGroupFactory(settings);
+        SharedGroupFactory.SharedGroup httpGroup = sharedGroupFactory.getHttpGroup();
+        SharedGroupFactory.SharedGroup transportGroup = sharedGroupFactory.getTransportGroup();
+        try {
+            for (SharedGroupFactory.SharedGroup group : new SharedGroupFactory.SharedGroup[] { httpGroup, transportGroup }) {
+                if (SharedGroupFactory.isEpollAvailable()) {
+                    assertEquals(SharedGroupFactory.TransportType.EPOLL, sharedGroupFactory.getTransportType());
+                    assertThat(group.getLowLevelGroup(), instanceOf(EpollEventLoopGroup.class));
+                    assertTrue(group.isEpoll());
+                    assertSame(EpollSocketChannel.class, group.getChannelType());
+                    assertSame(EpollServerSocketChannel.class, group.getServerChannelType());
+                    assertSame(NettyAllocator.getNativeTransportAllocator(), group.getAllocator());
+                } else {
+                    assertEquals(SharedGroupFactory.TransportType.NIO, sharedGroupFactory.getTransportType());
+                    assertThat(group.getLowLevelGroup(), instanceOf(NioEventLoopGroup.class));
+                    assertFalse(group.isEpoll());
+                    assertSame(NettyAllocator.getChannelType(), group.getChannelType());
+                    assertSame(NettyAllocator.getServerChannelType(), group.getServerChannelType());
+                }
+            }
+        } finally {
+            httpGroup.shutdown();
+            transportGroup.shutdown();
+        }
+    }
 }
@@ -8,6 +8,8 @@
 
 package org.elasticsearch.transport.netty4;
 
+import io.netty.channel.epoll.EpollSocketChannel;
+
 import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.cluster.node.DiscoveryNode;
@@ -95,9 +97,18 @@ public class SimpleNetty4TransportTests extends AbstractSimpleTransportTestCase
 
     public void testDefaultKeepAliveSettings() throws IOException {
         assumeTrue("setting default keepalive options not supported on this platform", (IOUtils.LINUX || IOUtils.MAC_OS_X));
+        checkDefaultKeepAliveOptions(Settings.EMPTY);
+    }
+
+    public void testDefaultKeepAliveSettingsWithEpoll() throws IOException {
+        assumeTrue("epoll is not available", SharedGroupFactory.isEpollAvailable());
+        checkDefaultKeepAliveOptions(Settings.builder().put(Netty4Transport.NETTY_TRANSPORT_TYPE.getKey(), "epoll").build());
+    }
+
+    private void checkDefaultKeepAliveOptions(Settings settings) throws IOException {
         try (
-            MockTransportService serviceC = buildService("TS_C", Version.CURRENT, Settings.EMPTY);
-            MockTransportService serviceD = buildService("TS_D", Version.CURRENT, Settings.EMPTY)
+            MockTransportService serviceC = buildService("TS_C", Version.CURRENT, settings);
+            MockTransportService serviceD = buildService("TS_D", Version.CURRENT, settings)
         ) {
 
             try (Transport.Connection connection = openConnection(serviceC, serviceD.getLocalDiscoNode(), TestProfiles.LIGHT_PROFILE)) {
@@ -122,6 +133,12 @@ public class SimpleNetty4TransportTests extends AbstractSimpleTransportTestCase
     private void checkDefaultKeepAliveOptions(TcpChannel channel) throws IOException {
         assertThat(channel, instanceOf(Netty4TcpChannel.class));
         Netty4TcpChannel nettyChannel = (Netty4TcpChannel) channel;
+        if (nettyChannel.getNettyChannel() instanceof EpollSocketChannel epollSocketChannel) {
+            assertTrue(epollSocketChannel.config().isKeepAlive());
+            assertThat(epollSocketChannel.config().getTcpKeepIdle(), lessThanOrEqualTo(500));
+            assertThat(epollSocketChannel.config().getTcpKeepIntvl(), lessThanOrEqualTo(500));
+            return;
+        }
         assertThat(nettyChannel.getNettyChannel(), instanceOf(Netty4NioSocketChannel.class));
         Netty4NioSocketChannel netty4NioSocketChannel = (Netty4NioSocketChannel) nettyChannel.getNettyChannel();
         SocketChannel socketChannel = netty4NioSocketChannel.javaChannel();
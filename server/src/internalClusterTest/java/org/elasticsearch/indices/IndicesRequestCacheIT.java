@@ -16,12 +16,15 @@ import org.elasticsearch.client.internal.Client;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.time.DateFormatter;
+import org.elasticsearch.index.IndexSettings;
+import org.elasticsearch.index.MergePolicyConfig;
 import org.elasticsearch.index.cache.request.RequestCacheStats;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.aggregations.bucket.global.GlobalAggregationBuilder;
 import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
 import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
 import org.elasticsearch.search.aggregations.bucket.histogram.Histogram.Bucket;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.elasticsearch.test.ESIntegTestCase;
 import org.elasticsearch.test.hamcrest.ElasticsearchAssertions;
 
@@ -35,6 +38,8 @@ import java.util.List;
 import static org.elasticsearch.search.aggregations.AggregationBuilders.dateHistogram;
 import static org.elasticsearch.search.aggregations.AggregationBuilders.dateRange;
 import static org.elasticsearch.search.aggregations.AggregationBuilders.filter;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.histogram;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.terms;
 import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
 import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertSearchResponse;
 import static org.hamcrest.Matchers.equalTo;
@@ -586,6 +591,136 @@ public class IndicesRequestCacheIT extends ESIntegTestCase {
         }
     }
 
+    public void testQueryRewriteDatesWithRoundedNow() throws Exception {
+        Client client = client();
+        Settings settings = Settings.builder()
+            .put(IndicesRequestCache.INDEX_CACHE_REQUEST_ENABLED_SETTING.getKey(), true)
+            .put(IndicesRequestCache.INDEX_CACHE_REQUEST_ROUNDED_NOW_SETTING.getKey(), true)
+            .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
+            .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 0)
+            .build();
+        assertAcked(client.admin().indices().prepareCreate("index").setMapping("d", "type=date").setSettings(settings).get());
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        DateFormatter formatter = DateFormatter.forPattern("strict_date_optional_time");
+        indexRandom(
+            true,
+            client.prepareIndex("index").setId("1").setSource("d", formatter.format(now.minusDays(1))),
+            client.prepareIndex("index").setId("2").setSource("d", formatter.format(now.minusDays(3))),
+            client.prepareIndex("index").setId("3").setSource("d", formatter.format(now.minusDays(5))),
+            client.prepareIndex("index").setId("4").setSource("d", formatter.format(now.minusDays(9)))
+        );
+        ensureSearchable("index");
+
+        // Force merge the index to ensure there can be no background merges during the subsequent searches that would invalidate the cache
+        ForceMergeResponse forceMergeResponse = client.admin().indices().prepareForceMerge("index").setFlush(true).get();
+        ElasticsearchAssertions.assertAllSuccessful(forceMergeResponse);
+        refresh();
+        ensureSearchable("index");
+        assertCacheState(client, "index", 0, 0);
+
+        // the range intersects with the shard so it is not rewritten, but both bounds are rounded so the request is cached
+        for (int i = 0; i < 2; i++) {
+            final SearchResponse r = client.prepareSearch("index")
+                .setSearchType(SearchType.QUERY_THEN_FETCH)
+                .setSize(0)
+                .setQuery(QueryBuilders.rangeQuery("d").gte("now-7d/d").lte("now/d"))
+                .get();
+            ElasticsearchAssertions.assertAllSuccessful(r);
+            assertThat(r.getHits().getTotalHits().value, equalTo(3L));
+            assertCacheState(client, "index", i, 1);
+        }
+        RequestCacheStats stats = client.admin().indices().prepareStats("index").setRequestCache(true).get().getTotal().getRequestCache();
+        assertThat(stats.getRoundedNowHitCount(), equalTo(1L));
+        assertThat(stats.getRoundedNowMissCount(), equalTo(1L));
+        assertThat(stats.getSkipCounts().get("not_deterministic"), equalTo(null));
+
+        // an upper bound that is not rounded still prevents caching
+        final SearchResponse r = client.prepareSearch("index")
+            .setSearchType(SearchType.QUERY_THEN_FETCH)
+            .setSize(0)
+            .setQuery(QueryBuilders.rangeQuery("d").gte("now-7d/d").lte("now"))
+            .get();
+        ElasticsearchAssertions.assertAllSuccessful(r);
+        assertThat(r.getHits().getTotalHits().value, equalTo(3L));
+        assertCacheState(client, "index", 1, 1);
+        stats = client.admin().indices().prepareStats("index").setRequestCache(true).get().getTotal().getRequestCache();
+        assertThat(stats.getSkipCounts().get("not_deterministic"), equalTo(1L));
+    }
+
+    public void testSegmentAggregations() throws Exception {
+        Client client = client();
+        Settings settings = Settings.builder()
+            .put(IndicesRequestCache.INDEX_CACHE_REQUEST_ENABLED_SETTING.getKey(), true)
+            .put(IndicesRequestCache.INDEX_CACHE_REQUEST_SEGMENT_AGGREGATIONS_SETTING.getKey(), true)
+            .put(IndexSettings.INDEX_REFRESH_INTERVAL_SETTING.getKey(), -1)
+            // no merges so that each refresh adds a segment and leaves the others unchanged
+            .put(MergePolicyConfig.INDEX_MERGE_ENABLED, false)
+            .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
+            .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 0)
+            .build();
+        assertAcked(
+            client.admin().indices().prepareCreate("index").setMapping("k", "type=keyword", "n", "type=long").setSettings(settings).get()
+        );
+        client.prepareIndex("index").setId("1").setSource("k", "a", "n", 1).get();
+        refresh("index");
+        client.prepareIndex("index").setId("2").setSource("k", "b", "n", 12).get();
+        refresh("index");
+        ensureSearchable("index");
+        assertCacheState(client, "index", 0, 0);
+
+        SearchResponse r1 = client.prepareSearch("index").setSize(0).addAggregation(histogram("n").field("n").interval(10)).get();
+        assertSearchResponse(r1);
+        assertThat(r1.getHits().getTotalHits().value, equalTo(2L));
+        Histogram histogram = r1.getAggregations().get("n");
+        assertThat(histogram.getBuckets().size(), equalTo(2));
+        assertThat(histogram.getBuckets().get(0).getDocCount(), equalTo(1L));
+        assertThat(histogram.getBuckets().get(1).getDocCount(), equalTo(1L));
+        assertCacheState(client, "index", 0, 1);
+        assertSegmentCacheState(client, "index", 0, 2);
+
+        // the refresh invalidates the shard level entry but only the new segment needs to be aggregated
+        client.prepareIndex("index").setId("3").setSource("k", "a", "n", 3).get();
+        refresh("index");
+        SearchResponse r2 = client.prepareSearch("index").setSize(0).addAggregation(histogram("n").field("n").interval(10)).get();
+        assertSearchResponse(r2);
+        assertThat(r2.getHits().getTotalHits().value, equalTo(3L));
+        histogram = r2.getAggregations().get("n");
+        assertThat(histogram.getBuckets().get(0).getDocCount(), equalTo(2L));
+        assertThat(histogram.getBuckets().get(1).getDocCount(), equalTo(1L));
+        assertCacheState(client, "index", 0, 2);
+        assertSegmentCacheState(client, "index", 2, 3);
+
+        // the shard level entry is used as long as the shard doesn't change
+        SearchResponse r3 = client.prepareSearch("index").setSize(0).addAggregation(histogram("n").field("n").interval(10)).get();
+        assertSearchResponse(r3);
+        assertThat(r3.getHits().getTotalHits().value, equalTo(3L));
+        assertCacheState(client, "index", 1, 2);
+        assertSegmentCacheState(client, "index", 2, 3);
+
+        // the top terms of each segment are not the top terms of the shard, terms are only cached at the shard level
+        SearchResponse r4 = client.prepareSearch("index").setSize(0).addAggregation(terms("k").field("k").size(1)).get();
+        assertSearchResponse(r4);
+        Terms terms = r4.getAggregations().get("k");
+        assertThat(terms.getBuckets().size(), equalTo(1));
+        assertThat(terms.getBucketByKey("a").getDocCount(), equalTo(2L));
+        assertCacheState(client, "index", 1, 3);
+        assertSegmentCacheState(client, "index", 2, 3);
+    }
+
+    private static void assertSegmentCacheState(Client client, String index, long expectedHits, long expectedMisses) {
+        RequestCacheStats requestCacheStats = client.admin()
+            .indices()
+            .prepareStats(index)
+            .setRequestCache(true)
+            .get()
+            .getTotal()
+            .getRequestCache();
+        assertEquals(
+            Arrays.asList(expectedHits, expectedMisses),
+            Arrays.asList(requestCacheStats.getSegmentHitCount(), requestCacheStats.getSegmentMissCount())
+        );
+    }
+
     private static void assertCacheState(Client client, String index, long expectedHits, long expectedMisses) {
         RequestCacheStats requestCacheStats = client.admin()
             .indices()
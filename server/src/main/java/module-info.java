@@ -22,6 +22,7 @@ module org.elasticsearch.server {
     requires org.elasticsearch.lz4;
     requires org.elasticsearch.pluginclassloader;
     requires org.elasticsearch.securesm;
+    requires org.elasticsearch.simdvec;
     requires org.elasticsearch.xcontent;
     requires org.elasticsearch.logging;
     requires org.elasticsearch.plugin;
@@ -233,6 +234,7 @@ module org.elasticsearch.server {
     exports org.elasticsearch.index.codec;
     exports org.elasticsearch.index.codec.tsdb;
     exports org.elasticsearch.index.codec.bloomfilter;
+    exports org.elasticsearch.index.codec.storedfields;
     exports org.elasticsearch.index.engine;
     exports org.elasticsearch.index.fielddata;
     exports org.elasticsearch.index.fielddata.fieldcomparator;
@@ -371,6 +373,7 @@ module org.elasticsearch.server {
 
     uses org.elasticsearch.reservedstate.ReservedClusterStateHandlerProvider;
 
+    provides org.apache.lucene.codecs.Codec with org.elasticsearch.index.codec.storedfields.ES87LZ4HighCompressionCodec;
     provides org.apache.lucene.codecs.PostingsFormat with org.elasticsearch.index.codec.bloomfilter.ES85BloomFilterPostingsFormat;
     provides org.apache.lucene.codecs.DocValuesFormat with ES87TSDBDocValuesFormat;
 }
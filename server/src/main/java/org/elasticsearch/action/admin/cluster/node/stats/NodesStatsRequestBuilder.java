@@ -153,6 +153,14 @@ public class NodesStatsRequestBuilder extends NodesOperationRequestBuilder<
         return this;
     }
 
+    /**
+     * Should search backpressure statistics be returned
+     */
+    public NodesStatsRequestBuilder setSearchBackpressure(boolean searchBackpressure) {
+        addOrRemoveMetric(searchBackpressure, NodesStatsRequest.Metric.SEARCH_BACKPRESSURE);
+        return this;
+    }
+
     /**
      * Helper method for adding metrics to a request
      */
@@ -0,0 +1,149 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.action.bulk;
+
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.common.util.concurrent.AbstractRunnable;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.mapper.DocumentMapper;
+import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.ParsedDocument;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Parses the documents of the next index requests of a {@link BulkShardRequest} on another executor while the current item
+ * is executed on the primary. Items are still executed in order: when an item is executed its parsed document is used if
+ * it was parsed with the mapping that is current at that time, otherwise the item is parsed again on the executing thread.
+ * An item whose parsing didn't start yet is parsed on the executing thread too, so that it never waits for the executor.
+ */
+final class BulkParseAhead {
+
+    private final BulkShardRequest request;
+    private final MapperService mapperService;
+    private final ThreadContext threadContext;
+    private final Executor executor;
+    private final int numItems;
+    private final ParseTask[] tasks;
+    // the index of the first item that wasn't scheduled for parsing yet
+    private int nextToSchedule;
+
+    /**
+     * @param numItems the number of items after the current one that are parsed ahead
+     */
+    BulkParseAhead(BulkShardRequest request, MapperService mapperService, ThreadContext threadContext, Executor executor, int numItems) {
+        assert numItems > 0 : numItems;
+        this.request = request;
+        this.mapperService = mapperService;
+        this.threadContext = threadContext;
+        this.executor = executor;
+        this.numItems = numItems;
+        this.tasks = new ParseTask[request.items().length];
+    }
+
+    /**
+     * Schedules the parsing of the index requests that follow the given item and weren't scheduled yet.
+     */
+    void parseAhead(int currentIndex) {
+        final int end = Math.min(request.items().length, currentIndex + 1 + numItems);
+        for (int i = Math.max(nextToSchedule, currentIndex + 1); i < end; i++) {
+            final BulkItemRequest item = request.items()[i];
+            // updates are translated when they are executed, deletes and aborted items don't need to be parsed
+            if (item.getPrimaryResponse() == null && item.request()instanceof IndexRequest indexRequest) {
+                final ParseTask task = new ParseTask(indexRequest);
+                tasks[i] = task;
+                try {
+                    executor.execute(task);
+                } catch (EsRejectedExecutionException e) {
+                    // the item is parsed when it is executed
+                    tasks[i] = null;
+                }
+            }
+        }
+        nextToSchedule = Math.max(nextToSchedule, end);
+    }
+
+    /**
+     * Returns the document of the given item if it was parsed with the given mapping, or {@code null} if the item must be
+     * parsed by the caller. Waits for the parsing to complete if it is in progress. The response headers, like deprecation
+     * warnings, that parsing the document added are copied to the caller's thread context.
+     */
+    @Nullable
+    ParsedDocument take(int index, DocumentMapper documentMapper) {
+        final ParseTask task = tasks[index];
+        if (task == null) {
+            return null;
+        }
+        tasks[index] = null;
+        if (task.claimed.compareAndSet(false, true)) {
+            // parsing didn't start, it is faster to parse on this thread than to wait for the executor
+            return null;
+        }
+        final ParsedDocumentAndHeaders parsed;
+        try {
+            parsed = task.future.actionGet();
+        } catch (Exception e) {
+            // parse again on the executing thread so that the failure is reported like any other
+            return null;
+        }
+        if (parsed.documentMapper != documentMapper) {
+            return null;
+        }
+        for (Map.Entry<String, List<String>> header : parsed.responseHeaders.entrySet()) {
+            for (String value : header.getValue()) {
+                threadContext.addResponseHeader(header.getKey(), value);
+            }
+        }
+        return parsed.document;
+    }
+
+    private record ParsedDocumentAndHeaders(
+        ParsedDocument document,
+        DocumentMapper documentMapper,
+        Map<String, List<String>> responseHeaders
+    ) {}
+
+    private class ParseTask extends AbstractRunnable {
+        private final IndexRequest indexRequest;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final PlainActionFuture<ParsedDocumentAndHeaders> future = PlainActionFuture.newFuture();
+
+        ParseTask(IndexRequest indexRequest) {
+            this.indexRequest = indexRequest;
+        }
+
+        @Override
+        protected void doRun() {
+            if (claimed.compareAndSet(false, true) == false) {
+                // the item was executed already
+                return;
+            }
+            // parse in an empty context to collect only the response headers that parsing adds
+            try (ThreadContext.StoredContext ignore = threadContext.stashContext()) {
+                final DocumentMapper documentMapper = mapperService.documentMapper();
+                if (documentMapper == null) {
+                    throw new IllegalStateException("no mapping to parse the document with");
+                }
+                final ParsedDocument document = documentMapper.parse(TransportShardBulkAction.toSourceToParse(indexRequest));
+                future.onResponse(new ParsedDocumentAndHeaders(document, documentMapper, threadContext.getResponseHeaders()));
+            }
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            future.onFailure(e);
+        }
+    }
+}
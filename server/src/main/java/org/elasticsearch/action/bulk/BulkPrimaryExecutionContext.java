@@ -14,7 +14,10 @@ import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.support.replication.ReplicationResponse;
 import org.elasticsearch.action.support.replication.TransportWriteAction;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.engine.Engine;
+import org.elasticsearch.index.mapper.DocumentMapper;
+import org.elasticsearch.index.mapper.ParsedDocument;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.translog.Translog;
 
@@ -52,6 +55,8 @@ class BulkPrimaryExecutionContext {
 
     private final BulkShardRequest request;
     private final IndexShard primary;
+    @Nullable
+    private final BulkParseAhead parseAhead;
     private Translog.Location locationToSync = null;
     private int currentIndex = -1;
 
@@ -61,8 +66,13 @@ class BulkPrimaryExecutionContext {
     private int retryCounter;
 
     BulkPrimaryExecutionContext(BulkShardRequest request, IndexShard primary) {
+        this(request, primary, null);
+    }
+
+    BulkPrimaryExecutionContext(BulkShardRequest request, IndexShard primary, @Nullable BulkParseAhead parseAhead) {
         this.request = request;
         this.primary = primary;
+        this.parseAhead = parseAhead;
         advance();
     }
 
@@ -87,6 +97,9 @@ class BulkPrimaryExecutionContext {
         retryCounter = 0;
         requestToExecute = null;
         executionResult = null;
+        if (parseAhead != null && hasMoreOperationsToExecute()) {
+            parseAhead.parseAhead(currentIndex);
+        }
         assert assertInvariants(ItemProcessingState.INITIAL);
     }
 
@@ -147,6 +160,15 @@ class BulkPrimaryExecutionContext {
         return request.items()[currentIndex];
     }
 
+    /**
+     * returns the document of the current item if it was parsed ahead with the given mapping, {@code null} if it must
+     * be parsed when it is executed
+     */
+    @Nullable
+    public ParsedDocument takeParsedDocument(DocumentMapper documentMapper) {
+        return parseAhead == null ? null : parseAhead.take(currentIndex, documentMapper);
+    }
+
     /** returns the primary shard */
     public IndexShard getPrimary() {
         return primary;
@@ -36,6 +36,7 @@ import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.core.Nullable;
@@ -48,6 +49,7 @@ import org.elasticsearch.index.engine.VersionConflictEngineException;
 import org.elasticsearch.index.get.GetResult;
 import org.elasticsearch.index.mapper.MapperException;
 import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.ParsedDocument;
 import org.elasticsearch.index.mapper.SourceToParse;
 import org.elasticsearch.index.seqno.SequenceNumbers;
 import org.elasticsearch.index.shard.IndexShard;
@@ -77,9 +79,23 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
 
     private static final Logger logger = LogManager.getLogger(TransportShardBulkAction.class);
 
+    /**
+     * The number of index requests of a shard bulk request that are parsed on the {@link ThreadPool.Names#BULK_PARSE} thread pool
+     * ahead of the item that is being executed on the primary. {@code 0} parses each item when it is executed.
+     */
+    public static final Setting<Integer> PARSE_AHEAD_SETTING = Setting.intSetting(
+        "indices.bulk.parse_ahead",
+        0,
+        0,
+        1024,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+
     private final UpdateHelper updateHelper;
     private final MappingUpdatedAction mappingUpdatedAction;
     private final Consumer<Runnable> postWriteAction;
+    private volatile int parseAhead;
 
     @Inject
     public TransportShardBulkAction(
@@ -114,6 +130,8 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         this.updateHelper = updateHelper;
         this.mappingUpdatedAction = mappingUpdatedAction;
         this.postWriteAction = WriteAckDelay.create(settings, threadPool);
+        this.parseAhead = PARSE_AHEAD_SETTING.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(PARSE_AHEAD_SETTING, value -> this.parseAhead = value);
     }
 
     @Override
@@ -152,7 +170,7 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             public void onTimeout(TimeValue timeout) {
                 mappingUpdateListener.onFailure(new MapperException("timed out while waiting for a dynamic mapping update"));
             }
-        }), listener, threadPool, executor(primary), postWriteAction);
+        }), listener, threadPool, executor(primary), postWriteAction, parseAhead);
     }
 
     @Override
@@ -201,12 +219,57 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         ThreadPool threadPool,
         String executorName,
         @Nullable Consumer<Runnable> postWriteAction
+    ) {
+        performOnPrimary(
+            request,
+            primary,
+            updateHelper,
+            nowInMillisSupplier,
+            mappingUpdater,
+            waitForMappingUpdate,
+            listener,
+            threadPool,
+            executorName,
+            postWriteAction,
+            0
+        );
+    }
+
+    /**
+     * Executes the items of the request on the primary one after the other. If {@code parseAhead} is greater than {@code 0}
+     * the documents of that many index requests that follow the item being executed are parsed concurrently on the
+     * {@link ThreadPool.Names#BULK_PARSE} thread pool.
+     */
+    public static void performOnPrimary(
+        BulkShardRequest request,
+        IndexShard primary,
+        UpdateHelper updateHelper,
+        LongSupplier nowInMillisSupplier,
+        MappingUpdatePerformer mappingUpdater,
+        Consumer<ActionListener<Void>> waitForMappingUpdate,
+        ActionListener<PrimaryResult<BulkShardRequest, BulkShardResponse>> listener,
+        ThreadPool threadPool,
+        String executorName,
+        @Nullable Consumer<Runnable> postWriteAction,
+        int parseAhead
     ) {
         new ActionRunnable<>(listener) {
 
             private final Executor executor = threadPool.executor(executorName);
 
-            private final BulkPrimaryExecutionContext context = new BulkPrimaryExecutionContext(request, primary);
+            private final BulkPrimaryExecutionContext context = new BulkPrimaryExecutionContext(
+                request,
+                primary,
+                parseAhead > 0 && request.items().length > 1
+                    ? new BulkParseAhead(
+                        request,
+                        primary.mapperService(),
+                        threadPool.getThreadContext(),
+                        threadPool.executor(ThreadPool.Names.BULK_PARSE),
+                        parseAhead
+                    )
+                    : null
+            );
 
             final long startBulkTime = System.nanoTime();
 
@@ -283,6 +346,16 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
         }.run();
     }
 
+    static SourceToParse toSourceToParse(IndexRequest request) {
+        return new SourceToParse(
+            request.id(),
+            request.source(),
+            request.getContentType(),
+            request.routing(),
+            request.getDynamicTemplates()
+        );
+    }
+
     /**
      * Executes bulk item requests and handles request execution exceptions.
      * @return {@code true} if request completed on this thread and the listener was invoked, {@code false} if the request triggered
@@ -341,21 +414,19 @@ public class TransportShardBulkAction extends TransportWriteAction<BulkShardRequ
             );
         } else {
             final IndexRequest request = context.getRequestToExecute();
-            final SourceToParse sourceToParse = new SourceToParse(
-                request.id(),
-                request.source(),
-                request.getContentType(),
-                request.routing(),
-                request.getDynamicTemplates()
-            );
+            // updates are translated to index requests that weren't parsed ahead
+            final ParsedDocument parsedDocument = updateResult == null
+                ? context.takeParsedDocument(primary.mapperService().documentMapper())
+                : null;
             result = primary.applyIndexOperationOnPrimary(
                 version,
                 request.versionType(),
-                sourceToParse,
+                toSourceToParse(request),
                 request.ifSeqNo(),
                 request.ifPrimaryTerm(),
                 request.getAutoGeneratedTimestamp(),
-                request.isRetry()
+                request.isRetry(),
+                parsedDocument
             );
         }
         if (result.getResultType() == Engine.Result.Type.MAPPING_UPDATE_REQUIRED) {
@@ -0,0 +1,80 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.action.search;
+
+import org.apache.lucene.search.ScoreDoc;
+import org.elasticsearch.search.dfs.DfsKnnResults;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Utility class to keep track of the global k-th best score of each kNN search in a distributed dfs phase.
+ * Documents that score below this bound on the remaining shards cannot make it into the merged top k.
+ */
+class KnnScoreBoundsCollector {
+    private final int[] ks;
+    private final List<PriorityQueue<Float>> topScores;
+
+    private volatile float[] scoreBounds;
+
+    KnnScoreBoundsCollector(int[] ks) {
+        this.ks = ks;
+        this.topScores = new ArrayList<>(ks.length);
+        for (int k : ks) {
+            topScores.add(new PriorityQueue<>(k));
+        }
+    }
+
+    /**
+     * @return The minimum score that a document must reach to be competitive for each kNN search,
+     * or <code>null</code> if no kNN search has seen k hits yet.
+     */
+    float[] getScoreBounds() {
+        return scoreBounds;
+    }
+
+    synchronized void consumeKnnResults(List<DfsKnnResults> knnResults) {
+        if (knnResults == null || knnResults.size() != ks.length) {
+            return;
+        }
+        boolean updated = false;
+        for (int i = 0; i < ks.length; i++) {
+            PriorityQueue<Float> queue = topScores.get(i);
+            for (ScoreDoc scoreDoc : knnResults.get(i).scoreDocs()) {
+                if (queue.size() < ks[i]) {
+                    queue.add(scoreDoc.score);
+                    updated = true;
+                } else if (scoreDoc.score > queue.peek()) {
+                    queue.poll();
+                    queue.add(scoreDoc.score);
+                    updated = true;
+                }
+            }
+        }
+        if (updated == false) {
+            return;
+        }
+        float[] bounds = new float[ks.length];
+        boolean hasBound = false;
+        for (int i = 0; i < ks.length; i++) {
+            PriorityQueue<Float> queue = topScores.get(i);
+            if (queue.size() == ks[i]) {
+                bounds[i] = queue.peek();
+                hasBound = true;
+            } else {
+                bounds[i] = Float.NEGATIVE_INFINITY;
+            }
+        }
+        if (hasBound) {
+            scoreBounds = bounds;
+        }
+    }
+}
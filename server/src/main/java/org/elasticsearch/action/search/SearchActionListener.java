@@ -8,6 +8,7 @@
 package org.elasticsearch.action.search;
 
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.search.SearchPhaseResult;
 import org.elasticsearch.search.SearchShardTarget;
 
@@ -33,6 +34,13 @@ abstract class SearchActionListener<T extends SearchPhaseResult> implements Acti
         innerOnResponse(response);
     }
 
+    /**
+     * The shard that the response of this listener comes from.
+     */
+    ShardId shardId() {
+        return searchShardTarget.getShardId();
+    }
+
     protected void setSearchShardTarget(T response) { // some impls need to override this
         response.setSearchShardTarget(searchShardTarget);
     }
@@ -17,6 +17,8 @@ import org.elasticsearch.search.dfs.AggregatedDfs;
 import org.elasticsearch.search.dfs.DfsKnnResults;
 import org.elasticsearch.search.dfs.DfsSearchResult;
 import org.elasticsearch.search.internal.AliasFilter;
+import org.elasticsearch.search.internal.ShardSearchRequest;
+import org.elasticsearch.search.vectors.KnnSearchBuilder;
 import org.elasticsearch.transport.Transport;
 
 import java.util.List;
@@ -27,6 +29,7 @@ import java.util.function.BiFunction;
 final class SearchDfsQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<DfsSearchResult> {
 
     private final QueryPhaseResultConsumer queryPhaseResultConsumer;
+    private final KnnScoreBoundsCollector knnScoreBoundsCollector;
 
     SearchDfsQueryThenFetchAsyncAction(
         final Logger logger,
@@ -63,6 +66,13 @@ final class SearchDfsQueryThenFetchAsyncAction extends AbstractSearchAsyncAction
             clusters
         );
         this.queryPhaseResultConsumer = queryPhaseResultConsumer;
+        if (request.hasKnnSearch() && request.scroll() == null) {
+            this.knnScoreBoundsCollector = new KnnScoreBoundsCollector(
+                request.source().knnSearch().stream().mapToInt(KnnSearchBuilder::k).toArray()
+            );
+        } else {
+            this.knnScoreBoundsCollector = null;
+        }
         SearchProgressListener progressListener = task.getProgressListener();
         if (progressListener != SearchProgressListener.NOOP) {
             notifyListShards(progressListener, clusters, request.source());
@@ -75,12 +85,20 @@ final class SearchDfsQueryThenFetchAsyncAction extends AbstractSearchAsyncAction
         final SearchShardTarget shard,
         final SearchActionListener<DfsSearchResult> listener
     ) {
-        getSearchTransport().sendExecuteDfs(
-            getConnection(shard.getClusterAlias(), shard.getNodeId()),
-            buildShardSearchRequest(shardIt, listener.requestIndex),
-            getTask(),
-            listener
-        );
+        ShardSearchRequest request = buildShardSearchRequest(shardIt, listener.requestIndex);
+        if (knnScoreBoundsCollector != null && knnScoreBoundsCollector.getScoreBounds() != null) {
+            // pass the current global k-th scores so that the shard can skip hits that cannot be competitive
+            request.setKnnScoreBounds(knnScoreBoundsCollector.getScoreBounds());
+        }
+        getSearchTransport().sendExecuteDfs(getConnection(shard.getClusterAlias(), shard.getNodeId()), request, getTask(), listener);
+    }
+
+    @Override
+    protected void onShardResult(DfsSearchResult result, SearchShardIterator shardIt) {
+        if (knnScoreBoundsCollector != null) {
+            knnScoreBoundsCollector.consumeKnnResults(result.knnResults());
+        }
+        super.onShardResult(result, shardIt);
     }
 
     @Override
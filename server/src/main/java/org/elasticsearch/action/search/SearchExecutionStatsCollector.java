@@ -9,6 +9,8 @@
 package org.elasticsearch.action.search;
 
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.node.ResponseCollectorService;
 import org.elasticsearch.search.SearchPhaseResult;
 import org.elasticsearch.search.query.QuerySearchResult;
@@ -25,14 +27,21 @@ import java.util.function.BiFunction;
 public final class SearchExecutionStatsCollector extends ActionListener.Delegating<SearchPhaseResult, SearchPhaseResult> {
 
     private final String nodeId;
+    private final ShardId shardId;
     private final ResponseCollectorService collector;
     private final long startNanos;
 
-    SearchExecutionStatsCollector(ActionListener<SearchPhaseResult> listener, ResponseCollectorService collector, String nodeId) {
+    SearchExecutionStatsCollector(
+        ActionListener<SearchPhaseResult> listener,
+        ResponseCollectorService collector,
+        String nodeId,
+        @Nullable ShardId shardId
+    ) {
         super(Objects.requireNonNull(listener, "listener cannot be null"));
         this.collector = Objects.requireNonNull(collector, "response collector cannot be null");
         this.startNanos = System.nanoTime();
         this.nodeId = nodeId;
+        this.shardId = shardId;
     }
 
     @SuppressWarnings("unchecked")
@@ -42,7 +51,8 @@ public final class SearchExecutionStatsCollector extends ActionListener.Delegati
         return (connection, originalListener) -> new SearchExecutionStatsCollector(
             (ActionListener<SearchPhaseResult>) originalListener,
             service,
-            connection.getNode().getId()
+            connection.getNode().getId(),
+            originalListener.shardId()
         );
     }
 
@@ -57,6 +67,12 @@ public final class SearchExecutionStatsCollector extends ActionListener.Delegati
             if (serviceTimeEWMA > 0 && queueSize >= 0) {
                 collector.addNodeStatistics(nodeId, queueSize, responseDuration, serviceTimeEWMA);
             }
+            final long shardServiceTimeEWMA = queryResult.shardServiceTimeEWMA();
+            final int shardQueueSize = queryResult.shardQueueSize();
+            // per shard copy statistics are only reported by nodes on 8.7.0 or later
+            if (shardId != null && shardServiceTimeEWMA > 0 && shardQueueSize >= 0) {
+                collector.addShardCopyStatistics(nodeId, shardId, shardQueueSize, responseDuration, shardServiceTimeEWMA);
+            }
         }
         delegate.onResponse(response);
     }
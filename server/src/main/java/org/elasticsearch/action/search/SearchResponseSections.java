@@ -8,17 +8,21 @@
 
 package org.elasticsearch.action.search;
 
+import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.xcontent.ChunkedToXContentHelper;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.aggregations.Aggregations;
 import org.elasticsearch.search.profile.SearchProfileResults;
 import org.elasticsearch.search.profile.SearchProfileShardResult;
 import org.elasticsearch.search.suggest.Suggest;
+import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -112,6 +116,18 @@ public class SearchResponseSections implements ToXContentFragment {
         return builder;
     }
 
+    /**
+     * Serializes the sections in chunks, see {@link SearchHits#toXContentChunked} and {@link Aggregations#toXContentChunked}.
+     */
+    public Iterator<? extends ToXContent> toXContentChunked(Params params) {
+        return Iterators.<ToXContent>concat(
+            hits.toXContentChunked(params),
+            aggregations == null ? Collections.emptyIterator() : aggregations.toXContentChunked(params),
+            suggest == null ? Collections.emptyIterator() : ChunkedToXContentHelper.singleChunk(suggest),
+            profileResults == null ? Collections.emptyIterator() : ChunkedToXContentHelper.singleChunk(profileResults)
+        );
+    }
+
     protected void writeTo(StreamOutput out) throws IOException {
         throw new UnsupportedOperationException();
     }
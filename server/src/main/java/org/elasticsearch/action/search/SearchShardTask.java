@@ -8,12 +8,16 @@
 
 package org.elasticsearch.action.search;
 
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.search.backpressure.ThreadResourceUsage;
 import org.elasticsearch.search.fetch.ShardFetchSearchRequest;
 import org.elasticsearch.search.internal.ShardSearchRequest;
 import org.elasticsearch.tasks.CancellableTask;
 import org.elasticsearch.tasks.TaskId;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Task storing information about a currently running search shard request.
@@ -21,10 +25,56 @@ import java.util.Map;
  */
 public class SearchShardTask extends CancellableTask {
 
+    private final AtomicLong completedCpuTimeNanos = new AtomicLong();
+    private final AtomicLong completedAllocatedBytes = new AtomicLong();
+    /**
+     * Threads currently executing this task, mapped to their CPU time and allocated bytes when they started to.
+     */
+    private final Map<Long, long[]> runningThreads = ConcurrentCollections.newConcurrentMap();
+
     public SearchShardTask(long id, String type, String action, String description, TaskId parentTaskId, Map<String, String> headers) {
         super(id, type, action, description, parentTaskId, headers);
     }
 
+    /**
+     * Accounts the CPU time and the heap allocations of the current thread to this task until the returned {@link Releasable}
+     * is closed. Nested calls on the same thread are no-ops so that resources are not accounted twice.
+     */
+    public Releasable startResourceTracking() {
+        final long threadId = Thread.currentThread().getId();
+        final long[] start = new long[] { ThreadResourceUsage.cpuTimeNanos(threadId), ThreadResourceUsage.allocatedBytes(threadId) };
+        if (runningThreads.putIfAbsent(threadId, start) != null) {
+            return () -> {};
+        }
+        return () -> {
+            runningThreads.remove(threadId);
+            completedCpuTimeNanos.addAndGet(Math.max(0, ThreadResourceUsage.cpuTimeNanos(threadId) - start[0]));
+            completedAllocatedBytes.addAndGet(Math.max(0, ThreadResourceUsage.allocatedBytes(threadId) - start[1]));
+        };
+    }
+
+    /**
+     * CPU time consumed by this task so far, including the executions that are still running.
+     */
+    public long getCpuTimeNanos() {
+        long cpuTimeNanos = completedCpuTimeNanos.get();
+        for (Map.Entry<Long, long[]> running : runningThreads.entrySet()) {
+            cpuTimeNanos += Math.max(0, ThreadResourceUsage.cpuTimeNanos(running.getKey()) - running.getValue()[0]);
+        }
+        return cpuTimeNanos;
+    }
+
+    /**
+     * Bytes allocated on the heap by this task so far, including the executions that are still running.
+     */
+    public long getAllocatedBytes() {
+        long allocatedBytes = completedAllocatedBytes.get();
+        for (Map.Entry<Long, long[]> running : runningThreads.entrySet()) {
+            allocatedBytes += Math.max(0, ThreadResourceUsage.allocatedBytes(running.getKey()) - running.getValue()[1]);
+        }
+        return allocatedBytes;
+    }
+
     @Override
     public boolean shouldCancelChildrenOnCancellation() {
         return false;
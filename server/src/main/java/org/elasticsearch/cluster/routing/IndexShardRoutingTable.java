@@ -237,6 +237,18 @@ public class IndexShardRoutingTable {
         return nodeStats;
     }
 
+    private static Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> getShardCopyStats(
+        final Set<String> nodeIds,
+        final ShardId shardId,
+        final ResponseCollectorService collector
+    ) {
+        final Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> copyStats = Maps.newMapWithExpectedSize(nodeIds.size());
+        for (String nodeId : nodeIds) {
+            copyStats.put(nodeId, collector.getShardCopyStatistics(nodeId, shardId));
+        }
+        return copyStats;
+    }
+
     private static Map<String, Double> rankNodes(
         final Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> nodeStats,
         final Map<String, Long> nodeSearchCounts
@@ -262,19 +274,22 @@ public class IndexShardRoutingTable {
      * This adjustment takes the "winning" node's statistics and adds the average of those statistics with each non-winning node. Let's say
      * the winning node had a queue size of 10 and a non-winning node had a queue of 18. The average queue size is (10 + 18) / 2 = 14 so the
      * non-winning node will have statistics added for a queue size of 14. This is repeated for the response time and service times as well.
+     * The same adjustment is applied to the statistics of the shard copies. A copy without statistics gets the winning copy's ones, so
+     * that every copy eventually has statistics and the copies can be ranked by them.
      */
     private static void adjustStats(
-        final ResponseCollectorService collector,
+        final StatsAdjuster adjuster,
         final Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> nodeStats,
         final String minNodeId,
-        final ResponseCollectorService.ComputedNodeStats minStats
+        final ResponseCollectorService.ComputedNodeStats minStats,
+        final boolean adjustMissingStats
     ) {
         if (minNodeId != null) {
             for (Map.Entry<String, Optional<ResponseCollectorService.ComputedNodeStats>> entry : nodeStats.entrySet()) {
                 final String nodeId = entry.getKey();
                 final Optional<ResponseCollectorService.ComputedNodeStats> maybeStats = entry.getValue();
-                if (nodeId.equals(minNodeId) == false && maybeStats.isPresent()) {
-                    final ResponseCollectorService.ComputedNodeStats stats = maybeStats.get();
+                if (nodeId.equals(minNodeId) == false && (maybeStats.isPresent() || adjustMissingStats)) {
+                    final ResponseCollectorService.ComputedNodeStats stats = maybeStats.orElse(minStats);
                     final int updatedQueue = (minStats.queueSize + stats.queueSize) / 2;
                     final long updatedResponse = (long) (minStats.responseTime + stats.responseTime) / 2;
 
@@ -285,7 +300,7 @@ public class IndexShardRoutingTable {
                     avgServiceTime.addValue((minStats.serviceTime + stats.serviceTime) / 2);
                     final long updatedService = (long) avgServiceTime.getAverage();
 
-                    collector.addNodeStatistics(nodeId, updatedQueue, updatedResponse, updatedService);
+                    adjuster.addStatistics(nodeId, updatedQueue, updatedResponse, updatedService);
                 }
             }
         }
@@ -302,10 +317,14 @@ public class IndexShardRoutingTable {
 
         // Retrieve which nodes we can potentially send the query to
         final Set<String> nodeIds = getAllNodeIds(shards);
+        final ShardId shardId = shards.get(0).shardId();
         final Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> nodeStats = getNodeStats(nodeIds, collector);
+        final Map<String, Optional<ResponseCollectorService.ComputedNodeStats>> copyStats = getShardCopyStats(nodeIds, shardId, collector);
 
-        // Retrieve all the nodes the shards exist on
-        final Map<String, Double> nodeRanks = rankNodes(nodeStats, nodeSearchCounts);
+        // Rank the copies by their own statistics if all of them have some, otherwise by the statistics of their nodes, so that
+        // all copies are ranked on the same scale
+        final boolean rankByCopyStats = copyStats.values().stream().allMatch(Optional::isPresent);
+        final Map<String, Double> nodeRanks = rankNodes(rankByCopyStats ? copyStats : nodeStats, nodeSearchCounts);
 
         // sort all shards based on the shard rank
         ArrayList<ShardRouting> sortedShards = new ArrayList<>(shards);
@@ -320,7 +339,25 @@ public class IndexShardRoutingTable {
                 String minNodeId = minShard.currentNodeId();
                 Optional<ResponseCollectorService.ComputedNodeStats> maybeMinStats = nodeStats.get(minNodeId);
                 if (maybeMinStats.isPresent()) {
-                    adjustStats(collector, nodeStats, minNodeId, maybeMinStats.get());
+                    adjustStats(collector::addNodeStatistics, nodeStats, minNodeId, maybeMinStats.get(), false);
+                }
+                Optional<ResponseCollectorService.ComputedNodeStats> maybeMinCopyStats = copyStats.get(minNodeId);
+                if (maybeMinCopyStats.isPresent()) {
+                    adjustStats(
+                        (nodeId, queueSize, responseTime, serviceTime) -> collector.addShardCopyStatistics(
+                            nodeId,
+                            shardId,
+                            queueSize,
+                            responseTime,
+                            serviceTime
+                        ),
+                        copyStats,
+                        minNodeId,
+                        maybeMinCopyStats.get(),
+                        true
+                    );
+                }
+                if (maybeMinStats.isPresent() || maybeMinCopyStats.isPresent()) {
                     // Increase the number of searches for the "winning" node by one.
                     // Note that this doesn't actually affect the "real" counts, instead
                     // it only affects the captured node search counts, which is
@@ -333,6 +370,11 @@ public class IndexShardRoutingTable {
         return sortedShards;
     }
 
+    @FunctionalInterface
+    private interface StatsAdjuster {
+        void addStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos);
+    }
+
     private static class NodeRankComparator implements Comparator<ShardRouting> {
         private final Map<String, Double> nodeRanks;
 
@@ -14,10 +14,13 @@ import org.elasticsearch.core.Tuple;
 import java.lang.reflect.Array;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -41,14 +44,16 @@ import java.util.function.ToLongBiFunction;
  * if they are reading a segment that a writer is writing to).
  * <p>
  * The LRU functionality is backed by a single doubly-linked list chaining the entries in order of insertion. This
- * LRU list is protected by a lock that serializes all writes to it. There are opportunities for improvements
- * here if write throughput is a concern.
- * <ol>
- * <li>LRU list mutations could be inserted into a blocking queue that a single thread is reading from
- * and applying to the LRU list.</li>
- * <li>Promotions could be deferred for entries that were "recently" promoted.</li>
- * <li>Locks on the list could be taken per node being modified instead of globally.</li>
- * </ol>
+ * LRU list is protected by a lock that serializes all writes to it. Reads do not take this lock: the entries that were
+ * hit are recorded in striped, lossy read buffers and their promotions are applied in batches by whichever thread
+ * fills a buffer and manages to acquire the lock, or before the next write to the LRU list. Under contention some
+ * promotions may be dropped, so the LRU order is only approximate, but a single thread always sees an exact LRU order.
+ * <p>
+ * When {@link CacheBuilder#setFrequencyAwareEviction(boolean) frequency-aware eviction} is enabled, new entries are
+ * first inserted into a small admission window, which is one percent of the maximum weight. Entries that overflow the
+ * window are only admitted into the main LRU list if they were accessed more frequently than the least recently used
+ * entry of the main list, according to a {@link FrequencySketch}. This is similar to W-TinyLFU and protects frequently
+ * used entries from being flushed by scans of entries that are only used once.
  * <p>
  * Evictions only occur after a mutation to the cache (meaning an entry promotion, a cache insertion, or a manual
  * invalidation) or an explicit call to {@link #refresh()}.
@@ -91,6 +96,9 @@ public class Cache<K, V> {
     // the removal callback
     private RemovalListener<K, V> removalListener = notification -> {};
 
+    // estimates the access frequency of keys, only set if eviction is frequency-aware
+    private FrequencySketch sketch;
+
     // use CacheBuilder to construct
     Cache() {}
 
@@ -137,6 +145,15 @@ public class Cache<K, V> {
         this.removalListener = removalListener;
     }
 
+    void setFrequencyAwareEviction(boolean frequencyAwareEviction) {
+        this.sketch = frequencyAwareEviction ? new FrequencySketch(16) : null;
+    }
+
+    // pkg-private for testing
+    boolean isFrequencyAwareEviction() {
+        return sketch != null;
+    }
+
     /**
      * The relative time used to track time-based evictions.
      *
@@ -162,6 +179,8 @@ public class Cache<K, V> {
         volatile long accessTime;
         Entry<K, V> before;
         Entry<K, V> after;
+        // the list this entry is linked in, either the admission window or the main LRU list
+        AccessOrder<K, V> list;
         State state = State.NEW;
 
         Entry(K key, V value, long writeTime) {
@@ -171,6 +190,112 @@ public class Cache<K, V> {
         }
     }
 
+    /**
+     * A doubly-linked list of entries, from the most recently used at the head to the least recently used at the tail.
+     */
+    private static final class AccessOrder<K, V> {
+        Entry<K, V> head;
+        Entry<K, V> tail;
+        // the weight of the entries in this list
+        long weight;
+
+        void linkAtHead(Entry<K, V> entry, long entryWeight) {
+            Entry<K, V> h = head;
+            entry.before = null;
+            entry.after = head;
+            head = entry;
+            if (h == null) {
+                tail = entry;
+            } else {
+                h.before = entry;
+            }
+            entry.list = this;
+            weight += entryWeight;
+        }
+
+        void unlink(Entry<K, V> entry, long entryWeight) {
+            assert entry.list == this;
+            final Entry<K, V> before = entry.before;
+            final Entry<K, V> after = entry.after;
+
+            if (before == null) {
+                // removing the head
+                assert head == entry;
+                head = after;
+                if (head != null) {
+                    head.before = null;
+                }
+            } else {
+                // removing inner element
+                before.after = after;
+                entry.before = null;
+            }
+
+            if (after == null) {
+                // removing tail
+                assert tail == entry;
+                tail = before;
+                if (tail != null) {
+                    tail.after = null;
+                }
+            } else {
+                // removing inner element
+                after.before = before;
+                entry.after = null;
+            }
+            entry.list = null;
+            weight -= entryWeight;
+        }
+    }
+
+    /**
+     * A lossy buffer of entries that were read and must be promoted in the LRU list. Reads are recorded without locking
+     * and dropped if the buffer is full or if another thread concurrently claims the same slot. The buffer is drained
+     * under the LRU lock.
+     */
+    private static final class ReadBuffer<K, V> {
+        static final int SIZE = 16;
+
+        final AtomicReferenceArray<Entry<K, V>> slots = new AtomicReferenceArray<>(SIZE);
+        final AtomicLong writes = new AtomicLong();
+        // only written under the LRU lock
+        volatile long reads;
+
+        /**
+         * Records a read of the entry.
+         *
+         * @return whether the buffer is full and should be drained
+         */
+        boolean offer(Entry<K, V> entry) {
+            final long w = writes.get();
+            final long size = w - reads;
+            if (size >= SIZE) {
+                return true;
+            }
+            if (writes.compareAndSet(w, w + 1)) {
+                slots.lazySet((int) (w & (SIZE - 1)), entry);
+                return size + 1 >= SIZE;
+            }
+            return false;
+        }
+
+        void drain(Consumer<Entry<K, V>> consumer) {
+            long r = reads;
+            final long w = writes.get();
+            for (; r < w; r++) {
+                final int index = (int) (r & (SIZE - 1));
+                final Entry<K, V> entry = slots.get(index);
+                if (entry == null) {
+                    // the slot was claimed but the entry is not published yet, it will be drained next time
+                    break;
+                }
+                slots.lazySet(index, null);
+                consumer.accept(entry);
+            }
+            reads = r;
+        }
+    }
+
     /**
      * A cache segment.
      * <p>
@@ -317,6 +442,28 @@ public class Cache<K, V> {
             }
         }
 
+        /**
+         * remove an entry from the segment iff it is still the entry associated with its key; unlike
+         * {@link #remove(Object, Object, boolean)} this never removes an entry that replaced it with an equal value
+         *
+         * @param entry the entry to remove from the cache
+         */
+        void remove(Entry<K, V> entry) {
+            boolean removed = false;
+            try (ReleasableLock ignored = writeLock.acquire()) {
+                CompletableFuture<Entry<K, V>> future = map == null ? null : map.get(entry.key);
+                if (future != null && future.isDone() && future.isCompletedExceptionally() == false && future.getNow(null) == entry) {
+                    removed = map.remove(entry.key, future);
+                    if (map.isEmpty()) {
+                        map = null;
+                    }
+                }
+            }
+            if (removed) {
+                evictions.increment();
+            }
+        }
+
     }
 
     public static final int NUMBER_OF_SEGMENTS = 256;
@@ -329,12 +476,20 @@ public class Cache<K, V> {
         }
     }
 
-    Entry<K, V> head;
-    Entry<K, V> tail;
+    // the main LRU list
+    private final AccessOrder<K, V> lru = new AccessOrder<>();
+
+    // the admission window, new entries are linked here first if eviction is frequency-aware
+    private final AccessOrder<K, V> window = new AccessOrder<>();
 
     // lock protecting mutations to the LRU list
     private final ReleasableLock lruLock = new ReleasableLock(new ReentrantLock());
 
+    static final int NUMBER_OF_READ_BUFFERS = Math.min(64, Integer.highestOneBit(2 * Runtime.getRuntime().availableProcessors() - 1));
+
+    // striped by thread, allocated lazily as most caches are only read by a few threads
+    private final AtomicReferenceArray<ReadBuffer<K, V>> readBuffers = new AtomicReferenceArray<>(NUMBER_OF_READ_BUFFERS);
+
     /**
      * Returns the value to which the specified key is mapped, or null if this map contains no mapping for the key.
      *
@@ -351,11 +506,45 @@ public class Cache<K, V> {
         if (entry == null) {
             return null;
         } else {
-            promote(entry, now);
+            afterRead(entry, now);
             return entry.value;
         }
     }
 
+    private void afterRead(Entry<K, V> entry, long now) {
+        final int index = Long.hashCode(Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) & (NUMBER_OF_READ_BUFFERS - 1);
+        ReadBuffer<K, V> buffer = readBuffers.get(index);
+        if (buffer == null) {
+            readBuffers.compareAndSet(index, null, new ReadBuffer<>());
+            buffer = readBuffers.get(index);
+        }
+        if (buffer.offer(entry)) {
+            // no need to wait if another thread holds the lock, it will drain the buffers before its own LRU mutation
+            try (ReleasableLock locked = lruLock.tryAcquire()) {
+                if (locked != null) {
+                    drainReadBuffers();
+                    evict(now);
+                }
+            }
+        }
+    }
+
+    private void drainReadBuffers() {
+        assert lruLock.isHeldByCurrentThread();
+
+        for (int i = 0; i < NUMBER_OF_READ_BUFFERS; i++) {
+            ReadBuffer<K, V> buffer = readBuffers.get(i);
+            if (buffer != null) {
+                buffer.drain(entry -> {
+                    // new entries are linked by the thread that inserted them, deleted entries must not be linked again
+                    if (entry.state == State.EXISTING) {
+                        relinkAtHead(entry);
+                    }
+                });
+            }
+        }
+    }
+
     /**
      * If the specified key is not already associated with a value (or is mapped to null), attempts to compute its
      * value using the given mapping function and enters it into this map unless null. The load method for a given key
@@ -462,7 +651,7 @@ public class Cache<K, V> {
         Tuple<Entry<K, V>, Entry<K, V>> tuple = segment.put(key, value, now);
         boolean replaced = false;
         try (ReleasableLock ignored = lruLock.acquire()) {
-            if (tuple.v2() != null && tuple.v2().state == State.EXISTING) {
+            if (tuple.v2() != null) {
                 if (unlink(tuple.v2())) {
                     replaced = true;
                 }
@@ -519,6 +708,7 @@ public class Cache<K, V> {
      */
     public void invalidateAll() {
         Entry<K, V> h;
+        Entry<K, V> w;
 
         boolean[] haveSegmentLock = new boolean[NUMBER_OF_SEGMENTS];
         try {
@@ -527,16 +717,22 @@ public class Cache<K, V> {
                 haveSegmentLock[i] = true;
             }
             try (ReleasableLock ignored = lruLock.acquire()) {
-                h = head;
+                drainReadBuffers();
+                h = lru.head;
+                w = window.head;
                 for (CacheSegment segment : segments) {
                     segment.map = null;
                 }
-                Entry<K, V> current = head;
-                while (current != null) {
-                    current.state = State.DELETED;
-                    current = current.after;
+                for (AccessOrder<K, V> list : List.of(lru, window)) {
+                    Entry<K, V> current = list.head;
+                    while (current != null) {
+                        current.state = State.DELETED;
+                        current.list = null;
+                        current = current.after;
+                    }
+                    list.head = list.tail = null;
+                    list.weight = 0;
                 }
-                head = tail = null;
                 count = 0;
                 weight = 0;
             }
@@ -547,6 +743,10 @@ public class Cache<K, V> {
                 }
             }
         }
+        while (w != null) {
+            removalListener.onRemoval(new RemovalNotification<>(w.key, w.value, RemovalNotification.RemovalReason.INVALIDATED));
+            w = w.after;
+        }
         while (h != null) {
             removalListener.onRemoval(new RemovalNotification<>(h.key, h.value, RemovalNotification.RemovalReason.INVALIDATED));
             h = h.after;
@@ -559,6 +759,7 @@ public class Cache<K, V> {
     public void refresh() {
         long now = now();
         try (ReleasableLock ignored = lruLock.acquire()) {
+            drainReadBuffers();
             evict(now);
         }
     }
@@ -590,7 +791,7 @@ public class Cache<K, V> {
      */
     public Iterable<K> keys() {
         return () -> new Iterator<K>() {
-            private final CacheIterator iterator = new CacheIterator(head);
+            private final CacheIterator iterator = new CacheIterator();
 
             @Override
             public boolean hasNext() {
@@ -618,7 +819,7 @@ public class Cache<K, V> {
      */
     public Iterable<V> values() {
         return () -> new Iterator<V>() {
-            private final CacheIterator iterator = new CacheIterator(head);
+            private final CacheIterator iterator = new CacheIterator();
 
             @Override
             public boolean hasNext() {
@@ -668,10 +869,16 @@ public class Cache<K, V> {
     private class CacheIterator implements Iterator<Entry<K, V>> {
         private Entry<K, V> current;
         private Entry<K, V> next;
+        // the head of the main LRU list, iterated after the admission window
+        private Entry<K, V> lruHead;
 
-        CacheIterator(Entry<K, V> head) {
-            current = null;
-            next = head;
+        CacheIterator() {
+            try (ReleasableLock ignored = lruLock.acquire()) {
+                drainReadBuffers();
+                current = null;
+                next = window.head == null ? lru.head : window.head;
+                lruHead = window.head == null ? null : lru.head;
+            }
         }
 
         @Override
@@ -683,6 +890,10 @@ public class Cache<K, V> {
         public Entry<K, V> next() {
             current = next;
             next = next.after;
+            if (next == null) {
+                next = lruHead;
+                lruHead = null;
+            }
             return current;
         }
 
@@ -735,25 +946,71 @@ public class Cache<K, V> {
     }
 
     private void promote(Entry<K, V> entry, long now) {
-        boolean promoted = true;
         try (ReleasableLock ignored = lruLock.acquire()) {
+            // apply the pending reads first so that the LRU order reflects the order of operations of a single thread
+            drainReadBuffers();
             switch (entry.state) {
-                case DELETED -> promoted = false;
+                case DELETED -> {
+                    return;
+                }
                 case EXISTING -> relinkAtHead(entry);
                 case NEW -> linkAtHead(entry);
             }
-            if (promoted) {
-                evict(now);
-            }
+            evict(now);
         }
     }
 
     private void evict(long now) {
         assert lruLock.isHeldByCurrentThread();
 
-        while (tail != null && shouldPrune(tail, now)) {
-            evictEntry(tail);
+        if (sketch == null) {
+            while (lru.tail != null && shouldPrune(lru.tail, now)) {
+                evictEntry(lru.tail);
+            }
+            return;
+        }
+
+        while (window.tail != null && isExpired(window.tail, now)) {
+            evictEntry(window.tail);
+        }
+        while (lru.tail != null && isExpired(lru.tail, now)) {
+            evictEntry(lru.tail);
         }
+        // the entries overflowing the window, except the most recent one, move to the main list where they compete for
+        // admission with its least recently used entries, starting with the one that was moved first
+        Entry<K, V> candidate = null;
+        while (maximumWeight != -1 && window.tail != window.head && window.weight > maximumWeight / 100) {
+            Entry<K, V> entry = window.tail;
+            long entryWeight = weigher.applyAsLong(entry.key, entry.value);
+            window.unlink(entry, entryWeight);
+            lru.linkAtHead(entry, entryWeight);
+            if (candidate == null) {
+                candidate = entry;
+            }
+        }
+        while (exceedsWeight() && (lru.tail != null || window.tail != null)) {
+            final Entry<K, V> victim = lru.tail;
+            if (victim == null) {
+                evictEntry(window.tail);
+            } else if (candidate == null) {
+                evictEntry(victim);
+            } else if (candidate == victim) {
+                candidate = candidate.before;
+                evictEntry(victim);
+            } else if (frequency(candidate) > frequency(victim)) {
+                // the candidate is admitted
+                candidate = candidate.before;
+                evictEntry(victim);
+            } else {
+                final Entry<K, V> rejected = candidate;
+                candidate = candidate.before;
+                evictEntry(rejected);
+            }
+        }
+    }
+
+    private int frequency(Entry<K, V> entry) {
+        return sketch.frequency(FrequencySketch.spread(entry.key));
     }
 
     private void evictEntry(Entry<K, V> entry) {
@@ -761,7 +1018,7 @@ public class Cache<K, V> {
 
         CacheSegment segment = getCacheSegment(entry.key);
         if (segment != null) {
-            segment.remove(entry.key, entry.value, false);
+            segment.remove(entry);
         }
         delete(entry, RemovalNotification.RemovalReason.EVICTED);
     }
@@ -791,40 +1048,15 @@ public class Cache<K, V> {
         assert lruLock.isHeldByCurrentThread();
 
         if (entry.state == State.EXISTING) {
-            final Entry<K, V> before = entry.before;
-            final Entry<K, V> after = entry.after;
-
-            if (before == null) {
-                // removing the head
-                assert head == entry;
-                head = after;
-                if (head != null) {
-                    head.before = null;
-                }
-            } else {
-                // removing inner element
-                before.after = after;
-                entry.before = null;
-            }
-
-            if (after == null) {
-                // removing tail
-                assert tail == entry;
-                tail = before;
-                if (tail != null) {
-                    tail.after = null;
-                }
-            } else {
-                // removing inner element
-                after.before = before;
-                entry.after = null;
-            }
-
+            final long entryWeight = weigher.applyAsLong(entry.key, entry.value);
+            entry.list.unlink(entry, entryWeight);
             count--;
-            weight -= weigher.applyAsLong(entry.key, entry.value);
+            weight -= entryWeight;
             entry.state = State.DELETED;
             return true;
         } else {
+            // the entry was replaced or invalidated before the thread that inserted it linked it, it must not be linked anymore
+            entry.state = State.DELETED;
             return false;
         }
     }
@@ -832,27 +1064,30 @@ public class Cache<K, V> {
     private void linkAtHead(Entry<K, V> entry) {
         assert lruLock.isHeldByCurrentThread();
 
-        Entry<K, V> h = head;
-        entry.before = null;
-        entry.after = head;
-        head = entry;
-        if (h == null) {
-            tail = entry;
-        } else {
-            h.before = entry;
-        }
-
+        final long entryWeight = weigher.applyAsLong(entry.key, entry.value);
+        (sketch == null ? lru : window).linkAtHead(entry, entryWeight);
         count++;
-        weight += weigher.applyAsLong(entry.key, entry.value);
+        weight += entryWeight;
         entry.state = State.EXISTING;
+        if (sketch != null) {
+            if (count > sketch.capacity()) {
+                sketch.ensureCapacity(2 * count);
+            }
+            sketch.increment(FrequencySketch.spread(entry.key));
+        }
     }
 
     private void relinkAtHead(Entry<K, V> entry) {
         assert lruLock.isHeldByCurrentThread();
 
-        if (head != entry) {
-            unlink(entry);
-            linkAtHead(entry);
+        final AccessOrder<K, V> list = entry.list;
+        if (list.head != entry) {
+            final long entryWeight = weigher.applyAsLong(entry.key, entry.value);
+            list.unlink(entry, entryWeight);
+            list.linkAtHead(entry, entryWeight);
+        }
+        if (sketch != null) {
+            sketch.increment(FrequencySketch.spread(entry.key));
         }
     }
 
@@ -19,6 +19,7 @@ public class CacheBuilder<K, V> {
     private long expireAfterWriteNanos = -1;
     private ToLongBiFunction<K, V> weigher;
     private RemovalListener<K, V> removalListener;
+    private boolean frequencyAwareEviction;
 
     public static <K, V> CacheBuilder<K, V> builder() {
         return new CacheBuilder<>();
@@ -78,6 +79,17 @@ public class CacheBuilder<K, V> {
         return this;
     }
 
+    /**
+     * Sets whether entries are only admitted into the cache if they are used more frequently than the entries they would
+     * replace, instead of always evicting the least recently used entries. This protects frequently used entries from
+     * being flushed by scans of entries that are used only once, but entries that were just inserted may be evicted
+     * before older ones. Defaults to {@code false}.
+     */
+    public CacheBuilder<K, V> setFrequencyAwareEviction(boolean frequencyAwareEviction) {
+        this.frequencyAwareEviction = frequencyAwareEviction;
+        return this;
+    }
+
     public Cache<K, V> build() {
         Cache<K, V> cache = new Cache<>();
         if (maximumWeight != -1) {
@@ -95,6 +107,9 @@ public class CacheBuilder<K, V> {
         if (removalListener != null) {
             cache.setRemovalListener(removalListener);
         }
+        if (frequencyAwareEviction) {
+            cache.setFrequencyAwareEviction(true);
+        }
         return cache;
     }
 }
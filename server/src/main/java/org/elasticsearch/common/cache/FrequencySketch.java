@@ -0,0 +1,123 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.cache;
+
+/**
+ * A probabilistic estimate of how often keys were accessed recently, used by {@link Cache} to decide whether a new
+ * entry is worth evicting an older one for.
+ * <p>
+ * This is a count-min sketch with four 4-bit counters per key, all of them packed in the same {@code long} for
+ * locality. Counters saturate at 15 and, once enough increments were recorded, all of them are halved so that
+ * the sketch forgets about keys that used to be popular. This aging keeps the sketch small and lets the cache
+ * adapt when the workload changes.
+ * <p>
+ * This class is not thread safe, {@link Cache} only uses it under its LRU lock.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAXIMUM_CAPACITY = 1 << 24;
+
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int size;
+
+    FrequencySketch(int capacity) {
+        ensureCapacity(capacity);
+    }
+
+    /**
+     * The number of keys this sketch can track accurately.
+     */
+    int capacity() {
+        return table.length;
+    }
+
+    /**
+     * Grow the sketch to track at least {@code capacity} keys. Growing forgets all the frequencies
+     * recorded so far, callers are expected to grow geometrically so this is rare.
+     */
+    void ensureCapacity(int capacity) {
+        int target = Math.min(Math.max(capacity, 16), MAXIMUM_CAPACITY);
+        if (table != null && table.length >= target) {
+            return;
+        }
+        table = new long[Integer.highestOneBit(target - 1) << 1];
+        tableMask = table.length - 1;
+        sampleSize = 10 * table.length;
+        size = 0;
+    }
+
+    /**
+     * The estimated number of times the key with this hash was recorded, at most 15.
+     */
+    int frequency(int hash) {
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int shift = (start + i) << 2;
+            int count = (int) ((table[indexOf(hash, i)] >>> shift) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Record an access to the key with this hash.
+     */
+    void increment(int hash) {
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int shift = counter << 2;
+        long mask = 0xfL << shift;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << shift;
+            return true;
+        }
+        return false;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    /**
+     * Halve all counters. The counters that were odd lose a quarter of an increment each on average,
+     * which is subtracted from the size so the next reset happens after the same number of increments.
+     */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (odd >>> 2);
+    }
+
+    /**
+     * Spread the bits of a key's hash code so keys with similar hash codes use different counters.
+     */
+    static int spread(Object key) {
+        int h = key.hashCode() * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
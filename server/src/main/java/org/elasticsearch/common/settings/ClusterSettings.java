@@ -10,6 +10,7 @@ package org.elasticsearch.common.settings;
 import org.apache.logging.log4j.LogManager;
 import org.elasticsearch.action.admin.cluster.configuration.TransportAddVotingConfigExclusionsAction;
 import org.elasticsearch.action.admin.indices.close.TransportCloseIndexAction;
+import org.elasticsearch.action.bulk.TransportShardBulkAction;
 import org.elasticsearch.action.bulk.WriteAckDelay;
 import org.elasticsearch.action.ingest.SimulatePipelineTransportAction;
 import org.elasticsearch.action.search.TransportSearchAction;
@@ -106,6 +107,7 @@ import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.search.SearchModule;
 import org.elasticsearch.search.SearchService;
 import org.elasticsearch.search.aggregations.MultiBucketConsumerService;
+import org.elasticsearch.search.backpressure.SearchBackpressureService;
 import org.elasticsearch.search.fetch.subphase.highlight.FastVectorHighlighter;
 import org.elasticsearch.snapshots.InternalSnapshotsInfoService;
 import org.elasticsearch.snapshots.RestoreService;
@@ -444,6 +446,17 @@ public final class ClusterSettings extends AbstractScopedSettings {
         SearchService.MAX_OPEN_SCROLL_CONTEXT,
         SearchService.ENABLE_REWRITE_AGGS_TO_FILTER_BY_FILTER,
         SearchService.MAX_ASYNC_SEARCH_RESPONSE_SIZE_SETTING,
+        SearchService.CONCURRENT_SEGMENT_SEARCH_ENABLED,
+        SearchService.CONCURRENT_SEGMENT_SEARCH_MAX_SLICES,
+        SearchService.CONCURRENT_SEGMENT_SEARCH_MIN_DOCS_PER_SLICE,
+        SearchBackpressureService.MODE_SETTING,
+        SearchBackpressureService.INTERVAL_SETTING,
+        SearchBackpressureService.NODE_DURESS_HEAP_THRESHOLD_SETTING,
+        SearchBackpressureService.NODE_DURESS_SEARCH_QUEUE_THRESHOLD_SETTING,
+        SearchBackpressureService.NODE_DURESS_NUM_SUCCESSIVE_BREACHES_SETTING,
+        SearchBackpressureService.SEARCH_SHARD_TASK_CPU_TIME_THRESHOLD_SETTING,
+        SearchBackpressureService.SEARCH_SHARD_TASK_ALLOCATION_THRESHOLD_SETTING,
+        SearchBackpressureService.SEARCH_SHARD_TASK_MAX_CANCELLATIONS_SETTING,
         Node.WRITE_PORTS_FILE_SETTING,
         Node.NODE_EXTERNAL_ID_SETTING,
         Node.NODE_NAME_SETTING,
@@ -541,6 +554,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         LocalHealthMonitor.POLL_INTERVAL_SETTING,
         TransportHealthNodeAction.HEALTH_NODE_TRANSPORT_ACTION_TIMEOUT,
         SimulatePipelineTransportAction.INGEST_NODE_TRANSPORT_ACTION_TIMEOUT,
+        TransportShardBulkAction.PARSE_AHEAD_SETTING,
         WriteAckDelay.WRITE_ACK_DELAY_INTERVAL,
         WriteAckDelay.WRITE_ACK_DELAY_RANDOMNESS_BOUND,
         TcpTransport.isUntrustedRemoteClusterEnabled() ? RemoteClusterService.REMOTE_CLUSTER_AUTHORIZATION : null,
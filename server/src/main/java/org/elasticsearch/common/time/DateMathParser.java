@@ -55,4 +55,12 @@ public interface DateMathParser {
      * @return                  the parsed date as an Instant since the epoch
      */
     Instant parse(String text, LongSupplier now, boolean roundUpProperty, ZoneId tz);
+
+    /**
+     * Returns {@code true} if the text is a date math expression relative to {@code now} that rounds the date, like
+     * <code>now-15m/m</code>. The result of such expressions only changes once per rounding unit.
+     */
+    static boolean isRoundedNow(String text) {
+        return text.startsWith("now") && text.indexOf('/', "now".length()) >= 0;
+    }
 }
@@ -8,6 +8,7 @@
 package org.elasticsearch.common.util.concurrent;
 
 import org.apache.logging.log4j.Logger;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Tuple;
 
 import java.io.IOException;
@@ -15,7 +16,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -24,18 +27,29 @@ import java.util.function.Supplier;
  * This can be used to ensure that threads can continue with other work while the actual IO operation is still processed
  * by a single worker. A worker in this context can be any caller of the {@link #put(Object, Consumer)} method since it will
  * hijack a worker if nobody else is currently processing queued items. If the internal queue has reached it's capacity incoming threads
- * might be blocked until other items are processed
+ * might be blocked until other items are processed.
+ * If an {@link Executor} is provided the processing is forked to it instead, callers only add their items to the queue and
+ * return immediately, the listeners are notified on the executor once the items are processed. If all the threads of the
+ * executor are busy, or it rejects the processing, the caller processes the items itself as if there was no executor so that
+ * the items never wait in the queue of the executor behind unrelated work.
  */
 public abstract class AsyncIOProcessor<Item> {
     private final Logger logger;
     private final ArrayBlockingQueue<Tuple<Item, Consumer<Exception>>> queue;
     private final ThreadContext threadContext;
     private final Semaphore promiseSemaphore = new Semaphore(1);
+    @Nullable
+    private final Executor executor;
 
     protected AsyncIOProcessor(Logger logger, int queueSize, ThreadContext threadContext) {
+        this(logger, queueSize, threadContext, null);
+    }
+
+    protected AsyncIOProcessor(Logger logger, int queueSize, ThreadContext threadContext, @Nullable Executor executor) {
         this.logger = logger;
         this.queue = new ArrayBlockingQueue<>(queueSize);
         this.threadContext = threadContext;
+        this.executor = executor;
     }
 
     /**
@@ -44,6 +58,10 @@ public abstract class AsyncIOProcessor<Item> {
     public final void put(Item item, Consumer<Exception> listener) {
         Objects.requireNonNull(item, "item must not be null");
         Objects.requireNonNull(listener, "listener must not be null");
+        if (executor != null) {
+            putAndFork(item, listener);
+            return;
+        }
         // the algorithm here tires to reduce the load on each individual caller.
         // we try to have only one caller that processes pending items to disc while others just add to the queue but
         // at the same time never overload the node by pushing too many items into the queue.
@@ -78,6 +96,45 @@ public abstract class AsyncIOProcessor<Item> {
         }
     }
 
+    private void putAndFork(Item item, Consumer<Exception> listener) {
+        try {
+            queue.put(new Tuple<>(item, preserveContext(listener)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            listener.accept(e);
+            return;
+        }
+        // whoever makes the promise forks the processing, the processing thread keeps draining the queue as long as items are added
+        if (promiseSemaphore.tryAcquire()) {
+            if (hasIdleThread() == false) {
+                // the processing would wait in the queue of the executor, we'd rather process on the calling thread straight away
+                drainAndProcessUntilEmpty();
+                return;
+            }
+            try (ThreadContext.StoredContext ignore = threadContext.stashContext()) {
+                executor.execute(this::drainAndProcessUntilEmpty);
+            } catch (Exception e) {
+                logger.debug("failed to fork processing, processing on the calling thread", e);
+                drainAndProcessUntilEmpty();
+            }
+        }
+    }
+
+    private boolean hasIdleThread() {
+        if (executor instanceof ThreadPoolExecutor threadPoolExecutor) {
+            return threadPoolExecutor.getActiveCount() < threadPoolExecutor.getMaximumPoolSize();
+        }
+        return true;
+    }
+
+    private void drainAndProcessUntilEmpty() {
+        final List<Tuple<Item, Consumer<Exception>>> candidates = new ArrayList<>();
+        drainAndProcessAndRelease(candidates);
+        while (queue.isEmpty() == false && promiseSemaphore.tryAcquire()) {
+            drainAndProcessAndRelease(candidates);
+        }
+    }
+
     private void drainAndProcessAndRelease(List<Tuple<Item, Consumer<Exception>>> candidates) {
         Exception exception;
         try {
@@ -628,7 +628,8 @@ public final class IndexModule {
             mapperRegistry,
             () -> { throw new UnsupportedOperationException("no index query shard context available"); },
             indexSettings.getMode().idFieldMapperWithoutFieldData(),
-            scriptService
+            scriptService,
+            query -> { throw new UnsupportedOperationException("no index query shard context available"); }
         );
     }
 
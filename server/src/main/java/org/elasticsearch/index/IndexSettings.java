@@ -250,6 +250,17 @@ public final class IndexSettings {
         Property.Dynamic,
         Property.IndexScope
     );
+    /**
+     * Index setting describing the number of documents matching the filter of a kNN search in a segment up to which
+     * the segment is searched exactly rather than through its HNSW graph.
+     */
+    public static final Setting<Integer> KNN_EXACT_SEARCH_THRESHOLD_SETTING = Setting.intSetting(
+        "index.knn.exact_search_threshold",
+        10_000,
+        0,
+        Property.Dynamic,
+        Property.IndexScope
+    );
     public static final TimeValue DEFAULT_REFRESH_INTERVAL = new TimeValue(1, TimeUnit.SECONDS);
     public static final Setting<TimeValue> NODE_DEFAULT_REFRESH_INTERVAL_SETTING = Setting.timeSetting(
         "node._internal.default_refresh_interval",
@@ -627,6 +638,7 @@ public final class IndexSettings {
     private volatile int maxResultWindow;
     private volatile int maxInnerResultWindow;
     private volatile int maxRescoreWindow;
+    private volatile int knnExactSearchThreshold;
     private volatile int maxDocvalueFields;
     private volatile int maxScriptFields;
     private volatile int maxTokenCount;
@@ -758,6 +770,7 @@ public final class IndexSettings {
         maxResultWindow = scopedSettings.get(MAX_RESULT_WINDOW_SETTING);
         maxInnerResultWindow = scopedSettings.get(MAX_INNER_RESULT_WINDOW_SETTING);
         maxRescoreWindow = scopedSettings.get(MAX_RESCORE_WINDOW_SETTING);
+        knnExactSearchThreshold = scopedSettings.get(KNN_EXACT_SEARCH_THRESHOLD_SETTING);
         maxDocvalueFields = scopedSettings.get(MAX_DOCVALUE_FIELDS_SEARCH_SETTING);
         maxScriptFields = scopedSettings.get(MAX_SCRIPT_FIELDS_SETTING);
         maxTokenCount = scopedSettings.get(MAX_TOKEN_COUNT_SETTING);
@@ -821,6 +834,7 @@ public final class IndexSettings {
         scopedSettings.addSettingsUpdateConsumer(MAX_RESULT_WINDOW_SETTING, this::setMaxResultWindow);
         scopedSettings.addSettingsUpdateConsumer(MAX_INNER_RESULT_WINDOW_SETTING, this::setMaxInnerResultWindow);
         scopedSettings.addSettingsUpdateConsumer(MAX_RESCORE_WINDOW_SETTING, this::setMaxRescoreWindow);
+        scopedSettings.addSettingsUpdateConsumer(KNN_EXACT_SEARCH_THRESHOLD_SETTING, this::setKnnExactSearchThreshold);
         scopedSettings.addSettingsUpdateConsumer(MAX_DOCVALUE_FIELDS_SEARCH_SETTING, this::setMaxDocvalueFields);
         scopedSettings.addSettingsUpdateConsumer(MAX_SCRIPT_FIELDS_SETTING, this::setMaxScriptFields);
         scopedSettings.addSettingsUpdateConsumer(MAX_TOKEN_COUNT_SETTING, this::setMaxTokenCount);
@@ -1129,6 +1143,17 @@ public final class IndexSettings {
         this.maxRescoreWindow = maxRescoreWindow;
     }
 
+    /**
+     * Returns the number of filtered documents in a segment up to which filtered kNN searches score them exactly.
+     */
+    public int getKnnExactSearchThreshold() {
+        return knnExactSearchThreshold;
+    }
+
+    private void setKnnExactSearchThreshold(int knnExactSearchThreshold) {
+        this.knnExactSearchThreshold = knnExactSearchThreshold;
+    }
+
     /**
      * Returns the maximum number of allowed docvalue_fields to retrieve in a search request
      */
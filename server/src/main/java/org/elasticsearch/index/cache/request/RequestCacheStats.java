@@ -8,6 +8,7 @@
 
 package org.elasticsearch.index.cache.request;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
@@ -16,7 +17,9 @@ import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 public class RequestCacheStats implements Writeable, ToXContentFragment {
 
@@ -24,6 +27,11 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
     private long evictions;
     private long hitCount;
     private long missCount;
+    private long roundedNowHitCount;
+    private long roundedNowMissCount;
+    private long segmentHitCount;
+    private long segmentMissCount;
+    private final Map<String, Long> skipCounts = new TreeMap<>();
 
     public RequestCacheStats() {}
 
@@ -32,13 +40,39 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         evictions = in.readVLong();
         hitCount = in.readVLong();
         missCount = in.readVLong();
+        if (in.getVersion().onOrAfter(Version.V_8_7_0)) {
+            roundedNowHitCount = in.readVLong();
+            roundedNowMissCount = in.readVLong();
+            segmentHitCount = in.readVLong();
+            segmentMissCount = in.readVLong();
+            skipCounts.putAll(in.readMap(StreamInput::readString, StreamInput::readVLong));
+        }
     }
 
     public RequestCacheStats(long memorySize, long evictions, long hitCount, long missCount) {
+        this(memorySize, evictions, hitCount, missCount, 0, 0, 0, 0, Map.of());
+    }
+
+    public RequestCacheStats(
+        long memorySize,
+        long evictions,
+        long hitCount,
+        long missCount,
+        long roundedNowHitCount,
+        long roundedNowMissCount,
+        long segmentHitCount,
+        long segmentMissCount,
+        Map<String, Long> skipCounts
+    ) {
         this.memorySize = memorySize;
         this.evictions = evictions;
         this.hitCount = hitCount;
         this.missCount = missCount;
+        this.roundedNowHitCount = roundedNowHitCount;
+        this.roundedNowMissCount = roundedNowMissCount;
+        this.segmentHitCount = segmentHitCount;
+        this.segmentMissCount = segmentMissCount;
+        this.skipCounts.putAll(skipCounts);
     }
 
     public void add(RequestCacheStats stats) {
@@ -49,6 +83,11 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         this.evictions += stats.evictions;
         this.hitCount += stats.hitCount;
         this.missCount += stats.missCount;
+        this.roundedNowHitCount += stats.roundedNowHitCount;
+        this.roundedNowMissCount += stats.roundedNowMissCount;
+        this.segmentHitCount += stats.segmentHitCount;
+        this.segmentMissCount += stats.segmentMissCount;
+        stats.skipCounts.forEach((reason, count) -> this.skipCounts.merge(reason, count, Long::sum));
     }
 
     public long getMemorySizeInBytes() {
@@ -71,12 +110,55 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         return this.missCount;
     }
 
+    /**
+     * The number of hits for requests whose cache key contains dates rounded relative to {@code now}, included in {@link #getHitCount()}.
+     */
+    public long getRoundedNowHitCount() {
+        return this.roundedNowHitCount;
+    }
+
+    /**
+     * The number of misses for requests whose cache key contains dates rounded relative to {@code now}, included in
+     * {@link #getMissCount()}.
+     */
+    public long getRoundedNowMissCount() {
+        return this.roundedNowMissCount;
+    }
+
+    /**
+     * The number of partial aggregation results of a single segment that were found in the cache.
+     */
+    public long getSegmentHitCount() {
+        return this.segmentHitCount;
+    }
+
+    /**
+     * The number of partial aggregation results of a single segment that had to be computed.
+     */
+    public long getSegmentMissCount() {
+        return this.segmentMissCount;
+    }
+
+    /**
+     * The number of requests that could not use the cache, by reason.
+     */
+    public Map<String, Long> getSkipCounts() {
+        return skipCounts;
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeVLong(memorySize);
         out.writeVLong(evictions);
         out.writeVLong(hitCount);
         out.writeVLong(missCount);
+        if (out.getVersion().onOrAfter(Version.V_8_7_0)) {
+            out.writeVLong(roundedNowHitCount);
+            out.writeVLong(roundedNowMissCount);
+            out.writeVLong(segmentHitCount);
+            out.writeVLong(segmentMissCount);
+            out.writeMap(skipCounts, StreamOutput::writeString, StreamOutput::writeVLong);
+        }
     }
 
     @Override
@@ -84,12 +166,30 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         RequestCacheStats that = (RequestCacheStats) o;
-        return memorySize == that.memorySize && evictions == that.evictions && hitCount == that.hitCount && missCount == that.missCount;
+        return memorySize == that.memorySize
+            && evictions == that.evictions
+            && hitCount == that.hitCount
+            && missCount == that.missCount
+            && roundedNowHitCount == that.roundedNowHitCount
+            && roundedNowMissCount == that.roundedNowMissCount
+            && segmentHitCount == that.segmentHitCount
+            && segmentMissCount == that.segmentMissCount
+            && skipCounts.equals(that.skipCounts);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(memorySize, evictions, hitCount, missCount);
+        return Objects.hash(
+            memorySize,
+            evictions,
+            hitCount,
+            missCount,
+            roundedNowHitCount,
+            roundedNowMissCount,
+            segmentHitCount,
+            segmentMissCount,
+            skipCounts
+        );
     }
 
     @Override
@@ -99,6 +199,19 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         builder.field(Fields.EVICTIONS, getEvictions());
         builder.field(Fields.HIT_COUNT, getHitCount());
         builder.field(Fields.MISS_COUNT, getMissCount());
+        builder.startObject(Fields.ROUNDED_NOW);
+        builder.field(Fields.HIT_COUNT, getRoundedNowHitCount());
+        builder.field(Fields.MISS_COUNT, getRoundedNowMissCount());
+        builder.endObject();
+        builder.startObject(Fields.SEGMENTS);
+        builder.field(Fields.HIT_COUNT, getSegmentHitCount());
+        builder.field(Fields.MISS_COUNT, getSegmentMissCount());
+        builder.endObject();
+        builder.startObject(Fields.SKIPPED);
+        for (Map.Entry<String, Long> skipCount : skipCounts.entrySet()) {
+            builder.field(skipCount.getKey(), skipCount.getValue());
+        }
+        builder.endObject();
         builder.endObject();
         return builder;
     }
@@ -110,5 +223,8 @@ public class RequestCacheStats implements Writeable, ToXContentFragment {
         static final String EVICTIONS = "evictions";
         static final String HIT_COUNT = "hit_count";
         static final String MISS_COUNT = "miss_count";
+        static final String ROUNDED_NOW = "rounded_now";
+        static final String SEGMENTS = "segments";
+        static final String SKIPPED = "skipped";
     }
 }
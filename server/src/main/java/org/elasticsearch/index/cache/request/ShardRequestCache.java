@@ -12,6 +12,11 @@ import org.apache.lucene.util.Accountable;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.metrics.CounterMetric;
 
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * Tracks the portion of the request cache in use for a particular shard.
  */
@@ -21,9 +26,34 @@ public final class ShardRequestCache {
     final CounterMetric totalMetric = new CounterMetric();
     final CounterMetric hitCount = new CounterMetric();
     final CounterMetric missCount = new CounterMetric();
+    final CounterMetric roundedNowHitCount = new CounterMetric();
+    final CounterMetric roundedNowMissCount = new CounterMetric();
+    final CounterMetric segmentHitCount = new CounterMetric();
+    final CounterMetric segmentMissCount = new CounterMetric();
+    final Map<SkipReason, CounterMetric> skipCounts = new EnumMap<>(SkipReason.class);
+
+    public ShardRequestCache() {
+        for (SkipReason reason : SkipReason.values()) {
+            skipCounts.put(reason, new CounterMetric());
+        }
+    }
 
     public RequestCacheStats stats() {
-        return new RequestCacheStats(totalMetric.count(), evictionsMetric.count(), hitCount.count(), missCount.count());
+        Map<String, Long> skipped = new TreeMap<>();
+        for (Map.Entry<SkipReason, CounterMetric> entry : skipCounts.entrySet()) {
+            skipped.put(entry.getKey().toString(), entry.getValue().count());
+        }
+        return new RequestCacheStats(
+            totalMetric.count(),
+            evictionsMetric.count(),
+            hitCount.count(),
+            missCount.count(),
+            roundedNowHitCount.count(),
+            roundedNowMissCount.count(),
+            segmentHitCount.count(),
+            segmentMissCount.count(),
+            skipped
+        );
     }
 
     public void onHit() {
@@ -34,6 +64,39 @@ public final class ShardRequestCache {
         missCount.inc();
     }
 
+    /**
+     * Called after a request whose cache key contains dates rounded relative to {@code now} was looked up in the cache,
+     * on top of {@link #onHit()} or {@link #onMiss()}.
+     */
+    public void onRoundedNowLookup(boolean hit) {
+        if (hit) {
+            roundedNowHitCount.inc();
+        } else {
+            roundedNowMissCount.inc();
+        }
+    }
+
+    /**
+     * Called each time the partial aggregation results of a single segment are found in the cache.
+     */
+    public void onSegmentHit() {
+        segmentHitCount.inc();
+    }
+
+    /**
+     * Called each time the partial aggregation results of a single segment are not found in the cache.
+     */
+    public void onSegmentMiss() {
+        segmentMissCount.inc();
+    }
+
+    /**
+     * Called when a request could not use the request cache.
+     */
+    public void onSkipped(SkipReason reason) {
+        skipCounts.get(reason).inc();
+    }
+
     public void onCached(Accountable key, BytesReference value) {
         totalMetric.inc(key.ramBytesUsed() + value.ramBytesUsed());
     }
@@ -51,4 +114,27 @@ public final class ShardRequestCache {
         }
         totalMetric.dec(dec);
     }
+
+    /**
+     * The reasons why a request may not use the request cache.
+     */
+    public enum SkipReason {
+        /** the request opens a scroll */
+        SCROLL,
+        /** the request is not a query_then_fetch search, its results depend on global term statistics */
+        SEARCH_TYPE,
+        /** the request is profiled */
+        PROFILE,
+        /** the cache is disabled by the index settings or the request */
+        DISABLED,
+        /** the request returns hits and does not explicitly ask for the cache */
+        SIZE,
+        /** the results depend on the current time or on other non deterministic features, like a script */
+        NOT_DETERMINISTIC;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
 }
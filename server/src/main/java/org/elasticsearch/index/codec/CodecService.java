@@ -12,6 +12,8 @@ import org.apache.lucene.codecs.Codec;
 import org.apache.lucene.codecs.lucene94.Lucene94Codec;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.codec.storedfields.ES87LZ4HighCompressionCodec;
+import org.elasticsearch.index.engine.EngineConfig;
 import org.elasticsearch.index.mapper.MapperService;
 
 import java.util.HashMap;
@@ -29,6 +31,7 @@ public class CodecService {
 
     public static final String DEFAULT_CODEC = "default";
     public static final String BEST_COMPRESSION_CODEC = "best_compression";
+    public static final String LZ4_HIGH_COMPRESSION_CODEC = "lz4_high_compression";
     /** the raw unfiltered lucene default. useful for testing */
     public static final String LUCENE_DEFAULT_CODEC = "lucene_default";
 
@@ -37,9 +40,15 @@ public class CodecService {
         if (mapperService == null) {
             codecs.put(DEFAULT_CODEC, new Lucene94Codec());
             codecs.put(BEST_COMPRESSION_CODEC, new Lucene94Codec(Lucene94Codec.Mode.BEST_COMPRESSION));
+            codecs.put(LZ4_HIGH_COMPRESSION_CODEC, new ES87LZ4HighCompressionCodec());
         } else {
             codecs.put(DEFAULT_CODEC, new PerFieldMapperCodec(Lucene94Codec.Mode.BEST_SPEED, mapperService, bigArrays));
             codecs.put(BEST_COMPRESSION_CODEC, new PerFieldMapperCodec(Lucene94Codec.Mode.BEST_COMPRESSION, mapperService, bigArrays));
+            final int level = mapperService.getIndexSettings().getValue(EngineConfig.INDEX_CODEC_LZ4_HIGH_COMPRESSION_LEVEL_SETTING);
+            codecs.put(
+                LZ4_HIGH_COMPRESSION_CODEC,
+                new ES87LZ4HighCompressionCodec(new PerFieldMapperCodec(Lucene94Codec.Mode.BEST_SPEED, mapperService, bigArrays), level)
+            );
         }
         codecs.put(LUCENE_DEFAULT_CODEC, Codec.getDefault());
         for (String codec : Codec.availableCodecs()) {
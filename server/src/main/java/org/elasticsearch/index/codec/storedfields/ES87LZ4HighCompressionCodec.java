@@ -0,0 +1,44 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.storedfields;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.FilterCodec;
+import org.apache.lucene.codecs.StoredFieldsFormat;
+import org.apache.lucene.codecs.lucene94.Lucene94Codec;
+
+/**
+ * A {@link Codec} that writes stored fields with {@link ES87LZ4HighCompressionStoredFieldsFormat} and delegates
+ * all other formats to the wrapped codec, usually a {@link org.elasticsearch.index.codec.PerFieldMapperCodec}.
+ * Segments only record the name of this codec, so they are read back through the no-arg constructor that is used by
+ * SPI, which relies on the per-field formats of the latest Lucene codec.
+ */
+public final class ES87LZ4HighCompressionCodec extends FilterCodec {
+
+    public static final String CODEC_NAME = "ES87LZ4HighCompression";
+
+    private final StoredFieldsFormat storedFieldsFormat;
+
+    /**
+     * Public no-arg constructor, used by SPI when reading segments.
+     */
+    public ES87LZ4HighCompressionCodec() {
+        this(new Lucene94Codec(), ES87LZ4HighCompressionStoredFieldsFormat.DEFAULT_LEVEL);
+    }
+
+    public ES87LZ4HighCompressionCodec(Codec delegate, int level) {
+        super(CODEC_NAME, delegate);
+        this.storedFieldsFormat = new ES87LZ4HighCompressionStoredFieldsFormat(level);
+    }
+
+    @Override
+    public StoredFieldsFormat storedFieldsFormat() {
+        return storedFieldsFormat;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.storedfields;
+
+import org.apache.lucene.codecs.StoredFieldsFormat;
+import org.apache.lucene.codecs.StoredFieldsReader;
+import org.apache.lucene.codecs.StoredFieldsWriter;
+import org.apache.lucene.codecs.lucene90.compressing.Lucene90CompressingStoredFieldsFormat;
+import org.apache.lucene.index.FieldInfos;
+import org.apache.lucene.index.SegmentInfo;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+
+import java.io.IOException;
+
+/**
+ * A {@link StoredFieldsFormat} that compresses stored fields, including {@code _source}, with
+ * {@link LZ4HighCompressionWithPresetDictCompressionMode}. The compression level controls the size of the sub blocks
+ * of each chunk: higher levels trade slower random access to single documents for a better compression ratio.
+ * The level is only used when writing, segments written with any level can be read back by any instance of this format.
+ */
+public final class ES87LZ4HighCompressionStoredFieldsFormat extends StoredFieldsFormat {
+
+    static final String FORMAT_NAME = "ES87LZ4HighCompressionStoredFields";
+    public static final int MIN_LEVEL = 1;
+    public static final int MAX_LEVEL = 9;
+    public static final int DEFAULT_LEVEL = 3;
+
+    // each level adds 16kB to the sub blocks of a chunk
+    private static final int SUB_BLOCK_LENGTH_PER_LEVEL = 16 * 1024;
+    private static final int MAX_DOCS_PER_CHUNK = 4096;
+    private static final int BLOCK_SHIFT = 10;
+
+    private final int level;
+    private final Lucene90CompressingStoredFieldsFormat delegate;
+
+    public ES87LZ4HighCompressionStoredFieldsFormat() {
+        this(DEFAULT_LEVEL);
+    }
+
+    public ES87LZ4HighCompressionStoredFieldsFormat(int level) {
+        if (level < MIN_LEVEL || level > MAX_LEVEL) {
+            throw new IllegalArgumentException(
+                "compression level must be between [" + MIN_LEVEL + "] and [" + MAX_LEVEL + "] but was [" + level + "]"
+            );
+        }
+        this.level = level;
+        this.delegate = new Lucene90CompressingStoredFieldsFormat(
+            FORMAT_NAME,
+            new LZ4HighCompressionWithPresetDictCompressionMode(),
+            LZ4HighCompressionWithPresetDictCompressionMode.NUM_SUB_BLOCKS * level * SUB_BLOCK_LENGTH_PER_LEVEL,
+            MAX_DOCS_PER_CHUNK,
+            BLOCK_SHIFT
+        );
+    }
+
+    public int level() {
+        return level;
+    }
+
+    @Override
+    public StoredFieldsReader fieldsReader(Directory directory, SegmentInfo si, FieldInfos fn, IOContext context) throws IOException {
+        return delegate.fieldsReader(directory, si, fn, context);
+    }
+
+    @Override
+    public StoredFieldsWriter fieldsWriter(Directory directory, SegmentInfo si, IOContext context) throws IOException {
+        return delegate.fieldsWriter(directory, si, context);
+    }
+
+    @Override
+    public String toString() {
+        return "ES87LZ4HighCompressionStoredFieldsFormat(level=" + level + ", delegate=" + delegate + ")";
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * @notice
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Modifications copyright (C) 2023 Elasticsearch B.V.
+ */
+package org.elasticsearch.index.codec.storedfields;
+
+import org.apache.lucene.codecs.compressing.CompressionMode;
+import org.apache.lucene.codecs.compressing.Compressor;
+import org.apache.lucene.codecs.compressing.Decompressor;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.store.ByteBuffersDataInput;
+import org.apache.lucene.store.ByteBuffersDataOutput;
+import org.apache.lucene.store.DataInput;
+import org.apache.lucene.store.DataOutput;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.compress.LZ4;
+
+import java.io.IOException;
+
+/**
+ * This implementation is forked from Lucene's LZ4WithPresetDictCompressionMode.
+ * <p>
+ * A {@link CompressionMode} that compresses chunks of stored fields with LZ4 using a
+ * {@link LZ4.HighCompressionHashTable}, which spends more time looking for long matches. The first bytes of each chunk
+ * are compressed on their own and then used as a preset dictionary for the remaining sub blocks, so that reading a
+ * single document only needs to decompress the dictionary and the sub blocks that hold the document. Compressed data
+ * is decoded with plain LZ4, which is much cheaper than inflating DEFLATE.
+ */
+final class LZ4HighCompressionWithPresetDictCompressionMode extends CompressionMode {
+
+    // Shoot for 10 sub blocks
+    static final int NUM_SUB_BLOCKS = 10;
+    // And a dictionary whose size is about 4x smaller than sub blocks. This is larger than the
+    // dictionary of Lucene's BEST_SPEED mode in order to get a better compression ratio.
+    private static final int DICT_SIZE_FACTOR = 4;
+
+    @Override
+    public Compressor newCompressor() {
+        return new LZ4HighCompressionWithPresetDictCompressor();
+    }
+
+    @Override
+    public Decompressor newDecompressor() {
+        return new LZ4WithPresetDictDecompressor();
+    }
+
+    @Override
+    public String toString() {
+        return "LZ4_HIGH_COMPRESSION_WITH_PRESET_DICT";
+    }
+
+    private static final class LZ4WithPresetDictDecompressor extends Decompressor {
+
+        private int[] compressedLengths;
+        private byte[] buffer;
+
+        LZ4WithPresetDictDecompressor() {
+            compressedLengths = new int[0];
+            buffer = new byte[0];
+        }
+
+        private int readCompressedLengths(DataInput in, int originalLength, int dictLength, int blockLength) throws IOException {
+            in.readVInt(); // compressed length of the dictionary, unused
+            int totalLength = dictLength;
+            int i = 0;
+            while (totalLength < originalLength) {
+                compressedLengths = ArrayUtil.grow(compressedLengths, i + 1);
+                compressedLengths[i++] = in.readVInt();
+                totalLength += blockLength;
+            }
+            return i;
+        }
+
+        @Override
+        public void decompress(DataInput in, int originalLength, int offset, int length, BytesRef bytes) throws IOException {
+            assert offset + length <= originalLength;
+
+            if (length == 0) {
+                bytes.length = 0;
+                return;
+            }
+
+            final int dictLength = in.readVInt();
+            final int blockLength = in.readVInt();
+
+            final int numBlocks = readCompressedLengths(in, originalLength, dictLength, blockLength);
+
+            buffer = ArrayUtil.grow(buffer, dictLength + blockLength);
+            bytes.length = 0;
+            // Read the dictionary
+            if (LZ4.decompress(in, dictLength, buffer, 0) != dictLength) {
+                throw new CorruptIndexException("Illegal dict length", in);
+            }
+
+            int offsetInBlock = dictLength;
+            int offsetInBytesRef = offset;
+            if (offset >= dictLength) {
+                offsetInBytesRef -= dictLength;
+
+                // Skip unneeded blocks
+                int numBytesToSkip = 0;
+                for (int i = 0; i < numBlocks && offsetInBlock + blockLength < offset; ++i) {
+                    int compressedBlockLength = compressedLengths[i];
+                    numBytesToSkip += compressedBlockLength;
+                    offsetInBlock += blockLength;
+                    offsetInBytesRef -= blockLength;
+                }
+                in.skipBytes(numBytesToSkip);
+            } else {
+                // The dictionary contains some bytes we need, copy its content to the BytesRef
+                bytes.bytes = ArrayUtil.grow(bytes.bytes, dictLength);
+                System.arraycopy(buffer, 0, bytes.bytes, 0, dictLength);
+                bytes.length = dictLength;
+            }
+
+            // Read blocks that intersect with the interval we need
+            while (offsetInBlock < offset + length) {
+                final int bytesToDecompress = Math.min(blockLength, offset + length - offsetInBlock);
+                LZ4.decompress(in, bytesToDecompress, buffer, dictLength);
+                bytes.bytes = ArrayUtil.grow(bytes.bytes, bytes.length + bytesToDecompress);
+                System.arraycopy(buffer, dictLength, bytes.bytes, bytes.length, bytesToDecompress);
+                bytes.length += bytesToDecompress;
+                offsetInBlock += blockLength;
+            }
+
+            bytes.offset = offsetInBytesRef;
+            bytes.length = length;
+            assert bytes.isValid();
+        }
+
+        @Override
+        public Decompressor clone() {
+            return new LZ4WithPresetDictDecompressor();
+        }
+    }
+
+    private static final class LZ4HighCompressionWithPresetDictCompressor extends Compressor {
+
+        private final ByteBuffersDataOutput compressed;
+        private final LZ4.HighCompressionHashTable hashTable;
+        private byte[] buffer;
+
+        LZ4HighCompressionWithPresetDictCompressor() {
+            compressed = ByteBuffersDataOutput.newResettableInstance();
+            hashTable = new LZ4.HighCompressionHashTable();
+            buffer = BytesRef.EMPTY_BYTES;
+        }
+
+        private void doCompress(byte[] bytes, int dictLen, int len, DataOutput out) throws IOException {
+            long prevCompressedSize = compressed.size();
+            LZ4.compressWithDictionary(bytes, 0, dictLen, len, compressed, hashTable);
+            // Write the number of compressed bytes
+            out.writeVInt(Math.toIntExact(compressed.size() - prevCompressedSize));
+        }
+
+        @Override
+        public void compress(ByteBuffersDataInput buffersInput, DataOutput out) throws IOException {
+            final int len = (int) (buffersInput.size() - buffersInput.position());
+            final int dictLength = len / (NUM_SUB_BLOCKS * DICT_SIZE_FACTOR);
+            final int blockLength = (len - dictLength + NUM_SUB_BLOCKS - 1) / NUM_SUB_BLOCKS;
+            buffer = ArrayUtil.grow(buffer, dictLength + blockLength);
+            out.writeVInt(dictLength);
+            out.writeVInt(blockLength);
+
+            compressed.reset();
+            // Compress the dictionary first
+            buffersInput.readBytes(buffer, 0, dictLength);
+            doCompress(buffer, 0, dictLength, out);
+
+            // And then sub blocks
+            for (int start = dictLength; start < len; start += blockLength) {
+                int l = Math.min(blockLength, len - start);
+                buffersInput.readBytes(buffer, dictLength, l);
+                doCompress(buffer, dictLength, l, out);
+            }
+
+            // We only wrote lengths so far, now write compressed data
+            compressed.copyTo(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            // no-op
+        }
+    }
+}
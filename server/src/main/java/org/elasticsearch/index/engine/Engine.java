@@ -10,6 +10,7 @@ package org.elasticsearch.index.engine;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.IndexCommit;
 import org.apache.lucene.index.IndexFileNames;
 import org.apache.lucene.index.IndexReader;
@@ -18,6 +19,7 @@ import org.apache.lucene.index.SegmentCommitInfo;
 import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.SegmentReader;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.VectorValues;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.QueryCache;
 import org.apache.lucene.search.QueryCachingPolicy;
@@ -866,11 +868,29 @@ public abstract class Engine implements Closeable {
 
     protected void fillSegmentStats(SegmentReader segmentReader, boolean includeSegmentFileSizes, SegmentsStats stats) {
         stats.add(1);
+        stats.addKnnVectorsMemoryInBytes(getKnnVectorsMemoryInBytes(segmentReader));
         if (includeSegmentFileSizes) {
             stats.addFiles(getSegmentFileSizes(segmentReader));
         }
     }
 
+    private long getKnnVectorsMemoryInBytes(SegmentReader segmentReader) {
+        long bytes = 0;
+        for (FieldInfo fieldInfo : segmentReader.getFieldInfos()) {
+            if (fieldInfo.getVectorDimension() > 0) {
+                try {
+                    VectorValues values = segmentReader.getVectorValues(fieldInfo.name);
+                    if (values != null) {
+                        bytes += (long) values.size() * fieldInfo.getVectorDimension() * fieldInfo.getVectorEncoding().byteSize;
+                    }
+                } catch (IOException e) {
+                    logger.warn(() -> "Error when retrieving vector values for [" + fieldInfo.name + "]", e);
+                }
+            }
+        }
+        return bytes;
+    }
+
     private Map<String, SegmentsStats.FileStats> getSegmentFileSizes(SegmentReader segmentReader) {
         try {
             Map<String, SegmentsStats.FileStats> files = new HashMap<>();
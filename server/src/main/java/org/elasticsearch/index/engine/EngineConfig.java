@@ -24,6 +24,7 @@ import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.codec.CodecService;
+import org.elasticsearch.index.codec.storedfields.ES87LZ4HighCompressionStoredFieldsFormat;
 import org.elasticsearch.index.seqno.RetentionLeases;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.store.Store;
@@ -96,18 +97,32 @@ public final class EngineConfig {
         switch (s) {
             case "default":
             case "best_compression":
+            case "lz4_high_compression":
             case "lucene_default":
                 return s;
             default:
                 if (Codec.availableCodecs().contains(s) == false) { // we don't error message the not officially supported ones
                     throw new IllegalArgumentException(
-                        "unknown value for [index.codec] must be one of [default, best_compression] but was: " + s
+                        "unknown value for [index.codec] must be one of [default, best_compression, lz4_high_compression] but was: " + s
                     );
                 }
                 return s;
         }
     }, Property.IndexScope, Property.NodeScope);
 
+    /**
+     * Index setting to change the compression level of the {@code lz4_high_compression} codec. Higher levels compress stored fields
+     * in larger blocks, which improves the compression ratio at the expense of slower access to single documents.
+     * Like the codec itself, this setting only applies to newly written segments.
+     */
+    public static final Setting<Integer> INDEX_CODEC_LZ4_HIGH_COMPRESSION_LEVEL_SETTING = Setting.intSetting(
+        "index.codec.lz4_high_compression.level",
+        ES87LZ4HighCompressionStoredFieldsFormat.DEFAULT_LEVEL,
+        ES87LZ4HighCompressionStoredFieldsFormat.MIN_LEVEL,
+        ES87LZ4HighCompressionStoredFieldsFormat.MAX_LEVEL,
+        Property.IndexScope
+    );
+
     /**
      * Legacy index setting, kept for 7.x BWC compatibility. This setting has no effect in 8.x. Do not use.
      * TODO: Remove in 9.0
@@ -13,28 +13,48 @@ import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
-import org.elasticsearch.common.util.concurrent.KeyedLock;
 import org.elasticsearch.core.Releasable;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
-
-/** Maps _uid value to its version information. */
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maps _uid value to its version information.
+ * <p>
+ * Operations on a uid are serialized by a lock that is picked among a fixed number of stripes by the hash of the uid. The
+ * live versions are stored in open addressing tables, one per stripe, that are only modified under the lock of their stripe
+ * so they don't need to be thread-safe on their own. Acquiring a lock and storing a version don't allocate any object
+ * besides the version itself, which matters for update heavy workloads.
+ */
 final class LiveVersionMap implements ReferenceManager.RefreshListener, Accountable {
 
-    private final KeyedLock<BytesRef> keyedLock = new KeyedLock<>();
+    /**
+     * The number of lock stripes, and of tables in each {@link VersionLookup}. Must be a power of two.
+     */
+    static final int STRIPES = 256;
+
+    /**
+     * The locks of the stripes, created on first use.
+     */
+    private final AtomicReferenceArray<StripeLock> stripeLocks = new AtomicReferenceArray<>(STRIPES);
 
     private static final class VersionLookup {
 
         /** Tracks bytes used by current map, i.e. what is freed on refresh. For deletes, which are also added to tombstones,
-         *  we only account for the CHM entry here, and account for BytesRef/VersionValue against the tombstones, since refresh would not
-         *  clear this RAM. */
+         *  we only account for the table entry here, and account for BytesRef/VersionValue against the tombstones, since refresh would
+         *  not clear this RAM. */
         final AtomicLong ramBytesUsed = new AtomicLong();
 
-        private static final VersionLookup EMPTY = new VersionLookup(Collections.emptyMap());
-        private final Map<BytesRef, VersionValue> map;
+        private static final VersionLookup EMPTY = new VersionLookup(0);
+        // the table of each stripe, created on the first put under the lock of the stripe
+        private final VersionTable[] tables = new VersionTable[STRIPES];
+        private final int initialTableCapacity;
+        private final LongAdder size = new LongAdder();
 
         // each version map has a notion of safe / unsafe which allows us to apply certain optimization in the auto-generated ID usecase
         // where we know that documents can't have any duplicates so we can skip the version map entirely. This reduces
@@ -52,24 +72,39 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
         // the tombstone
         private final AtomicLong minDeleteTimestamp = new AtomicLong(Long.MAX_VALUE);
 
-        private VersionLookup(Map<BytesRef, VersionValue> map) {
-            this.map = map;
+        /**
+         * @param expectedSize the number of entries this lookup is expected to hold, to size the tables upfront
+         */
+        private VersionLookup(int expectedSize) {
+            this.initialTableCapacity = VersionTable.capacityFor(expectedSize / STRIPES);
         }
 
         VersionValue get(BytesRef key) {
-            return map.get(key);
+            final int hash = key.hashCode();
+            final VersionTable table = tables[stripe(hash)];
+            return table == null ? null : table.get(key, hash);
         }
 
         VersionValue put(BytesRef key, VersionValue value) {
-            return map.put(key, value);
+            final int hash = key.hashCode();
+            final int stripe = stripe(hash);
+            VersionTable table = tables[stripe];
+            if (table == null) {
+                table = tables[stripe] = new VersionTable(initialTableCapacity);
+            }
+            final VersionValue previous = table.put(key, hash, value);
+            if (previous == null) {
+                size.increment();
+            }
+            return previous;
         }
 
         boolean isEmpty() {
-            return map.isEmpty();
+            return size.sum() == 0;
         }
 
         int size() {
-            return map.size();
+            return size.intValue();
         }
 
         boolean isUnsafe() {
@@ -81,7 +116,23 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
         }
 
         public VersionValue remove(BytesRef uid) {
-            return map.remove(uid);
+            final int hash = uid.hashCode();
+            final VersionTable table = tables[stripe(hash)];
+            final VersionValue previous = table == null ? null : table.remove(uid, hash);
+            if (previous != null) {
+                size.decrement();
+            }
+            return previous;
+        }
+
+        /**
+         * Copies the entries of the table of the given stripe, must be called under the lock of the stripe.
+         */
+        void copyStripeTo(int stripe, Map<BytesRef, VersionValue> target) {
+            final VersionTable table = tables[stripe];
+            if (table != null) {
+                table.copyTo(target);
+            }
         }
 
         public void updateMinDeletedTimestamp(DeleteVersionValue delete) {
@@ -110,7 +161,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
         }
 
         Maps() {
-            this(new VersionLookup(ConcurrentCollections.newConcurrentMapWithAggressiveConcurrency()), VersionLookup.EMPTY, false);
+            this(new VersionLookup(0), VersionLookup.EMPTY, false);
         }
 
         boolean isSafeAccessMode() {
@@ -128,11 +179,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
          * Builds a new map for the refresh transition this should be called in beforeRefresh()
          */
         Maps buildTransitionMap() {
-            return new Maps(
-                new VersionLookup(ConcurrentCollections.newConcurrentMapWithAggressiveConcurrency(current.size())),
-                current,
-                shouldInheritSafeAccess()
-            );
+            return new Maps(new VersionLookup(current.size()), current, shouldInheritSafeAccess());
         }
 
         /**
@@ -144,9 +191,9 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
 
         void put(BytesRef uid, VersionValue version) {
             long uidRAMBytesUsed = BASE_BYTES_PER_BYTESREF + uid.bytes.length;
-            long ramAccounting = BASE_BYTES_PER_CHM_ENTRY + version.ramBytesUsed() + uidRAMBytesUsed;
+            long ramAccounting = BASE_BYTES_PER_TABLE_ENTRY + version.ramBytesUsed() + uidRAMBytesUsed;
             VersionValue previousValue = current.put(uid, version);
-            ramAccounting += previousValue == null ? 0 : -(BASE_BYTES_PER_CHM_ENTRY + previousValue.ramBytesUsed() + uidRAMBytesUsed);
+            ramAccounting += previousValue == null ? 0 : -(BASE_BYTES_PER_TABLE_ENTRY + previousValue.ramBytesUsed() + uidRAMBytesUsed);
             adjustRam(ramAccounting);
         }
 
@@ -162,7 +209,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
             current.updateMinDeletedTimestamp(deleted);
             if (previousValue != null) {
                 long uidRAMBytesUsed = BASE_BYTES_PER_BYTESREF + uid.bytes.length;
-                adjustRam(-(BASE_BYTES_PER_CHM_ENTRY + previousValue.ramBytesUsed() + uidRAMBytesUsed));
+                adjustRam(-(BASE_BYTES_PER_TABLE_ENTRY + previousValue.ramBytesUsed() + uidRAMBytesUsed));
             }
             if (old != VersionLookup.EMPTY) {
                 // we also need to remove it from the old map here to make sure we don't read this stale value while
@@ -207,8 +254,14 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
      */
     private static final long BASE_BYTES_PER_CHM_ENTRY;
 
+    /**
+     * Bytes used by having a {@link VersionTable} point to a key/value: a slot in both arrays, and as many free slots since
+     * the tables are at most half full.
+     */
+    private static final long BASE_BYTES_PER_TABLE_ENTRY = 2 * 2 * RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+
     static {
-        // use the same impl as the Maps does
+        // use the same impl as the tombstones do
         Map<Integer, Integer> map = ConcurrentCollections.newConcurrentMapWithAggressiveConcurrency();
         map.put(0, 0);
         long chmEntryShallowSize = RamUsageEstimator.shallowSizeOf(map.entrySet().iterator().next());
@@ -381,7 +434,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
             // we won't collect the tombstone below since it must be newer than this one.
             if (canRemoveTombstone(maxTimestampToPrune, maxSeqNoToPrune, entry.getValue())) {
                 final BytesRef uid = entry.getKey();
-                try (Releasable lock = keyedLock.tryAcquire(uid)) {
+                try (Releasable lock = tryAcquireLock(uid)) {
                     // we use tryAcquire here since this is a best effort and we try to be least disruptive
                     // this method is also called under lock in the engine under certain situations such that this can lead to deadlocks
                     // if we do use a blocking acquire. see #28714
@@ -433,10 +486,18 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
     }
 
     /**
-     * Returns the current internal versions as a point in time snapshot
+     * Returns a copy of the current internal versions. Each stripe is copied under its lock, so the copy is consistent per uid
+     * but not a point in time snapshot of the whole map if it is modified concurrently.
      */
     Map<BytesRef, VersionValue> getAllCurrent() {
-        return maps.current.map;
+        final VersionLookup current = maps.current;
+        final Map<BytesRef, VersionValue> copy = new HashMap<>(current.size());
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            try (Releasable ignored = acquireStripe(stripe)) {
+                current.copyStripeTo(stripe, copy);
+            }
+        }
+        return copy;
     }
 
     /** Iterates over all deleted versions, including new ones (not yet exposed via reader) and old ones
@@ -449,14 +510,173 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
      * Acquires a releaseable lock for the given uId. All *UnderLock methods require
      * this lock to be hold by the caller otherwise the visibility guarantees of this version
      * map are broken. We assert on this lock to be hold when calling these methods.
-     * @see KeyedLock
+     * <p>
+     * The lock is reentrant and shared with the uids of the same stripe, so a thread must not acquire the lock of a uid while
+     * it holds the lock of another one, it could deadlock with a thread that acquires them in the opposite order.
      */
     Releasable acquireLock(BytesRef uid) {
-        return keyedLock.acquire(uid);
+        return acquireStripe(stripe(uid.hashCode()));
+    }
+
+    /**
+     * Tries to acquire the lock for the given uid, returns <code>null</code> if it is held by another thread.
+     */
+    private Releasable tryAcquireLock(BytesRef uid) {
+        final StripeLock lock = stripeLock(stripe(uid.hashCode()));
+        return lock.tryLock() ? lock : null;
+    }
+
+    private Releasable acquireStripe(int stripe) {
+        final StripeLock lock = stripeLock(stripe);
+        lock.lock();
+        return lock;
+    }
+
+    private StripeLock stripeLock(int stripe) {
+        StripeLock lock = stripeLocks.get(stripe);
+        if (lock == null) {
+            final StripeLock newLock = new StripeLock();
+            lock = stripeLocks.compareAndExchange(stripe, null, newLock);
+            if (lock == null) {
+                lock = newLock;
+            }
+        }
+        return lock;
     }
 
     boolean assertKeyedLockHeldByCurrentThread(BytesRef uid) {
-        assert keyedLock.isHeldByCurrentThread(uid) : "Thread [" + Thread.currentThread().getName() + "], uid [" + uid.utf8ToString() + "]";
+        assert stripeLock(stripe(uid.hashCode())).isHeldByCurrentThread()
+            : "Thread [" + Thread.currentThread().getName() + "], uid [" + uid.utf8ToString() + "]";
         return true;
     }
+
+    private static int stripe(int hash) {
+        return hash & (STRIPES - 1);
+    }
+
+    /**
+     * The lock of a stripe, it releases itself so that acquiring it doesn't allocate.
+     */
+    @SuppressWarnings("serial")
+    private static final class StripeLock extends ReentrantLock implements Releasable {
+        @Override
+        public void close() {
+            unlock();
+        }
+    }
+
+    /**
+     * An open addressing hash table with linear probing from uid to version. It is not thread-safe: all accesses to the table
+     * of a stripe happen under the lock of the stripe.
+     */
+    static final class VersionTable {
+        private static final int MIN_CAPACITY = 4;
+
+        private BytesRef[] keys;
+        private VersionValue[] values;
+        private int size;
+
+        VersionTable(int capacity) {
+            assert Integer.bitCount(capacity) == 1 : "capacity must be a power of two but was " + capacity;
+            keys = new BytesRef[capacity];
+            values = new VersionValue[capacity];
+        }
+
+        /**
+         * Returns the capacity of a table that holds the given number of entries without growing.
+         */
+        static int capacityFor(int expectedSize) {
+            return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1);
+        }
+
+        private int slot(int hash) {
+            // the low bits of the hash pick the stripe, use the other ones first
+            return Integer.rotateRight(hash, Integer.numberOfTrailingZeros(STRIPES)) & (keys.length - 1);
+        }
+
+        VersionValue get(BytesRef key, int hash) {
+            final int mask = keys.length - 1;
+            for (int slot = slot(hash);; slot = (slot + 1) & mask) {
+                final BytesRef k = keys[slot];
+                if (k == null) {
+                    return null;
+                }
+                if (k.bytesEquals(key)) {
+                    return values[slot];
+                }
+            }
+        }
+
+        VersionValue put(BytesRef key, int hash, VersionValue value) {
+            final int mask = keys.length - 1;
+            int slot = slot(hash);
+            for (BytesRef k = keys[slot]; k != null; slot = (slot + 1) & mask, k = keys[slot]) {
+                if (k.bytesEquals(key)) {
+                    final VersionValue previous = values[slot];
+                    values[slot] = value;
+                    return previous;
+                }
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size > keys.length >>> 1) {
+                grow();
+            }
+            return null;
+        }
+
+        VersionValue remove(BytesRef key, int hash) {
+            final int mask = keys.length - 1;
+            int slot = slot(hash);
+            for (BytesRef k = keys[slot];; slot = (slot + 1) & mask, k = keys[slot]) {
+                if (k == null) {
+                    return null;
+                }
+                if (k.bytesEquals(key)) {
+                    break;
+                }
+            }
+            final VersionValue previous = values[slot];
+            size--;
+            // shift back the entries that follow in the same run so that lookups don't stop at the freed slot
+            int gap = slot;
+            for (int i = (gap + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+                final int ideal = slot(keys[i].hashCode());
+                if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = keys[i];
+                    values[gap] = values[i];
+                    gap = i;
+                }
+            }
+            keys[gap] = null;
+            values[gap] = null;
+            return previous;
+        }
+
+        void copyTo(Map<BytesRef, VersionValue> target) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    target.put(keys[i], values[i]);
+                }
+            }
+        }
+
+        private void grow() {
+            final BytesRef[] oldKeys = keys;
+            final VersionValue[] oldValues = values;
+            keys = new BytesRef[oldKeys.length << 1];
+            values = new VersionValue[oldValues.length << 1];
+            final int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = slot(oldKeys[i].hashCode());
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
 }
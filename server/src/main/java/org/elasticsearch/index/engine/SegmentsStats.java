@@ -31,6 +31,7 @@ public class SegmentsStats implements Writeable, ToXContentFragment {
     private long versionMapMemoryInBytes;
     private long maxUnsafeAutoIdTimestamp = Long.MIN_VALUE;
     private long bitsetMemoryInBytes;
+    private long knnVectorsMemoryInBytes;
     private final Map<String, FileStats> files;
 
     public SegmentsStats() {
@@ -53,6 +54,9 @@ public class SegmentsStats implements Writeable, ToXContentFragment {
         bitsetMemoryInBytes = in.readLong();
         maxUnsafeAutoIdTimestamp = in.readLong();
         files = in.readMapValues(FileStats::new, FileStats::getExt);
+        if (in.getVersion().onOrAfter(Version.V_8_7_0)) {
+            knnVectorsMemoryInBytes = in.readVLong();
+        }
     }
 
     public void add(long count) {
@@ -75,6 +79,10 @@ public class SegmentsStats implements Writeable, ToXContentFragment {
         this.bitsetMemoryInBytes += bitsetMemoryInBytes;
     }
 
+    public void addKnnVectorsMemoryInBytes(long knnVectorsMemoryInBytes) {
+        this.knnVectorsMemoryInBytes += knnVectorsMemoryInBytes;
+    }
+
     public void addFiles(Map<String, FileStats> newFiles) {
         newFiles.forEach((k, v) -> files.merge(k, v, FileStats::merge));
     }
@@ -88,6 +96,7 @@ public class SegmentsStats implements Writeable, ToXContentFragment {
         addIndexWriterMemoryInBytes(mergeStats.indexWriterMemoryInBytes);
         addVersionMapMemoryInBytes(mergeStats.versionMapMemoryInBytes);
         addBitsetMemoryInBytes(mergeStats.bitsetMemoryInBytes);
+        addKnnVectorsMemoryInBytes(mergeStats.knnVectorsMemoryInBytes);
         addFiles(mergeStats.files);
     }
 
@@ -131,6 +140,18 @@ public class SegmentsStats implements Writeable, ToXContentFragment {
         return ByteSizeValue.ofBytes(bitsetMemoryInBytes);
     }
 
+    /**
+     * Estimation of the memory needed to hold the vector values that kNN searches read in the page cache.
+     * Vectors of quantized fields only count one byte per dimension.
+     */
+    public long getKnnVectorsMemoryInBytes() {
+        return knnVectorsMemoryInBytes;
+    }
+
+    public ByteSizeValue getKnnVectorsMemory() {
+        return ByteSizeValue.ofBytes(knnVectorsMemoryInBytes);
+    }
+
     /**
      * Returns a mapping of file extension to statistics about files of that type.
      *
@@ -162,6 +183,7 @@ public class SegmentsStats implements Writeable, ToXContentFragment {
         builder.humanReadableField(Fields.INDEX_WRITER_MEMORY_IN_BYTES, Fields.INDEX_WRITER_MEMORY, getIndexWriterMemory());
         builder.humanReadableField(Fields.VERSION_MAP_MEMORY_IN_BYTES, Fields.VERSION_MAP_MEMORY, getVersionMapMemory());
         builder.humanReadableField(Fields.FIXED_BIT_SET_MEMORY_IN_BYTES, Fields.FIXED_BIT_SET, getBitsetMemory());
+        builder.humanReadableField(Fields.KNN_VECTORS_MEMORY_IN_BYTES, Fields.KNN_VECTORS_MEMORY, getKnnVectorsMemory());
         builder.field(Fields.MAX_UNSAFE_AUTO_ID_TIMESTAMP, maxUnsafeAutoIdTimestamp);
         builder.startObject(Fields.FILE_SIZES);
         for (Map.Entry<String, FileStats> entry : files.entrySet()) {
@@ -182,12 +204,21 @@ public class SegmentsStats implements Writeable, ToXContentFragment {
             && versionMapMemoryInBytes == that.versionMapMemoryInBytes
             && maxUnsafeAutoIdTimestamp == that.maxUnsafeAutoIdTimestamp
             && bitsetMemoryInBytes == that.bitsetMemoryInBytes
+            && knnVectorsMemoryInBytes == that.knnVectorsMemoryInBytes
             && Objects.equals(files, that.files);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(count, indexWriterMemoryInBytes, versionMapMemoryInBytes, maxUnsafeAutoIdTimestamp, bitsetMemoryInBytes, files);
+        return Objects.hash(
+            count,
+            indexWriterMemoryInBytes,
+            versionMapMemoryInBytes,
+            maxUnsafeAutoIdTimestamp,
+            bitsetMemoryInBytes,
+            knnVectorsMemoryInBytes,
+            files
+        );
     }
 
     static final class Fields {
@@ -214,6 +245,8 @@ public class SegmentsStats implements Writeable, ToXContentFragment {
         static final String MAX_UNSAFE_AUTO_ID_TIMESTAMP = "max_unsafe_auto_id_timestamp";
         static final String FIXED_BIT_SET = "fixed_bit_set";
         static final String FIXED_BIT_SET_MEMORY_IN_BYTES = "fixed_bit_set_memory_in_bytes";
+        static final String KNN_VECTORS_MEMORY = "knn_vectors_memory";
+        static final String KNN_VECTORS_MEMORY_IN_BYTES = "knn_vectors_memory_in_bytes";
         static final String FILE_SIZES = "file_sizes";
     }
 
@@ -235,6 +268,9 @@ public class SegmentsStats implements Writeable, ToXContentFragment {
         out.writeLong(maxUnsafeAutoIdTimestamp);
 
         out.writeCollection(files.values());
+        if (out.getVersion().onOrAfter(Version.V_8_7_0)) {
+            out.writeVLong(knnVectorsMemoryInBytes);
+        }
     }
 
     public void clearFiles() {
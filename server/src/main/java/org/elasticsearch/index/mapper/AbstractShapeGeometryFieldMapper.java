@@ -7,9 +7,19 @@
  */
 package org.elasticsearch.index.mapper;
 
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.Explicit;
+import org.elasticsearch.common.geo.GeoJson;
 import org.elasticsearch.common.geo.Orientation;
+import org.elasticsearch.geometry.Geometry;
+import org.elasticsearch.geometry.utils.WellKnownBinary;
+import org.elasticsearch.xcontent.ToXContent;
+import org.elasticsearch.xcontent.XContentBuilder;
 
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -84,4 +94,37 @@ public abstract class AbstractShapeGeometryFieldMapper<T> extends AbstractGeomet
     public Orientation orientation() {
         return orientation.value();
     }
+
+    /**
+     * Store a copy of the shape as WKB so synthetic {@code _source} can load it. Shapes are
+     * tessellated and quantized when they are indexed so neither the index nor the doc values
+     * can rebuild them.
+     */
+    protected final void storeForSyntheticSource(DocumentParserContext context, Geometry geometry) throws IOException {
+        context.doc().add(new StoredField(name(), new BytesRef(WellKnownBinary.toWKB(geometry, ByteOrder.LITTLE_ENDIAN))));
+    }
+
+    /**
+     * Load {@code _source} from the shapes saved by {@link #storeForSyntheticSource} and render them as GeoJSON.
+     */
+    protected final SourceLoader.SyntheticFieldLoader storedShapeSyntheticFieldLoader() {
+        if (ignoreMalformed()) {
+            throw new IllegalArgumentException(
+                "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it ignores malformed shapes"
+            );
+        }
+        if (copyTo.copyToFields().isEmpty() != true) {
+            throw new IllegalArgumentException(
+                "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it declares copy_to"
+            );
+        }
+        return new StringStoredFieldFieldLoader(name(), simpleName(), null) {
+            @Override
+            protected void write(XContentBuilder b, Object value) throws IOException {
+                BytesRef ref = (BytesRef) value;
+                byte[] wkb = Arrays.copyOfRange(ref.bytes, ref.offset, ref.offset + ref.length);
+                GeoJson.toXContent(WellKnownBinary.fromWKB(geometry -> {}, false, wkb), b, ToXContent.EMPTY_PARAMS);
+            }
+        };
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.common.io.stream.ByteArrayStreamInput;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+
+import java.io.IOException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Doc values for fields whose own doc values sort and deduplicate the values of a document. For
+ * each value in the order it appeared in the document this records its position in the field's
+ * doc values, so synthetic {@code _source} can rebuild arrays with their original order and
+ * duplicates. The positions are written as vints which is much smaller than the values themselves.
+ * <p>
+ * Mappers only add this field to documents with more than one value when
+ * {@code synthetic_source_keep_arrays} is enabled.
+ */
+public final class ArrayOrderDocValuesField extends CustomDocValuesField {
+    public static final String KEEP_ARRAYS_PARAM = "synthetic_source_keep_arrays";
+
+    public static FieldMapper.Parameter<Boolean> keepArraysParam(Function<FieldMapper, Boolean> initializer) {
+        return FieldMapper.Parameter.boolParam(KEEP_ARRAYS_PARAM, false, initializer, false);
+    }
+
+    /**
+     * The name of the doc values field holding the array order of the field {@code fieldName}.
+     */
+    public static String name(String fieldName) {
+        return fieldName + "._array_order";
+    }
+
+    private final Supplier<int[]> positions;
+
+    /**
+     * @param fieldName the name of the field whose values are tracked
+     * @param positions supplies, for each value in the order it was parsed, its position in the field's doc values
+     */
+    public ArrayOrderDocValuesField(String fieldName, Supplier<int[]> positions) {
+        super(name(fieldName));
+        this.positions = positions;
+    }
+
+    @Override
+    public BytesRef binaryValue() {
+        int[] positions = this.positions.get();
+        try {
+            BytesStreamOutput out = new BytesStreamOutput(1 + positions.length);
+            out.writeVInt(positions.length);
+            for (int position : positions) {
+                out.writeVInt(position);
+            }
+            return out.bytes().toBytesRef();
+        } catch (IOException e) {
+            throw new ElasticsearchException("failed to encode array order", e);
+        }
+    }
+
+    /**
+     * Decode the positions written by {@link #binaryValue()}.
+     */
+    public static int[] decode(BytesRef bytes) throws IOException {
+        ByteArrayStreamInput in = new ByteArrayStreamInput();
+        in.reset(bytes.bytes, bytes.offset, bytes.length);
+        int[] positions = new int[in.readVInt()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = in.readVInt();
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Load {@code _source} fields from {@link BinaryDocValues} that pack all the values
+ * of a document, like the ones of {@code binary} and {@code range} fields. If the
+ * field keeps {@link ArrayOrderDocValuesField array order} the values are written
+ * in the order they had in the document, otherwise in doc values order.
+ */
+public abstract class BinaryDocValuesSyntheticFieldLoader<T> implements SourceLoader.SyntheticFieldLoader {
+    private final String name;
+    private final String simpleName;
+    private final boolean keepArrays;
+
+    private BinaryDocValues values;
+    private BinaryDocValues arrayOrder;
+    private boolean hasValue;
+    private boolean hasArrayOrder;
+
+    /**
+     * Build a loader for some binary doc values.
+     * @param name the name of the field to load from doc values
+     * @param simpleName the name to give the field in the rendered {@code _source}
+     * @param keepArrays should we look for {@link ArrayOrderDocValuesField array order} doc values
+     */
+    protected BinaryDocValuesSyntheticFieldLoader(String name, String simpleName, boolean keepArrays) {
+        this.name = name;
+        this.simpleName = simpleName;
+        this.keepArrays = keepArrays;
+    }
+
+    @Override
+    public Stream<Map.Entry<String, StoredFieldLoader>> storedFieldLoaders() {
+        return Stream.of();
+    }
+
+    @Override
+    public DocValuesLoader docValuesLoader(LeafReader reader, int[] docIdsInLeaf) throws IOException {
+        values = reader.getBinaryDocValues(name);
+        if (values == null) {
+            hasValue = false;
+            return null;
+        }
+        arrayOrder = keepArrays ? reader.getBinaryDocValues(ArrayOrderDocValuesField.name(name)) : null;
+        return docId -> {
+            hasValue = values.advanceExact(docId);
+            hasArrayOrder = hasValue && arrayOrder != null && arrayOrder.advanceExact(docId);
+            return hasValue;
+        };
+    }
+
+    @Override
+    public boolean hasValue() {
+        return hasValue;
+    }
+
+    @Override
+    public void write(XContentBuilder b) throws IOException {
+        if (hasValue == false) {
+            return;
+        }
+        List<T> decoded = decode(values.binaryValue());
+        if (hasArrayOrder) {
+            int[] positions = ArrayOrderDocValuesField.decode(arrayOrder.binaryValue());
+            if (positions.length == 1) {
+                b.field(simpleName);
+                write(b, decoded.get(positions[0]));
+            } else {
+                b.startArray(simpleName);
+                for (int position : positions) {
+                    write(b, decoded.get(position));
+                }
+                b.endArray();
+            }
+        } else if (decoded.size() == 1) {
+            b.field(simpleName);
+            write(b, decoded.get(0));
+        } else {
+            b.startArray(simpleName);
+            for (T value : decoded) {
+                write(b, value);
+            }
+            b.endArray();
+        }
+        hasValue = false;
+    }
+
+    /**
+     * Decode all values of a document from its doc values.
+     */
+    protected abstract List<T> decode(BytesRef docValues) throws IOException;
+
+    /**
+     * Write a single decoded value.
+     */
+    protected abstract void write(XContentBuilder b, T value) throws IOException;
+}
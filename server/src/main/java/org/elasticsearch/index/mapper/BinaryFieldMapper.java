@@ -14,6 +14,7 @@ import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.ByteArrayStreamInput;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.util.CollectionUtils;
 import org.elasticsearch.index.fielddata.FieldDataContext;
@@ -22,6 +23,7 @@ import org.elasticsearch.index.fielddata.plain.BytesBinaryIndexFieldData;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.support.CoreValuesSourceType;
+import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
 
 import java.io.IOException;
@@ -45,6 +47,7 @@ public class BinaryFieldMapper extends FieldMapper {
 
         private final Parameter<Boolean> stored = Parameter.storeParam(m -> toType(m).stored, false);
         private final Parameter<Boolean> hasDocValues = Parameter.docValuesParam(m -> toType(m).hasDocValues, false);
+        private final Parameter<Boolean> keepArrays = ArrayOrderDocValuesField.keepArraysParam(m -> toType(m).keepArrays);
         private final Parameter<Map<String, String>> meta = Parameter.metaParam();
 
         public Builder(String name) {
@@ -58,7 +61,7 @@ public class BinaryFieldMapper extends FieldMapper {
 
         @Override
         public Parameter<?>[] getParameters() {
-            return new Parameter<?>[] { meta, stored, hasDocValues };
+            return new Parameter<?>[] { meta, stored, hasDocValues, keepArrays };
         }
 
         @Override
@@ -68,6 +71,7 @@ public class BinaryFieldMapper extends FieldMapper {
                 new BinaryFieldType(context.buildFullName(name), stored.getValue(), hasDocValues.getValue(), meta.getValue()),
                 multiFieldsBuilder.build(this, context),
                 copyTo.build(),
+                context.isSourceSynthetic(),
                 this
             );
         }
@@ -133,17 +137,23 @@ public class BinaryFieldMapper extends FieldMapper {
 
     private final boolean stored;
     private final boolean hasDocValues;
+    private final boolean keepArrays;
+    private final boolean storeArrayOrder;
 
     protected BinaryFieldMapper(
         String simpleName,
         MappedFieldType mappedFieldType,
         MultiFields multiFields,
         CopyTo copyTo,
+        boolean isSyntheticSource,
         Builder builder
     ) {
         super(simpleName, mappedFieldType, multiFields, copyTo);
         this.stored = builder.stored.getValue();
         this.hasDocValues = builder.hasDocValues.getValue();
+        this.keepArrays = builder.keepArrays.getValue();
+        // stored fields already keep the order, synthetic source only needs the array order if it loads from doc values
+        this.storeArrayOrder = isSyntheticSource && keepArrays && hasDocValues && stored == false;
     }
 
     @Override
@@ -168,10 +178,15 @@ public class BinaryFieldMapper extends FieldMapper {
         if (hasDocValues) {
             CustomBinaryDocValuesField field = (CustomBinaryDocValuesField) context.doc().getByKey(fieldType().name());
             if (field == null) {
-                field = new CustomBinaryDocValuesField(fieldType().name(), value);
+                field = new CustomBinaryDocValuesField(fieldType().name(), value, storeArrayOrder);
                 context.doc().addWithKey(fieldType().name(), field);
             } else {
                 field.add(value);
+                // the order of the values only has to be kept once the document has more than one of them
+                String arrayOrderName = ArrayOrderDocValuesField.name(fieldType().name());
+                if (storeArrayOrder && field.valueCount() > 1 && context.doc().getByKey(arrayOrderName) == null) {
+                    context.doc().addWithKey(arrayOrderName, new ArrayOrderDocValuesField(fieldType().name(), field::arrayOrder));
+                }
             }
         } else {
             // Only add an entry to the field names field if the field is stored
@@ -191,18 +206,96 @@ public class BinaryFieldMapper extends FieldMapper {
         return CONTENT_TYPE;
     }
 
+    @Override
+    public SourceLoader.SyntheticFieldLoader syntheticFieldLoader() {
+        if (copyTo.copyToFields().isEmpty() != true) {
+            throw new IllegalArgumentException(
+                "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it declares copy_to"
+            );
+        }
+        if (stored) {
+            return new StringStoredFieldFieldLoader(name(), simpleName(), null) {
+                @Override
+                protected void write(XContentBuilder b, Object value) throws IOException {
+                    BytesRef ref = (BytesRef) value;
+                    b.value(ref.bytes, ref.offset, ref.length);
+                }
+            };
+        }
+        if (hasDocValues == false) {
+            throw new IllegalArgumentException(
+                "field ["
+                    + name()
+                    + "] of type ["
+                    + typeName()
+                    + "] doesn't support synthetic source because it doesn't have doc values and isn't stored"
+            );
+        }
+        return new BinaryDocValuesSyntheticFieldLoader<BytesRef>(name(), simpleName(), keepArrays) {
+            @Override
+            protected List<BytesRef> decode(BytesRef docValues) throws IOException {
+                ByteArrayStreamInput in = new ByteArrayStreamInput();
+                in.reset(docValues.bytes, docValues.offset, docValues.length);
+                int count = in.readVInt();
+                List<BytesRef> values = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int length = in.readVInt();
+                    values.add(new BytesRef(docValues.bytes, in.getPosition(), length));
+                    in.skipBytes(length);
+                }
+                return values;
+            }
+
+            @Override
+            protected void write(XContentBuilder b, BytesRef value) throws IOException {
+                b.value(value.bytes, value.offset, value.length);
+            }
+        };
+    }
+
     public static class CustomBinaryDocValuesField extends CustomDocValuesField {
 
         private final List<byte[]> bytesList;
+        /**
+         * The values in the order they were added, only tracked if the array order is stored.
+         */
+        private final List<byte[]> arrayOrderList;
 
         public CustomBinaryDocValuesField(String name, byte[] bytes) {
+            this(name, bytes, false);
+        }
+
+        CustomBinaryDocValuesField(String name, byte[] bytes, boolean trackArrayOrder) {
             super(name);
             bytesList = new ArrayList<>();
+            arrayOrderList = trackArrayOrder ? new ArrayList<>() : null;
             add(bytes);
         }
 
         public void add(byte[] bytes) {
             bytesList.add(bytes);
+            if (arrayOrderList != null) {
+                arrayOrderList.add(bytes);
+            }
+        }
+
+        int valueCount() {
+            return bytesList.size();
+        }
+
+        /**
+         * The position of each value, in the order they were added, in the sorted
+         * and deduplicated values written by {@link #binaryValue()}.
+         */
+        int[] arrayOrder() {
+            List<byte[]> sorted = new ArrayList<>(arrayOrderList);
+            sorted.sort(Arrays::compareUnsigned);
+            CollectionUtils.uniquify(sorted, Arrays::compareUnsigned);
+            int[] positions = new int[arrayOrderList.size()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = Collections.binarySearch(sorted, arrayOrderList.get(i), Arrays::compareUnsigned);
+            }
+            return positions;
         }
 
         @Override
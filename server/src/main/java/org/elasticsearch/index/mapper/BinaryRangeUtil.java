@@ -28,9 +28,18 @@ enum BinaryRangeUtil {
     ;
 
     static BytesRef encodeIPRanges(Set<RangeFieldMapper.Range> ranges) throws IOException {
-        BytesStreamOutput out = new BytesStreamOutput(5 + (16 * 2) * ranges.size());
-        out.writeVInt(ranges.size());
-        for (RangeFieldMapper.Range range : ranges) {
+        List<RangeFieldMapper.Range> sortedRanges = new ArrayList<>(ranges);
+        Comparator<RangeFieldMapper.Range> fromComparator = Comparator.comparing(
+            range -> new BytesRef(InetAddressPoint.encode((InetAddress) range.from))
+        );
+        Comparator<RangeFieldMapper.Range> toComparator = Comparator.comparing(
+            range -> new BytesRef(InetAddressPoint.encode((InetAddress) range.to))
+        );
+        sortedRanges.sort(fromComparator.thenComparing(toComparator));
+
+        BytesStreamOutput out = new BytesStreamOutput(5 + (16 * 2) * sortedRanges.size());
+        out.writeVInt(sortedRanges.size());
+        for (RangeFieldMapper.Range range : sortedRanges) {
             InetAddress fromValue = (InetAddress) range.from;
             byte[] encodedFromValue = InetAddressPoint.encode(fromValue);
             out.writeBytes(encodedFromValue, 0, encodedFromValue.length);
@@ -65,6 +65,10 @@ public final class ContentPath {
     }
 
     public String pathAsText(String name) {
+        if (index <= offset) {
+            // nothing to prepend, avoid copying the name
+            return name;
+        }
         sb.setLength(0);
         for (int i = offset; i < index; i++) {
             sb.append(path[i]).append(DELIMITER);
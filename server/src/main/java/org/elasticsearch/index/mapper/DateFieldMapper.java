@@ -606,26 +606,45 @@ public final class DateFieldMapper extends FieldMapper {
             Resolution resolution,
             BiFunction<Long, Long, Query> builder
         ) {
-            return handleNow(context, nowSupplier -> {
-                long l, u;
-                if (lowerTerm == null) {
-                    l = Long.MIN_VALUE;
-                } else {
-                    l = parseToLong(lowerTerm, includeLower == false, timeZone, parser, nowSupplier, resolution);
-                    if (includeLower == false) {
-                        ++l;
-                    }
+            boolean[] nowUsed = new boolean[1];
+            long l, u;
+            if (lowerTerm == null) {
+                l = Long.MIN_VALUE;
+            } else {
+                l = resolveBound(lowerTerm, includeLower == false, timeZone, parser, context, resolution, nowUsed);
+                if (includeLower == false) {
+                    ++l;
                 }
-                if (upperTerm == null) {
-                    u = Long.MAX_VALUE;
-                } else {
-                    u = parseToLong(upperTerm, includeUpper, timeZone, parser, nowSupplier, resolution);
-                    if (includeUpper == false) {
-                        --u;
-                    }
+            }
+            if (upperTerm == null) {
+                u = Long.MAX_VALUE;
+            } else {
+                u = resolveBound(upperTerm, includeUpper, timeZone, parser, context, resolution, nowUsed);
+                if (includeUpper == false) {
+                    --u;
                 }
-                return builder.apply(l, u);
-            });
+            }
+            Query query = builder.apply(l, u);
+            return nowUsed[0] ? new DateRangeIncludingNowQuery(query) : query;
+        }
+
+        /**
+         * Resolve a bound of a range with {@link SearchExecutionContext#resolveDateMath} so that bounds that are rounded
+         * relative to {@code now} don't prevent request caching if the index allows it.
+         */
+        private static long resolveBound(
+            Object term,
+            boolean roundUp,
+            @Nullable ZoneId timeZone,
+            DateMathParser parser,
+            SearchExecutionContext context,
+            Resolution resolution,
+            boolean[] nowUsed
+        ) {
+            return context.resolveDateMath(BytesRefs.toString(term), now -> parseToLong(term, roundUp, timeZone, parser, () -> {
+                nowUsed[0] = true;
+                return now.getAsLong();
+            }, resolution));
         }
 
         /**
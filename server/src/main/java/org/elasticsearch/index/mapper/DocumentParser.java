@@ -734,6 +734,10 @@ public final class DocumentParser {
         // concrete fields take precedence over runtime fields when parsing documents
         // if a leaf field is not mapped, and is defined as a runtime field, then we
         // don't create a dynamic mapping for it and don't index it.
+        if (context.mappingLookup().hasRuntimeFields() == false) {
+            // don't build the path of the unmapped field if there is no runtime field it could resolve to
+            return null;
+        }
         String fieldPath = context.path().pathAsText(fieldName);
         MappedFieldType fieldType = context.mappingLookup().getFieldType(fieldPath);
         if (fieldType != null) {
@@ -72,6 +72,13 @@ class DotExpandingXContentParser extends FilterXContentParserWrapper {
             }
             XContentParser delegate = delegate();
             String field = delegate.currentName();
+            if (field.isEmpty()) {
+                throw new IllegalArgumentException("field name cannot be an empty string");
+            }
+            if (field.indexOf('.') == -1) {
+                // most field names have no dots, there is nothing to expand and nothing to allocate
+                return;
+            }
             String[] subpaths = splitAndValidatePath(field);
             // Corner case: if the input has a single trailing '.', eg 'field.', then we will get a single
             // subpath due to the way String.split() works. We can only return fast here if this is not
@@ -133,10 +140,10 @@ class DotExpandingXContentParser extends FilterXContentParserWrapper {
         if (fieldName.isEmpty()) {
             throw new IllegalArgumentException("field name cannot be an empty string");
         }
-        if (fieldName.contains(".") == false) {
+        if (fieldName.indexOf('.') == -1) {
             return new String[] { fieldName };
         }
-        String[] parts = fieldName.split("\\.");
+        String[] parts = split(fieldName);
         if (parts.length == 0) {
             throw new IllegalArgumentException("field name cannot contain only dots");
         }
@@ -155,6 +162,31 @@ class DotExpandingXContentParser extends FilterXContentParserWrapper {
         return parts;
     }
 
+    /**
+     * Splits the provided field name on dots like {@code fieldName.split("\\.")} does, trailing empty parts removed, but
+     * without the intermediate list.
+     */
+    private static String[] split(String fieldName) {
+        int end = fieldName.length();
+        while (end > 0 && fieldName.charAt(end - 1) == '.') {
+            end--;
+        }
+        int numParts = end == 0 ? 0 : 1;
+        for (int i = 0; i < end; i++) {
+            if (fieldName.charAt(i) == '.') {
+                numParts++;
+            }
+        }
+        String[] parts = new String[numParts];
+        int start = 0;
+        for (int i = 0; i < numParts; i++) {
+            int dot = i == numParts - 1 ? end : fieldName.indexOf('.', start);
+            parts[i] = fieldName.substring(start, dot);
+            start = dot + 1;
+        }
+        return parts;
+    }
+
     /**
      * Wraps an XContentParser such that it re-interprets dots in field names as an object structure
      * @param in    the parser to wrap
@@ -113,6 +113,7 @@ public class GeoShapeFieldMapper extends AbstractShapeGeometryFieldMapper<Geomet
                 copyTo.build(),
                 new GeoShapeIndexer(orientation.get().value(), context.buildFullName(name)),
                 geoShapeParser,
+                context.isSourceSynthetic(),
                 this
             );
         }
@@ -158,6 +159,7 @@ public class GeoShapeFieldMapper extends AbstractShapeGeometryFieldMapper<Geomet
 
     private final Builder builder;
     private final GeoShapeIndexer indexer;
+    private final boolean isSyntheticSource;
 
     public GeoShapeFieldMapper(
         String simpleName,
@@ -166,6 +168,7 @@ public class GeoShapeFieldMapper extends AbstractShapeGeometryFieldMapper<Geomet
         CopyTo copyTo,
         GeoShapeIndexer indexer,
         Parser<Geometry> parser,
+        boolean isSyntheticSource,
         Builder builder
     ) {
         super(
@@ -181,6 +184,7 @@ public class GeoShapeFieldMapper extends AbstractShapeGeometryFieldMapper<Geomet
         );
         this.builder = builder;
         this.indexer = indexer;
+        this.isSyntheticSource = isSyntheticSource;
     }
 
     @Override
@@ -197,6 +201,9 @@ public class GeoShapeFieldMapper extends AbstractShapeGeometryFieldMapper<Geomet
         }
         context.doc().addAll(indexer.indexShape(geometry));
         context.addToFieldNames(fieldType().name());
+        if (isSyntheticSource) {
+            storeForSyntheticSource(context, geometry);
+        }
     }
 
     @Override
@@ -209,4 +216,9 @@ public class GeoShapeFieldMapper extends AbstractShapeGeometryFieldMapper<Geomet
         return CONTENT_TYPE;
     }
 
+    @Override
+    public SourceLoader.SyntheticFieldLoader syntheticFieldLoader() {
+        return storedShapeSyntheticFieldLoader();
+    }
+
 }
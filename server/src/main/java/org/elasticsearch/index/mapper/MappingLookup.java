@@ -226,6 +226,13 @@ public final class MappingLookup {
         return fieldMappers.size() + objectMappers.size() + runtimeFieldMappersCount;
     }
 
+    /**
+     * Returns <code>true</code> if the mappings define runtime fields.
+     */
+    boolean hasRuntimeFields() {
+        return runtimeFieldMappersCount > 0;
+    }
+
     FieldTypeLookup indexTimeLookup() {
         return indexTimeLookup;
     }
@@ -8,6 +8,8 @@
 
 package org.elasticsearch.index.mapper;
 
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.join.BitSetProducer;
 import org.elasticsearch.Version;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.time.DateFormatter;
@@ -35,6 +37,7 @@ public class MappingParserContext {
     private final IndexAnalyzers indexAnalyzers;
     private final IndexSettings indexSettings;
     private final IdFieldMapper idFieldMapper;
+    private final Function<Query, BitSetProducer> bitSetProducer;
 
     public MappingParserContext(
         Function<String, SimilarityProvider> similarityLookupService,
@@ -45,7 +48,8 @@ public class MappingParserContext {
         ScriptCompiler scriptCompiler,
         IndexAnalyzers indexAnalyzers,
         IndexSettings indexSettings,
-        IdFieldMapper idFieldMapper
+        IdFieldMapper idFieldMapper,
+        Function<Query, BitSetProducer> bitSetProducer
     ) {
         this.similarityLookupService = similarityLookupService;
         this.typeParsers = typeParsers;
@@ -56,6 +60,7 @@ public class MappingParserContext {
         this.indexAnalyzers = indexAnalyzers;
         this.indexSettings = indexSettings;
         this.idFieldMapper = idFieldMapper;
+        this.bitSetProducer = bitSetProducer;
     }
 
     public IndexAnalyzers getIndexAnalyzers() {
@@ -94,6 +99,14 @@ public class MappingParserContext {
         return searchExecutionContextSupplier;
     }
 
+    /**
+     * The {@link BitSetProducer} that the shard caches for a filter. Mappers should only
+     * call this when they read documents, not while they are parsed or validated.
+     */
+    public BitSetProducer bitSetProducer(Query query) {
+        return bitSetProducer.apply(query);
+    }
+
     /**
      * Gets an optional default date format for date fields that do not have an explicit format set
      * <p>
@@ -136,7 +149,8 @@ public class MappingParserContext {
                 in.scriptCompiler,
                 in.indexAnalyzers,
                 in.indexSettings,
-                in.idFieldMapper
+                in.idFieldMapper,
+                in.bitSetProducer
             );
         }
 
@@ -164,7 +178,8 @@ public class MappingParserContext {
                 in.scriptCompiler,
                 in.indexAnalyzers,
                 in.indexSettings,
-                in.idFieldMapper
+                in.idFieldMapper,
+                in.bitSetProducer
             );
             this.dateFormatter = dateFormatter;
         }
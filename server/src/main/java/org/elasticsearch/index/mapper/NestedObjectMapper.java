@@ -8,16 +8,34 @@
 
 package org.elasticsearch.index.mapper;
 
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.search.join.BitSetProducer;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BitSet;
 import org.elasticsearch.Version;
 import org.elasticsearch.common.Explicit;
+import org.elasticsearch.common.lucene.search.Queries;
 import org.elasticsearch.common.xcontent.support.XContentMapValues;
+import org.elasticsearch.index.fieldvisitor.LeafStoredFieldLoader;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Mapper for nested objects
@@ -31,10 +49,12 @@ public class NestedObjectMapper extends ObjectMapper {
         private Explicit<Boolean> includeInRoot = Explicit.IMPLICIT_FALSE;
         private Explicit<Boolean> includeInParent = Explicit.IMPLICIT_FALSE;
         private final Version indexCreatedVersion;
+        private final Function<Query, BitSetProducer> bitSetProducer;
 
-        public Builder(String name, Version indexCreatedVersion) {
+        public Builder(String name, Version indexCreatedVersion, Function<Query, BitSetProducer> bitSetProducer) {
             super(name, Explicit.IMPLICIT_TRUE);
             this.indexCreatedVersion = indexCreatedVersion;
+            this.bitSetProducer = bitSetProducer;
         }
 
         Builder includeInRoot(boolean includeInRoot) {
@@ -62,8 +82,11 @@ public class NestedObjectMapper extends ObjectMapper {
                     this.includeInRoot = Explicit.IMPLICIT_FALSE;
                 }
             }
-            NestedMapperBuilderContext nestedContext = new NestedMapperBuilderContext(context.buildFullName(name), parentIncludedInRoot);
-            return new NestedObjectMapper(name, context.buildFullName(name), buildMappers(nestedContext), this);
+            String fullPath = context.buildFullName(name);
+            String nestedTypePath = nestedTypePath(indexCreatedVersion, fullPath);
+            NestedMapperBuilderContext nestedContext = new NestedMapperBuilderContext(fullPath, parentIncludedInRoot, nestedTypePath);
+            String parentTypePath = context instanceof NestedMapperBuilderContext nc ? nc.nestedTypePath : null;
+            return new NestedObjectMapper(name, fullPath, buildMappers(nestedContext), parentTypePath, this);
         }
     }
 
@@ -74,7 +97,11 @@ public class NestedObjectMapper extends ObjectMapper {
             if (parseSubobjects(node).explicit()) {
                 throw new MapperParsingException("Nested type [" + name + "] does not support [subobjects] parameter");
             }
-            NestedObjectMapper.Builder builder = new NestedObjectMapper.Builder(name, parserContext.indexVersionCreated());
+            NestedObjectMapper.Builder builder = new NestedObjectMapper.Builder(
+                name,
+                parserContext.indexVersionCreated(),
+                parserContext::bitSetProducer
+            );
             parseNested(name, node, builder);
             for (Iterator<Map.Entry<String, Object>> iterator = node.entrySet().iterator(); iterator.hasNext();) {
                 Map.Entry<String, Object> entry = iterator.next();
@@ -106,15 +133,17 @@ public class NestedObjectMapper extends ObjectMapper {
     private static class NestedMapperBuilderContext extends MapperBuilderContext {
 
         final boolean parentIncludedInRoot;
+        final String nestedTypePath;
 
-        NestedMapperBuilderContext(String path, boolean parentIncludedInRoot) {
+        NestedMapperBuilderContext(String path, boolean parentIncludedInRoot, String nestedTypePath) {
             super(path, false);
             this.parentIncludedInRoot = parentIncludedInRoot;
+            this.nestedTypePath = nestedTypePath;
         }
 
         @Override
         public MapperBuilderContext createChildContext(String name) {
-            return new NestedMapperBuilderContext(buildFullName(name), parentIncludedInRoot);
+            return new NestedMapperBuilderContext(buildFullName(name), parentIncludedInRoot, nestedTypePath);
         }
     }
 
@@ -122,17 +151,27 @@ public class NestedObjectMapper extends ObjectMapper {
     private Explicit<Boolean> includeInParent;
     private final String nestedTypePath;
     private final Query nestedTypeFilter;
-
-    NestedObjectMapper(String name, String fullPath, Map<String, Mapper> mappers, Builder builder) {
+    /**
+     * Matches the documents that nested documents of this type are indexed under: root
+     * documents or documents of the closest enclosing nested type.
+     */
+    private final Query parentTypeFilter;
+    private final Function<Query, BitSetProducer> bitSetProducer;
+
+    NestedObjectMapper(String name, String fullPath, Map<String, Mapper> mappers, String parentTypePath, Builder builder) {
         super(name, fullPath, builder.enabled, Explicit.IMPLICIT_TRUE, builder.dynamic, mappers);
-        if (builder.indexCreatedVersion.before(Version.V_8_0_0)) {
-            this.nestedTypePath = "__" + fullPath;
-        } else {
-            this.nestedTypePath = fullPath;
-        }
+        this.nestedTypePath = nestedTypePath(builder.indexCreatedVersion, fullPath);
         this.nestedTypeFilter = NestedPathFieldMapper.filter(builder.indexCreatedVersion, nestedTypePath);
+        this.parentTypeFilter = parentTypePath == null
+            ? Queries.newNonNestedFilter(builder.indexCreatedVersion)
+            : NestedPathFieldMapper.filter(builder.indexCreatedVersion, parentTypePath);
         this.includeInParent = builder.includeInParent;
         this.includeInRoot = builder.includeInRoot;
+        this.bitSetProducer = builder.bitSetProducer;
+    }
+
+    private static String nestedTypePath(Version indexCreatedVersion, String fullPath) {
+        return indexCreatedVersion.before(Version.V_8_0_0) ? "__" + fullPath : fullPath;
     }
 
     public Query nestedTypeFilter() {
@@ -170,7 +209,7 @@ public class NestedObjectMapper extends ObjectMapper {
 
     @Override
     public ObjectMapper.Builder newBuilder(Version indexVersionCreated) {
-        NestedObjectMapper.Builder builder = new NestedObjectMapper.Builder(simpleName(), indexVersionCreated);
+        NestedObjectMapper.Builder builder = new NestedObjectMapper.Builder(simpleName(), indexVersionCreated, bitSetProducer);
         builder.enabled = enabled;
         builder.dynamic = dynamic;
         builder.includeInRoot = includeInRoot;
@@ -239,11 +278,178 @@ public class NestedObjectMapper extends ObjectMapper {
         if (mapperBuilderContext instanceof NestedMapperBuilderContext == false) {
             parentIncludedInRoot |= this.includeInParent.value();
         }
-        return new NestedMapperBuilderContext(mapperBuilderContext.buildFullName(name), parentIncludedInRoot);
+        return new NestedMapperBuilderContext(mapperBuilderContext.buildFullName(name), parentIncludedInRoot, nestedTypePath);
     }
 
     @Override
     public SourceLoader.SyntheticFieldLoader syntheticFieldLoader() {
-        throw new IllegalArgumentException("field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source");
+        return new NestedSyntheticFieldLoader(
+            mappers.values()
+                .stream()
+                .sorted(Comparator.comparing(Mapper::name))
+                .map(Mapper::syntheticFieldLoader)
+                .filter(l -> l != null)
+                .toList()
+        );
+    }
+
+    /**
+     * Loads synthetic {@code _source} for the nested documents of a parent document. Nested documents
+     * are indexed in a block right before their parent so we find them with the shard's cached bitset
+     * of parent documents and a forward-only iterator over the nested documents. The loaders for the
+     * fields of the nested documents are built once per segment, for the nested documents of all the
+     * parent documents that are loaded from it, and then advanced through them in order.
+     */
+    private class NestedSyntheticFieldLoader implements SourceLoader.SyntheticFieldLoader {
+        private final List<SourceLoader.SyntheticFieldLoader> fields;
+        private final Map<String, StoredFieldLoader> storedFieldLoaders;
+        private LeafReader leafReader;
+        private int[] leafChildDocs;
+        private LeafStoredFieldLoader storedFields;
+        private List<DocValuesLoader> docValuesLoaders;
+        /**
+         * The index in {@link #leafChildDocs} of the next nested document that the loaders will be advanced to.
+         */
+        private int nextChild;
+        /**
+         * The nested documents of the current parent document are {@code leafChildDocs[firstChild..endChild)}.
+         */
+        private int firstChild;
+        private int endChild;
+
+        private NestedSyntheticFieldLoader(List<SourceLoader.SyntheticFieldLoader> fields) {
+            this.fields = fields;
+            this.storedFieldLoaders = Map.copyOf(
+                fields.stream()
+                    .flatMap(SourceLoader.SyntheticFieldLoader::storedFieldLoaders)
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
+            );
+        }
+
+        @Override
+        public Stream<Map.Entry<String, StoredFieldLoader>> storedFieldLoaders() {
+            // Stored fields of nested documents aren't on the parent document so we load them ourselves in write
+            return Stream.of();
+        }
+
+        @Override
+        public DocValuesLoader docValuesLoader(LeafReader reader, int[] docIdsInLeaf) throws IOException {
+            firstChild = endChild = 0;
+            BitSet parents = bitSetProducer.apply(parentTypeFilter).getBitSet(reader.getContext());
+            if (parents == null) {
+                return null;
+            }
+            IndexSearcher searcher = new IndexSearcher(reader);
+            searcher.setQueryCache(null);
+            Weight weight = searcher.createWeight(searcher.rewrite(nestedTypeFilter), ScoreMode.COMPLETE_NO_SCORES, 1f);
+            Scorer childScorer = weight.scorer(reader.getContext());
+            if (childScorer == null) {
+                return null;
+            }
+            DocIdSetIterator children = childScorer.iterator();
+            int[] parentDocs = docIdsInLeaf.clone();
+            Arrays.sort(parentDocs);
+            // childStarts[p] is the index in childDocs of the first nested document of parentDocs[p]
+            int[] childStarts = new int[parentDocs.length + 1];
+            int[] childDocs = new int[0];
+            int count = 0;
+            for (int p = 0; p < parentDocs.length; p++) {
+                childStarts[p] = count;
+                int parentDoc = parentDocs[p];
+                if (parentDoc == 0) {
+                    continue;
+                }
+                int prevParentDoc = parents.prevSetBit(parentDoc - 1);
+                int childDoc = children.docID();
+                if (childDoc <= prevParentDoc) {
+                    childDoc = children.advance(prevParentDoc + 1);
+                }
+                for (; childDoc < parentDoc; childDoc = children.nextDoc()) {
+                    childDocs = ArrayUtil.grow(childDocs, count + 1);
+                    childDocs[count++] = childDoc;
+                }
+            }
+            childStarts[parentDocs.length] = count;
+            if (count == 0) {
+                return null;
+            }
+            leafReader = reader;
+            leafChildDocs = Arrays.copyOf(childDocs, count);
+            buildChildLoaders();
+            return parentDoc -> {
+                int p = Arrays.binarySearch(parentDocs, parentDoc);
+                if (p < 0) {
+                    throw new IllegalArgumentException("loader was not built for parent document [" + parentDoc + "]");
+                }
+                firstChild = childStarts[p];
+                endChild = childStarts[p + 1];
+                return firstChild < endChild;
+            };
+        }
+
+        private void buildChildLoaders() throws IOException {
+            storedFields = storedFieldLoaders.isEmpty()
+                ? null
+                : org.elasticsearch.index.fieldvisitor.StoredFieldLoader.create(false, storedFieldLoaders.keySet())
+                    .getLoader(leafReader.getContext(), leafChildDocs);
+            docValuesLoaders = new ArrayList<>();
+            for (SourceLoader.SyntheticFieldLoader field : fields) {
+                DocValuesLoader loader = field.docValuesLoader(leafReader, leafChildDocs);
+                if (loader != null) {
+                    docValuesLoaders.add(loader);
+                }
+            }
+            nextChild = 0;
+        }
+
+        /**
+         * Advance the loaders to the next nested document of the segment. We only load the stored fields
+         * if we're going to write the document because they are only cleared when they are written.
+         */
+        private void advanceToNextChild(boolean loadStoredFields) throws IOException {
+            int doc = leafChildDocs[nextChild++];
+            if (loadStoredFields && storedFields != null) {
+                storedFields.advanceTo(doc);
+                for (Map.Entry<String, List<Object>> e : storedFields.storedFields().entrySet()) {
+                    StoredFieldLoader loader = storedFieldLoaders.get(e.getKey());
+                    if (loader != null) {
+                        loader.load(e.getValue());
+                    }
+                }
+            }
+            for (DocValuesLoader loader : docValuesLoaders) {
+                loader.advanceToDoc(doc);
+            }
+        }
+
+        @Override
+        public boolean hasValue() {
+            return firstChild < endChild;
+        }
+
+        @Override
+        public void write(XContentBuilder b) throws IOException {
+            if (firstChild >= endChild) {
+                return;
+            }
+            assert nextChild <= firstChild : "parent documents must be loaded in order";
+            while (nextChild < firstChild) {
+                // Skip the nested documents of parent documents that were loaded without being written
+                advanceToNextChild(false);
+            }
+            b.startArray(simpleName());
+            while (nextChild < endChild) {
+                advanceToNextChild(true);
+                b.startObject();
+                for (SourceLoader.SyntheticFieldLoader field : fields) {
+                    if (field.hasValue()) {
+                        field.write(b);
+                    }
+                }
+                b.endObject();
+            }
+            b.endArray();
+            firstChild = endChild = 0;
+        }
     }
 }
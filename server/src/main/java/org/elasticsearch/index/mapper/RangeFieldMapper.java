@@ -26,6 +26,7 @@ import org.elasticsearch.index.fielddata.plain.BinaryIndexFieldData;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.support.CoreValuesSourceType;
+import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
 
 import java.io.IOException;
@@ -33,9 +34,11 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
@@ -83,6 +86,7 @@ public class RangeFieldMapper extends FieldMapper {
             (xContentBuilder, n, v) -> xContentBuilder.field(n, v.toString()),
             Objects::toString
         );
+        private final Parameter<Boolean> keepArrays = ArrayOrderDocValuesField.keepArraysParam(m -> toType(m).keepArrays);
         private final Parameter<Map<String, String>> meta = Parameter.metaParam();
 
         private final RangeType type;
@@ -112,7 +116,7 @@ public class RangeFieldMapper extends FieldMapper {
 
         @Override
         protected Parameter<?>[] getParameters() {
-            return new Parameter<?>[] { index, hasDocValues, store, coerce, format, locale, meta };
+            return new Parameter<?>[] { index, hasDocValues, store, coerce, format, locale, keepArrays, meta };
         }
 
         protected RangeFieldType setupFieldType(MapperBuilderContext context) {
@@ -163,7 +167,15 @@ public class RangeFieldMapper extends FieldMapper {
         @Override
         public RangeFieldMapper build(MapperBuilderContext context) {
             RangeFieldType ft = setupFieldType(context);
-            return new RangeFieldMapper(name, ft, multiFieldsBuilder.build(this, context), copyTo.build(), type, this);
+            return new RangeFieldMapper(
+                name,
+                ft,
+                multiFieldsBuilder.build(this, context),
+                copyTo.build(),
+                type,
+                context.isSourceSynthetic(),
+                this
+            );
         }
     }
 
@@ -332,6 +344,8 @@ public class RangeFieldMapper extends FieldMapper {
     private final Explicit<Boolean> coerce;
     private final String format;
     private final Locale locale;
+    private final boolean keepArrays;
+    private final boolean storeArrayOrder;
 
     private final boolean coerceByDefault;
 
@@ -341,6 +355,7 @@ public class RangeFieldMapper extends FieldMapper {
         MultiFields multiFields,
         CopyTo copyTo,
         RangeType type,
+        boolean isSyntheticSource,
         Builder builder
     ) {
         super(simpleName, mappedFieldType, multiFields, copyTo);
@@ -351,6 +366,8 @@ public class RangeFieldMapper extends FieldMapper {
         this.coerce = builder.coerce.getValue();
         this.format = builder.format.getValue();
         this.locale = builder.locale.getValue();
+        this.keepArrays = builder.keepArrays.getValue();
+        this.storeArrayOrder = isSyntheticSource && keepArrays && hasDocValues;
         this.coerceByDefault = builder.coerce.getDefaultValue().value();
     }
 
@@ -427,12 +444,64 @@ public class RangeFieldMapper extends FieldMapper {
             throw new MapperParsingException("error parsing field [" + name() + "], expected an object but got " + parser.currentName());
         }
         context.doc().addAll(fieldType().rangeType.createFields(context, name(), range, index, hasDocValues, store));
+        if (storeArrayOrder) {
+            BinaryRangesDocValuesField field = (BinaryRangesDocValuesField) context.doc().getByKey(name());
+            if (field.addToArrayOrder(range) == 2) {
+                context.doc().add(new ArrayOrderDocValuesField(name(), field::arrayOrder));
+            }
+        }
 
         if (hasDocValues == false && (index || store)) {
             context.addToFieldNames(fieldType().name());
         }
     }
 
+    @Override
+    public SourceLoader.SyntheticFieldLoader syntheticFieldLoader() {
+        if (hasDocValues == false) {
+            throw new IllegalArgumentException(
+                "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it doesn't have doc values"
+            );
+        }
+        if (copyTo.copyToFields().isEmpty() != true) {
+            throw new IllegalArgumentException(
+                "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it declares copy_to"
+            );
+        }
+        RangeType rangeType = fieldType().rangeType;
+        DateFormatter formatter = fieldType().dateTimeFormatter();
+        return new BinaryDocValuesSyntheticFieldLoader<Range>(name(), simpleName(), keepArrays) {
+            @Override
+            protected List<Range> decode(BytesRef docValues) throws IOException {
+                return rangeType.decodeRanges(docValues);
+            }
+
+            @Override
+            protected void write(XContentBuilder b, Range range) throws IOException {
+                // doc values only keep inclusive bounds, exclusive ones were already moved to the next value
+                b.startObject();
+                if (isUnbounded(range.from, rangeType.minValue()) == false) {
+                    b.field(GTE_FIELD.getPreferredName(), rangeType.formatValue(range.from, formatter));
+                }
+                if (isUnbounded(range.to, rangeType.maxValue()) == false) {
+                    b.field(LTE_FIELD.getPreferredName(), rangeType.formatValue(range.to, formatter));
+                }
+                b.endObject();
+            }
+        };
+    }
+
+    /**
+     * Is this decoded bound the min or max value of the range type? Integer ranges decode their
+     * bounds as longs, so numbers are compared by value.
+     */
+    private static boolean isUnbounded(Object value, Object bound) {
+        if (value instanceof Number n && bound instanceof Number m) {
+            return n.doubleValue() == m.doubleValue() && n.longValue() == m.longValue();
+        }
+        return value.equals(bound);
+    }
+
     private static Range parseIpRangeFromCidr(final XContentParser parser) throws IOException {
         final Tuple<InetAddress, Integer> cidr = InetAddresses.parseCidr(parser.text());
         // create the lower value by zeroing out the host portion, upper value by filling it with all ones.
@@ -513,6 +582,10 @@ public class RangeFieldMapper extends FieldMapper {
 
         private final Set<Range> ranges;
         private final RangeType rangeType;
+        /**
+         * The ranges in the order they were parsed, only tracked if the array order is stored.
+         */
+        private List<Range> arrayOrderList;
 
         BinaryRangesDocValuesField(String name, Range range, RangeType rangeType) {
             super(name);
@@ -525,6 +598,41 @@ public class RangeFieldMapper extends FieldMapper {
             ranges.add(range);
         }
 
+        /**
+         * Track the order of the ranges for {@link ArrayOrderDocValuesField}.
+         * @return the number of tracked ranges
+         */
+        int addToArrayOrder(Range range) {
+            if (arrayOrderList == null) {
+                arrayOrderList = new ArrayList<>();
+            }
+            arrayOrderList.add(range);
+            return arrayOrderList.size();
+        }
+
+        /**
+         * The position of each tracked range, in the order they were parsed, in the ranges
+         * written by {@link #binaryValue()}. Ranges are matched on their encoded bounds
+         * because encoding drops whether they were exclusive.
+         */
+        int[] arrayOrder() {
+            try {
+                List<Range> encoded = rangeType.decodeRanges(binaryValue());
+                List<BytesRef> encodedBounds = new ArrayList<>(encoded.size());
+                for (Range range : encoded) {
+                    encodedBounds.add(rangeType.encodeRanges(Set.of(range)));
+                }
+                int[] positions = new int[arrayOrderList.size()];
+                for (int i = 0; i < positions.length; i++) {
+                    positions[i] = encodedBounds.indexOf(rangeType.encodeRanges(Set.of(arrayOrderList.get(i))));
+                    assert positions[i] >= 0 : "range [" + arrayOrderList.get(i) + "] isn't in the doc values";
+                }
+                return positions;
+            } catch (IOException e) {
+                throw new ElasticsearchException("failed to encode array order", e);
+            }
+        }
+
         @Override
         public BytesRef binaryValue() {
             try {
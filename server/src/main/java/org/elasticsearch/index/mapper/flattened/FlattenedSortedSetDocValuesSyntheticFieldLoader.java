@@ -0,0 +1,146 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.mapper.flattened;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.index.mapper.SourceLoader;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Load {@code _source} for a {@code flattened} field from the doc values of its keyed
+ * field, which hold every leaf value prefixed with its full dotted path. Objects are
+ * rebuilt by splitting the paths on dots and all leaf values are rendered as strings,
+ * sorted and deduplicated per key.
+ */
+class FlattenedSortedSetDocValuesSyntheticFieldLoader implements SourceLoader.SyntheticFieldLoader {
+    private final String keyedFieldName;
+    private final String simpleName;
+
+    private SortedSetDocValues docValues;
+    private boolean hasValue;
+
+    FlattenedSortedSetDocValuesSyntheticFieldLoader(String keyedFieldName, String simpleName) {
+        this.keyedFieldName = keyedFieldName;
+        this.simpleName = simpleName;
+    }
+
+    @Override
+    public Stream<Map.Entry<String, StoredFieldLoader>> storedFieldLoaders() {
+        return Stream.of();
+    }
+
+    @Override
+    public DocValuesLoader docValuesLoader(LeafReader reader, int[] docIdsInLeaf) throws IOException {
+        SortedSetDocValues dv = DocValues.getSortedSet(reader, keyedFieldName);
+        if (dv.getValueCount() == 0) {
+            docValues = null;
+            hasValue = false;
+            return null;
+        }
+        docValues = dv;
+        return docId -> hasValue = docValues.advanceExact(docId);
+    }
+
+    @Override
+    public boolean hasValue() {
+        return hasValue;
+    }
+
+    @Override
+    public void write(XContentBuilder b) throws IOException {
+        if (hasValue == false) {
+            return;
+        }
+        Map<String, Object> root = new TreeMap<>();
+        for (int i = 0; i < docValues.docValueCount(); i++) {
+            BytesRef keyedValue = docValues.lookupOrd(docValues.nextOrd());
+            int separator = separatorOffset(keyedValue);
+            String key = new BytesRef(keyedValue.bytes, keyedValue.offset, separator - keyedValue.offset).utf8ToString();
+            String value = new BytesRef(keyedValue.bytes, separator + 1, keyedValue.offset + keyedValue.length - separator - 1)
+                .utf8ToString();
+            addValue(root, key, value);
+        }
+        b.startObject(simpleName);
+        writeObject(b, root);
+        b.endObject();
+        hasValue = false;
+    }
+
+    private static int separatorOffset(BytesRef keyedValue) {
+        int end = keyedValue.offset + keyedValue.length;
+        for (int i = keyedValue.offset; i < end; i++) {
+            if (keyedValue.bytes[i] == '\0') {
+                return i;
+            }
+        }
+        throw new IllegalStateException("keyed flattened value is missing its separator");
+    }
+
+    /**
+     * Add a value to the object tree under its dotted path. Values are visited in key order so
+     * a leaf always comes before the paths below it, those keep their dots if the leaf is in the way.
+     */
+    @SuppressWarnings("unchecked")
+    private static void addValue(Map<String, Object> object, String key, String value) {
+        int dot = key.indexOf('.');
+        if (dot > 0 && dot < key.length() - 1) {
+            Object child = object.get(key.substring(0, dot));
+            if (child == null) {
+                child = new TreeMap<String, Object>();
+                object.put(key.substring(0, dot), child);
+            }
+            if (child instanceof Map) {
+                addValue((Map<String, Object>) child, key.substring(dot + 1), value);
+                return;
+            }
+        }
+        Object leaf = object.get(key);
+        if (leaf instanceof List) {
+            ((List<String>) leaf).add(value);
+        } else if (leaf == null) {
+            List<String> values = new ArrayList<>(1);
+            values.add(value);
+            object.put(key, values);
+        } else {
+            throw new IllegalStateException("can't write value for [" + key + "] because it is also an object");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeObject(XContentBuilder b, Map<String, Object> object) throws IOException {
+        for (Map.Entry<String, Object> e : object.entrySet()) {
+            if (e.getValue() instanceof Map) {
+                b.startObject(e.getKey());
+                writeObject(b, (Map<String, Object>) e.getValue());
+                b.endObject();
+                continue;
+            }
+            List<String> values = (List<String>) e.getValue();
+            if (values.size() == 1) {
+                b.field(e.getKey(), values.get(0));
+            } else {
+                b.startArray(e.getKey());
+                for (String value : values) {
+                    b.value(value);
+                }
+                b.endArray();
+            }
+        }
+    }
+}
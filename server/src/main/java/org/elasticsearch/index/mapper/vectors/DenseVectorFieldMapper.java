@@ -23,7 +23,9 @@ import org.apache.lucene.search.Query;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.VectorUtil;
 import org.elasticsearch.Version;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.support.XContentMapValues;
+import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.fielddata.FieldDataContext;
 import org.elasticsearch.index.fielddata.IndexFieldData;
 import org.elasticsearch.index.mapper.ArraySourceValueFetcher;
@@ -41,6 +43,9 @@ import org.elasticsearch.index.mapper.ValueFetcher;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.support.CoreValuesSourceType;
+import org.elasticsearch.search.vectors.FilteredKnnVectorQuery;
+import org.elasticsearch.search.vectors.RescoreKnnVectorQuery;
+import org.elasticsearch.simdvec.ESVectorUtil;
 import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser.Token;
@@ -140,6 +145,22 @@ public class DenseVectorFieldMapper extends FieldMapper {
 
         @Override
         public DenseVectorFieldMapper build(MapperBuilderContext context) {
+            if (indexOptions.getValue() instanceof Int8HnswIndexOptions) {
+                if (elementType.getValue() != ElementType.FLOAT) {
+                    throw new IllegalArgumentException(
+                        "[index_options] of type [int8_hnsw] can only be used with [element_type] [" + ElementType.FLOAT + "]"
+                    );
+                }
+                if (similarity.getValue() == VectorSimilarity.L2_NORM) {
+                    throw new IllegalArgumentException(
+                        "[index_options] of type [int8_hnsw] can only be used with the ["
+                            + VectorSimilarity.COSINE
+                            + "] or ["
+                            + VectorSimilarity.DOT_PRODUCT
+                            + "] similarities"
+                    );
+                }
+            }
             return new DenseVectorFieldMapper(
                 name,
                 new DenseVectorFieldType(
@@ -149,6 +170,7 @@ public class DenseVectorFieldMapper extends FieldMapper {
                     dims.getValue(),
                     indexed.getValue(),
                     similarity.getValue(),
+                    indexOptions.getValue(),
                     meta.getValue()
                 ),
                 elementType.getValue(),
@@ -290,7 +312,8 @@ public class DenseVectorFieldMapper extends FieldMapper {
                     denseVectorFieldType.indexVersionCreated,
                     this,
                     denseVectorFieldType.dims,
-                    denseVectorFieldType.indexed
+                    // quantized fields keep their raw vectors in binary doc values
+                    denseVectorFieldType.indexed && denseVectorFieldType.isQuantized() == false
                 );
             }
 
@@ -416,6 +439,8 @@ public class DenseVectorFieldMapper extends FieldMapper {
         IndexOptions(String type) {
             this.type = type;
         }
+
+        abstract KnnVectorsFormat getVectorsFormat();
     }
 
     private static class HnswIndexOptions extends IndexOptions {
@@ -443,6 +468,11 @@ public class DenseVectorFieldMapper extends FieldMapper {
             this.efConstruction = efConstruction;
         }
 
+        @Override
+        KnnVectorsFormat getVectorsFormat() {
+            return new Lucene94HnswVectorsFormat(m, efConstruction);
+        }
+
         @Override
         public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
             builder.startObject();
@@ -472,6 +502,75 @@ public class DenseVectorFieldMapper extends FieldMapper {
         }
     }
 
+    /**
+     * Index options for an HNSW graph that is built over int8 quantized vectors, which take a quarter of the
+     * memory of float vectors. The raw float vectors are kept in binary doc values so that the candidates found
+     * in the graph can optionally be rescored with the exact similarity.
+     */
+    private static class Int8HnswIndexOptions extends IndexOptions {
+        private final int m;
+        private final int efConstruction;
+        private final boolean rescore;
+
+        static IndexOptions parseIndexOptions(String fieldName, Map<String, ?> indexOptionsMap) {
+            Object mNode = indexOptionsMap.remove("m");
+            Object efConstructionNode = indexOptionsMap.remove("ef_construction");
+            Object rescoreNode = indexOptionsMap.remove("rescore");
+            if (mNode == null) {
+                throw new MapperParsingException("[index_options] of type [int8_hnsw] requires field [m] to be configured");
+            }
+            if (efConstructionNode == null) {
+                throw new MapperParsingException("[index_options] of type [int8_hnsw] requires field [ef_construction] to be configured");
+            }
+            int m = XContentMapValues.nodeIntegerValue(mNode);
+            int efConstruction = XContentMapValues.nodeIntegerValue(efConstructionNode);
+            boolean rescore = XContentMapValues.nodeBooleanValue(rescoreNode, "rescore", true);
+            MappingParser.checkNoRemainingFields(fieldName, indexOptionsMap);
+            return new Int8HnswIndexOptions(m, efConstruction, rescore);
+        }
+
+        private Int8HnswIndexOptions(int m, int efConstruction, boolean rescore) {
+            super("int8_hnsw");
+            this.m = m;
+            this.efConstruction = efConstruction;
+            this.rescore = rescore;
+        }
+
+        @Override
+        KnnVectorsFormat getVectorsFormat() {
+            return new Lucene94HnswVectorsFormat(m, efConstruction);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("type", type);
+            builder.field("m", m);
+            builder.field("ef_construction", efConstruction);
+            builder.field("rescore", rescore);
+            builder.endObject();
+            return builder;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Int8HnswIndexOptions that = (Int8HnswIndexOptions) o;
+            return m == that.m && efConstruction == that.efConstruction && rescore == that.rescore;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, m, efConstruction, rescore);
+        }
+
+        @Override
+        public String toString() {
+            return "{type=" + type + ", m=" + m + ", ef_construction=" + efConstruction + ", rescore=" + rescore + " }";
+        }
+    }
+
     public static final TypeParser PARSER = new TypeParser(
         (n, c) -> new Builder(n, c.indexVersionCreated()),
         notInMultiFields(CONTENT_TYPE)
@@ -482,6 +581,7 @@ public class DenseVectorFieldMapper extends FieldMapper {
         private final int dims;
         private final boolean indexed;
         private final VectorSimilarity similarity;
+        private final IndexOptions indexOptions;
         private final Version indexVersionCreated;
 
         public DenseVectorFieldType(
@@ -493,14 +593,35 @@ public class DenseVectorFieldMapper extends FieldMapper {
             VectorSimilarity similarity,
             Map<String, String> meta
         ) {
-            super(name, indexed, false, indexed == false, TextSearchInfo.NONE, meta);
+            this(name, indexVersionCreated, elementType, dims, indexed, similarity, null, meta);
+        }
+
+        DenseVectorFieldType(
+            String name,
+            Version indexVersionCreated,
+            ElementType elementType,
+            int dims,
+            boolean indexed,
+            VectorSimilarity similarity,
+            IndexOptions indexOptions,
+            Map<String, String> meta
+        ) {
+            super(name, indexed, false, indexed == false || indexOptions instanceof Int8HnswIndexOptions, TextSearchInfo.NONE, meta);
             this.elementType = elementType;
             this.dims = dims;
             this.indexed = indexed;
             this.similarity = similarity;
+            this.indexOptions = indexOptions;
             this.indexVersionCreated = indexVersionCreated;
         }
 
+        /**
+         * @return whether the kNN graph of this field is built over int8 quantized vectors
+         */
+        public boolean isQuantized() {
+            return indexOptions instanceof Int8HnswIndexOptions;
+        }
+
         @Override
         public String typeName() {
             return CONTENT_TYPE;
@@ -546,7 +667,16 @@ public class DenseVectorFieldMapper extends FieldMapper {
             throw new IllegalArgumentException("Field [" + name() + "] of type [" + typeName() + "] doesn't support term queries");
         }
 
-        public KnnVectorQuery createKnnQuery(float[] queryVector, int numCands, Query filter) {
+        public Query createKnnQuery(float[] queryVector, int numCands, Query filter) {
+            int exactSearchThreshold = IndexSettings.KNN_EXACT_SEARCH_THRESHOLD_SETTING.getDefault(Settings.EMPTY);
+            return createKnnQuery(queryVector, numCands, filter, exactSearchThreshold);
+        }
+
+        /**
+         * Creates a kNN query on this field. Filtered queries search segments in which the filter matches at most
+         * {@code exactSearchThreshold} documents exactly rather than through the HNSW graph.
+         */
+        public Query createKnnQuery(float[] queryVector, int numCands, Query filter, int exactSearchThreshold) {
             if (isIndexed() == false) {
                 throw new IllegalArgumentException(
                     "to perform knn search on field [" + name() + "], its mapping must have [index] set to [true]"
@@ -562,14 +692,30 @@ public class DenseVectorFieldMapper extends FieldMapper {
             elementType.checkVectorBounds(queryVector);
 
             if (similarity == VectorSimilarity.DOT_PRODUCT || similarity == VectorSimilarity.COSINE) {
-                float squaredMagnitude = 0.0f;
-                for (float e : queryVector) {
-                    squaredMagnitude += e * e;
-                }
+                float squaredMagnitude = ESVectorUtil.dotProduct(queryVector, queryVector);
                 elementType.checkVectorMagnitude(similarity, queryVector, squaredMagnitude);
             }
 
-            return new KnnVectorQuery(name(), queryVector, numCands, filter);
+            if (indexOptions instanceof Int8HnswIndexOptions int8HnswIndexOptions) {
+                BytesRef quantized = quantizeToInt8(queryVector);
+                float[] quantizedQueryVector = new float[dims];
+                for (int i = 0; i < dims; i++) {
+                    quantizedQueryVector[i] = quantized.bytes[i];
+                }
+                Query knnQuery = knnVectorQuery(quantizedQueryVector, numCands, filter, exactSearchThreshold);
+                if (int8HnswIndexOptions.rescore) {
+                    return new RescoreKnnVectorQuery(name(), queryVector, similarity.function, numCands, knnQuery);
+                }
+                return knnQuery;
+            }
+            return knnVectorQuery(queryVector, numCands, filter, exactSearchThreshold);
+        }
+
+        private Query knnVectorQuery(float[] queryVector, int numCands, Query filter, int exactSearchThreshold) {
+            if (filter == null) {
+                return new KnnVectorQuery(name(), queryVector, numCands, null);
+            }
+            return new FilteredKnnVectorQuery(name(), queryVector, numCands, filter, exactSearchThreshold);
         }
     }
 
@@ -623,10 +769,64 @@ public class DenseVectorFieldMapper extends FieldMapper {
             );
         }
 
+        if (fieldType().isQuantized()) {
+            parseQuantizedKnnVector(context);
+            return;
+        }
         Field field = fieldType().indexed ? parseKnnVector(context) : parseBinaryDocValuesVector(context);
         context.doc().addWithKey(fieldType().name(), field);
     }
 
+    private void parseQuantizedKnnVector(DocumentParserContext context) throws IOException {
+        float[] vector = parseVector(context);
+        float squaredMagnitude = ESVectorUtil.dotProduct(vector, vector);
+        elementType.checkVectorBounds(vector);
+        elementType.checkVectorMagnitude(similarity, vector, squaredMagnitude);
+
+        // the graph only sees the quantized vector, the raw vector is kept for rescoring, scripts and synthetic source
+        ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[dims * elementType.elementBytes + MAGNITUDE_BYTES]);
+        for (float value : vector) {
+            elementType.writeValue(byteBuffer, value);
+        }
+        byteBuffer.putFloat((float) Math.sqrt(squaredMagnitude));
+        String fieldName = fieldType().name();
+        context.doc().addWithKey(fieldName, new KnnVectorField(fieldName, quantizeToInt8(vector), VectorSimilarityFunction.COSINE));
+        context.doc().add(new BinaryDocValuesField(fieldName, new BytesRef(byteBuffer.array())));
+    }
+
+    private float[] parseVector(DocumentParserContext context) throws IOException {
+        float[] vector = new float[dims];
+        int index = 0;
+        for (Token token = context.parser().nextToken(); token != Token.END_ARRAY; token = context.parser().nextToken()) {
+            checkDimensionExceeded(index, context);
+            ensureExpectedToken(Token.VALUE_NUMBER, token, context.parser());
+            vector[index++] = context.parser().floatValue(true);
+        }
+        checkDimensionMatches(index, context);
+        return vector;
+    }
+
+    /**
+     * Quantizes a vector to int8 by scaling it so that its largest component maps to {@link Byte#MAX_VALUE}.
+     * Scaling a vector doesn't change its angle to other vectors, which is why quantized vectors are compared
+     * with the cosine similarity. For the unit-length vectors required by {@code dot_product} this ranks the
+     * same as their dot product.
+     */
+    static BytesRef quantizeToInt8(float[] vector) {
+        float maxAbs = 0f;
+        for (float value : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        byte[] quantized = new byte[vector.length];
+        if (maxAbs > 0f) {
+            float scale = Byte.MAX_VALUE / maxAbs;
+            for (int i = 0; i < vector.length; i++) {
+                quantized[i] = (byte) Math.round(vector[i] * scale);
+            }
+        }
+        return new BytesRef(quantized);
+    }
+
     private Field parseKnnVector(DocumentParserContext context) throws IOException {
         float[] vector = new float[dims];
         float squaredMagnitude = 0.0f;
@@ -745,6 +945,8 @@ public class DenseVectorFieldMapper extends FieldMapper {
         String type = XContentMapValues.nodeStringValue(typeNode);
         if (type.equals("hnsw")) {
             return HnswIndexOptions.parseIndexOptions(fieldName, indexOptionsMap);
+        } else if (type.equals("int8_hnsw")) {
+            return Int8HnswIndexOptions.parseIndexOptions(fieldName, indexOptionsMap);
         } else {
             throw new MapperParsingException("Unknown vector index options type [" + type + "] for field [" + fieldName + "]");
         }
@@ -758,8 +960,7 @@ public class DenseVectorFieldMapper extends FieldMapper {
         if (indexOptions == null) {
             return null; // use default format
         } else {
-            HnswIndexOptions hnswIndexOptions = (HnswIndexOptions) indexOptions;
-            return new Lucene94HnswVectorsFormat(hnswIndexOptions.m, hnswIndexOptions.efConstruction);
+            return indexOptions.getVectorsFormat();
         }
     }
 
@@ -770,7 +971,7 @@ public class DenseVectorFieldMapper extends FieldMapper {
                 "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it declares copy_to"
             );
         }
-        if (indexed) {
+        if (indexed && fieldType().isQuantized() == false) {
             return new IndexedSyntheticFieldLoader();
         }
         return new DocValuesSyntheticFieldLoader();
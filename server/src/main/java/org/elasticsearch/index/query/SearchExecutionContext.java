@@ -26,6 +26,7 @@ import org.elasticsearch.common.ParsingException;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.lucene.search.Queries;
 import org.elasticsearch.common.regex.Regex;
+import org.elasticsearch.common.time.DateMathParser;
 import org.elasticsearch.core.CheckedFunction;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.index.IndexSettings;
@@ -52,6 +53,7 @@ import org.elasticsearch.index.mapper.SourceToParse;
 import org.elasticsearch.index.mapper.TextFieldMapper;
 import org.elasticsearch.index.query.support.NestedScope;
 import org.elasticsearch.index.similarity.SimilarityService;
+import org.elasticsearch.indices.IndicesRequestCache;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptContext;
 import org.elasticsearch.script.ScriptFactory;
@@ -64,6 +66,7 @@ import org.elasticsearch.transport.RemoteClusterAware;
 import org.elasticsearch.xcontent.XContentParserConfiguration;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -76,6 +79,7 @@ import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 /**
  * The context used to execute a search request on a shard. It provides access
@@ -100,6 +104,7 @@ public class SearchExecutionContext extends QueryRewriteContext {
     private final IndexSearcher searcher;
     private boolean cacheable = true;
     private final SetOnce<Boolean> frozen = new SetOnce<>();
+    private final List<Long> roundedNowValues = new ArrayList<>();
     private Set<String> fieldsInIndex = null;
 
     private final Index fullyQualifiedIndex;
@@ -630,6 +635,34 @@ public class SearchExecutionContext extends QueryRewriteContext {
         return cacheable;
     }
 
+    /**
+     * Resolves a date math expression that may be relative to {@code now}. If the expression rounds the date, like
+     * {@code now-15m/m}, and the index allows caching such requests, the resolved value is recorded so that it becomes part
+     * of the request cache key, and the request stays cacheable. Otherwise using {@code now} prevents caching like
+     * {@link #nowInMillis()} does.
+     *
+     * @param dateMath the date math expression
+     * @param resolver resolves the expression given a supplier of the current time
+     */
+    public final long resolveDateMath(String dateMath, ToLongFunction<LongSupplier> resolver) {
+        if (frozen.get() == null
+            && DateMathParser.isRoundedNow(dateMath)
+            && indexSettings.getValue(IndicesRequestCache.INDEX_CACHE_REQUEST_ROUNDED_NOW_SETTING)) {
+            final long value = resolver.applyAsLong(super::nowInMillis);
+            roundedNowValues.add(value);
+            return value;
+        }
+        return resolver.applyAsLong(this::nowInMillis);
+    }
+
+    /**
+     * Returns the values of the rounded date math expressions relative to {@code now} that were resolved with
+     * {@link #resolveDateMath}, in order. The results of a cacheable request depend on these values.
+     */
+    public final List<Long> getRoundedNowValues() {
+        return Collections.unmodifiableList(roundedNowValues);
+    }
+
     /**
      * Returns the shard ID this context was created for.
      */
@@ -0,0 +1,66 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.search.stats;
+
+import org.elasticsearch.common.ExponentiallyWeightedMovingAverage;
+import org.elasticsearch.common.util.concurrent.EWMATrackingEsThreadPoolExecutor;
+import org.elasticsearch.index.shard.IndexShard;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Internal class that tracks the query phases of a shard that are waiting in the search queue or executing, and the
+ * EWMA of the time it takes to execute them. These are piggybacked on query results so that adaptive replica selection
+ * can rank the copies of a shard, rather than only the nodes that hold them.
+ * @see IndexShard
+ */
+public final class ShardSearchLoad {
+
+    private final AtomicInteger pendingQueries = new AtomicInteger();
+    private final ExponentiallyWeightedMovingAverage queryServiceTime = new ExponentiallyWeightedMovingAverage(
+        EWMATrackingEsThreadPoolExecutor.EWMA_ALPHA,
+        0
+    );
+
+    /**
+     * Called when a query phase for this shard is submitted to the search thread pool.
+     */
+    public void onQueryQueued() {
+        pendingQueries.incrementAndGet();
+    }
+
+    /**
+     * Called when a query phase previously reported to {@link #onQueryQueued()} completed, successfully or not.
+     */
+    public void onQueryDone() {
+        int pending = pendingQueries.decrementAndGet();
+        assert pending >= 0 : "more query phases completed than were queued";
+    }
+
+    /**
+     * Called with the time it took to execute a query phase of this shard.
+     */
+    public void onQueryExecuted(long tookInNanos) {
+        queryServiceTime.addValue(tookInNanos);
+    }
+
+    /**
+     * The number of query phases of this shard that are queued or executing.
+     */
+    public int pendingQueries() {
+        return pendingQueries.get();
+    }
+
+    /**
+     * The EWMA of the time it takes to execute a query phase of this shard, in nanoseconds.
+     */
+    public long queryServiceTimeEWMA() {
+        return (long) queryServiceTime.getAverage();
+    }
+}
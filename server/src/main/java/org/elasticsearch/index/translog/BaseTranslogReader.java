@@ -58,27 +58,6 @@ public abstract class BaseTranslogReader implements Comparable<BaseTranslogReade
         return header.getPrimaryTerm();
     }
 
-    /** read the size of the op (i.e., number of bytes, including the op size) written at the given position */
-    protected final int readSize(ByteBuffer reusableBuffer, long position) throws IOException {
-        // read op size from disk
-        assert reusableBuffer.capacity() >= 4
-            : "reusable buffer must have capacity >=4 when reading opSize. got [" + reusableBuffer.capacity() + "]";
-        reusableBuffer.clear();
-        reusableBuffer.limit(4);
-        readBytes(reusableBuffer, position);
-        reusableBuffer.flip();
-        // Add an extra 4 to account for the operation size integer itself
-        final int size = reusableBuffer.getInt() + 4;
-        final long maxSize = sizeInBytes() - position;
-        if (size < 0 || size > maxSize) {
-            throw new TranslogCorruptedException(
-                path.toString(),
-                "operation size is corrupted must be [0.." + maxSize + "] but was: " + size
-            );
-        }
-        return size;
-    }
-
     public TranslogSnapshot newSnapshot() {
         return new TranslogSnapshot(this, sizeInBytes());
     }
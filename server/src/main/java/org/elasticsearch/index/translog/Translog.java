@@ -19,6 +19,8 @@ import org.elasticsearch.common.io.stream.ReleasableBytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.lucene.uid.Versions;
+import org.elasticsearch.common.metrics.CounterMetric;
+import org.elasticsearch.common.metrics.MeanMetric;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.concurrent.ReleasableLock;
 import org.elasticsearch.core.IOUtils;
@@ -51,8 +53,8 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -125,6 +127,9 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
     private final String translogUUID;
     private final TranslogDeletionPolicy deletionPolicy;
     private final LongConsumer persistedSequenceNumberConsumer;
+    // the number of locations that were made durable by each fsync of ensureSynced(Stream), and the time these fsyncs took
+    private final MeanMetric locationsPerSync = new MeanMetric();
+    private final CounterMetric syncTimeInNanos = new CounterMetric();
 
     /**
      * Creates a new Translog instance. This method will create a new transaction log unless the given {@link TranslogGeneration} is
@@ -868,14 +873,27 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
      * @return Returns <code>true</code> iff this call caused an actual sync operation otherwise <code>false</code>
      */
     public boolean ensureSynced(Stream<Location> locations) throws IOException {
-        final Optional<Location> max = locations.max(Location::compareTo);
+        Location max = null;
+        int numLocations = 0;
+        for (Iterator<Location> iterator = locations.iterator(); iterator.hasNext();) {
+            final Location location = iterator.next();
+            if (max == null || location.compareTo(max) > 0) {
+                max = location;
+            }
+            numLocations++;
+        }
         // we only need to sync the max location since it will sync all other
         // locations implicitly
-        if (max.isPresent()) {
-            return ensureSynced(max.get());
-        } else {
+        if (max == null) {
             return false;
         }
+        final long startTimeNanos = System.nanoTime();
+        final boolean synced = ensureSynced(max);
+        if (synced) {
+            locationsPerSync.inc(numLocations);
+            syncTimeInNanos.inc(System.nanoTime() - startTimeNanos);
+        }
+        return synced;
     }
 
     /**
@@ -917,7 +935,10 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
                 sizeInBytes(),
                 totalOperationsByMinGen(uncommittedGen),
                 sizeInBytesByMinGen(uncommittedGen),
-                earliestLastModifiedAge()
+                earliestLastModifiedAge(),
+                locationsPerSync.count(),
+                locationsPerSync.sum(),
+                TimeUnit.NANOSECONDS.toMillis(syncTimeInNanos.count())
             );
         }
     }
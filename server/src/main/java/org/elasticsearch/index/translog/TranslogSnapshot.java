@@ -8,6 +8,7 @@
 package org.elasticsearch.index.translog;
 
 import org.elasticsearch.common.io.Channels;
+import org.elasticsearch.common.io.stream.ByteBufferStreamInput;
 import org.elasticsearch.index.seqno.SequenceNumbers;
 
 import java.io.EOFException;
@@ -16,11 +17,20 @@ import java.nio.ByteBuffer;
 
 final class TranslogSnapshot extends BaseTranslogReader {
 
+    /**
+     * The size of the chunks that operations are read from. Operations are sliced out of the chunk instead of being
+     * read one at a time, which would take two reads from the file channel and a copy for every operation.
+     */
+    static final int READ_AHEAD_SIZE = 64 * 1024;
+
     private final int totalOperations;
     private final Checkpoint checkpoint;
     protected final long length;
 
-    private final ByteBuffer reusableBuffer;
+    // the chunk that was read last and the position in the file of its first byte, allocated on the first read and
+    // released once all operations were read
+    private ByteBuffer readAhead;
+    private long readAheadPosition;
     private long position;
     private int skippedOperations;
     private int readOperations;
@@ -34,7 +44,6 @@ final class TranslogSnapshot extends BaseTranslogReader {
         this.length = length;
         this.totalOperations = reader.totalOperations();
         this.checkpoint = reader.getCheckpoint();
-        this.reusableBuffer = ByteBuffer.allocate(1024);
         this.readOperations = 0;
         this.position = reader.getFirstOperationOffset();
         this.reuse = null;
@@ -66,14 +75,68 @@ final class TranslogSnapshot extends BaseTranslogReader {
     }
 
     private Translog.Operation readOperation() throws IOException {
-        final int opSize = readSize(reusableBuffer, position);
-        reuse = checksummedStream(reusableBuffer, position, opSize, reuse);
+        final int opSize = readOperationSize();
+        final ByteBuffer opBuffer;
+        if (opSize <= READ_AHEAD_SIZE) {
+            ensureReadAhead(opSize);
+            opBuffer = readAhead.slice(Math.toIntExact(position - readAheadPosition), opSize);
+        } else {
+            // operations that don't fit in a chunk are read on their own
+            opBuffer = ByteBuffer.allocate(opSize);
+            readBytes(opBuffer, position);
+            opBuffer.flip();
+        }
+        reuse = new BufferedChecksumStreamInput(new ByteBufferStreamInput(opBuffer), path.toString(), reuse);
         Translog.Operation op = read(reuse);
         position += opSize;
         readOperations++;
+        if (readOperations == totalOperations) {
+            readAhead = null;
+        }
         return op;
     }
 
+    /** reads the size of the op at the current position, including the 4 bytes of the op size */
+    private int readOperationSize() throws IOException {
+        ensureReadAhead(Integer.BYTES);
+        // Add an extra 4 to account for the operation size integer itself
+        final int size = readAhead.getInt(Math.toIntExact(position - readAheadPosition)) + 4;
+        final long maxSize = sizeInBytes() - position;
+        if (size < 0 || size > maxSize) {
+            throw new TranslogCorruptedException(
+                path.toString(),
+                "operation size is corrupted must be [0.." + maxSize + "] but was: " + size
+            );
+        }
+        return size;
+    }
+
+    /**
+     * makes sure that the chunk holds the given number of bytes from the current position, reading the next chunk
+     * from the current position if it doesn't.
+     */
+    private void ensureReadAhead(int numBytes) throws IOException {
+        assert numBytes <= READ_AHEAD_SIZE : numBytes;
+        if (readAhead != null && position >= readAheadPosition && position + numBytes <= readAheadPosition + readAhead.limit()) {
+            return;
+        }
+        if (readAhead == null) {
+            readAhead = ByteBuffer.allocate((int) Math.min(READ_AHEAD_SIZE, length - getFirstOperationOffset()));
+        }
+        readAhead.clear();
+        readAhead.limit((int) Math.min(readAhead.capacity(), length - position));
+        if (readAhead.limit() < numBytes) {
+            throw new TranslogCorruptedException(
+                path.toString(),
+                "translog truncated",
+                new EOFException("read requested past EOF. pos [" + position + "] size: [" + numBytes + "] end: [" + length + "]")
+            );
+        }
+        readBytes(readAhead, position);
+        readAhead.flip();
+        readAheadPosition = position;
+    }
+
     public long sizeInBytes() {
         return length;
     }
@@ -128,8 +191,8 @@ final class TranslogSnapshot extends BaseTranslogReader {
             + length
             + ", generation="
             + generation
-            + ", reusableBuffer="
-            + reusableBuffer
+            + ", readAhead="
+            + readAhead
             + '}';
     }
 }
@@ -7,11 +7,13 @@
  */
 package org.elasticsearch.index.translog;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
@@ -25,6 +27,9 @@ public class TranslogStats implements Writeable, ToXContentFragment {
     private long uncommittedSizeInBytes;
     private int uncommittedOperations;
     private long earliestLastModifiedAge;
+    private long syncCount;
+    private long syncedRequests;
+    private long syncTimeInMillis;
 
     public TranslogStats() {}
 
@@ -34,6 +39,11 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         uncommittedOperations = in.readVInt();
         uncommittedSizeInBytes = in.readVLong();
         earliestLastModifiedAge = in.readVLong();
+        if (in.getVersion().onOrAfter(Version.V_8_7_0)) {
+            syncCount = in.readVLong();
+            syncedRequests = in.readVLong();
+            syncTimeInMillis = in.readVLong();
+        }
     }
 
     public TranslogStats(
@@ -42,6 +52,19 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         int uncommittedOperations,
         long uncommittedSizeInBytes,
         long earliestLastModifiedAge
+    ) {
+        this(numberOfOperations, translogSizeInBytes, uncommittedOperations, uncommittedSizeInBytes, earliestLastModifiedAge, 0, 0, 0);
+    }
+
+    public TranslogStats(
+        int numberOfOperations,
+        long translogSizeInBytes,
+        int uncommittedOperations,
+        long uncommittedSizeInBytes,
+        long earliestLastModifiedAge,
+        long syncCount,
+        long syncedRequests,
+        long syncTimeInMillis
     ) {
         if (numberOfOperations < 0) {
             throw new IllegalArgumentException("numberOfOperations must be >= 0");
@@ -58,11 +81,23 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         if (earliestLastModifiedAge < 0) {
             throw new IllegalArgumentException("earliestLastModifiedAge must be >= 0");
         }
+        if (syncCount < 0) {
+            throw new IllegalArgumentException("syncCount must be >= 0");
+        }
+        if (syncedRequests < 0) {
+            throw new IllegalArgumentException("syncedRequests must be >= 0");
+        }
+        if (syncTimeInMillis < 0) {
+            throw new IllegalArgumentException("syncTimeInMillis must be >= 0");
+        }
         this.numberOfOperations = numberOfOperations;
         this.translogSizeInBytes = translogSizeInBytes;
         this.uncommittedSizeInBytes = uncommittedSizeInBytes;
         this.uncommittedOperations = uncommittedOperations;
         this.earliestLastModifiedAge = earliestLastModifiedAge;
+        this.syncCount = syncCount;
+        this.syncedRequests = syncedRequests;
+        this.syncTimeInMillis = syncTimeInMillis;
     }
 
     public void add(TranslogStats translogStats) {
@@ -74,6 +109,9 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         this.translogSizeInBytes += translogStats.translogSizeInBytes;
         this.uncommittedOperations += translogStats.uncommittedOperations;
         this.uncommittedSizeInBytes += translogStats.uncommittedSizeInBytes;
+        this.syncCount += translogStats.syncCount;
+        this.syncedRequests += translogStats.syncedRequests;
+        this.syncTimeInMillis += translogStats.syncTimeInMillis;
         if (this.earliestLastModifiedAge == 0) {
             this.earliestLastModifiedAge = translogStats.earliestLastModifiedAge;
         } else {
@@ -103,6 +141,21 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         return earliestLastModifiedAge;
     }
 
+    /** the number of fsyncs that were performed to make the operations of write requests durable */
+    public long getSyncCount() {
+        return syncCount;
+    }
+
+    /** the number of write requests that were made durable by these fsyncs, several requests are synced by a single fsync */
+    public long getSyncedRequests() {
+        return syncedRequests;
+    }
+
+    /** the total time spent in these fsyncs */
+    public long getSyncTimeInMillis() {
+        return syncTimeInMillis;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject("translog");
@@ -111,6 +164,11 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         builder.field("uncommitted_operations", uncommittedOperations);
         builder.humanReadableField("uncommitted_size_in_bytes", "uncommitted_size", ByteSizeValue.ofBytes(uncommittedSizeInBytes));
         builder.field("earliest_last_modified_age", earliestLastModifiedAge);
+        builder.startObject("sync");
+        builder.field("total", syncCount);
+        builder.field("requests", syncedRequests);
+        builder.humanReadableField("total_time_in_millis", "total_time", new TimeValue(syncTimeInMillis));
+        builder.endObject();
         builder.endObject();
         return builder;
     }
@@ -127,6 +185,11 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         out.writeVInt(uncommittedOperations);
         out.writeVLong(uncommittedSizeInBytes);
         out.writeVLong(earliestLastModifiedAge);
+        if (out.getVersion().onOrAfter(Version.V_8_7_0)) {
+            out.writeVLong(syncCount);
+            out.writeVLong(syncedRequests);
+            out.writeVLong(syncTimeInMillis);
+        }
     }
 
     @Override
@@ -138,7 +201,10 @@ public class TranslogStats implements Writeable, ToXContentFragment {
             && translogSizeInBytes == that.translogSizeInBytes
             && uncommittedOperations == that.uncommittedOperations
             && uncommittedSizeInBytes == that.uncommittedSizeInBytes
-            && earliestLastModifiedAge == that.earliestLastModifiedAge;
+            && earliestLastModifiedAge == that.earliestLastModifiedAge
+            && syncCount == that.syncCount
+            && syncedRequests == that.syncedRequests
+            && syncTimeInMillis == that.syncTimeInMillis;
     }
 
     @Override
@@ -148,7 +214,10 @@ public class TranslogStats implements Writeable, ToXContentFragment {
             translogSizeInBytes,
             uncommittedOperations,
             uncommittedSizeInBytes,
-            earliestLastModifiedAge
+            earliestLastModifiedAge,
+            syncCount,
+            syncedRequests,
+            syncTimeInMillis
         );
     }
 }
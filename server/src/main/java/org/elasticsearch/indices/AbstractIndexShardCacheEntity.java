@@ -29,12 +29,12 @@ abstract class AbstractIndexShardCacheEntity implements IndicesRequestCache.Cach
     }
 
     @Override
-    public final void onHit() {
+    public void onHit() {
         stats().onHit();
     }
 
     @Override
-    public final void onMiss() {
+    public void onMiss() {
         stats().onMiss();
     }
 
@@ -9,6 +9,7 @@
 package org.elasticsearch.indices;
 
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.common.CheckedSupplier;
@@ -34,6 +35,7 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
 /**
  * The indices request cache allows to cache a shard level request stage responses, helping with improving
@@ -60,6 +62,27 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
         Property.Dynamic,
         Property.IndexScope
     );
+    /**
+     * A setting to allow caching of requests that use date math relative to {@code now} if the date is rounded, like in
+     * {@code now-15m/m}. The rounded dates become part of the cache key, so requests share entries until the rounded
+     * dates change.
+     */
+    public static final Setting<Boolean> INDEX_CACHE_REQUEST_ROUNDED_NOW_SETTING = Setting.boolSetting(
+        "index.requests.cache.rounded_now",
+        false,
+        Property.Dynamic,
+        Property.IndexScope
+    );
+    /**
+     * A setting to also cache the partial aggregation results of each segment of the shard, so that a request whose shard
+     * level entry was invalidated by a refresh only needs to aggregate the segments that changed.
+     */
+    public static final Setting<Boolean> INDEX_CACHE_REQUEST_SEGMENT_AGGREGATIONS_SETTING = Setting.boolSetting(
+        "index.requests.cache.segment_aggregations",
+        false,
+        Property.Dynamic,
+        Property.IndexScope
+    );
     public static final Setting<ByteSizeValue> INDICES_CACHE_QUERY_SIZE = Setting.memorySizeSetting(
         "indices.requests.cache.size",
         "1%",
@@ -84,7 +107,8 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
         CacheBuilder<Key, BytesReference> cacheBuilder = CacheBuilder.<Key, BytesReference>builder()
             .setMaximumWeight(sizeInBytes)
             .weigher((k, v) -> k.ramBytesUsed() + v.ramBytesUsed())
-            .removalListener(this);
+            .removalListener(this)
+            .setFrequencyAwareEviction(true);
         if (expire != null) {
             cacheBuilder.setExpireAfterAccess(expire);
         }
@@ -115,17 +139,50 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
     ) throws Exception {
         final ESCacheHelper cacheHelper = ElasticsearchDirectoryReader.getESReaderCacheHelper(reader);
         assert cacheHelper != null;
-        final Key key = new Key(cacheEntity, mappingCacheKey, cacheHelper.getKey(), cacheKey);
+        return getOrCompute(cacheEntity, loader, mappingCacheKey, cacheHelper.getKey(), cacheHelper::addClosedListener, cacheKey);
+    }
+
+    /**
+     * Like {@link #getOrCompute(CacheEntity, CheckedSupplier, MappingLookup.CacheKey, DirectoryReader, BytesReference)} but for
+     * a value that only depends on a single segment of the shard. The entry is keyed on the segment reader rather than on the
+     * top level reader, so it survives refreshes that don't modify this segment.
+     */
+    BytesReference getOrComputeForSegment(
+        CacheEntity cacheEntity,
+        CheckedSupplier<BytesReference, IOException> loader,
+        MappingLookup.CacheKey mappingCacheKey,
+        IndexReader.CacheHelper segmentCacheHelper,
+        BytesReference cacheKey
+    ) throws Exception {
+        return getOrCompute(
+            cacheEntity,
+            loader,
+            mappingCacheKey,
+            segmentCacheHelper.getKey(),
+            cleanupKey -> segmentCacheHelper.addClosedListener(cleanupKey::onClose),
+            cacheKey
+        );
+    }
+
+    private BytesReference getOrCompute(
+        CacheEntity cacheEntity,
+        CheckedSupplier<BytesReference, IOException> loader,
+        MappingLookup.CacheKey mappingCacheKey,
+        Object readerCacheKey,
+        Consumer<CleanupKey> closedListenerRegistration,
+        BytesReference cacheKey
+    ) throws Exception {
+        final Key key = new Key(cacheEntity, mappingCacheKey, readerCacheKey, cacheKey);
         Loader cacheLoader = new Loader(cacheEntity, loader);
         BytesReference value = cache.computeIfAbsent(key, cacheLoader);
         if (cacheLoader.isLoaded()) {
             key.entity.onMiss();
             // see if its the first time we see this reader, and make sure to register a cleanup key
-            CleanupKey cleanupKey = new CleanupKey(cacheEntity, cacheHelper.getKey());
+            CleanupKey cleanupKey = new CleanupKey(cacheEntity, readerCacheKey);
             if (registeredClosedListeners.containsKey(cleanupKey) == false) {
                 Boolean previous = registeredClosedListeners.putIfAbsent(cleanupKey, Boolean.TRUE);
                 if (previous == null) {
-                    cacheHelper.addClosedListener(cleanupKey);
+                    closedListenerRegistration.accept(cleanupKey);
                 }
             }
             /*
@@ -127,6 +127,7 @@ import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.search.internal.ShardSearchRequest;
 import org.elasticsearch.search.query.QueryPhase;
 import org.elasticsearch.search.query.QuerySearchResult;
+import org.elasticsearch.search.query.SegmentResultCache;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xcontent.NamedXContentRegistry;
 import org.elasticsearch.xcontent.XContentFactory;
@@ -152,6 +153,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -1451,11 +1453,19 @@ public class IndicesService extends AbstractLifecycleComponent
      * Can the shard request be cached at all?
      */
     public static boolean canCache(ShardSearchRequest request, SearchContext context) {
+        return skipRequestCacheReason(request, context) == null;
+    }
+
+    /**
+     * Returns the reason why the request cannot use the request cache, or {@code null} if it can.
+     */
+    @Nullable
+    public static ShardRequestCache.SkipReason skipRequestCacheReason(ShardSearchRequest request, SearchContext context) {
         // Queries that create a scroll context cannot use the cache.
         // They modify the search context during their execution so using the cache
         // may invalidate the scroll for the next query.
         if (request.scroll() != null) {
-            return false;
+            return ShardRequestCache.SkipReason.SCROLL;
         }
 
         // We cannot cache with DFS because results depend not only on the content of the index but also
@@ -1463,37 +1473,37 @@ public class IndicesService extends AbstractLifecycleComponent
         // (because an other shard was updated) you would get wrong results because of the scores
         // (think about top_hits aggs or scripts using the score)
         if (SearchType.QUERY_THEN_FETCH != context.searchType()) {
-            return false;
+            return ShardRequestCache.SkipReason.SEARCH_TYPE;
         }
 
         // Profiled queries should not use the cache
         if (request.source() != null && request.source().profile()) {
-            return false;
+            return ShardRequestCache.SkipReason.PROFILE;
         }
 
         IndexSettings settings = context.indexShard().indexSettings();
         // if not explicitly set in the request, use the index setting, if not, use the request
         if (request.requestCache() == null) {
             if (settings.getValue(IndicesRequestCache.INDEX_CACHE_REQUEST_ENABLED_SETTING) == false) {
-                return false;
+                return ShardRequestCache.SkipReason.DISABLED;
             } else if (context.size() != 0) {
                 // If no request cache query parameter and shard request cache
                 // is enabled in settings don't cache for requests with size > 0
-                return false;
+                return ShardRequestCache.SkipReason.SIZE;
             }
         } else if (request.requestCache() == false) {
-            return false;
+            return ShardRequestCache.SkipReason.DISABLED;
         }
         // We use the cacheKey of the index reader as a part of a key of the IndicesRequestCache.
         assert context.searcher().getIndexReader().getReaderCacheHelper() != null;
 
         // if now in millis is used (or in the future, a more generic "isDeterministic" flag
         // then we can't cache based on "now" key within the search request, as it is not deterministic
+        // unless it is rounded and the rounded values are part of the key, see SearchExecutionContext#resolveDateMath
         if (context.getSearchExecutionContext().isCacheable() == false) {
-            return false;
+            return ShardRequestCache.SkipReason.NOT_DETERMINISTIC;
         }
-        return true;
-
+        return null;
     }
 
     /**
@@ -1507,19 +1517,39 @@ public class IndicesService extends AbstractLifecycleComponent
         final DirectoryReader directoryReader = context.searcher().getDirectoryReader();
 
         boolean[] loadedFromCache = new boolean[] { true };
-        BytesReference cacheKey = request.cacheKey(requestCacheKeyDifferentiator);
+        final List<Long> roundedNowValues = context.getSearchExecutionContext().getRoundedNowValues();
+        final BytesReference cacheKey;
+        if (roundedNowValues.isEmpty()) {
+            cacheKey = request.cacheKey(requestCacheKeyDifferentiator);
+        } else {
+            // the results depend on the rounded dates, requests that resolve them to the same values share the cache entry
+            cacheKey = request.cacheKey((r, out) -> {
+                if (requestCacheKeyDifferentiator != null) {
+                    requestCacheKeyDifferentiator.accept(r, out);
+                }
+                out.writeCollection(roundedNowValues, StreamOutput::writeZLong);
+            });
+        }
         BytesReference bytesReference = cacheShardLevelResult(
             context.indexShard(),
             context.getSearchExecutionContext().mappingCacheKey(),
             directoryReader,
             cacheKey,
             out -> {
-                QueryPhase.execute(context);
+                final IndexSettings indexSettings = context.indexShard().indexSettings();
+                if (indexSettings.getValue(IndicesRequestCache.INDEX_CACHE_REQUEST_SEGMENT_AGGREGATIONS_SETTING)) {
+                    QueryPhase.execute(context, segmentResultCache(context, cacheKey));
+                } else {
+                    QueryPhase.execute(context);
+                }
                 context.queryResult().writeToNoId(out);
                 loadedFromCache[0] = false;
             }
         );
 
+        if (roundedNowValues.isEmpty() == false) {
+            context.indexShard().requestCache().onRoundedNowLookup(loadedFromCache[0]);
+        }
         if (loadedFromCache[0]) {
             // restore the cached query result into the context
             final QuerySearchResult result = context.queryResult();
@@ -1589,6 +1619,41 @@ public class IndicesService extends AbstractLifecycleComponent
         return indicesRequestCache.getOrCompute(cacheEntity, supplier, mappingCacheKey, reader, cacheKey);
     }
 
+    /**
+     * Returns a cache of the results of the segments of the shard for the request identified by {@code cacheKey}. Results are
+     * only cached for segments whose reader exposes a cache key, ie. not if the documents they match are filtered at read time.
+     */
+    private SegmentResultCache segmentResultCache(SearchContext context, BytesReference cacheKey) {
+        final IndexShardSegmentCacheEntity cacheEntity = new IndexShardSegmentCacheEntity(context.indexShard());
+        return (segment, loader) -> {
+            final CheckedSupplier<BytesReference, IOException> supplier = () -> {
+                try (BytesStreamOutput out = new BytesStreamOutput(512)) {
+                    loader.accept(out);
+                    return out.bytes();
+                }
+            };
+            final CacheHelper segmentCacheHelper = segment.reader().getReaderCacheHelper();
+            final BytesReference bytes;
+            if (segmentCacheHelper == null) {
+                bytes = supplier.get();
+            } else {
+                try {
+                    bytes = indicesRequestCache.getOrComputeForSegment(
+                        cacheEntity,
+                        supplier,
+                        context.getSearchExecutionContext().mappingCacheKey(),
+                        segmentCacheHelper,
+                        cacheKey
+                    );
+                } catch (ExecutionException e) {
+                    // rethrow the failure of the loader, like a timeout, as is
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+            return new NamedWriteableAwareStreamInput(bytes.streamInput(), namedWriteableRegistry);
+        };
+    }
+
     static final class IndexShardCacheEntity extends AbstractIndexShardCacheEntity {
         private static final long BASE_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(IndexShardCacheEntity.class);
         private final IndexShard indexShard;
@@ -1620,6 +1685,48 @@ public class IndicesService extends AbstractLifecycleComponent
         }
     }
 
+    /**
+     * The entity of the results of a single segment of a shard, they are accounted as segment hits and misses.
+     */
+    static final class IndexShardSegmentCacheEntity extends AbstractIndexShardCacheEntity {
+        private static final long BASE_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(IndexShardSegmentCacheEntity.class);
+        private final IndexShard indexShard;
+
+        IndexShardSegmentCacheEntity(IndexShard indexShard) {
+            this.indexShard = indexShard;
+        }
+
+        @Override
+        protected ShardRequestCache stats() {
+            return indexShard.requestCache();
+        }
+
+        @Override
+        public void onHit() {
+            stats().onSegmentHit();
+        }
+
+        @Override
+        public void onMiss() {
+            stats().onSegmentMiss();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return indexShard.state() != IndexShardState.CLOSED;
+        }
+
+        @Override
+        public Object getCacheIdentity() {
+            return indexShard;
+        }
+
+        @Override
+        public long ramBytesUsed() {
+            return BASE_RAM_BYTES_USED;
+        }
+    }
+
     @FunctionalInterface
     interface IndexDeletionAllowedPredicate {
         boolean apply(Index index, IndexSettings indexSettings);
@@ -187,6 +187,7 @@ import org.elasticsearch.search.SearchModule;
 import org.elasticsearch.search.SearchService;
 import org.elasticsearch.search.SearchUtils;
 import org.elasticsearch.search.aggregations.support.AggregationUsageService;
+import org.elasticsearch.search.backpressure.SearchBackpressureService;
 import org.elasticsearch.search.fetch.FetchPhase;
 import org.elasticsearch.shutdown.PluginShutdownService;
 import org.elasticsearch.snapshots.InternalSnapshotsInfoService;
@@ -827,6 +828,12 @@ public class Node implements Closeable {
             );
             final HttpServerTransport httpServerTransport = newHttpTransport(networkModule);
             final IndexingPressure indexingLimits = new IndexingPressure(settings);
+            final SearchBackpressureService searchBackpressureService = new SearchBackpressureService(
+                settings,
+                settingsModule.getClusterSettings(),
+                threadPool,
+                taskManager
+            );
 
             final RecoverySettings recoverySettings = new RecoverySettings(settings, settingsModule.getClusterSettings());
             RepositoriesModule repositoriesModule = new RepositoriesModule(
@@ -923,7 +930,8 @@ public class Node implements Closeable {
                 responseCollectorService,
                 searchTransportService,
                 indexingLimits,
-                searchModule.getValuesSourceRegistry().getUsageService()
+                searchModule.getValuesSourceRegistry().getUsageService(),
+                searchBackpressureService
             );
 
             final SearchService searchService = newSearchService(
@@ -1037,6 +1045,7 @@ public class Node implements Closeable {
                 b.bind(MetadataDataStreamsService.class).toInstance(metadataDataStreamsService);
                 b.bind(MetadataUpdateSettingsService.class).toInstance(metadataUpdateSettingsService);
                 b.bind(SearchService.class).toInstance(searchService);
+                b.bind(SearchBackpressureService.class).toInstance(searchBackpressureService);
                 b.bind(SearchTransportService.class).toInstance(searchTransportService);
                 b.bind(SearchPhaseController.class).toInstance(new SearchPhaseController(searchService::aggReduceContextBuilder));
                 b.bind(Transport.class).toInstance(transport);
@@ -1333,6 +1342,7 @@ public class Node implements Closeable {
         injector.getInstance(SnapshotShardsService.class).start();
         injector.getInstance(RepositoriesService.class).start();
         injector.getInstance(SearchService.class).start();
+        injector.getInstance(SearchBackpressureService.class).start();
         injector.getInstance(FsHealthService.class).start();
         nodeService.getMonitorService().start();
 
@@ -1508,6 +1518,7 @@ public class Node implements Closeable {
         injector.getInstance(FsHealthService.class).stop();
         nodeService.getMonitorService().stop();
         injector.getInstance(GatewayService.class).stop();
+        injector.getInstance(SearchBackpressureService.class).stop();
         injector.getInstance(SearchService.class).stop();
         injector.getInstance(TransportService.class).stop();
 
@@ -1568,6 +1579,7 @@ public class Node implements Closeable {
         toClose.add(() -> stopWatch.stop().start("gateway"));
         toClose.add(injector.getInstance(GatewayService.class));
         toClose.add(() -> stopWatch.stop().start("search"));
+        toClose.add(injector.getInstance(SearchBackpressureService.class));
         toClose.add(injector.getInstance(SearchService.class));
         toClose.add(() -> stopWatch.stop().start("transport"));
         toClose.add(injector.getInstance(TransportService.class));
@@ -11,6 +11,9 @@ package org.elasticsearch.node;
 import org.elasticsearch.cluster.ClusterChangedEvent;
 import org.elasticsearch.cluster.ClusterStateListener;
 import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.ExponentiallyWeightedMovingAverage;
 import org.elasticsearch.common.io.stream.StreamInput;
@@ -18,6 +21,7 @@ import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.index.shard.ShardId;
 
 import java.io.IOException;
 import java.util.Locale;
@@ -28,7 +32,8 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * Collects statistics about queue size, response time, and service time of
  * tasks executed on each node, making the EWMA of the values available to the
- * coordinating node.
+ * coordinating node. The same statistics are collected for each copy of a shard,
+ * so that a busy shard on an otherwise quiet node can be ranked accordingly.
  */
 public final class ResponseCollectorService implements ClusterStateListener {
 
@@ -38,6 +43,7 @@ public final class ResponseCollectorService implements ClusterStateListener {
     public static final double ALPHA = 0.3;
 
     private final ConcurrentMap<String, NodeStatistics> nodeIdToStats = ConcurrentCollections.newConcurrentMap();
+    private final ConcurrentMap<ShardCopy, NodeStatistics> shardCopyToStats = ConcurrentCollections.newConcurrentMap();
 
     public ResponseCollectorService(ClusterService clusterService) {
         clusterService.addListener(this);
@@ -50,25 +56,68 @@ public final class ResponseCollectorService implements ClusterStateListener {
                 removeNode(removedNode.getId());
             }
         }
+        if (event.routingTableChanged()) {
+            removeUnassignedShardCopies(event.state().routingTable());
+        }
     }
 
     void removeNode(String nodeId) {
         nodeIdToStats.remove(nodeId);
+        shardCopyToStats.keySet().removeIf(copy -> copy.nodeId.equals(nodeId));
     }
 
-    public void addNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos) {
-        nodeIdToStats.compute(nodeId, (id, ns) -> {
-            if (ns == null) {
-                ExponentiallyWeightedMovingAverage queueEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, queueSize);
-                ExponentiallyWeightedMovingAverage responseEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, responseTimeNanos);
-                return new NodeStatistics(nodeId, queueEWMA, responseEWMA, avgServiceTimeNanos);
-            } else {
-                ns.queueSize.addValue((double) queueSize);
-                ns.responseTime.addValue((double) responseTimeNanos);
-                ns.serviceTime = avgServiceTimeNanos;
-                return ns;
+    /**
+     * Removes the statistics of the shard copies that are no longer allocated to their node, because their shard relocated or
+     * their index was deleted, so that they don't rank a copy that is allocated to the same node again later on.
+     */
+    void removeUnassignedShardCopies(RoutingTable routingTable) {
+        shardCopyToStats.keySet().removeIf(copy -> isAssigned(routingTable, copy) == false);
+    }
+
+    private static boolean isAssigned(RoutingTable routingTable, ShardCopy copy) {
+        final IndexRoutingTable indexRoutingTable = routingTable.index(copy.shardId.getIndex());
+        if (indexRoutingTable == null || copy.shardId.id() >= indexRoutingTable.size()) {
+            return false;
+        }
+        for (ShardRouting shardRouting : indexRoutingTable.shard(copy.shardId.id()).assignedShards()) {
+            if (copy.nodeId.equals(shardRouting.currentNodeId())) {
+                return true;
             }
-        });
+        }
+        return false;
+    }
+
+    public void addNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos) {
+        nodeIdToStats.compute(nodeId, (id, ns) -> updateStatistics(nodeId, ns, queueSize, responseTimeNanos, avgServiceTimeNanos));
+    }
+
+    /**
+     * Adds the statistics of a request executed by the copy of the shard with the given id that is allocated to the given node.
+     */
+    public void addShardCopyStatistics(String nodeId, ShardId shardId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos) {
+        shardCopyToStats.compute(
+            new ShardCopy(nodeId, shardId),
+            (copy, ns) -> updateStatistics(nodeId, ns, queueSize, responseTimeNanos, avgServiceTimeNanos)
+        );
+    }
+
+    private static NodeStatistics updateStatistics(
+        String nodeId,
+        NodeStatistics ns,
+        int queueSize,
+        long responseTimeNanos,
+        long avgServiceTimeNanos
+    ) {
+        if (ns == null) {
+            ExponentiallyWeightedMovingAverage queueEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, queueSize);
+            ExponentiallyWeightedMovingAverage responseEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, responseTimeNanos);
+            return new NodeStatistics(nodeId, queueEWMA, responseEWMA, avgServiceTimeNanos);
+        } else {
+            ns.queueSize.addValue((double) queueSize);
+            ns.responseTime.addValue((double) responseTimeNanos);
+            ns.serviceTime = avgServiceTimeNanos;
+            return ns;
+        }
     }
 
     public Map<String, ComputedNodeStats> getAllNodeStatistics() {
@@ -93,6 +142,16 @@ public final class ResponseCollectorService implements ClusterStateListener {
         return Optional.ofNullable(nodeIdToStats.get(nodeId)).map(ns -> new ComputedNodeStats(clientNum, ns));
     }
 
+    /**
+     * Optionally return a {@code NodeStatistics} for the copy of the given
+     * shard that is allocated to the given node, if response information
+     * exists for this copy. Returns an empty {@code Optional} otherwise.
+     */
+    public Optional<ComputedNodeStats> getShardCopyStatistics(final String nodeId, final ShardId shardId) {
+        final int clientNum = nodeIdToStats.size();
+        return Optional.ofNullable(shardCopyToStats.get(new ShardCopy(nodeId, shardId))).map(ns -> new ComputedNodeStats(clientNum, ns));
+    }
+
     /**
      * Struct-like class encapsulating a point-in-time snapshot of a particular
      * node's statistics. This includes the EWMA of queue size, response time,
@@ -196,6 +255,11 @@ public final class ResponseCollectorService implements ClusterStateListener {
         }
     }
 
+    /**
+     * Identifies the copy of a shard that is allocated to a node.
+     */
+    private record ShardCopy(String nodeId, ShardId shardId) {}
+
     /**
      * Class encapsulating a node's exponentially weighted queue size, response
      * time, and service time, however, this class is private and intended only
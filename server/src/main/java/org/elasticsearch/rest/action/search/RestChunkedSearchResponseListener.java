@@ -0,0 +1,38 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.rest.action.search;
+
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
+import org.elasticsearch.rest.RestChannel;
+import org.elasticsearch.rest.RestResponse;
+import org.elasticsearch.rest.action.RestActionListener;
+
+import java.io.IOException;
+
+/**
+ * A REST listener that sends a {@link SearchResponse} in chunks, see {@link SearchResponse#toXContentChunked}, so that the
+ * serialization of large responses doesn't need a buffer that holds the whole response.
+ */
+public final class RestChunkedSearchResponseListener extends RestActionListener<SearchResponse> {
+
+    public RestChunkedSearchResponseListener(RestChannel channel) {
+        super(channel);
+    }
+
+    @Override
+    protected void processResponse(SearchResponse response) throws IOException {
+        channel.sendResponse(
+            new RestResponse(
+                response.status(),
+                ChunkedRestResponseBody.fromXContent(response::toXContentChunked, channel.request(), channel)
+            )
+        );
+    }
+}
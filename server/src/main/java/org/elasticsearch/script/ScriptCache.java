@@ -56,7 +56,7 @@ public class ScriptCache {
         this.cacheExpire = cacheExpire;
         this.contextRateSetting = contextRateSetting;
 
-        CacheBuilder<CacheKey, Object> cacheBuilder = CacheBuilder.builder();
+        CacheBuilder<CacheKey, Object> cacheBuilder = CacheBuilder.<CacheKey, Object>builder().setFrequencyAwareEviction(true);
         if (this.cacheSize >= 0) {
             cacheBuilder.setMaximumWeight(this.cacheSize);
         }
@@ -10,6 +10,7 @@ package org.elasticsearch.script.field.vectors;
 
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.core.SuppressForbidden;
+import org.elasticsearch.simdvec.ESVectorUtil;
 
 import java.nio.ByteBuffer;
 import java.util.List;
@@ -56,13 +57,7 @@ public class ByteBinaryDenseVector implements DenseVector {
 
     @Override
     public int dotProduct(byte[] queryVector) {
-        int result = 0;
-        int i = 0;
-        int j = docVector.offset;
-        while (i < dims) {
-            result += docVector.bytes[j++] * queryVector[i++];
-        }
-        return result;
+        return ESVectorUtil.dotProduct(docVector.bytes, docVector.offset, queryVector, 0, dims);
     }
 
     @Override
@@ -88,13 +83,7 @@ public class ByteBinaryDenseVector implements DenseVector {
 
     @Override
     public int l1Norm(byte[] queryVector) {
-        int result = 0;
-        int i = 0;
-        int j = docVector.offset;
-        while (i < dims) {
-            result += abs(docVector.bytes[j++] - queryVector[i++]);
-        }
-        return result;
+        return ESVectorUtil.l1Distance(docVector.bytes, docVector.offset, queryVector, 0, dims);
     }
 
     @Override
@@ -115,14 +104,7 @@ public class ByteBinaryDenseVector implements DenseVector {
 
     @Override
     public double l2Norm(byte[] queryVector) {
-        int result = 0;
-        int i = 0;
-        int j = docVector.offset;
-        while (i < dims) {
-            int diff = docVector.bytes[j++] - queryVector[i++];
-            result += diff * diff;
-        }
-        return Math.sqrt(result);
+        return Math.sqrt(ESVectorUtil.squareDistance(docVector.bytes, docVector.offset, queryVector, 0, dims));
     }
 
     @Override
@@ -10,6 +10,7 @@ package org.elasticsearch.script.field.vectors;
 
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.core.SuppressForbidden;
+import org.elasticsearch.simdvec.ESVectorUtil;
 
 import java.util.List;
 
@@ -52,13 +53,7 @@ public class ByteKnnDenseVector implements DenseVector {
 
     @Override
     public int dotProduct(byte[] queryVector) {
-        int result = 0;
-        int i = 0;
-        int j = docVector.offset;
-        while (i < docVector.length) {
-            result += docVector.bytes[j++] * queryVector[i++];
-        }
-        return result;
+        return ESVectorUtil.dotProduct(docVector.bytes, docVector.offset, queryVector, 0, docVector.length);
     }
 
     @Override
@@ -84,13 +79,7 @@ public class ByteKnnDenseVector implements DenseVector {
 
     @Override
     public int l1Norm(byte[] queryVector) {
-        int result = 0;
-        int i = 0;
-        int j = docVector.offset;
-        while (i < docVector.length) {
-            result += abs(docVector.bytes[j++] - queryVector[i++]);
-        }
-        return result;
+        return ESVectorUtil.l1Distance(docVector.bytes, docVector.offset, queryVector, 0, docVector.length);
     }
 
     @Override
@@ -111,14 +100,7 @@ public class ByteKnnDenseVector implements DenseVector {
 
     @Override
     public double l2Norm(byte[] queryVector) {
-        int result = 0;
-        int i = 0;
-        int j = docVector.offset;
-        while (i < docVector.length) {
-            int diff = docVector.bytes[j++] - queryVector[i++];
-            result += diff * diff;
-        }
-        return Math.sqrt(result);
+        return Math.sqrt(ESVectorUtil.squareDistance(docVector.bytes, docVector.offset, queryVector, 0, docVector.length));
     }
 
     @Override
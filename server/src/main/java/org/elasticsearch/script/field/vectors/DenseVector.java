@@ -9,6 +9,7 @@
 package org.elasticsearch.script.field.vectors;
 
 import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.simdvec.ESVectorUtil;
 
 import java.util.List;
 
@@ -153,22 +154,11 @@ public interface DenseVector {
     int size();
 
     static float getMagnitude(byte[] vector) {
-        int mag = 0;
-        for (int elem : vector) {
-            mag += elem * elem;
-        }
-        return (float) Math.sqrt(mag);
+        return (float) Math.sqrt(ESVectorUtil.dotProduct(vector, 0, vector, 0, vector.length));
     }
 
     static float getMagnitude(BytesRef vector, int dims) {
-        int mag = 0;
-        int i = 0;
-        int j = vector.offset;
-        while (i++ < dims) {
-            int elem = vector.bytes[j++];
-            mag += elem * elem;
-        }
-        return (float) Math.sqrt(mag);
+        return (float) Math.sqrt(ESVectorUtil.dotProduct(vector.bytes, vector.offset, vector.bytes, vector.offset, dims));
     }
 
     static float getMagnitude(float[] vector) {
@@ -8,7 +8,7 @@
 
 package org.elasticsearch.script.field.vectors;
 
-import org.apache.lucene.util.VectorUtil;
+import org.elasticsearch.simdvec.ESVectorUtil;
 
 import java.util.Arrays;
 import java.util.List;
@@ -40,7 +40,7 @@ public class KnnDenseVector implements DenseVector {
 
     @Override
     public double dotProduct(float[] queryVector) {
-        return VectorUtil.dotProduct(docVector, queryVector);
+        return ESVectorUtil.dotProduct(docVector, queryVector);
     }
 
     @Override
@@ -82,7 +82,7 @@ public class KnnDenseVector implements DenseVector {
 
     @Override
     public double l2Norm(float[] queryVector) {
-        return Math.sqrt(VectorUtil.squareDistance(docVector, queryVector));
+        return Math.sqrt(ESVectorUtil.squareDistance(docVector, queryVector));
     }
 
     @Override
@@ -16,8 +16,10 @@ import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.lucene.Lucene;
+import org.elasticsearch.common.xcontent.ChunkedToXContentHelper;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.rest.action.search.RestSearchAction;
+import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
@@ -171,6 +173,28 @@ public final class SearchHits implements Writeable, ToXContentFragment, Iterable
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        headerToXContent(builder, params);
+        for (SearchHit hit : hits) {
+            hit.toXContent(builder, params);
+        }
+        builder.endArray();
+        builder.endObject();
+        return builder;
+    }
+
+    /**
+     * Serializes the hits one chunk per hit, so that large pages of hits are serialized as they are sent.
+     */
+    public Iterator<? extends ToXContent> toXContentChunked(Params params) {
+        return Iterators.<ToXContent>concat(
+            ChunkedToXContentHelper.singleChunk(this::headerToXContent),
+            Iterators.forArray(hits),
+            ChunkedToXContentHelper.endArray(),
+            ChunkedToXContentHelper.endObject()
+        );
+    }
+
+    private XContentBuilder headerToXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject(Fields.HITS);
         boolean totalHitAsInt = params.paramAsBoolean(RestSearchAction.TOTAL_HITS_AS_INT_PARAM, false);
         if (totalHitAsInt) {
@@ -188,13 +212,7 @@ public final class SearchHits implements Writeable, ToXContentFragment, Iterable
             builder.field(Fields.MAX_SCORE, maxScore);
         }
         builder.field(Fields.HITS);
-        builder.startArray();
-        for (SearchHit hit : hits) {
-            hit.toXContent(builder, params);
-        }
-        builder.endArray();
-        builder.endObject();
-        return builder;
+        return builder.startArray();
     }
 
     public static SearchHits fromXContent(XContentParser parser) throws IOException {
@@ -41,6 +41,7 @@ import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.CollectionUtils;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.core.TimeValue;
@@ -48,6 +49,7 @@ import org.elasticsearch.index.Index;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.IndexService;
 import org.elasticsearch.index.IndexSettings;
+import org.elasticsearch.index.cache.request.ShardRequestCache;
 import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.index.query.CoordinatorRewriteContextProvider;
 import org.elasticsearch.index.query.InnerHitContextBuilder;
@@ -57,6 +59,7 @@ import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryRewriteContext;
 import org.elasticsearch.index.query.Rewriteable;
 import org.elasticsearch.index.query.SearchExecutionContext;
+import org.elasticsearch.index.search.stats.ShardSearchLoad;
 import org.elasticsearch.index.shard.GlobalCheckpointListeners;
 import org.elasticsearch.index.shard.IndexEventListener;
 import org.elasticsearch.index.shard.IndexShard;
@@ -217,6 +220,32 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         Property.NodeScope
     );
 
+    /**
+     * Enables collecting the segments of a shard concurrently on the {@link Names#SEARCH_WORKER} thread pool during the query phase.
+     */
+    public static final Setting<Boolean> CONCURRENT_SEGMENT_SEARCH_ENABLED = Setting.boolSetting(
+        "search.concurrent_segment_search.enabled",
+        false,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    public static final Setting<Integer> CONCURRENT_SEGMENT_SEARCH_MAX_SLICES = Setting.intSetting(
+        "search.concurrent_segment_search.max_slices",
+        4,
+        1,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
+    public static final Setting<Integer> CONCURRENT_SEGMENT_SEARCH_MIN_DOCS_PER_SLICE = Setting.intSetting(
+        "search.concurrent_segment_search.min_docs_per_slice",
+        50_000,
+        1,
+        Property.Dynamic,
+        Property.NodeScope
+    );
+
     public static final Setting<ByteSizeValue> MAX_ASYNC_SEARCH_RESPONSE_SIZE_SETTING = Setting.byteSizeSetting(
         "search.max_async_search_response_size",
         new ByteSizeValue(10, ByteSizeUnit.MB),
@@ -259,6 +288,12 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
 
     private volatile boolean enableRewriteAggsToFilterByFilter;
 
+    private volatile boolean enableConcurrentSegmentSearch;
+
+    private volatile int concurrentSegmentSearchMaxSlices;
+
+    private volatile int concurrentSegmentSearchMinDocsPerSlice;
+
     private final Cancellable keepAliveReaper;
 
     private final AtomicLong idGenerator = new AtomicLong();
@@ -329,6 +364,16 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         enableRewriteAggsToFilterByFilter = ENABLE_REWRITE_AGGS_TO_FILTER_BY_FILTER.get(settings);
         clusterService.getClusterSettings()
             .addSettingsUpdateConsumer(ENABLE_REWRITE_AGGS_TO_FILTER_BY_FILTER, this::setEnableRewriteAggsToFilterByFilter);
+
+        enableConcurrentSegmentSearch = CONCURRENT_SEGMENT_SEARCH_ENABLED.get(settings);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(CONCURRENT_SEGMENT_SEARCH_ENABLED, this::setEnableConcurrentSegmentSearch);
+        concurrentSegmentSearchMaxSlices = CONCURRENT_SEGMENT_SEARCH_MAX_SLICES.get(settings);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(CONCURRENT_SEGMENT_SEARCH_MAX_SLICES, this::setConcurrentSegmentSearchMaxSlices);
+        concurrentSegmentSearchMinDocsPerSlice = CONCURRENT_SEGMENT_SEARCH_MIN_DOCS_PER_SLICE.get(settings);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(CONCURRENT_SEGMENT_SEARCH_MIN_DOCS_PER_SLICE, this::setConcurrentSegmentSearchMinDocsPerSlice);
     }
 
     private static void validateKeepAlives(TimeValue defaultKeepAlive, TimeValue maxKeepAlive) {
@@ -379,6 +424,18 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         this.enableRewriteAggsToFilterByFilter = enableRewriteAggsToFilterByFilter;
     }
 
+    private void setEnableConcurrentSegmentSearch(boolean enableConcurrentSegmentSearch) {
+        this.enableConcurrentSegmentSearch = enableConcurrentSegmentSearch;
+    }
+
+    private void setConcurrentSegmentSearchMaxSlices(int concurrentSegmentSearchMaxSlices) {
+        this.concurrentSegmentSearchMaxSlices = concurrentSegmentSearchMaxSlices;
+    }
+
+    private void setConcurrentSegmentSearchMinDocsPerSlice(int concurrentSegmentSearchMinDocsPerSlice) {
+        this.concurrentSegmentSearchMinDocsPerSlice = concurrentSegmentSearchMinDocsPerSlice;
+    }
+
     @Override
     public void afterIndexRemoved(Index index, IndexSettings indexSettings, IndexRemovalReason reason) {
         // once an index is removed due to deletion or closing, we can just clean up all the pending search context information
@@ -445,6 +502,7 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
     private DfsSearchResult executeDfsPhase(ShardSearchRequest request, SearchShardTask task) throws IOException {
         ReaderContext readerContext = createOrGetReaderContext(request);
         try (
+            Releasable tracking = task.startResourceTracking();
             Releasable scope = tracer.withScope("task-" + task.getId());
             Releasable ignored = readerContext.markAsUsed(getKeepAlive(request));
             SearchContext context = createContext(readerContext, request, task, true)
@@ -462,11 +520,12 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
      * Try to load the query results from the cache or execute the query phase directly if the cache cannot be used.
      */
     private void loadOrExecuteQueryPhase(final ShardSearchRequest request, final SearchContext context) throws Exception {
-        final boolean canCache = IndicesService.canCache(request, context);
+        final ShardRequestCache.SkipReason skipReason = IndicesService.skipRequestCacheReason(request, context);
         context.getSearchExecutionContext().freezeContext();
-        if (canCache) {
+        if (skipReason == null) {
             indicesService.loadIntoContext(request, context);
         } else {
+            context.indexShard().requestCache().onSkipped(skipReason);
             QueryPhase.execute(context);
         }
     }
@@ -475,7 +534,11 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         assert request.canReturnNullResponseIfMatchNoDocs() == false || request.numberOfShards() > 1
             : "empty responses require more than one shard";
         final IndexShard shard = getShard(request);
-        rewriteAndFetchShardRequest(shard, request, listener.delegateFailure((l, orig) -> {
+        // tracks the query phases waiting for or running on this shard, reported to the coordinating node for adaptive replica selection
+        final ShardSearchLoad searchLoad = shard.searchLoad();
+        searchLoad.onQueryQueued();
+        final ActionListener<SearchPhaseResult> trackingListener = ActionListener.runBefore(listener, searchLoad::onQueryDone);
+        rewriteAndFetchShardRequest(shard, request, trackingListener.delegateFailure((l, orig) -> {
             // check if we can shortcut the query phase entirely.
             if (orig.canReturnNullResponseIfMatchNoDocs()) {
                 assert orig.scroll() == null;
@@ -625,11 +688,13 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
     private SearchPhaseResult executeQueryPhase(ShardSearchRequest request, SearchShardTask task) throws Exception {
         final ReaderContext readerContext = createOrGetReaderContext(request);
         try (
+            Releasable tracking = task.startResourceTracking();
             Releasable scope = tracer.withScope("task-" + task.getId());
             Releasable ignored = readerContext.markAsUsed(getKeepAlive(request));
             SearchContext context = createContext(readerContext, request, task, true)
         ) {
             tracer.startTrace("executeQueryPhase", Map.of());
+            final long beforeQueryTime = System.nanoTime();
             final long afterQueryTime;
             try (SearchOperationListenerExecutor executor = new SearchOperationListenerExecutor(context)) {
                 loadOrExecuteQueryPhase(request, context);
@@ -640,6 +705,10 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
             } finally {
                 tracer.stopTrace();
             }
+            final ShardSearchLoad searchLoad = readerContext.indexShard().searchLoad();
+            searchLoad.onQueryExecuted(afterQueryTime - beforeQueryTime);
+            context.queryResult().shardQueueSize(searchLoad.pendingQueries());
+            context.queryResult().shardServiceTimeEWMA(searchLoad.queryServiceTimeEWMA());
             if (request.numberOfShards() == 1) {
                 return executeFetchPhase(readerContext, context, afterQueryTime);
             } else {
@@ -695,6 +764,7 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         runAsync(getExecutor(readerContext.indexShard()), () -> {
             final ShardSearchRequest shardSearchRequest = readerContext.getShardSearchRequest(null);
             try (
+                Releasable tracking = task.startResourceTracking();
                 SearchContext searchContext = createContext(readerContext, shardSearchRequest, task, false);
                 SearchOperationListenerExecutor executor = new SearchOperationListenerExecutor(searchContext)
             ) {
@@ -719,6 +789,7 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         runAsync(getExecutor(readerContext.indexShard()), () -> {
             readerContext.setAggregatedDfs(request.dfs());
             try (
+                Releasable tracking = task.startResourceTracking();
                 SearchContext searchContext = createContext(readerContext, shardSearchRequest, task, true);
                 SearchOperationListenerExecutor executor = new SearchOperationListenerExecutor(searchContext)
             ) {
@@ -774,6 +845,7 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         runAsync(getExecutor(readerContext.indexShard()), () -> {
             final ShardSearchRequest shardSearchRequest = readerContext.getShardSearchRequest(null);
             try (
+                Releasable tracking = task.startResourceTracking();
                 SearchContext searchContext = createContext(readerContext, shardSearchRequest, task, false);
                 SearchOperationListenerExecutor executor = new SearchOperationListenerExecutor(searchContext)
             ) {
@@ -798,7 +870,10 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         final ShardSearchRequest shardSearchRequest = readerContext.getShardSearchRequest(request.getShardSearchRequest());
         final Releasable markAsUsed = readerContext.markAsUsed(getKeepAlive(shardSearchRequest));
         runAsync(getExecutor(readerContext.indexShard()), () -> {
-            try (SearchContext searchContext = createContext(readerContext, shardSearchRequest, task, false)) {
+            try (
+                Releasable tracking = task.startResourceTracking();
+                SearchContext searchContext = createContext(readerContext, shardSearchRequest, task, false)
+            ) {
                 if (request.lastEmittedDoc() != null) {
                     searchContext.scrollContext().lastEmittedDoc = request.lastEmittedDoc();
                 }
@@ -978,7 +1053,7 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         boolean includeAggregations
     ) throws IOException {
         checkCancelled(task);
-        final DefaultSearchContext context = createSearchContext(readerContext, request, defaultSearchTimeout);
+        final DefaultSearchContext context = createSearchContext(readerContext, request, task, defaultSearchTimeout);
         try {
             if (request.scroll() != null) {
                 context.scrollContext().scroll = request.scroll();
@@ -1009,15 +1084,35 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         final Engine.SearcherSupplier reader = indexShard.acquireSearcherSupplier();
         final ShardSearchContextId id = new ShardSearchContextId(sessionId, idGenerator.incrementAndGet());
         try (ReaderContext readerContext = new ReaderContext(id, indexService, indexShard, reader, -1L, true)) {
-            DefaultSearchContext searchContext = createSearchContext(readerContext, request, timeout);
+            DefaultSearchContext searchContext = createSearchContext(readerContext, request, null, timeout);
             searchContext.addReleasable(readerContext.markAsUsed(0L));
             return searchContext;
         }
     }
 
+    /**
+     * The executor that collects the segments of a shard concurrently, accounting the resources that its threads use while
+     * they collect for the task.
+     */
+    private Executor searchWorkerExecutor(@Nullable SearchShardTask task) {
+        final Executor executor = threadPool.executor(Names.SEARCH_WORKER);
+        if (task == null) {
+            return executor;
+        }
+        return command -> executor.execute(() -> {
+            try (Releasable ignored = task.startResourceTracking()) {
+                command.run();
+            }
+        });
+    }
+
     @SuppressWarnings("unchecked")
-    private DefaultSearchContext createSearchContext(ReaderContext reader, ShardSearchRequest request, TimeValue timeout)
-        throws IOException {
+    private DefaultSearchContext createSearchContext(
+        ReaderContext reader,
+        ShardSearchRequest request,
+        @Nullable SearchShardTask task,
+        TimeValue timeout
+    ) throws IOException {
         boolean success = false;
         DefaultSearchContext searchContext = null;
         try {
@@ -1033,7 +1128,10 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
                 threadPool::relativeTimeInMillis,
                 timeout,
                 fetchPhase,
-                lowLevelCancellation
+                lowLevelCancellation,
+                enableConcurrentSegmentSearch ? searchWorkerExecutor(task) : null,
+                concurrentSegmentSearchMaxSlices,
+                concurrentSegmentSearchMinDocsPerSlice
             );
             // we clone the query shard context here just for rewriting otherwise we
             // might end up with incorrect state since we are using now() or script services
@@ -1216,32 +1314,32 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         }
         context.terminateAfter(source.terminateAfter());
         if (source.aggregations() != null && includeAggregations) {
-            AggregationContext aggContext = new ProductionAggregationContext(
-                indicesService.getAnalysis(),
-                context.getSearchExecutionContext(),
-                bigArrays,
-                source.aggregations().bytesToPreallocate(),
-                /*
-                 * The query on the search context right now doesn't include
-                 * the filter for nested documents or slicing so we have to
-                 * delay reading it until the aggs ask for it.
-                 */
-                () -> context.rewrittenQuery() == null ? new MatchAllDocsQuery() : context.rewrittenQuery(),
-                context.getProfilers() == null ? null : context.getProfilers().getAggregationProfiler(),
-                multiBucketConsumerService.create(),
-                () -> new SubSearchContext(context).parsedQuery(context.parsedQuery()).fetchFieldsContext(context.fetchFieldsContext()),
-                context.bitsetFilterCache(),
-                context.indexShard().shardId().hashCode(),
-                context::getRelativeTimeInMillis,
-                context::isCancelled,
-                context::buildFilteredQuery,
-                enableRewriteAggsToFilterByFilter,
-                IndexSettings.isTimeSeriesModeEnabled() && source.aggregations().isInSortOrderExecutionRequired()
-            );
+            AggregationContext aggContext = createAggregationContext(context, context.getSearchExecutionContext(), source);
             context.addReleasable(aggContext);
             try {
                 AggregatorFactories factories = source.aggregations().build(aggContext, null);
-                context.aggregations(new SearchContextAggregations(factories));
+                CheckedSupplier<AggregatorFactories, IOException> sliceFactoriesSupplier = null;
+                if (source.aggregations().supportsShardLevelReduction()) {
+                    // slices are collected on different threads, each of them needs its own aggregation context and search lookup
+                    sliceFactoriesSupplier = () -> {
+                        SearchExecutionContext sliceExecutionContext = new SearchExecutionContext(context.getSearchExecutionContext());
+                        AggregationContext sliceContext = createAggregationContext(context, sliceExecutionContext, source);
+                        context.addReleasable(sliceContext);
+                        return source.aggregations().build(sliceContext, null);
+                    };
+                }
+                context.aggregations(
+                    new SearchContextAggregations(
+                        factories,
+                        () -> new AggregationReduceContext.ForPartial(
+                            bigArrays,
+                            scriptService,
+                            context::isCancelled,
+                            source.aggregations()
+                        ),
+                        sliceFactoriesSupplier
+                    )
+                );
             } catch (IOException e) {
                 throw new AggregationInitializationException("Failed to create aggregators", e);
             }
@@ -1367,6 +1465,35 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         }
     }
 
+    private AggregationContext createAggregationContext(
+        DefaultSearchContext context,
+        SearchExecutionContext searchExecutionContext,
+        SearchSourceBuilder source
+    ) {
+        return new ProductionAggregationContext(
+            indicesService.getAnalysis(),
+            searchExecutionContext,
+            bigArrays,
+            source.aggregations().bytesToPreallocate(),
+            /*
+             * The query on the search context right now doesn't include
+             * the filter for nested documents or slicing so we have to
+             * delay reading it until the aggs ask for it.
+             */
+            () -> context.rewrittenQuery() == null ? new MatchAllDocsQuery() : context.rewrittenQuery(),
+            context.getProfilers() == null ? null : context.getProfilers().getAggregationProfiler(),
+            multiBucketConsumerService.create(),
+            () -> new SubSearchContext(context).parsedQuery(context.parsedQuery()).fetchFieldsContext(context.fetchFieldsContext()),
+            context.bitsetFilterCache(),
+            context.indexShard().shardId().hashCode(),
+            context::getRelativeTimeInMillis,
+            context::isCancelled,
+            context::buildFilteredQuery,
+            enableRewriteAggsToFilterByFilter,
+            IndexSettings.isTimeSeriesModeEnabled() && source.aggregations().isInSortOrderExecutionRequired()
+        );
+    }
+
     /**
      * Shortcut ids to load, we load only "from" and up to "size". The phase controller
      * handles this as well since the result is always size * shards for Q_T_F
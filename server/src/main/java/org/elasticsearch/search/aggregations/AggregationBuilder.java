@@ -202,6 +202,18 @@ public abstract class AggregationBuilder
         return false;
     }
 
+    /**
+     * Does this aggregation build results for parts of a shard, like slices of segments or single segments, that reduce to the
+     * results it would build for the whole shard.
+     *
+     * By default, it's false for all aggregations. It must stay false for aggregations that only keep their top buckets, like
+     * terms, because the top buckets of each part of a shard are not the top buckets of the shard.
+     * @return does this aggregation builder support shard level reduction
+     */
+    public boolean supportsShardLevelReduction() {
+        return false;
+    }
+
     @Override
     public String toString() {
         return Strings.toString(this);
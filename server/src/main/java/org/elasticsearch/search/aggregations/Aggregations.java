@@ -10,6 +10,8 @@ package org.elasticsearch.search.aggregations;
 import org.apache.lucene.util.SetOnce;
 import org.elasticsearch.common.ParsingException;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.common.xcontent.ChunkedToXContentHelper;
+import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
@@ -111,6 +113,16 @@ public class Aggregations implements Iterable<Aggregation>, ToXContentFragment {
         return builder.endObject();
     }
 
+    /**
+     * Serializes the aggregations one chunk per top level aggregation.
+     */
+    public Iterator<? extends ToXContent> toXContentChunked(Params params) {
+        if (aggregations.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        return ChunkedToXContentHelper.wrapWithObject(AGGREGATIONS_FIELD, aggregations.iterator());
+    }
+
     /**
      * Directly write all the aggregations without their bounding object. Used by sub-aggregations (non top level aggs)
      */
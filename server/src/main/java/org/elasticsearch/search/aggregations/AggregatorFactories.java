@@ -333,6 +333,19 @@ public class AggregatorFactories {
             return false;
         }
 
+        /**
+         * Return true if all the aggregations of the tree, including the sub-aggregations, build results for parts of a shard
+         * that reduce to the results of the whole shard, see {@link AggregationBuilder#supportsShardLevelReduction()}.
+         */
+        public boolean supportsShardLevelReduction() {
+            for (AggregationBuilder builder : aggregationBuilders) {
+                if (builder.supportsShardLevelReduction() == false || builder.factoriesBuilder.supportsShardLevelReduction() == false) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         public Builder addAggregator(AggregationBuilder factory) {
             if (names.add(factory.name) == false) {
                 throw new IllegalArgumentException("Two sibling aggregations cannot have the same name: [" + factory.name + "]");
@@ -7,25 +7,75 @@
  */
 package org.elasticsearch.search.aggregations;
 
+import org.elasticsearch.common.CheckedSupplier;
+import org.elasticsearch.core.Nullable;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
 /**
  * The aggregation context that is part of the search context.
  */
 public class SearchContextAggregations {
 
     private final AggregatorFactories factories;
+    private final Supplier<AggregationReduceContext> partialReduceContextSupplier;
+    private final CheckedSupplier<AggregatorFactories, IOException> sliceFactoriesSupplier;
     private Aggregator[] aggregators;
 
     /**
      * Creates a new aggregation context with the parsed aggregator factories
      */
     public SearchContextAggregations(AggregatorFactories factories) {
+        this(factories, null, null);
+    }
+
+    /**
+     * Creates a new aggregation context with the parsed aggregator factories, a supplier of contexts that allow to reduce
+     * the results of several aggregator trees created for the same shard and a supplier of factories for the parts of the
+     * shard that are collected separately.
+     */
+    public SearchContextAggregations(
+        AggregatorFactories factories,
+        @Nullable Supplier<AggregationReduceContext> partialReduceContextSupplier,
+        @Nullable CheckedSupplier<AggregatorFactories, IOException> sliceFactoriesSupplier
+    ) {
         this.factories = factories;
+        this.partialReduceContextSupplier = partialReduceContextSupplier;
+        this.sliceFactoriesSupplier = sliceFactoriesSupplier;
     }
 
     public AggregatorFactories factories() {
         return factories;
     }
 
+    /**
+     * Returns <code>true</code> if parts of this shard, like slices that are collected concurrently or single segments, can
+     * be collected each with its own aggregator tree, and their results reduced to the results of the whole shard.
+     */
+    public boolean supportsSliceCollection() {
+        return partialReduceContextSupplier != null && sliceFactoriesSupplier != null;
+    }
+
+    /**
+     * Builds the aggregator factories of a part of this shard. The factories of each part have their own aggregation
+     * context, and so their own search lookup and bucket consumer, since slices are collected on different threads.
+     * The context is released with the search context, or earlier by closing it once the results of the part are no
+     * longer needed.
+     */
+    public AggregatorFactories sliceFactories() throws IOException {
+        assert sliceFactoriesSupplier != null;
+        return sliceFactoriesSupplier.get();
+    }
+
+    /**
+     * Builds a context to partially reduce the results of aggregator trees created for this shard.
+     */
+    public AggregationReduceContext partialReduceContext() {
+        assert partialReduceContextSupplier != null;
+        return partialReduceContextSupplier.get();
+    }
+
     public Aggregator[] aggregators() {
         return aggregators;
     }
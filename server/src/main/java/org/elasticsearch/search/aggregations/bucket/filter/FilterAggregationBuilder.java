@@ -85,6 +85,11 @@ public class FilterAggregationBuilder extends AbstractAggregationBuilder<FilterA
         return true;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     @Override
     protected void doWriteTo(StreamOutput out) throws IOException {
         out.writeNamedWriteable(filter);
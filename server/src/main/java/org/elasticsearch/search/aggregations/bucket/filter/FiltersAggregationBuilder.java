@@ -104,6 +104,11 @@ public class FiltersAggregationBuilder extends AbstractAggregationBuilder<Filter
         return true;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     /**
      * Read from a stream.
      */
@@ -55,6 +55,11 @@ public class GlobalAggregationBuilder extends AbstractAggregationBuilder<GlobalA
         // Nothing to write
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     @Override
     public BucketCardinality bucketCardinality() {
         return BucketCardinality.ONE;
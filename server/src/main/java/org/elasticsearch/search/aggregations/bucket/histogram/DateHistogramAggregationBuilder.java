@@ -166,6 +166,11 @@ public class DateHistogramAggregationBuilder extends ValuesSourceAggregationBuil
         return true;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     @Override
     protected ValuesSourceType defaultValueSourceType() {
         return CoreValuesSourceType.DATE;
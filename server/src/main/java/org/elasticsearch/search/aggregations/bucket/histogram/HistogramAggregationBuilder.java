@@ -132,6 +132,11 @@ public class HistogramAggregationBuilder extends ValuesSourceAggregationBuilder<
         return true;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     @Override
     protected AggregationBuilder shallowCopy(AggregatorFactories.Builder factoriesBuilder, Map<String, Object> metadata) {
         return new HistogramAggregationBuilder(this, factoriesBuilder, metadata);
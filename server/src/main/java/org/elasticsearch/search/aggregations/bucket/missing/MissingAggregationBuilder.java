@@ -85,6 +85,11 @@ public class MissingAggregationBuilder extends ValuesSourceAggregationBuilder<Mi
         return true;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     @Override
     public BucketCardinality bucketCardinality() {
         return BucketCardinality.ONE;
@@ -75,6 +75,11 @@ public class NestedAggregationBuilder extends AbstractAggregationBuilder<NestedA
         return path;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     @Override
     public BucketCardinality bucketCardinality() {
         return BucketCardinality.ONE;
@@ -78,6 +78,11 @@ public class ReverseNestedAggregationBuilder extends AbstractAggregationBuilder<
         return path;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     @Override
     public BucketCardinality bucketCardinality() {
         return BucketCardinality.ONE;
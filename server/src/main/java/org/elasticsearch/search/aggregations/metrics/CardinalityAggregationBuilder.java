@@ -112,6 +112,11 @@ public final class CardinalityAggregationBuilder extends ValuesSourceAggregation
         return true;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     @Override
     protected boolean serializeTargetValueType(Version version) {
         return true;
@@ -81,6 +81,11 @@ public class MinAggregationBuilder extends ValuesSourceAggregationBuilder.Single
         return true;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     @Override
     protected MinAggregatorFactory innerBuild(
         AggregationContext context,
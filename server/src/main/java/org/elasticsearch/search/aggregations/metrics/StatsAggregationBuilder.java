@@ -73,6 +73,11 @@ public class StatsAggregationBuilder extends ValuesSourceAggregationBuilder.Metr
         return true;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     @Override
     public Set<String> metricNames() {
         return InternalStats.METRIC_NAMES;
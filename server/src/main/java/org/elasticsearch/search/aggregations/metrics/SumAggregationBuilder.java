@@ -64,6 +64,11 @@ public class SumAggregationBuilder extends ValuesSourceAggregationBuilder.Single
         return true;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     /**
      * Read from a stream.
      */
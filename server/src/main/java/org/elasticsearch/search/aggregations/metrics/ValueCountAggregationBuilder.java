@@ -73,6 +73,11 @@ public class ValueCountAggregationBuilder extends ValuesSourceAggregationBuilder
         return true;
     }
 
+    @Override
+    public boolean supportsShardLevelReduction() {
+        return true;
+    }
+
     /**
      * Read from a stream.
      */
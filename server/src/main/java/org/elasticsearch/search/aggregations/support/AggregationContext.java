@@ -342,6 +342,7 @@ public abstract class AggregationContext implements Releasable {
         private final AnalysisRegistry analysisRegistry;
 
         private final List<Aggregator> releaseMe = new ArrayList<>();
+        private boolean closed;
 
         public ProductionAggregationContext(
             AnalysisRegistry analysisRegistry,
@@ -581,6 +582,11 @@ public abstract class AggregationContext implements Releasable {
 
         @Override
         public void close() {
+            if (closed) {
+                // the contexts of the parts of a shard can be released before the search context that also releases them
+                return;
+            }
+            closed = true;
             /*
              * Add the breakerService to the end of the list so we release it
              * after all the aggregations that allocate bytes on it.
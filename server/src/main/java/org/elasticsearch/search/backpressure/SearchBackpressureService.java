@@ -0,0 +1,361 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.backpressure;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.action.search.SearchShardTask;
+import org.elasticsearch.common.component.AbstractLifecycleComponent;
+import org.elasticsearch.common.metrics.CounterMetric;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.concurrent.AbstractRunnable;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.monitor.jvm.JvmStats;
+import org.elasticsearch.tasks.CancellableTask;
+import org.elasticsearch.tasks.TaskManager;
+import org.elasticsearch.threadpool.Scheduler;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.IntSupplier;
+
+import static org.elasticsearch.core.Strings.format;
+
+/**
+ * Periodically checks whether the node is in duress, that is whether its heap usage or the queue of its search thread pool
+ * stayed above their thresholds for several successive checks, and if so cancels the {@link SearchShardTask}s that used the
+ * most CPU time or allocated the most heap. Tasks are only candidates for cancellation once they exceeded one of the per-task
+ * thresholds, so that a node under load from many well behaved searches does not cancel any of them.
+ * <p>
+ * The per-task heap threshold is a budget for the bytes that the task allocated since it started, not for the heap that it
+ * retains: the JVM can't tell how much of the live heap belongs to a task. Allocations are cheap to measure per thread and a
+ * task that allocates a lot also creates a lot of work for the garbage collector, even if it retains little.
+ */
+public class SearchBackpressureService extends AbstractLifecycleComponent {
+
+    private static final Logger logger = LogManager.getLogger(SearchBackpressureService.class);
+
+    public enum Mode {
+        /**
+         * Neither checks nor cancels tasks. Search shard tasks still measure the resources they use, so that they can be
+         * checked as soon as the mode changes.
+         */
+        DISABLED,
+        /**
+         * Counts each task that would be cancelled once in the stats, but lets them run.
+         */
+        MONITOR_ONLY,
+        /**
+         * Cancels the tasks that exceed the thresholds while the node is in duress.
+         */
+        ENFORCED;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static final Setting<Mode> MODE_SETTING = Setting.enumSetting(
+        Mode.class,
+        "search.backpressure.mode",
+        Mode.MONITOR_ONLY,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+    public static final Setting<TimeValue> INTERVAL_SETTING = Setting.timeSetting(
+        "search.backpressure.interval",
+        TimeValue.timeValueSeconds(1),
+        TimeValue.timeValueMillis(1),
+        Setting.Property.NodeScope
+    );
+    public static final Setting<Double> NODE_DURESS_HEAP_THRESHOLD_SETTING = Setting.doubleSetting(
+        "search.backpressure.node_duress.heap_threshold",
+        0.7,
+        0.0,
+        1.0,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+    public static final Setting<Integer> NODE_DURESS_SEARCH_QUEUE_THRESHOLD_SETTING = Setting.intSetting(
+        "search.backpressure.node_duress.search_queue_threshold",
+        500,
+        0,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+    public static final Setting<Integer> NODE_DURESS_NUM_SUCCESSIVE_BREACHES_SETTING = Setting.intSetting(
+        "search.backpressure.node_duress.num_successive_breaches",
+        3,
+        1,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+    public static final Setting<TimeValue> SEARCH_SHARD_TASK_CPU_TIME_THRESHOLD_SETTING = Setting.timeSetting(
+        "search.backpressure.search_shard_task.cpu_time_threshold",
+        TimeValue.timeValueSeconds(15),
+        TimeValue.timeValueMillis(1),
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+    /**
+     * The bytes that a search shard task may allocate on the heap, in total, before it becomes a candidate for cancellation.
+     */
+    public static final Setting<ByteSizeValue> SEARCH_SHARD_TASK_ALLOCATION_THRESHOLD_SETTING = Setting.memorySizeSetting(
+        "search.backpressure.search_shard_task.allocation_threshold",
+        "5%",
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+    public static final Setting<Integer> SEARCH_SHARD_TASK_MAX_CANCELLATIONS_SETTING = Setting.intSetting(
+        "search.backpressure.search_shard_task.max_cancellations",
+        10,
+        0,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+
+    private final ThreadPool threadPool;
+    private final TaskManager taskManager;
+    private final TimeValue interval;
+    private final IntSupplier heapUsedPercentSupplier;
+    private final IntSupplier searchQueueSizeSupplier;
+    private Scheduler.Cancellable scheduledFuture; // accesses all synchronized on AbstractLifecycleComponent#lifecycle
+
+    private volatile Mode mode;
+    private volatile double heapThreshold;
+    private volatile int searchQueueThreshold;
+    private volatile int numSuccessiveBreaches;
+    private volatile long cpuTimeThresholdNanos;
+    private volatile long allocationThresholdBytes;
+    private volatile int maxCancellations;
+
+    // only accessed by the scheduled check, which never runs concurrently with itself
+    private int successiveBreaches;
+    // the running tasks that were already cancelled or counted, so that monitor_only doesn't count them on every check
+    private final Set<Long> countedTaskIds = new HashSet<>();
+    private volatile long currentTasks;
+
+    private final CounterMetric nodeDuressCount = new CounterMetric();
+    private final CounterMetric cpuCancellationCount = new CounterMetric();
+    private final CounterMetric allocationCancellationCount = new CounterMetric();
+    private final CounterMetric limitReachedCount = new CounterMetric();
+
+    public SearchBackpressureService(Settings settings, ClusterSettings clusterSettings, ThreadPool threadPool, TaskManager taskManager) {
+        this(
+            settings,
+            clusterSettings,
+            threadPool,
+            taskManager,
+            () -> JvmStats.jvmStats().getMem().getHeapUsedPercent(),
+            () -> searchQueueSize(threadPool)
+        );
+    }
+
+    SearchBackpressureService(
+        Settings settings,
+        ClusterSettings clusterSettings,
+        ThreadPool threadPool,
+        TaskManager taskManager,
+        IntSupplier heapUsedPercentSupplier,
+        IntSupplier searchQueueSizeSupplier
+    ) {
+        this.threadPool = threadPool;
+        this.taskManager = taskManager;
+        this.interval = INTERVAL_SETTING.get(settings);
+        this.heapUsedPercentSupplier = heapUsedPercentSupplier;
+        this.searchQueueSizeSupplier = searchQueueSizeSupplier;
+        setMode(MODE_SETTING.get(settings));
+        this.heapThreshold = NODE_DURESS_HEAP_THRESHOLD_SETTING.get(settings);
+        this.searchQueueThreshold = NODE_DURESS_SEARCH_QUEUE_THRESHOLD_SETTING.get(settings);
+        this.numSuccessiveBreaches = NODE_DURESS_NUM_SUCCESSIVE_BREACHES_SETTING.get(settings);
+        this.cpuTimeThresholdNanos = SEARCH_SHARD_TASK_CPU_TIME_THRESHOLD_SETTING.get(settings).nanos();
+        this.allocationThresholdBytes = SEARCH_SHARD_TASK_ALLOCATION_THRESHOLD_SETTING.get(settings).getBytes();
+        this.maxCancellations = SEARCH_SHARD_TASK_MAX_CANCELLATIONS_SETTING.get(settings);
+        clusterSettings.addSettingsUpdateConsumer(MODE_SETTING, this::setMode);
+        clusterSettings.addSettingsUpdateConsumer(NODE_DURESS_HEAP_THRESHOLD_SETTING, value -> this.heapThreshold = value);
+        clusterSettings.addSettingsUpdateConsumer(NODE_DURESS_SEARCH_QUEUE_THRESHOLD_SETTING, value -> this.searchQueueThreshold = value);
+        clusterSettings.addSettingsUpdateConsumer(NODE_DURESS_NUM_SUCCESSIVE_BREACHES_SETTING, value -> this.numSuccessiveBreaches = value);
+        clusterSettings.addSettingsUpdateConsumer(
+            SEARCH_SHARD_TASK_CPU_TIME_THRESHOLD_SETTING,
+            value -> this.cpuTimeThresholdNanos = value.nanos()
+        );
+        clusterSettings.addSettingsUpdateConsumer(
+            SEARCH_SHARD_TASK_ALLOCATION_THRESHOLD_SETTING,
+            value -> this.allocationThresholdBytes = value.getBytes()
+        );
+        clusterSettings.addSettingsUpdateConsumer(SEARCH_SHARD_TASK_MAX_CANCELLATIONS_SETTING, value -> this.maxCancellations = value);
+    }
+
+    private static int searchQueueSize(ThreadPool threadPool) {
+        ExecutorService executor = threadPool.executor(ThreadPool.Names.SEARCH);
+        return executor instanceof ThreadPoolExecutor threadPoolExecutor ? threadPoolExecutor.getQueue().size() : 0;
+    }
+
+    private void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    protected void doStart() {
+        scheduledFuture = threadPool.scheduleWithFixedDelay(new BackpressureCheck(), interval, ThreadPool.Names.GENERIC);
+    }
+
+    @Override
+    protected void doStop() {
+        scheduledFuture.cancel();
+    }
+
+    @Override
+    protected void doClose() {}
+
+    public SearchBackpressureStats stats() {
+        return new SearchBackpressureStats(
+            mode.toString(),
+            nodeDuressCount.count(),
+            currentTasks,
+            cpuCancellationCount.count(),
+            allocationCancellationCount.count(),
+            limitReachedCount.count()
+        );
+    }
+
+    /**
+     * Returns <code>true</code> if the heap usage or the search queue of the node is above its threshold.
+     */
+    boolean isNodeInDuress() {
+        return heapUsedPercentSupplier.getAsInt() >= heapThreshold * 100 || searchQueueSizeSupplier.getAsInt() >= searchQueueThreshold;
+    }
+
+    /**
+     * Runs a single check, cancelling the worst offending search shard tasks if the node has been in duress for enough
+     * successive checks. Each task is cancelled, or counted in {@link Mode#MONITOR_ONLY}, at most once.
+     */
+    void check() {
+        final Mode mode = this.mode;
+        if (mode == Mode.DISABLED) {
+            successiveBreaches = 0;
+            currentTasks = 0;
+            countedTaskIds.clear();
+            return;
+        }
+        final List<SearchShardTask> searchShardTasks = new ArrayList<>();
+        final Set<Long> runningTaskIds = new HashSet<>();
+        for (CancellableTask task : taskManager.getCancellableTasks().values()) {
+            if (task instanceof SearchShardTask searchShardTask && task.isCancelled() == false) {
+                runningTaskIds.add(task.getId());
+                if (countedTaskIds.contains(task.getId()) == false) {
+                    searchShardTasks.add(searchShardTask);
+                }
+            }
+        }
+        countedTaskIds.retainAll(runningTaskIds);
+        currentTasks = runningTaskIds.size();
+
+        if (isNodeInDuress()) {
+            successiveBreaches++;
+        } else {
+            successiveBreaches = 0;
+        }
+        if (successiveBreaches < numSuccessiveBreaches) {
+            return;
+        }
+        nodeDuressCount.inc();
+
+        final List<Candidate> candidates = selectCandidates(searchShardTasks);
+        final int maxCancellations = this.maxCancellations;
+        for (int i = 0; i < candidates.size(); i++) {
+            if (i >= maxCancellations) {
+                limitReachedCount.inc();
+                break;
+            }
+            final Candidate candidate = candidates.get(i);
+            countedTaskIds.add(candidate.task.getId());
+            final String reason;
+            if (candidate.cpuUsage >= candidate.allocationUsage) {
+                cpuCancellationCount.inc();
+                reason = format(
+                    "cpu usage exceeded [%s >= %s]",
+                    TimeValue.timeValueNanos(candidate.task.getCpuTimeNanos()),
+                    TimeValue.timeValueNanos(cpuTimeThresholdNanos)
+                );
+            } else {
+                allocationCancellationCount.inc();
+                reason = format(
+                    "heap allocations exceeded [%s >= %s]",
+                    ByteSizeValue.ofBytes(candidate.task.getAllocatedBytes()),
+                    ByteSizeValue.ofBytes(allocationThresholdBytes)
+                );
+            }
+            if (mode == Mode.ENFORCED) {
+                logger.debug("cancelling task [{}] due to search backpressure, {}", candidate.task.getId(), reason);
+                taskManager.cancel(candidate.task, "search backpressure: " + reason, () -> {});
+            } else {
+                logger.debug("task [{}] would have been cancelled due to search backpressure, {}", candidate.task.getId(), reason);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks that exceed at least one of the per-task thresholds, the most expensive ones first.
+     */
+    List<Candidate> selectCandidates(Collection<SearchShardTask> tasks) {
+        final double cpuTimeThresholdNanos = this.cpuTimeThresholdNanos;
+        final double allocationThresholdBytes = this.allocationThresholdBytes;
+        final List<Candidate> candidates = new ArrayList<>();
+        for (SearchShardTask task : tasks) {
+            final double cpuUsage = task.getCpuTimeNanos() / cpuTimeThresholdNanos;
+            final double allocationUsage = allocationThresholdBytes > 0 ? task.getAllocatedBytes() / allocationThresholdBytes : 0;
+            if (cpuUsage >= 1 || allocationUsage >= 1) {
+                candidates.add(new Candidate(task, cpuUsage, allocationUsage));
+            }
+        }
+        candidates.sort(Comparator.comparingDouble((Candidate c) -> Math.max(c.cpuUsage, c.allocationUsage)).reversed());
+        return candidates;
+    }
+
+    /**
+     * A task that is eligible for cancellation, with its CPU time and heap allocations relative to their thresholds.
+     */
+    record Candidate(SearchShardTask task, double cpuUsage, double allocationUsage) {}
+
+    private class BackpressureCheck extends AbstractRunnable {
+
+        @Override
+        public void onFailure(Exception e) {
+            logger.warn("search backpressure check failed", e);
+        }
+
+        @Override
+        public void onRejection(Exception e) {
+            if (e instanceof EsRejectedExecutionException esre && esre.isExecutorShutdown()) {
+                logger.debug("search backpressure check skipped (executor shut down)", e);
+            } else {
+                onFailure(e);
+            }
+        }
+
+        @Override
+        protected void doRun() {
+            check();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.backpressure;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.xcontent.ToXContentFragment;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * Statistics of the {@link SearchBackpressureService} of a node, reported in the node stats.
+ *
+ * @param mode                        the mode the service runs in
+ * @param nodeDuressCount             the number of checks that found the node in duress
+ * @param currentTasks                the number of search shard tasks that were running during the last check
+ * @param cpuCancellationCount        the number of tasks cancelled because of their CPU usage
+ * @param allocationCancellationCount the number of tasks cancelled because of the bytes they allocated on the heap
+ * @param limitReachedCount           the number of times more tasks should have been cancelled than the limit per check allows
+ */
+public record SearchBackpressureStats(
+    String mode,
+    long nodeDuressCount,
+    long currentTasks,
+    long cpuCancellationCount,
+    long allocationCancellationCount,
+    long limitReachedCount
+) implements Writeable, ToXContentFragment {
+
+    public SearchBackpressureStats(StreamInput in) throws IOException {
+        this(in.readString(), in.readVLong(), in.readVLong(), in.readVLong(), in.readVLong(), in.readVLong());
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(mode);
+        out.writeVLong(nodeDuressCount);
+        out.writeVLong(currentTasks);
+        out.writeVLong(cpuCancellationCount);
+        out.writeVLong(allocationCancellationCount);
+        out.writeVLong(limitReachedCount);
+    }
+
+    public long cancellationCount() {
+        return cpuCancellationCount + allocationCancellationCount;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("search_backpressure");
+        builder.field("mode", mode);
+        builder.field("node_duress_count", nodeDuressCount);
+        builder.startObject("search_shard_task");
+        builder.field("current_tasks", currentTasks);
+        builder.field("cancellation_count", cancellationCount());
+        builder.startObject("cancellation_breakup");
+        builder.field("cpu_usage", cpuCancellationCount);
+        builder.field("heap_allocations", allocationCancellationCount);
+        builder.endObject();
+        builder.field("limit_reached_count", limitReachedCount);
+        builder.endObject();
+        return builder.endObject();
+    }
+}
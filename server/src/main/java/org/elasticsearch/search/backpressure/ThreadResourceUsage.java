@@ -0,0 +1,43 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.backpressure;
+
+import org.elasticsearch.monitor.jvm.SunThreadInfo;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the CPU time and the number of bytes allocated on the heap by a thread so far. Both values are only meaningful
+ * as deltas between two reads, and are reported as {@code 0} if the JVM does not support measuring them.
+ */
+public final class ThreadResourceUsage {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private ThreadResourceUsage() {}
+
+    /**
+     * CPU time consumed by the thread with the provided id, in nanoseconds.
+     */
+    public static long cpuTimeNanos(long threadId) {
+        if (THREAD_MX_BEAN.isThreadCpuTimeSupported() == false || THREAD_MX_BEAN.isThreadCpuTimeEnabled() == false) {
+            return 0;
+        }
+        // -1 is returned if the thread is no longer alive
+        return Math.max(0, THREAD_MX_BEAN.getThreadCpuTime(threadId));
+    }
+
+    /**
+     * Bytes allocated on the heap by the thread with the provided id.
+     */
+    public static long allocatedBytes(long threadId) {
+        return SunThreadInfo.INSTANCE.getThreadAllocatedBytes(threadId);
+    }
+}
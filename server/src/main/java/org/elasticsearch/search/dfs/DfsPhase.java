@@ -16,6 +16,7 @@ import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.TermStatistics;
 import org.apache.lucene.search.TopScoreDocCollector;
+import org.elasticsearch.common.lucene.MinimumScoreCollector;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.internal.SearchContext;
@@ -171,6 +172,11 @@ public class DfsPhase {
                 knnVectorQueryBuilder.addFilterQuery(context.request().getAliasFilter().getQueryBuilder());
             }
         }
+        float[] knnScoreBounds = context.request().getKnnScoreBounds();
+        if (knnScoreBounds != null && knnScoreBounds.length != knnSearch.size()) {
+            assert false : "expected [" + knnSearch.size() + "] knn score bounds but got [" + knnScoreBounds.length + "]";
+            knnScoreBounds = null;
+        }
         List<DfsKnnResults> knnResults = new ArrayList<>(knnVectorQueryBuilders.size());
         for (int i = 0; i < knnSearch.size(); i++) {
             Query knnQuery = searchExecutionContext.toQuery(knnVectorQueryBuilders.get(i)).query();
@@ -187,6 +193,10 @@ public class DfsPhase {
                 // Set the current searcher profiler to gather query profiling information for gathering top K docs
                 context.searcher().setProfiler(knnProfiler);
             }
+            if (knnScoreBounds != null && knnScoreBounds[i] > Float.NEGATIVE_INFINITY) {
+                // hits that score below the global k-th score of the shards that already responded can't make it to the merged top k
+                collector = new MinimumScoreCollector(collector, knnScoreBounds[i]);
+            }
             context.searcher().search(knnQuery, collector);
             knnResults.add(new DfsKnnResults(topScoreDocCollector.topDocs().scoreDocs));
         }
@@ -16,6 +16,7 @@ import org.apache.lucene.search.BulkScorer;
 import org.apache.lucene.search.CollectionStatistics;
 import org.apache.lucene.search.CollectionTerminatedException;
 import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
 import org.apache.lucene.search.ConjunctionUtils;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.Explanation;
@@ -33,6 +34,8 @@ import org.apache.lucene.util.BitSet;
 import org.apache.lucene.util.BitSetIterator;
 import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.SparseFixedBitSet;
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.lucene.util.CombinedBitSet;
 import org.elasticsearch.search.dfs.AggregatedDfs;
@@ -43,11 +46,18 @@ import org.elasticsearch.search.profile.query.QueryProfiler;
 import org.elasticsearch.search.profile.query.QueryTimingType;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Context-aware extension of {@link IndexSearcher}.
@@ -63,6 +73,10 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
     private QueryProfiler profiler;
     private MutableQueryTimeout cancellable;
 
+    @Nullable
+    private final Executor executor;
+    private final LeafSlice[] leafSlices;
+
     public ContextIndexSearcher(
         IndexReader reader,
         Similarity similarity,
@@ -70,7 +84,36 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         QueryCachingPolicy queryCachingPolicy,
         boolean wrapWithExitableDirectoryReader
     ) throws IOException {
-        this(reader, similarity, queryCache, queryCachingPolicy, new MutableQueryTimeout(), wrapWithExitableDirectoryReader);
+        this(reader, similarity, queryCache, queryCachingPolicy, wrapWithExitableDirectoryReader, null, 1, 1);
+    }
+
+    /**
+     * Creates a searcher that executes the slices of a {@link CollectorManager} based search concurrently on the
+     * provided <code>executor</code>. Leaves are grouped into at most <code>maximumNumberOfSlices</code> slices,
+     * each holding at least <code>minimumDocsPerSlice</code> documents where possible. A <code>null</code>
+     * executor disables concurrency and all leaves are searched sequentially on the calling thread.
+     */
+    public ContextIndexSearcher(
+        IndexReader reader,
+        Similarity similarity,
+        QueryCache queryCache,
+        QueryCachingPolicy queryCachingPolicy,
+        boolean wrapWithExitableDirectoryReader,
+        @Nullable Executor executor,
+        int maximumNumberOfSlices,
+        int minimumDocsPerSlice
+    ) throws IOException {
+        this(
+            reader,
+            similarity,
+            queryCache,
+            queryCachingPolicy,
+            new MutableQueryTimeout(),
+            wrapWithExitableDirectoryReader,
+            executor,
+            maximumNumberOfSlices,
+            minimumDocsPerSlice
+        );
     }
 
     private ContextIndexSearcher(
@@ -79,13 +122,20 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         QueryCache queryCache,
         QueryCachingPolicy queryCachingPolicy,
         MutableQueryTimeout cancellable,
-        boolean wrapWithExitableDirectoryReader
+        boolean wrapWithExitableDirectoryReader,
+        @Nullable Executor executor,
+        int maximumNumberOfSlices,
+        int minimumDocsPerSlice
     ) throws IOException {
         super(wrapWithExitableDirectoryReader ? new ExitableDirectoryReader((DirectoryReader) reader, cancellable) : reader);
         setSimilarity(similarity);
         setQueryCache(queryCache);
         setQueryCachingPolicy(queryCachingPolicy);
         this.cancellable = cancellable;
+        this.executor = executor;
+        this.leafSlices = executor == null
+            ? new LeafSlice[] { new LeafSlice(new ArrayList<>(getLeafContexts())) }
+            : computeSlices(getLeafContexts(), maximumNumberOfSlices, minimumDocsPerSlice);
     }
 
     public void setProfiler(QueryProfiler profiler) {
@@ -162,6 +212,135 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         }
     }
 
+    /**
+     * Returns <code>true</code> if {@link CollectorManager} based searches are split into several slices that are
+     * collected concurrently.
+     */
+    public boolean isConcurrentSearchEnabled() {
+        return executor != null && leafSlices.length > 1;
+    }
+
+    /**
+     * The slices of leaves that are collected concurrently when {@link #isConcurrentSearchEnabled()}.
+     */
+    public LeafSlice[] getLeafSlices() {
+        return leafSlices;
+    }
+
+    /**
+     * Groups the provided leaves into at most <code>maxSliceNum</code> slices of similar sizes. The number of slices
+     * is further bounded so that slices hold at least <code>minDocsPerSlice</code> documents on average, there is no
+     * point in paying the cost of a fork for a handful of documents.
+     */
+    static LeafSlice[] computeSlices(List<LeafReaderContext> leaves, int maxSliceNum, int minDocsPerSlice) {
+        if (maxSliceNum < 1) {
+            throw new IllegalArgumentException("maxSliceNum must be >= 1 (got " + maxSliceNum + ")");
+        }
+        if (minDocsPerSlice < 1) {
+            throw new IllegalArgumentException("minDocsPerSlice must be >= 1 (got " + minDocsPerSlice + ")");
+        }
+        long totalDocs = 0;
+        for (LeafReaderContext leaf : leaves) {
+            totalDocs += leaf.reader().maxDoc();
+        }
+        final int numSlices = (int) Math.max(1, Math.min(Math.min(maxSliceNum, leaves.size()), totalDocs / minDocsPerSlice));
+        if (numSlices == 1) {
+            return new LeafSlice[] { new LeafSlice(new ArrayList<>(leaves)) };
+        }
+        // assign the largest leaves first, always to the slice that holds the fewest documents so far
+        final List<LeafReaderContext> sortedLeaves = new ArrayList<>(leaves);
+        sortedLeaves.sort(Comparator.comparingInt((LeafReaderContext l) -> l.reader().maxDoc()).reversed());
+        final PriorityQueue<SliceGroup> groups = new PriorityQueue<>(numSlices, Comparator.comparingLong((SliceGroup g) -> g.numDocs));
+        for (int i = 0; i < numSlices; i++) {
+            groups.add(new SliceGroup());
+        }
+        for (LeafReaderContext leaf : sortedLeaves) {
+            SliceGroup group = groups.poll();
+            group.leaves.add(leaf);
+            group.numDocs += leaf.reader().maxDoc();
+            groups.add(group);
+        }
+        final List<LeafSlice> slices = new ArrayList<>(numSlices);
+        for (SliceGroup group : groups) {
+            if (group.leaves.isEmpty() == false) {
+                slices.add(new LeafSlice(group.leaves));
+            }
+        }
+        return slices.toArray(new LeafSlice[0]);
+    }
+
+    private static class SliceGroup {
+        private final List<LeafReaderContext> leaves = new ArrayList<>();
+        private long numDocs;
+    }
+
+    @Override
+    public <C extends Collector, T> T search(Query query, CollectorManager<C, T> collectorManager) throws IOException {
+        if (isConcurrentSearchEnabled() == false || profiler != null) {
+            // profiling breakdowns are not thread-safe, profiled searches are always collected sequentially
+            return super.search(query, collectorManager);
+        }
+        // collectors are created upfront on the calling thread so that managers don't have to be thread-safe
+        final List<C> collectors = new ArrayList<>(leafSlices.length);
+        for (int i = 0; i < leafSlices.length; i++) {
+            collectors.add(collectorManager.newCollector());
+        }
+        final Weight weight = createWeight(rewrite(query), collectors.get(0).scoreMode(), 1);
+        searchSlices(weight, collectors);
+        return collectorManager.reduce(collectors);
+    }
+
+    /**
+     * Collects each slice into its own collector. All slices but the last one are forked to the executor while the last
+     * one is collected on the calling thread. This method waits for all slices to complete, including when one of them
+     * fails, so that none of the collectors is still in use when it returns.
+     */
+    private <C extends Collector> void searchSlices(Weight weight, List<C> collectors) throws IOException {
+        assert collectors.size() == leafSlices.length;
+        final List<FutureTask<Void>> tasks = new ArrayList<>(leafSlices.length - 1);
+        for (int i = 0; i < leafSlices.length - 1; i++) {
+            final LeafReaderContext[] leaves = leafSlices[i].leaves;
+            final C collector = collectors.get(i);
+            final FutureTask<Void> task = new FutureTask<>(() -> {
+                search(Arrays.asList(leaves), weight, collector);
+                return null;
+            });
+            tasks.add(task);
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // the executor is shutting down, collect this slice on the calling thread instead
+                task.run();
+            }
+        }
+        Throwable failure = null;
+        try {
+            search(Arrays.asList(leafSlices[leafSlices.length - 1].leaves), weight, collectors.get(collectors.size() - 1));
+        } catch (Exception e) {
+            failure = e;
+        }
+        for (FutureTask<Void> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = ExceptionsHelper.useOrSuppress(failure, e);
+            } catch (ExecutionException e) {
+                failure = ExceptionsHelper.useOrSuppress(failure, e.getCause());
+            }
+        }
+        if (failure != null) {
+            if (failure instanceof IOException ioException) {
+                throw ioException;
+            } else if (failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (failure instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("failed to collect slices", failure);
+        }
+    }
+
     @Override
     public void search(List<LeafReaderContext> leaves, Weight weight, Collector collector) throws IOException {
         weight = wrapWeight(weight);
@@ -81,6 +81,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
 
     private boolean canReturnNullResponseIfMatchNoDocs;
     private SearchSortValuesAndFormats bottomSortValues;
+    private float[] knnScoreBounds;
 
     // these are the only mutable fields, as they are subject to rewriting
     private AliasFilter aliasFilter;
@@ -257,6 +258,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         this.allowPartialSearchResults = clone.allowPartialSearchResults;
         this.canReturnNullResponseIfMatchNoDocs = clone.canReturnNullResponseIfMatchNoDocs;
         this.bottomSortValues = clone.bottomSortValues;
+        this.knnScoreBounds = clone.knnScoreBounds;
         this.originalIndices = clone.originalIndices;
         this.readerId = clone.readerId;
         this.keepAlive = clone.keepAlive;
@@ -323,6 +325,9 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
              */
             forceSyntheticSource = false;
         }
+        if (in.getVersion().onOrAfter(Version.V_8_7_0)) {
+            knnScoreBounds = in.readBoolean() ? in.readFloatArray() : null;
+        }
         originalIndices = OriginalIndices.readOriginalIndices(in);
     }
 
@@ -388,6 +393,12 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
                 throw new IllegalArgumentException("force_synthetic_source is not supported before 8.4.0");
             }
         }
+        if (asKey == false && out.getVersion().onOrAfter(Version.V_8_7_0)) {
+            out.writeBoolean(knnScoreBounds != null);
+            if (knnScoreBounds != null) {
+                out.writeFloatArray(knnScoreBounds);
+            }
+        }
     }
 
     @Override
@@ -487,6 +498,19 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         return bottomSortValues;
     }
 
+    /**
+     * Sets the minimum score that a hit must reach to be competitive for each kNN search
+     * of the request. These bounds are computed by the coordinating node from the dfs results
+     * of the shards that already responded, and are passed as an hint on subsequent shard requests.
+     */
+    public void setKnnScoreBounds(float[] knnScoreBounds) {
+        this.knnScoreBounds = knnScoreBounds;
+    }
+
+    public float[] getKnnScoreBounds() {
+        return knnScoreBounds;
+    }
+
     /**
      * Returns true if the caller can handle null response {@link QuerySearchResult#nullInstance()}.
      * Defaults to false since the coordinator node needs at least one shard response to build the global
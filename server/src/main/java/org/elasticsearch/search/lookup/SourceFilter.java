@@ -82,8 +82,22 @@ public final class SourceFilter {
 
     private Function<Source, Source> buildBytesFilter() {
         if (canFilterBytes == false) {
-            return this::filterMap;
+            if (this.includes.length == 0) {
+                return this::filterMap;
+            }
+            // Only the excludes can't be applied to the bytes. Project the included fields from the bytes first so that
+            // only these fields are parsed into a map to apply the excludes, rather than the whole source.
+            final Function<Source, Source> includesFilter = buildBytesFilter(includes, Strings.EMPTY_ARRAY);
+            final Function<Map<String, Object>, Map<String, Object>> excludesFilter = XContentMapValues.filter(
+                Strings.EMPTY_ARRAY,
+                excludes
+            );
+            return in -> Source.fromMap(excludesFilter.apply(includesFilter.apply(in).source()), in.sourceContentType());
         }
+        return buildBytesFilter(includes, excludes);
+    }
+
+    private static Function<Source, Source> buildBytesFilter(String[] includes, String[] excludes) {
         final XContentParserConfiguration parserConfig = XContentParserConfiguration.EMPTY.withFiltering(
             Set.copyOf(Arrays.asList(includes)),
             Set.copyOf(Arrays.asList(excludes)),
@@ -91,14 +105,23 @@ public final class SourceFilter {
         );
         return in -> {
             try {
-                BytesStreamOutput streamOutput = new BytesStreamOutput(1024);
+                BytesReference sourceRef = in.internalSourceRef();
+                BytesStreamOutput streamOutput = new BytesStreamOutput(Math.min(1024, sourceRef.length()));
                 XContent xContent = in.sourceContentType().xContent();
                 XContentBuilder builder = new XContentBuilder(xContent, streamOutput);
-                XContentParser parser = xContent.createParser(parserConfig, in.internalSourceRef().streamInput());
-                if ((parser.currentToken() == null) && (parser.nextToken() == null)) {
-                    return Source.empty(in.sourceContentType());
+                XContentParser parser;
+                if (sourceRef.hasArray()) {
+                    // parse the bytes in place rather than through a stream that copies them into its own buffer
+                    parser = xContent.createParser(parserConfig, sourceRef.array(), sourceRef.arrayOffset(), sourceRef.length());
+                } else {
+                    parser = xContent.createParser(parserConfig, sourceRef.streamInput());
+                }
+                try (parser) {
+                    if ((parser.currentToken() == null) && (parser.nextToken() == null)) {
+                        return Source.empty(in.sourceContentType());
+                    }
+                    builder.copyCurrentStructure(parser);
                 }
-                builder.copyCurrentStructure(parser);
                 return Source.fromBytes(BytesReference.bytes(builder));
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
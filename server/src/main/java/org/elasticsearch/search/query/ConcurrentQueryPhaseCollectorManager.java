@@ -0,0 +1,202 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.query;
+
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
+import org.elasticsearch.search.aggregations.AggregationExecutionException;
+import org.elasticsearch.search.aggregations.AggregationPhase;
+import org.elasticsearch.search.aggregations.Aggregator;
+import org.elasticsearch.search.aggregations.AggregatorFactories;
+import org.elasticsearch.search.aggregations.BucketCollector;
+import org.elasticsearch.search.aggregations.InternalAggregation;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.MultiBucketCollector;
+import org.elasticsearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.elasticsearch.search.query.QueryCollectorContext.createFilteredCollectorContext;
+import static org.elasticsearch.search.query.QueryCollectorContext.createMinScoreCollectorContext;
+import static org.elasticsearch.search.query.QueryCollectorContext.createMultiCollectorContext;
+import static org.elasticsearch.search.query.TopDocsCollectorContext.createTopDocsCollectorContext;
+import static org.elasticsearch.search.query.TopDocsCollectorContext.shortcutTotalHitCount;
+
+/**
+ * A {@link CollectorManager} that builds an independent chain of query phase collectors for each slice of
+ * a shard that is collected concurrently, and merges their top docs and aggregations into the
+ * {@link QuerySearchResult} once all slices are done.
+ */
+class ConcurrentQueryPhaseCollectorManager implements CollectorManager<Collector, Void> {
+    private final SearchContext searchContext;
+    private final Query query;
+    private final boolean hasFilterCollector;
+    private final List<SliceCollectors> slices = new ArrayList<>();
+
+    ConcurrentQueryPhaseCollectorManager(SearchContext searchContext, Query query, boolean hasFilterCollector) {
+        this.searchContext = searchContext;
+        this.query = query;
+        this.hasFilterCollector = hasFilterCollector;
+    }
+
+    /**
+     * Returns <code>true</code> if the query phase of the provided context can be collected with this manager.
+     * Scroll, collapse, terminate_after and profiled requests keep using a single collector chain, and so do
+     * aggregations whose results for a slice don't reduce to the results of the whole shard, like terms.
+     */
+    static boolean canCollectConcurrently(SearchContext searchContext) {
+        if (searchContext.searcher().isConcurrentSearchEnabled() == false
+            || searchContext.getProfilers() != null
+            || searchContext.scrollContext() != null
+            || searchContext.collapse() != null
+            || searchContext.terminateAfter() != SearchContext.DEFAULT_TERMINATE_AFTER) {
+            return false;
+        }
+        if (searchContext.aggregations() == null) {
+            return searchContext.queryCollectors().isEmpty();
+        }
+        if (searchContext.aggregations().supportsSliceCollection() == false
+            || (searchContext.aggregations().factories().context() != null
+                && searchContext.aggregations().factories().context().isInSortOrderExecutionRequired())) {
+            return false;
+        }
+        // the only collector registered on the context must be the one of the aggregation phase, we build our own per slice
+        return searchContext.queryCollectors().size() == 1
+            && searchContext.queryCollectors().containsKey(AggregationPhase.class);
+    }
+
+    @Override
+    public Collector newCollector() throws IOException {
+        final LinkedList<QueryCollectorContext> collectors = new LinkedList<>();
+        if (searchContext.parsedPostFilter() != null) {
+            collectors.add(createFilteredCollectorContext(searchContext.searcher(), searchContext.parsedPostFilter().query()));
+        }
+        AggregatorFactories aggregatorFactories = null;
+        Aggregator[] aggregators = null;
+        if (searchContext.aggregations() != null) {
+            // each slice is collected on its own thread with its own aggregation context
+            aggregatorFactories = searchContext.aggregations().sliceFactories();
+            aggregators = aggregatorFactories.createTopLevelAggregators();
+            BucketCollector bucketCollector = MultiBucketCollector.wrap(true, List.of(aggregators));
+            bucketCollector.preCollection();
+            collectors.add(createMultiCollectorContext(List.of(bucketCollector.asCollector())));
+        }
+        if (searchContext.minimumScore() != null) {
+            collectors.add(createMinScoreCollectorContext(searchContext.minimumScore()));
+        }
+        // hit counts are computed once for the whole shard in reduce, shortcuts must not be applied to each slice
+        final TopDocsCollectorContext topDocs = createTopDocsCollectorContext(searchContext, true);
+        collectors.addFirst(topDocs);
+        slices.add(new SliceCollectors(topDocs, aggregatorFactories, aggregators));
+        return QueryCollectorContext.createQueryCollector(collectors);
+    }
+
+    @Override
+    public Void reduce(Collection<Collector> collectors) throws IOException {
+        assert collectors.size() == slices.size();
+        reduceSlices();
+        return null;
+    }
+
+    /**
+     * Merges the results of all slices created so far into the query result of the search context. This is
+     * also called when the collection was interrupted by a timeout, with whatever the slices collected.
+     */
+    void reduceSlices() throws IOException {
+        reduceTopDocs();
+        if (searchContext.aggregations() != null) {
+            reduceAggregations();
+        }
+    }
+
+    /**
+     * Returns true if the top docs should be re-scored after initial search
+     */
+    boolean shouldRescore() {
+        return slices.isEmpty() == false && slices.get(0).topDocs.shouldRescore();
+    }
+
+    private void reduceTopDocs() throws IOException {
+        final Sort sort = searchContext.sort() == null ? null : searchContext.sort().sort;
+        final TopDocs[] sliceTopDocs = sort == null ? new TopDocs[slices.size()] : new TopFieldDocs[slices.size()];
+        float maxScore = Float.NaN;
+        int numHits = 0;
+        for (int i = 0; i < slices.size(); i++) {
+            TopDocsCollectorContext topDocsContext = slices.get(i).topDocs;
+            TopDocsAndMaxScore topDocsAndMaxScore = topDocsContext.newTopDocs();
+            sliceTopDocs[i] = topDocsAndMaxScore.topDocs;
+            if (Float.isNaN(maxScore) || topDocsAndMaxScore.maxScore > maxScore) {
+                maxScore = topDocsAndMaxScore.maxScore;
+            }
+            numHits = topDocsContext.numHits();
+        }
+        final TopDocs merged;
+        if (sort != null) {
+            merged = TopDocs.merge(sort, numHits, (TopFieldDocs[]) sliceTopDocs);
+        } else {
+            merged = TopDocs.merge(numHits, sliceTopDocs);
+        }
+        TotalHits totalHits = merged.totalHits;
+        final int trackTotalHitsUpTo = searchContext.trackTotalHitsUpTo();
+        if (trackTotalHitsUpTo != SearchContext.TRACK_TOTAL_HITS_ACCURATE
+            && trackTotalHitsUpTo != SearchContext.TRACK_TOTAL_HITS_DISABLED
+            && totalHits.value > trackTotalHitsUpTo) {
+            // each slice counts up to the threshold, their sum must not report more hits than the whole shard would
+            totalHits = new TotalHits(trackTotalHitsUpTo, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO);
+        }
+        if (hasFilterCollector == false && searchContext.trackTotalHitsUpTo() != SearchContext.TRACK_TOTAL_HITS_DISABLED) {
+            int hitCount = shortcutTotalHitCount(searchContext.searcher().getIndexReader(), query);
+            if (hitCount != -1) {
+                totalHits = new TotalHits(hitCount, TotalHits.Relation.EQUAL_TO);
+            }
+        }
+        final TopDocs topDocs;
+        if (merged instanceof TopFieldDocs fieldDocs) {
+            topDocs = new TopFieldDocs(totalHits, fieldDocs.scoreDocs, fieldDocs.fields);
+        } else {
+            topDocs = new TopDocs(totalHits, merged.scoreDocs);
+        }
+        searchContext.queryResult()
+            .topDocs(new TopDocsAndMaxScore(topDocs, maxScore), searchContext.sort() == null ? null : searchContext.sort().formats);
+    }
+
+    private void reduceAggregations() {
+        final List<InternalAggregations> sliceAggregations = new ArrayList<>(slices.size());
+        for (SliceCollectors slice : slices) {
+            if (slice.aggregatorFactories.context() != null) {
+                // the bucket limit applies to each aggregator tree, as it would to a shard collected sequentially
+                slice.aggregatorFactories.context().multiBucketConsumer().reset();
+            }
+            List<InternalAggregation> aggregations = new ArrayList<>(slice.aggregators.length);
+            for (Aggregator aggregator : slice.aggregators) {
+                try {
+                    aggregator.postCollection();
+                    aggregations.add(aggregator.buildTopLevel());
+                } catch (IOException e) {
+                    throw new AggregationExecutionException("Failed to build aggregation [" + aggregator.name() + "]", e);
+                }
+            }
+            sliceAggregations.add(InternalAggregations.from(aggregations));
+        }
+        searchContext.queryResult()
+            .aggregations(InternalAggregations.topLevelReduce(sliceAggregations, searchContext.aggregations().partialReduceContext()));
+    }
+
+    private record SliceCollectors(TopDocsCollectorContext topDocs, AggregatorFactories aggregatorFactories, Aggregator[] aggregators) {}
+}
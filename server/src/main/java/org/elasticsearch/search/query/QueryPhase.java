@@ -25,6 +25,7 @@ import org.elasticsearch.common.lucene.Lucene;
 import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
 import org.elasticsearch.common.util.concurrent.EWMATrackingEsThreadPoolExecutor;
 import org.elasticsearch.common.util.concurrent.EsThreadPoolExecutor;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.lucene.queries.SearchAfterSortedDocQuery;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.SearchContextSourcePrinter;
@@ -59,6 +60,15 @@ public class QueryPhase {
     public QueryPhase() {}
 
     public static void execute(SearchContext searchContext) throws QueryPhaseExecutionException {
+        execute(searchContext, null);
+    }
+
+    /**
+     * Executes the query phase, reading the results of the segments that didn't change since a previous execution of the
+     * same request from the provided cache when the request only aggregates.
+     */
+    public static void execute(SearchContext searchContext, @Nullable SegmentResultCache segmentResultCache)
+        throws QueryPhaseExecutionException {
         if (searchContext.hasOnlySuggest()) {
             SuggestPhase.execute(searchContext);
             searchContext.queryResult()
@@ -77,7 +87,7 @@ public class QueryPhase {
         // request, preProcess is called on the DFS phase, this is why we pre-process them
         // here to make sure it happens during the QUERY phase
         AggregationPhase.preProcess(searchContext);
-        boolean rescore = executeInternal(searchContext);
+        boolean rescore = executeInternal(searchContext, segmentResultCache);
 
         if (rescore) { // only if we do a regular search
             RescorePhase.execute(searchContext);
@@ -96,6 +106,11 @@ public class QueryPhase {
      * @return whether the rescoring phase should be executed
      */
     static boolean executeInternal(SearchContext searchContext) throws QueryPhaseExecutionException {
+        return executeInternal(searchContext, null);
+    }
+
+    private static boolean executeInternal(SearchContext searchContext, @Nullable SegmentResultCache segmentResultCache)
+        throws QueryPhaseExecutionException {
         final ContextIndexSearcher searcher = searchContext.searcher();
         final IndexReader reader = searcher.getIndexReader();
         QuerySearchResult queryResult = searchContext.queryResult();
@@ -176,7 +191,13 @@ public class QueryPhase {
             }
 
             try {
-                boolean shouldRescore = searchWithCollector(searchContext, searcher, query, collectors, hasFilterCollector, timeoutSet);
+                final boolean shouldRescore;
+                if (segmentResultCache != null && SegmentCachedQueryPhase.canCollectPerSegment(searchContext, hasFilterCollector)) {
+                    SegmentCachedQueryPhase.execute(searchContext, query, segmentResultCache, timeoutSet);
+                    shouldRescore = false;
+                } else {
+                    shouldRescore = searchWithCollector(searchContext, searcher, query, collectors, hasFilterCollector, timeoutSet);
+                }
                 ExecutorService executor = searchContext.indexShard().getThreadPool().executor(ThreadPool.Names.SEARCH);
                 assert executor instanceof EWMATrackingEsThreadPoolExecutor
                     || (executor instanceof EsThreadPoolExecutor == false /* in case thread pool is mocked out in tests */)
@@ -206,6 +227,9 @@ public class QueryPhase {
         boolean hasFilterCollector,
         boolean timeoutSet
     ) throws IOException {
+        if (ConcurrentQueryPhaseCollectorManager.canCollectConcurrently(searchContext)) {
+            return searchWithCollectorManager(searchContext, searcher, query, hasFilterCollector, timeoutSet);
+        }
         // create the top docs collector last when the other collectors are known
         final TopDocsCollectorContext topDocsFactory = createTopDocsCollectorContext(searchContext, hasFilterCollector);
         // add the top docs collector, the first collector context in the chain
@@ -241,6 +265,37 @@ public class QueryPhase {
         return topDocsFactory.shouldRescore();
     }
 
+    /**
+     * Collects the slices of the shard concurrently, each slice with its own chain of collectors.
+     */
+    private static boolean searchWithCollectorManager(
+        SearchContext searchContext,
+        ContextIndexSearcher searcher,
+        Query query,
+        boolean hasFilterCollector,
+        boolean timeoutSet
+    ) throws IOException {
+        final ConcurrentQueryPhaseCollectorManager collectorManager = new ConcurrentQueryPhaseCollectorManager(
+            searchContext,
+            query,
+            hasFilterCollector
+        );
+        QuerySearchResult queryResult = searchContext.queryResult();
+        try {
+            searcher.search(query, collectorManager);
+        } catch (TimeExceededException e) {
+            assert timeoutSet : "TimeExceededException thrown even though timeout wasn't set";
+            if (searchContext.request().allowPartialSearchResults() == false) {
+                // Can't rethrow TimeExceededException because not serializable
+                throw new QueryPhaseExecutionException(searchContext.shardTarget(), "Time exceeded");
+            }
+            queryResult.searchTimedOut(true);
+            // all slices are done at this point, reduce whatever they collected before the timeout
+            collectorManager.reduceSlices();
+        }
+        return collectorManager.shouldRescore();
+    }
+
     /**
      * Returns whether collection within the provided <code>reader</code> can be early-terminated if it sorts
      * with <code>sortAndFormats</code>.
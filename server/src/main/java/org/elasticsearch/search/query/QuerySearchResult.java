@@ -57,6 +57,8 @@ public final class QuerySearchResult extends SearchPhaseResult {
     private boolean hasProfileResults;
     private long serviceTimeEWMA = -1;
     private int nodeQueueSize = -1;
+    private long shardServiceTimeEWMA = -1;
+    private int shardQueueSize = -1;
 
     private final boolean isNull;
 
@@ -321,6 +323,24 @@ public final class QuerySearchResult extends SearchPhaseResult {
         return this;
     }
 
+    public long shardServiceTimeEWMA() {
+        return this.shardServiceTimeEWMA;
+    }
+
+    public QuerySearchResult shardServiceTimeEWMA(long shardServiceTimeEWMA) {
+        this.shardServiceTimeEWMA = shardServiceTimeEWMA;
+        return this;
+    }
+
+    public int shardQueueSize() {
+        return this.shardQueueSize;
+    }
+
+    public QuerySearchResult shardQueueSize(int shardQueueSize) {
+        this.shardQueueSize = shardQueueSize;
+        return this;
+    }
+
     /**
      * Returns <code>true</code> if this result has any suggest score docs
      */
@@ -373,6 +393,10 @@ public final class QuerySearchResult extends SearchPhaseResult {
                 setShardSearchRequest(in.readOptionalWriteable(ShardSearchRequest::new));
                 setRescoreDocIds(new RescoreDocIds(in));
             }
+            if (in.getVersion().onOrAfter(Version.V_8_7_0)) {
+                shardServiceTimeEWMA = in.readZLong();
+                shardQueueSize = in.readInt();
+            }
             success = true;
         } finally {
             if (success == false) {
@@ -425,6 +449,10 @@ public final class QuerySearchResult extends SearchPhaseResult {
             out.writeOptionalWriteable(getShardSearchRequest());
             getRescoreDocIds().writeTo(out);
         }
+        if (out.getVersion().onOrAfter(Version.V_8_7_0)) {
+            out.writeZLong(shardServiceTimeEWMA);
+            out.writeInt(shardQueueSize);
+        }
     }
 
     public TotalHits getTotalHits() {
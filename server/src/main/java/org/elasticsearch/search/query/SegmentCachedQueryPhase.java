@@ -0,0 +1,184 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.query;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.MultiCollector;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHitCountCollector;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.Weight;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.lucene.Lucene;
+import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.search.aggregations.AggregationExecutionException;
+import org.elasticsearch.search.aggregations.AggregationPhase;
+import org.elasticsearch.search.aggregations.Aggregator;
+import org.elasticsearch.search.aggregations.AggregatorFactories;
+import org.elasticsearch.search.aggregations.BucketCollector;
+import org.elasticsearch.search.aggregations.InternalAggregation;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.MultiBucketCollector;
+import org.elasticsearch.search.internal.ContextIndexSearcher;
+import org.elasticsearch.search.internal.SearchContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes the query phase of an aggregation request that returns no hits one segment at a time, so that the result of
+ * each segment, its hit count and partial aggregations, can be cached in a {@link SegmentResultCache}. After a refresh
+ * only the new segments need to be collected, the results of the other ones are read from the cache. The results of all
+ * segments are then reduced the same way as the slices of a concurrent search.
+ */
+final class SegmentCachedQueryPhase {
+
+    private SegmentCachedQueryPhase() {}
+
+    /**
+     * Returns <code>true</code> if the query phase of the provided context can be executed one segment at a time. The
+     * aggregations must build results for each segment that reduce to the results of the whole shard, which excludes
+     * aggregations that keep their top buckets like terms, and aggregations that depend on the whole shard like samplers.
+     */
+    static boolean canCollectPerSegment(SearchContext searchContext, boolean hasFilterCollector) {
+        if (searchContext.size() != 0
+            || hasFilterCollector
+            || searchContext.aggregations() == null
+            || searchContext.getProfilers() != null
+            || searchContext.scrollContext() != null
+            || searchContext.collapse() != null
+            || searchContext.searcher().getIndexReader().leaves().isEmpty()) {
+            return false;
+        }
+        if (searchContext.aggregations().supportsSliceCollection() == false
+            || (searchContext.aggregations().factories().context() != null
+                && searchContext.aggregations().factories().context().isInSortOrderExecutionRequired())) {
+            return false;
+        }
+        // the only collector registered on the context must be the one of the aggregation phase, we build our own per segment
+        return searchContext.queryCollectors().size() == 1 && searchContext.queryCollectors().containsKey(AggregationPhase.class);
+    }
+
+    /**
+     * Collects or loads the result of each segment and reduces them into the query result of the search context.
+     */
+    static void execute(SearchContext searchContext, Query query, SegmentResultCache cache, boolean timeoutSet) throws Exception {
+        final ContextIndexSearcher searcher = searchContext.searcher();
+        final QuerySearchResult queryResult = searchContext.queryResult();
+        final List<InternalAggregations> segmentAggregations = new ArrayList<>();
+        final Weight[] weight = new Weight[1];
+        long hitCount = 0;
+        try {
+            for (LeafReaderContext segment : searcher.getIndexReader().leaves()) {
+                final StreamInput in = cache.getOrCompute(segment, out -> collect(searchContext, query, weight, segment, out));
+                final SegmentResult result = new SegmentResult(in);
+                hitCount += result.hitCount;
+                segmentAggregations.add(result.aggregations);
+            }
+        } catch (QueryPhase.TimeExceededException e) {
+            assert timeoutSet : "TimeExceededException thrown even though timeout wasn't set";
+            if (searchContext.request().allowPartialSearchResults() == false) {
+                // Can't rethrow TimeExceededException because not serializable
+                throw new QueryPhaseExecutionException(searchContext.shardTarget(), "Time exceeded");
+            }
+            queryResult.searchTimedOut(true);
+        }
+        if (segmentAggregations.isEmpty()) {
+            // timed out before the first segment completed, build the empty aggregations
+            final AggregatorFactories factories = searchContext.aggregations().factories();
+            segmentAggregations.add(buildAggregations(factories, factories.createTopLevelAggregators()));
+        }
+
+        final TotalHits totalHits;
+        if (searchContext.trackTotalHitsUpTo() == SearchContext.TRACK_TOTAL_HITS_DISABLED) {
+            // for bwc hit count is set to 0, it will be converted to -1 by the coordinating node
+            totalHits = new TotalHits(0, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO);
+        } else {
+            totalHits = new TotalHits(
+                hitCount,
+                queryResult.searchTimedOut() ? TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO : TotalHits.Relation.EQUAL_TO
+            );
+        }
+        final Sort sort = searchContext.sort() == null ? null : searchContext.sort().sort;
+        final TopDocs topDocs = sort == null
+            ? new TopDocs(totalHits, Lucene.EMPTY_SCORE_DOCS)
+            : new TopFieldDocs(totalHits, Lucene.EMPTY_SCORE_DOCS, sort.getSort());
+        queryResult.topDocs(new TopDocsAndMaxScore(topDocs, Float.NaN), null);
+        queryResult.aggregations(
+            InternalAggregations.topLevelReduce(segmentAggregations, searchContext.aggregations().partialReduceContext())
+        );
+    }
+
+    private static void collect(SearchContext searchContext, Query query, Weight[] weight, LeafReaderContext segment, StreamOutput out)
+        throws IOException {
+        // each segment has its own aggregation context, released as soon as the result of the segment is written
+        final AggregatorFactories factories = searchContext.aggregations().sliceFactories();
+        try {
+            final SegmentCollector segmentCollector = newCollector(factories);
+            // the weight is shared by all segments, it is created lazily since it isn't needed if all segments are cached
+            if (weight[0] == null) {
+                weight[0] = searchContext.searcher().createWeight(query, segmentCollector.collector.scoreMode(), 1f);
+            }
+            searchContext.searcher().search(List.of(segment), weight[0], segmentCollector.collector);
+            new SegmentResult(
+                segmentCollector.hitCountCollector.getTotalHits(),
+                buildAggregations(factories, segmentCollector.aggregators)
+            ).writeTo(out);
+        } finally {
+            Releasables.close(factories.context());
+        }
+    }
+
+    private static SegmentCollector newCollector(AggregatorFactories factories) throws IOException {
+        final Aggregator[] aggregators = factories.createTopLevelAggregators();
+        final BucketCollector bucketCollector = MultiBucketCollector.wrap(true, List.of(aggregators));
+        bucketCollector.preCollection();
+        final TotalHitCountCollector hitCountCollector = new TotalHitCountCollector();
+        return new SegmentCollector(MultiCollector.wrap(hitCountCollector, bucketCollector.asCollector()), hitCountCollector, aggregators);
+    }
+
+    private static InternalAggregations buildAggregations(AggregatorFactories factories, Aggregator[] aggregators) {
+        if (factories.context() != null) {
+            // the bucket limit applies to each aggregator tree, as it would to a shard collected at once
+            factories.context().multiBucketConsumer().reset();
+        }
+        final List<InternalAggregation> aggregations = new ArrayList<>(aggregators.length);
+        for (Aggregator aggregator : aggregators) {
+            try {
+                aggregator.postCollection();
+                aggregations.add(aggregator.buildTopLevel());
+            } catch (IOException e) {
+                throw new AggregationExecutionException("Failed to build aggregation [" + aggregator.name() + "]", e);
+            }
+        }
+        return InternalAggregations.from(aggregations);
+    }
+
+    private record SegmentCollector(Collector collector, TotalHitCountCollector hitCountCollector, Aggregator[] aggregators) {}
+
+    private record SegmentResult(long hitCount, InternalAggregations aggregations) implements Writeable {
+        SegmentResult(StreamInput in) throws IOException {
+            this(in.readVLong(), InternalAggregations.readFrom(in));
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(hitCount);
+            aggregations.writeTo(out);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.query;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.core.CheckedConsumer;
+
+import java.io.IOException;
+
+/**
+ * A cache of the query phase results of the individual segments of a shard for a given request.
+ */
+@FunctionalInterface
+public interface SegmentResultCache {
+
+    /**
+     * Returns the serialized query phase result of the provided segment, computing it with {@code loader} and caching it if
+     * it is not cached yet. Exceptions thrown by the loader are rethrown as is and the result is not cached.
+     */
+    StreamInput getOrCompute(LeafReaderContext segment, CheckedConsumer<StreamOutput, IOException> loader) throws Exception;
+}
@@ -88,6 +88,11 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         return false;
     }
 
+    /**
+     * Returns the top docs and max score collected by this context
+     */
+    abstract TopDocsAndMaxScore newTopDocs() throws IOException;
+
     static class EmptyTopDocsCollectorContext extends TopDocsCollectorContext {
         private final Sort sort;
         private final Collector collector;
@@ -143,7 +148,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         }
 
         @Override
-        void postProcess(QuerySearchResult result) {
+        TopDocsAndMaxScore newTopDocs() {
             final TotalHits totalHitCount = hitCountSupplier.get();
             final TopDocs topDocs;
             if (sort != null) {
@@ -151,7 +156,12 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             } else {
                 topDocs = new TopDocs(totalHitCount, Lucene.EMPTY_SCORE_DOCS);
             }
-            result.topDocs(new TopDocsAndMaxScore(topDocs, Float.NaN), null);
+            return new TopDocsAndMaxScore(topDocs, Float.NaN);
+        }
+
+        @Override
+        void postProcess(QuerySearchResult result) {
+            result.topDocs(newTopDocs(), null);
         }
     }
 
@@ -197,9 +207,14 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         }
 
         @Override
-        void postProcess(QuerySearchResult result) throws IOException {
+        TopDocsAndMaxScore newTopDocs() throws IOException {
             TopFieldGroups topDocs = topDocsCollector.getTopGroups(0);
-            result.topDocs(new TopDocsAndMaxScore(topDocs, maxScoreSupplier.get()), sortFmt);
+            return new TopDocsAndMaxScore(topDocs, maxScoreSupplier.get());
+        }
+
+        @Override
+        void postProcess(QuerySearchResult result) throws IOException {
+            result.topDocs(newTopDocs(), sortFmt);
         }
     }
 
@@ -302,6 +317,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             return collector;
         }
 
+        @Override
         TopDocsAndMaxScore newTopDocs() {
             TopDocs in = topDocsSupplier.get();
             float maxScore = maxScoreSupplier.get();
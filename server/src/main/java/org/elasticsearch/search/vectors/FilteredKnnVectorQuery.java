@@ -0,0 +1,282 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.vectors;
+
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.VectorEncoding;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.index.VectorValues;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.FieldExistsQuery;
+import org.apache.lucene.search.FilteredDocIdSetIterator;
+import org.apache.lucene.search.HitQueue;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.KnnVectorQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.ScorerSupplier;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.BitSet;
+import org.apache.lucene.util.BitSetIterator;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.VectorUtil;
+import org.elasticsearch.simdvec.ESVectorUtil;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import static org.apache.lucene.search.DocIdSetIterator.NO_MORE_DOCS;
+
+/**
+ * A kNN query with a filter that chooses, for every segment, between an approximate search of the HNSW graph and an
+ * exact search over the vectors of the documents that match the filter.
+ *
+ * Lucene's {@link KnnVectorQuery} only searches exactly when the filter matches fewer documents than the number of
+ * candidates, or when the graph search visits more nodes than the filter matches. With selective filters the graph
+ * search spends most of its time on nodes that the filter rejects, which is both slower and less accurate than scoring
+ * the filtered vectors directly. This query estimates the number of documents that the filter matches in each segment
+ * and searches exactly if there are at most {@code exactSearchThreshold} of them. The number of segments that were
+ * searched with each strategy is part of the description of the rewritten query, which the profile API reports.
+ */
+public class FilteredKnnVectorQuery extends Query {
+    private static final TopDocs NO_RESULTS = new TopDocs(new TotalHits(0, TotalHits.Relation.EQUAL_TO), new ScoreDoc[0]);
+
+    private final String field;
+    private final float[] target;
+    private final int k;
+    private final Query filter;
+    private final int exactSearchThreshold;
+
+    /**
+     * @param field the vector field to search
+     * @param target the query vector
+     * @param k the number of nearest neighbors to return
+     * @param filter the filter that documents must match
+     * @param exactSearchThreshold the number of documents matching the filter in a segment up to which the segment is
+     *     searched exactly
+     */
+    public FilteredKnnVectorQuery(String field, float[] target, int k, Query filter, int exactSearchThreshold) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1, got: " + k);
+        }
+        this.field = Objects.requireNonNull(field);
+        this.target = Objects.requireNonNull(target);
+        this.k = k;
+        this.filter = Objects.requireNonNull(filter);
+        this.exactSearchThreshold = exactSearchThreshold;
+    }
+
+    @Override
+    public Query rewrite(IndexReader reader) throws IOException {
+        IndexSearcher searcher = new IndexSearcher(reader);
+        searcher.setQueryCache(null);
+        BooleanQuery booleanQuery = new BooleanQuery.Builder().add(filter, BooleanClause.Occur.FILTER)
+            .add(new FieldExistsQuery(field), BooleanClause.Occur.FILTER)
+            .build();
+        Weight filterWeight = searcher.createWeight(searcher.rewrite(booleanQuery), ScoreMode.COMPLETE_NO_SCORES, 1f);
+
+        SearchStrategies strategies = new SearchStrategies();
+        List<LeafReaderContext> leaves = reader.leaves();
+        TopDocs[] perLeafResults = new TopDocs[leaves.size()];
+        for (LeafReaderContext ctx : leaves) {
+            TopDocs results = searchLeaf(ctx, filterWeight, strategies);
+            if (ctx.docBase > 0) {
+                for (ScoreDoc scoreDoc : results.scoreDocs) {
+                    scoreDoc.doc += ctx.docBase;
+                }
+            }
+            perLeafResults[ctx.ord] = results;
+        }
+        ScoreDoc[] topK = TopDocs.merge(k, perLeafResults).scoreDocs;
+        if (topK.length == 0) {
+            return new MatchNoDocsQuery();
+        }
+
+        Arrays.sort(topK, Comparator.comparingInt(scoreDoc -> scoreDoc.doc));
+        int[] docs = new int[topK.length];
+        float[] scores = new float[topK.length];
+        for (int i = 0; i < topK.length; i++) {
+            docs[i] = topK[i].doc;
+            scores[i] = topK[i].score;
+        }
+        return new KnnScoreDocQuery(
+            docs,
+            scores,
+            KnnScoreDocQuery.findSegmentStarts(reader, docs),
+            reader.getContext().id(),
+            "ScoreAndDocQuery" + strategies
+        );
+    }
+
+    private TopDocs searchLeaf(LeafReaderContext ctx, Weight filterWeight, SearchStrategies strategies) throws IOException {
+        ScorerSupplier scorerSupplier = filterWeight.scorerSupplier(ctx);
+        if (scorerSupplier == null) {
+            return NO_RESULTS;
+        }
+        Bits liveDocs = ctx.reader().getLiveDocs();
+        int threshold = Math.max(k, exactSearchThreshold);
+        if (scorerSupplier.cost() <= threshold) {
+            // the estimate is an upper bound for most filters, there is no need to build a bit set to know it's small enough
+            strategies.exact++;
+            return exactSearch(ctx, scorerSupplier.get(Long.MAX_VALUE).iterator(), liveDocs);
+        }
+
+        BitSet acceptDocs = createBitSet(scorerSupplier.get(Long.MAX_VALUE).iterator(), liveDocs, ctx.reader().maxDoc());
+        int cost = acceptDocs.cardinality();
+        if (cost <= threshold) {
+            strategies.exact++;
+            return exactSearch(ctx, new BitSetIterator(acceptDocs, cost), null);
+        }
+
+        // the graph search gives up once it visited more nodes than an exact search would score
+        TopDocs results = ctx.reader().searchNearestVectors(field, target, k, acceptDocs, cost);
+        if (results.totalHits.relation == TotalHits.Relation.EQUAL_TO) {
+            strategies.approximate++;
+            return results;
+        }
+        strategies.approximateFallback++;
+        return exactSearch(ctx, new BitSetIterator(acceptDocs, cost), null);
+    }
+
+    private static BitSet createBitSet(DocIdSetIterator iterator, Bits liveDocs, int maxDoc) throws IOException {
+        if (liveDocs == null && iterator instanceof BitSetIterator bitSetIterator) {
+            // the filter already built a bit set, e.g. when it comes from the query cache
+            return bitSetIterator.getBitSet();
+        }
+        DocIdSetIterator liveIterator = liveDocs == null ? iterator : new FilteredDocIdSetIterator(iterator) {
+            @Override
+            protected boolean match(int doc) {
+                return liveDocs.get(doc);
+            }
+        };
+        return BitSet.of(liveIterator, maxDoc);
+    }
+
+    private TopDocs exactSearch(LeafReaderContext ctx, DocIdSetIterator acceptIterator, Bits liveDocs) throws IOException {
+        FieldInfo fieldInfo = ctx.reader().getFieldInfos().fieldInfo(field);
+        VectorValues vectorValues = ctx.reader().getVectorValues(field);
+        if (fieldInfo == null || vectorValues == null) {
+            return NO_RESULTS;
+        }
+        VectorSimilarityFunction similarityFunction = fieldInfo.getVectorSimilarityFunction();
+        BytesRef binaryTarget = fieldInfo.getVectorEncoding() == VectorEncoding.BYTE ? VectorUtil.toBytesRef(target) : null;
+
+        HitQueue queue = new HitQueue(k, true);
+        ScoreDoc topDoc = queue.top();
+        int visited = 0;
+        for (int doc = acceptIterator.nextDoc(); doc != NO_MORE_DOCS; doc = acceptIterator.nextDoc()) {
+            if (liveDocs != null && liveDocs.get(doc) == false) {
+                continue;
+            }
+            if (vectorValues.docID() < doc) {
+                vectorValues.advance(doc);
+            }
+            if (vectorValues.docID() != doc) {
+                continue;
+            }
+            visited++;
+            float score = binaryTarget != null
+                ? similarityFunction.compare(binaryTarget, vectorValues.binaryValue())
+                : score(similarityFunction, target, vectorValues.vectorValue());
+            if (score > topDoc.score) {
+                topDoc.score = score;
+                topDoc.doc = doc;
+                topDoc = queue.updateTop();
+            }
+        }
+
+        // remove the sentinels the queue was pre-populated with
+        while (queue.size() > 0 && queue.top().score == Float.NEGATIVE_INFINITY) {
+            queue.pop();
+        }
+        ScoreDoc[] topScoreDocs = new ScoreDoc[queue.size()];
+        for (int i = topScoreDocs.length - 1; i >= 0; i--) {
+            topScoreDocs[i] = queue.pop();
+        }
+        return new TopDocs(new TotalHits(visited, TotalHits.Relation.EQUAL_TO), topScoreDocs);
+    }
+
+    /**
+     * Computes the same score as {@link VectorSimilarityFunction#compare(float[], float[])}, using the vectorized
+     * distance functions.
+     */
+    static float score(VectorSimilarityFunction similarityFunction, float[] query, float[] vector) {
+        return switch (similarityFunction) {
+            case EUCLIDEAN -> 1 / (1 + ESVectorUtil.squareDistance(query, vector));
+            case DOT_PRODUCT -> (1 + ESVectorUtil.dotProduct(query, vector)) / 2;
+            case COSINE -> {
+                double norms = (double) ESVectorUtil.dotProduct(query, query) * (double) ESVectorUtil.dotProduct(vector, vector);
+                yield (1 + (float) (ESVectorUtil.dotProduct(query, vector) / Math.sqrt(norms))) / 2;
+            }
+        };
+    }
+
+    @Override
+    public void visit(QueryVisitor visitor) {
+        if (visitor.acceptField(field)) {
+            visitor.visitLeaf(this);
+        }
+    }
+
+    @Override
+    public String toString(String field) {
+        return getClass().getSimpleName() + ":" + this.field + "[" + target[0] + ",...][" + k + "][" + filter + "]";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (sameClassAs(obj) == false) {
+            return false;
+        }
+        FilteredKnnVectorQuery other = (FilteredKnnVectorQuery) obj;
+        return field.equals(other.field)
+            && Arrays.equals(target, other.target)
+            && k == other.k
+            && filter.equals(other.filter)
+            && exactSearchThreshold == other.exactSearchThreshold;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classHash(), field, Arrays.hashCode(target), k, filter, exactSearchThreshold);
+    }
+
+    /**
+     * Counts the segments that were searched with each strategy.
+     */
+    private static class SearchStrategies {
+        int exact;
+        int approximate;
+        int approximateFallback;
+
+        @Override
+        public String toString() {
+            return "[exact_segments="
+                + exact
+                + ", approximate_segments="
+                + approximate
+                + ", fallback_segments="
+                + approximateFallback
+                + "]";
+        }
+    }
+}
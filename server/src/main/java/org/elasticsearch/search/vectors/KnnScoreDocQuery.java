@@ -38,6 +38,7 @@ class KnnScoreDocQuery extends Query {
     private final float[] scores;
     private final int[] segmentStarts;
     private final Object contextIdentity;
+    private final String description;
 
     /**
      * Creates a query.
@@ -52,10 +53,39 @@ class KnnScoreDocQuery extends Query {
      *     query
      */
     KnnScoreDocQuery(int[] docs, float[] scores, int[] segmentStarts, Object contextIdentity) {
+        this(docs, scores, segmentStarts, contextIdentity, "ScoreAndDocQuery");
+    }
+
+    /**
+     * Creates a query with a custom description, which is what the profile API reports for it.
+     */
+    KnnScoreDocQuery(int[] docs, float[] scores, int[] segmentStarts, Object contextIdentity, String description) {
         this.docs = docs;
         this.scores = scores;
         this.segmentStarts = segmentStarts;
         this.contextIdentity = contextIdentity;
+        this.description = description;
+    }
+
+    /**
+     * Computes the {@code segmentStarts} of the provided global doc IDs, which must be sorted in ascending order.
+     */
+    static int[] findSegmentStarts(IndexReader reader, int[] docs) {
+        int[] starts = new int[reader.leaves().size() + 1];
+        starts[starts.length - 1] = docs.length;
+        if (starts.length == 2) {
+            return starts;
+        }
+        int resultIndex = 0;
+        for (int i = 1; i < starts.length - 1; i++) {
+            int upper = reader.leaves().get(i).docBase;
+            resultIndex = Arrays.binarySearch(docs, resultIndex, docs.length, upper);
+            if (resultIndex < 0) {
+                resultIndex = -1 - resultIndex;
+            }
+            starts[i] = resultIndex;
+        }
+        return starts;
     }
 
     @Override
@@ -184,7 +214,7 @@ class KnnScoreDocQuery extends Query {
 
     @Override
     public String toString(String field) {
-        return "ScoreAndDocQuery";
+        return description;
     }
 
     @Override
@@ -161,7 +161,7 @@ public class KnnVectorQueryBuilder extends AbstractQueryBuilder<KnnVectorQueryBu
         Query filterQuery = booleanQuery.clauses().isEmpty() ? null : booleanQuery;
 
         DenseVectorFieldType vectorFieldType = (DenseVectorFieldType) fieldType;
-        return vectorFieldType.createKnnQuery(queryVector, numCands, filterQuery);
+        return vectorFieldType.createKnnQuery(queryVector, numCands, filterQuery, context.getIndexSettings().getKnnExactSearchThreshold());
     }
 
     @Override
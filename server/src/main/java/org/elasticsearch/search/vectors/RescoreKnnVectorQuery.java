@@ -0,0 +1,117 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.vectors;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreDoc;
+import org.elasticsearch.index.mapper.vectors.VectorEncoderDecoder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A kNN query over a field whose HNSW graph was built with quantized vectors. The nearest candidates are found
+ * by searching the graph with the provided (quantized) query, then their scores are recomputed with the raw
+ * float vectors stored in the binary doc values of the field.
+ */
+public class RescoreKnnVectorQuery extends Query {
+    private final String field;
+    private final float[] queryVector;
+    private final VectorSimilarityFunction similarityFunction;
+    private final int numCands;
+    private final Query innerQuery;
+
+    public RescoreKnnVectorQuery(
+        String field,
+        float[] queryVector,
+        VectorSimilarityFunction similarityFunction,
+        int numCands,
+        Query innerQuery
+    ) {
+        this.field = field;
+        this.queryVector = queryVector;
+        this.similarityFunction = similarityFunction;
+        this.numCands = numCands;
+        this.innerQuery = innerQuery;
+    }
+
+    @Override
+    public Query rewrite(IndexReader reader) throws IOException {
+        IndexSearcher searcher = new IndexSearcher(reader);
+        searcher.setQueryCache(null);
+        ScoreDoc[] scoreDocs = searcher.search(innerQuery, numCands).scoreDocs;
+        if (scoreDocs.length == 0) {
+            return new MatchNoDocsQuery();
+        }
+        Arrays.sort(scoreDocs, Comparator.comparingInt(scoreDoc -> scoreDoc.doc));
+
+        int[] docs = new int[scoreDocs.length];
+        float[] scores = new float[scoreDocs.length];
+        float[] vector = new float[queryVector.length];
+        List<LeafReaderContext> leaves = reader.leaves();
+        LeafReaderContext leaf = null;
+        BinaryDocValues values = null;
+        for (int i = 0; i < scoreDocs.length; i++) {
+            int doc = scoreDocs[i].doc;
+            if (leaf == null || doc >= leaf.docBase + leaf.reader().maxDoc()) {
+                leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+                values = leaf.reader().getBinaryDocValues(field);
+            }
+            docs[i] = doc;
+            if (values != null && values.advanceExact(doc - leaf.docBase)) {
+                VectorEncoderDecoder.decodeDenseVector(values.binaryValue(), vector);
+                scores[i] = similarityFunction.compare(queryVector, vector);
+            } else {
+                scores[i] = scoreDocs[i].score;
+            }
+        }
+        return new KnnScoreDocQuery(docs, scores, KnnScoreDocQuery.findSegmentStarts(reader, docs), reader.getContext().id());
+    }
+
+    @Override
+    public void visit(QueryVisitor visitor) {
+        if (visitor.acceptField(field)) {
+            visitor.visitLeaf(this);
+        }
+    }
+
+    @Override
+    public String toString(String field) {
+        return getClass().getSimpleName() + "[" + innerQuery.toString(field) + "]";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (sameClassAs(obj) == false) {
+            return false;
+        }
+        RescoreKnnVectorQuery other = (RescoreKnnVectorQuery) obj;
+        return field.equals(other.field)
+            && Arrays.equals(queryVector, other.queryVector)
+            && similarityFunction == other.similarityFunction
+            && numCands == other.numCands
+            && innerQuery.equals(other.innerQuery);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classHash(), field, Arrays.hashCode(queryVector), similarityFunction, numCands, innerQuery);
+    }
+}
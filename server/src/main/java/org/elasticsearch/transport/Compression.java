@@ -25,13 +25,21 @@ public class Compression {
 
     public enum Scheme {
         LZ4,
-        DEFLATE;
+        DEFLATE,
+        /**
+         * LZ4 blocks compressed with the high compression variant of LZ4, which spends more CPU time on the sending side to get a
+         * better compression ratio. Decompression is as fast as for {@link #LZ4}.
+         */
+        LZ4_HC;
 
         static final Version LZ4_VERSION = Version.V_7_14_0;
+        static final Version LZ4_HC_VERSION = Version.V_8_7_0;
         static final int HEADER_LENGTH = 4;
         private static final byte[] DEFLATE_HEADER = new byte[] { 'D', 'F', 'L', '\0' };
         private static final byte[] LZ4_HEADER = new byte[] { 'L', 'Z', '4', '\0' };
+        private static final byte[] LZ4_HC_HEADER = new byte[] { 'L', 'Z', '4', 'H' };
         private static final int LZ4_BLOCK_SIZE;
+        private static final int LZ4_HC_LEVEL;
         private static final boolean USE_FORKED_LZ4;
 
         static {
@@ -46,6 +54,17 @@ public class Compression {
                 LZ4_BLOCK_SIZE = 64 * 1024;
             }
 
+            String hcLevelString = System.getProperty("es.transport.compression.lz4_hc_level");
+            if (hcLevelString != null) {
+                int lz4HcLevel = Integer.parseInt(hcLevelString);
+                if (lz4HcLevel < 1 || lz4HcLevel > 17) {
+                    throw new IllegalArgumentException("lz4_hc_level must be >= 1 and <= 17");
+                }
+                LZ4_HC_LEVEL = lz4HcLevel;
+            } else {
+                LZ4_HC_LEVEL = 9;
+            }
+
             USE_FORKED_LZ4 = Booleans.parseBoolean(System.getProperty("es.compression.use_forked_lz4", "true"));
         }
 
@@ -67,6 +86,15 @@ public class Compression {
             }
         }
 
+        public static boolean isLZ4HighCompression(BytesReference bytes) {
+            byte firstByte = bytes.get(0);
+            if (firstByte != Scheme.LZ4_HC_HEADER[0]) {
+                return false;
+            } else {
+                return validateHeader(bytes, LZ4_HC_HEADER);
+            }
+        }
+
         private static boolean validateHeader(BytesReference bytes, byte[] header) {
             for (int i = 1; i < Compression.Scheme.HEADER_LENGTH; ++i) {
                 if (bytes.get(i) != header[i]) {
@@ -94,6 +122,12 @@ public class Compression {
             }
             return new ReuseBuffersLZ4BlockOutputStream(outputStream, LZ4_BLOCK_SIZE, lz4Compressor);
         }
+
+        public static OutputStream lz4HighCompressionOutputStream(OutputStream outputStream) throws IOException {
+            outputStream.write(LZ4_HC_HEADER);
+            LZ4Compressor lz4Compressor = LZ4Factory.safeInstance().highCompressor(LZ4_HC_LEVEL);
+            return new ReuseBuffersLZ4BlockOutputStream(outputStream, LZ4_BLOCK_SIZE, lz4Compressor);
+        }
     }
 
     public enum Enabled {
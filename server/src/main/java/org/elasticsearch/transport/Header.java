@@ -103,6 +103,15 @@ public class Header {
         }
     }
 
+    /**
+     * Completes the header of a response whose content, including the variable header, was discarded while it was received.
+     */
+    void skipVariableHeader() {
+        assert isRequest() == false;
+        this.headers = new Tuple<>(Map.of(), Map.of());
+        this.actionName = RESPONSE_NAME;
+    }
+
     void setCompressionScheme(Compression.Scheme compressionScheme) {
         assert isCompressed();
         this.compressionScheme = compressionScheme;
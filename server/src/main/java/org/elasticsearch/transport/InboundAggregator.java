@@ -20,24 +20,32 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 public class InboundAggregator implements Releasable {
 
+    private static final String RESPONSE_BREAKER_LABEL = "<transport_response>";
+
     private final Supplier<CircuitBreaker> circuitBreaker;
     private final Predicate<String> requestCanTripBreaker;
+    private final LongPredicate responseCanTripBreaker;
 
     private ReleasableBytesReference firstContent;
     private ArrayList<ReleasableBytesReference> contentAggregation;
     private Header currentHeader;
     private Exception aggregationException;
     private boolean canTripBreaker = true;
+    // the bytes of the response being aggregated that are accounted in the circuit breaker
+    private int reservedResponseBytes;
     private boolean isClosed = false;
 
     public InboundAggregator(
         Supplier<CircuitBreaker> circuitBreaker,
         Function<String, RequestHandlerRegistry<TransportRequest>> registryFunction,
+        LongFunction<String> responseActionFunction,
         boolean ignoreDeserializationErrors
     ) {
         this(circuitBreaker, (Predicate<String>) actionName -> {
@@ -48,13 +56,27 @@ public class InboundAggregator implements Releasable {
             } else {
                 return reg.canTripCircuitBreaker();
             }
+        }, requestId -> {
+            // a response can only trip the breaker if the request it answers could, so that the responses of actions like cluster
+            // coordination and recoveries are never rejected
+            final String actionName = responseActionFunction.apply(requestId);
+            if (actionName == null) {
+                return false;
+            }
+            final RequestHandlerRegistry<TransportRequest> reg = registryFunction.apply(actionName);
+            return reg != null && reg.canTripCircuitBreaker();
         });
     }
 
     // Visible for testing
-    InboundAggregator(Supplier<CircuitBreaker> circuitBreaker, Predicate<String> requestCanTripBreaker) {
+    InboundAggregator(
+        Supplier<CircuitBreaker> circuitBreaker,
+        Predicate<String> requestCanTripBreaker,
+        LongPredicate responseCanTripBreaker
+    ) {
         this.circuitBreaker = circuitBreaker;
         this.requestCanTripBreaker = requestCanTripBreaker;
+        this.responseCanTripBreaker = responseCanTripBreaker;
     }
 
     public void headerReceived(Header header) {
@@ -64,6 +86,8 @@ public class InboundAggregator implements Releasable {
         currentHeader = header;
         if (currentHeader.isRequest() && currentHeader.needsToReadVariableHeader() == false) {
             initializeRequestState();
+        } else if (currentHeader.isRequest() == false) {
+            canTripBreaker = currentHeader.isHandshake() == false && responseCanTripBreaker.test(currentHeader.getRequestId());
         }
     }
 
@@ -77,6 +101,9 @@ public class InboundAggregator implements Releasable {
     public void aggregate(ReleasableBytesReference content) {
         ensureOpen();
         assert isAggregating();
+        if (isShortCircuited() == false && currentHeader.isRequest() == false) {
+            reserveResponseBytes(content.length());
+        }
         if (isShortCircuited() == false) {
             if (isFirstContent()) {
                 firstContent = content.retain();
@@ -92,6 +119,28 @@ public class InboundAggregator implements Releasable {
         }
     }
 
+    /**
+     * Accounts the bytes of a response as they arrive. If the breaker trips then the content received so far is released, the rest
+     * of the response is discarded as it arrives and the response handler is failed once the message is complete.
+     */
+    private void reserveResponseBytes(int bytes) {
+        if (canTripBreaker == false) {
+            circuitBreaker.get().addWithoutBreaking(bytes);
+            reservedResponseBytes += bytes;
+            return;
+        }
+        try {
+            circuitBreaker.get().addEstimateBytesAndMaybeBreak(bytes, RESPONSE_BREAKER_LABEL);
+            reservedResponseBytes += bytes;
+        } catch (CircuitBreakingException e) {
+            releaseContent();
+            firstContent = null;
+            contentAggregation = null;
+            reservedResponseBytes = 0;
+            shortCircuit(e);
+        }
+    }
+
     public InboundMessage finishAggregation() throws IOException {
         ensureOpen();
         final ReleasableBytesReference releasableContent;
@@ -107,9 +156,17 @@ public class InboundAggregator implements Releasable {
 
         final BreakerControl breakerControl = new BreakerControl(circuitBreaker);
         final InboundMessage aggregated = new InboundMessage(currentHeader, releasableContent, breakerControl);
+        if (reservedResponseBytes > 0) {
+            // the bytes of the response are released with the message
+            breakerControl.setReservedBytes(reservedResponseBytes);
+            reservedResponseBytes = 0;
+        }
         boolean success = false;
         try {
-            if (aggregated.getHeader().needsToReadVariableHeader()) {
+            if (aggregated.getHeader().needsToReadVariableHeader() && isShortCircuited() && aggregated.getHeader().isRequest() == false) {
+                // the variable header was discarded with the rest of the response, but the handler can still be failed
+                aggregated.getHeader().skipVariableHeader();
+            } else if (aggregated.getHeader().needsToReadVariableHeader()) {
                 aggregated.getHeader().finishParsingHeader(aggregated.openOrGetStreamInput());
                 if (aggregated.getHeader().isRequest()) {
                     initializeRequestState();
@@ -168,6 +225,9 @@ public class InboundAggregator implements Releasable {
         } else {
             Releasables.close(contentAggregation);
         }
+        if (reservedResponseBytes > 0) {
+            circuitBreaker.get().addWithoutBreaking(-reservedResponseBytes);
+        }
     }
 
     private void resetCurrentAggregation() {
@@ -176,6 +236,7 @@ public class InboundAggregator implements Releasable {
         currentHeader = null;
         aggregationException = null;
         canTripBreaker = true;
+        reservedResponseBytes = 0;
     }
 
     private void ensureOpen() {
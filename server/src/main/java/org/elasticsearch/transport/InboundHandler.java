@@ -115,10 +115,8 @@ public class InboundHandler {
             threadContext.setHeaders(header.getHeaders());
             threadContext.putTransient("_remote_address", remoteAddress);
             if (isRequest) {
-                handleRequest(channel, header, message);
+                handleRequest(channel, header, message, startTime);
             } else {
-                // Responses do not support short circuiting currently
-                assert message.isShortCircuit() == false;
                 long requestId = header.getRequestId();
                 if (header.isHandshake()) {
                     responseHandler = handshaker.removeHandlerForHandshake(requestId);
@@ -135,7 +133,10 @@ public class InboundHandler {
                 }
                 // ignore if its null, the service logs it
                 if (responseHandler != null) {
-                    if (message.getContentLength() > 0 || header.getVersion().equals(Version.CURRENT) == false) {
+                    if (message.isShortCircuit()) {
+                        // the response was discarded while it was received because it would have tripped the circuit breaker
+                        handleException(responseHandler, new TransportException(message.getException()));
+                    } else if (message.getContentLength() > 0 || header.getVersion().equals(Version.CURRENT) == false) {
                         final StreamInput streamInput = namedWriteableStream(message.openOrGetStreamInput());
                         assertRemoteVersion(streamInput, header.getVersion());
                         if (header.isError()) {
@@ -194,7 +195,8 @@ public class InboundHandler {
         }
     }
 
-    private <T extends TransportRequest> void handleRequest(TcpChannel channel, Header header, InboundMessage message) throws IOException {
+    private <T extends TransportRequest> void handleRequest(TcpChannel channel, Header header, InboundMessage message, long startTime)
+        throws IOException {
         final String action = header.getActionName();
         final long requestId = header.getRequestId();
         final Version version = header.getVersion();
@@ -212,7 +214,8 @@ public class InboundHandler {
                 version,
                 header.getCompressionScheme(),
                 header.isHandshake(),
-                message.takeBreakerReleaseControl()
+                message.takeBreakerReleaseControl(),
+                null
             );
             try {
                 handshaker.handleHandshake(transportChannel, requestId, stream);
@@ -232,6 +235,12 @@ public class InboundHandler {
                 }
             }
         } else {
+            // the handler is null if the action doesn't exist, in which case the message is short-circuited
+            final RequestHandlerRegistry<T> reg = requestHandlers.getHandler(action);
+            final TransportActionStatsTracker actionStats = reg == null ? null : reg.getStatsTracker();
+            if (actionStats != null) {
+                actionStats.addRequest(TcpHeader.BYTES_REQUIRED_FOR_MESSAGE_SIZE + header.getNetworkMessageSize());
+            }
             final TransportChannel transportChannel = new TcpTransportChannel(
                 outboundHandler,
                 channel,
@@ -240,7 +249,8 @@ public class InboundHandler {
                 version,
                 header.getCompressionScheme(),
                 header.isHandshake(),
-                message.takeBreakerReleaseControl()
+                message.takeBreakerReleaseControl(),
+                actionStats
             );
             try {
                 messageListener.onRequestReceived(requestId, action);
@@ -249,7 +259,6 @@ public class InboundHandler {
                 } else {
                     final StreamInput stream = namedWriteableStream(message.openOrGetStreamInput());
                     assertRemoteVersion(stream, header.getVersion());
-                    final RequestHandlerRegistry<T> reg = requestHandlers.getHandler(action);
                     assert reg != null;
                     final T request;
                     try {
@@ -280,6 +289,7 @@ public class InboundHandler {
                         if (ThreadPool.Names.SAME.equals(executor)) {
                             try (var ignored = threadPool.getThreadContext().newTraceContext()) {
                                 try {
+                                    actionStats.addQueueTime(threadPool.rawRelativeTimeInMillis() - startTime);
                                     reg.processMessageReceived(request, transportChannel);
                                 } catch (Exception e) {
                                     sendErrorResponse(reg.getAction(), transportChannel, e);
@@ -293,6 +303,7 @@ public class InboundHandler {
                                     .execute(threadPool.getThreadContext().preserveContextWithTracing(new AbstractRunnable() {
                                         @Override
                                         protected void doRun() throws Exception {
+                                            actionStats.addQueueTime(threadPool.rawRelativeTimeInMillis() - startTime);
                                             reg.processMessageReceived(request, transportChannel);
                                         }
 
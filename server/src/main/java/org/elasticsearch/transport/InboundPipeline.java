@@ -22,6 +22,7 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
@@ -46,6 +47,7 @@ public class InboundPipeline implements Releasable {
         LongSupplier relativeTimeInMillis,
         Supplier<CircuitBreaker> circuitBreaker,
         Function<String, RequestHandlerRegistry<TransportRequest>> registryFunction,
+        LongFunction<String> responseActionFunction,
         BiConsumer<TcpChannel, InboundMessage> messageHandler,
         boolean ignoreDeserializationErrors
     ) {
@@ -53,7 +55,7 @@ public class InboundPipeline implements Releasable {
             statsTracker,
             relativeTimeInMillis,
             new InboundDecoder(version, recycler),
-            new InboundAggregator(circuitBreaker, registryFunction, ignoreDeserializationErrors),
+            new InboundAggregator(circuitBreaker, registryFunction, responseActionFunction, ignoreDeserializationErrors),
             messageHandler
         );
     }
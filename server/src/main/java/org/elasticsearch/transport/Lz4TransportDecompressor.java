@@ -104,6 +104,7 @@ public class Lz4TransportDecompressor implements TransportDecompressor {
      */
     private int decompressedLength;
 
+    private final Compression.Scheme scheme;
     private final Recycler<BytesRef> recycler;
     private final ArrayDeque<Recycler.V<BytesRef>> pages;
     private int pageOffset = 0;
@@ -111,6 +112,16 @@ public class Lz4TransportDecompressor implements TransportDecompressor {
     private boolean hasSkippedESHeader = false;
 
     public Lz4TransportDecompressor(Recycler<BytesRef> recycler) {
+        this(recycler, Compression.Scheme.LZ4);
+    }
+
+    /**
+     * Creates a decompressor for a stream compressed with the given scheme. Both {@link Compression.Scheme#LZ4} and
+     * {@link Compression.Scheme#LZ4_HC} write the same block format, they only differ in their header.
+     */
+    public Lz4TransportDecompressor(Recycler<BytesRef> recycler, Compression.Scheme scheme) {
+        assert scheme == Compression.Scheme.LZ4 || scheme == Compression.Scheme.LZ4_HC : scheme;
+        this.scheme = scheme;
         this.decompressor = Compression.Scheme.lz4Decompressor();
         this.recycler = recycler;
         this.pages = new ArrayDeque<>(4);
@@ -139,7 +150,7 @@ public class Lz4TransportDecompressor implements TransportDecompressor {
 
     @Override
     public Compression.Scheme getScheme() {
-        return Compression.Scheme.LZ4;
+        return scheme;
     }
 
     @Override
@@ -64,6 +64,10 @@ public abstract class NetworkMessage {
     }
 
     private static Compression.Scheme adjustedScheme(Version version, Compression.Scheme compressionScheme) {
+        if (compressionScheme == Compression.Scheme.LZ4_HC && version.before(Compression.Scheme.LZ4_HC_VERSION)) {
+            // older nodes do not know the LZ4_HC header but can still read the plain LZ4 block format
+            compressionScheme = Compression.Scheme.LZ4;
+        }
         return compressionScheme == Compression.Scheme.LZ4 && version.before(Compression.Scheme.LZ4_VERSION) ? null : compressionScheme;
     }
 }
@@ -70,7 +70,7 @@ final class OutboundHandler {
     }
 
     void sendBytes(TcpChannel channel, BytesReference bytes, ActionListener<Void> listener) {
-        internalSend(channel, bytes, null, listener);
+        internalSend(channel, bytes, null, statsTracker.pendingRequestWrites(TransportRequestOptions.Type.PING), listener);
     }
 
     /**
@@ -102,7 +102,7 @@ final class OutboundHandler {
             assert false : "request [" + request + "] has been released already";
             throw new AlreadyClosedException("request [" + request + "] has been released already");
         }
-        sendMessage(channel, message, () -> {
+        sendMessage(channel, message, statsTracker.pendingRequestWrites(options.type()), null, () -> {
             try {
                 messageListener.onRequestSent(node, requestId, action, request, options);
             } finally {
@@ -115,7 +115,7 @@ final class OutboundHandler {
      * Sends the response to the given channel. This method should be used to send {@link TransportResponse}
      * objects back to the caller.
      *
-     * @see #sendErrorResponse(Version, TcpChannel, long, String, Exception) for sending error responses
+     * @see #sendErrorResponse(Version, TcpChannel, long, String, Exception, TransportActionStatsTracker) for sending error responses
      */
     void sendResponse(
         final Version nodeVersion,
@@ -124,7 +124,8 @@ final class OutboundHandler {
         final String action,
         final TransportResponse response,
         final Compression.Scheme compressionScheme,
-        final boolean isHandshake
+        final boolean isHandshake,
+        @Nullable final TransportActionStatsTracker actionStats
     ) throws IOException {
         Version version = Version.min(this.version, nodeVersion);
         OutboundMessage.Response message = new OutboundMessage.Response(
@@ -135,7 +136,7 @@ final class OutboundHandler {
             isHandshake,
             compressionScheme
         );
-        sendMessage(channel, message, () -> {
+        sendMessage(channel, message, statsTracker.pendingResponseWrites(), actionStats, () -> {
             try {
                 messageListener.onResponseSent(requestId, action, response);
             } finally {
@@ -152,15 +153,28 @@ final class OutboundHandler {
         final TcpChannel channel,
         final long requestId,
         final String action,
-        final Exception error
+        final Exception error,
+        @Nullable final TransportActionStatsTracker actionStats
     ) throws IOException {
         Version version = Version.min(this.version, nodeVersion);
         RemoteTransportException tx = new RemoteTransportException(nodeName, channel.getLocalAddress(), action, error);
         OutboundMessage.Response message = new OutboundMessage.Response(threadPool.getThreadContext(), tx, version, requestId, false, null);
-        sendMessage(channel, message, () -> messageListener.onResponseSent(requestId, action, error));
+        sendMessage(
+            channel,
+            message,
+            statsTracker.pendingResponseWrites(),
+            actionStats,
+            () -> messageListener.onResponseSent(requestId, action, error)
+        );
     }
 
-    private void sendMessage(TcpChannel channel, OutboundMessage networkMessage, Releasable onAfter) throws IOException {
+    private void sendMessage(
+        TcpChannel channel,
+        OutboundMessage networkMessage,
+        StatsTracker.PendingWrites pendingWrites,
+        @Nullable TransportActionStatsTracker actionStats,
+        Releasable onAfter
+    ) throws IOException {
         final RecyclerBytesStreamOutput byteStreamOutput;
         boolean bufferSuccess = false;
         try {
@@ -175,7 +189,11 @@ final class OutboundHandler {
         final BytesReference message;
         boolean serializeSuccess = false;
         try {
+            final long startTime = threadPool.rawRelativeTimeInMillis();
             message = networkMessage.serialize(byteStreamOutput);
+            if (actionStats != null) {
+                actionStats.addResponse(message.length(), threadPool.rawRelativeTimeInMillis() - startTime);
+            }
             serializeSuccess = true;
         } catch (Exception e) {
             logger.warn(() -> "failed to serialize outbound message [" + networkMessage + "]", e);
@@ -185,24 +203,28 @@ final class OutboundHandler {
                 release.close();
             }
         }
-        internalSend(channel, message, networkMessage, ActionListener.wrap(release::close));
+        internalSend(channel, message, networkMessage, pendingWrites, ActionListener.wrap(release::close));
     }
 
     private void internalSend(
         TcpChannel channel,
         BytesReference reference,
         @Nullable OutboundMessage message,
+        StatsTracker.PendingWrites pendingWrites,
         ActionListener<Void> listener
     ) {
         final long startTime = threadPool.rawRelativeTimeInMillis();
         channel.getChannelStats().markAccessed(startTime);
         final long messageSize = reference.length();
         TransportLogger.logOutboundMessage(channel, reference);
+        pendingWrites.add(messageSize);
+        final Releasable removePendingWrite = Releasables.releaseOnce(() -> pendingWrites.remove(messageSize));
         // stash thread context so that channel event loop is not polluted by thread context
         try (ThreadContext.StoredContext existing = threadPool.getThreadContext().stashContext()) {
             channel.sendMessage(reference, new ActionListener<>() {
                 @Override
                 public void onResponse(Void v) {
+                    removePendingWrite.close();
                     statsTracker.markBytesWritten(messageSize);
                     listener.onResponse(v);
                     maybeLogSlowMessage(true);
@@ -210,6 +232,7 @@ final class OutboundHandler {
 
                 @Override
                 public void onFailure(Exception e) {
+                    removePendingWrite.close();
                     final Level closeConnectionExceptionLevel = NetworkExceptionHelper.getCloseConnectionExceptionLevel(e, rstOnClose);
                     if (closeConnectionExceptionLevel == Level.OFF) {
                         logger.warn(() -> "send message failed [channel: " + channel + "]", e);
@@ -243,6 +266,7 @@ final class OutboundHandler {
                 }
             });
         } catch (RuntimeException ex) {
+            removePendingWrite.close();
             Releasables.closeExpectNoException(() -> listener.onFailure(ex), () -> CloseableChannel.closeChannel(channel));
             throw ex;
         }
@@ -99,6 +99,8 @@ abstract class OutboundMessage extends NetworkMessage {
             );
         } else if (compressionScheme == Compression.Scheme.LZ4) {
             return new OutputStreamStreamOutput(Compression.Scheme.lz4OutputStream(Streams.noCloseStream(bytesStream)));
+        } else if (compressionScheme == Compression.Scheme.LZ4_HC) {
+            return new OutputStreamStreamOutput(Compression.Scheme.lz4HighCompressionOutputStream(Streams.noCloseStream(bytesStream)));
         } else {
             throw new IllegalArgumentException("Invalid compression scheme: " + compressionScheme);
         }
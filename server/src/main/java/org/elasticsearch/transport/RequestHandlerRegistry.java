@@ -12,6 +12,7 @@ import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.tasks.CancellableTask;
 import org.elasticsearch.tasks.Task;
 import org.elasticsearch.tasks.TaskManager;
@@ -29,6 +30,7 @@ public class RequestHandlerRegistry<Request extends TransportRequest> {
     private final TaskManager taskManager;
     private final Tracer tracer;
     private final Writeable.Reader<Request> requestReader;
+    private final TransportActionStatsTracker statsTracker;
 
     public RequestHandlerRegistry(
         String action,
@@ -39,6 +41,30 @@ public class RequestHandlerRegistry<Request extends TransportRequest> {
         boolean forceExecution,
         boolean canTripCircuitBreaker,
         Tracer tracer
+    ) {
+        this(
+            action,
+            requestReader,
+            taskManager,
+            handler,
+            executor,
+            forceExecution,
+            canTripCircuitBreaker,
+            tracer,
+            new TransportActionStatsTracker()
+        );
+    }
+
+    private RequestHandlerRegistry(
+        String action,
+        Writeable.Reader<Request> requestReader,
+        TaskManager taskManager,
+        TransportRequestHandler<Request> handler,
+        String executor,
+        boolean forceExecution,
+        boolean canTripCircuitBreaker,
+        Tracer tracer,
+        TransportActionStatsTracker statsTracker
     ) {
         this.action = action;
         this.requestReader = requestReader;
@@ -48,6 +74,7 @@ public class RequestHandlerRegistry<Request extends TransportRequest> {
         this.executor = executor;
         this.taskManager = taskManager;
         this.tracer = tracer;
+        this.statsTracker = statsTracker;
     }
 
     public String getAction() {
@@ -62,6 +89,14 @@ public class RequestHandlerRegistry<Request extends TransportRequest> {
         final Task task = taskManager.register(channel.getChannelType(), action, request);
         Releasable unregisterTask = () -> taskManager.unregister(task);
         try {
+            if (channel instanceof TcpTransportChannel) {
+                // the task is unregistered when the response is sent
+                final long startTimeNanos = task.getStartTimeNanos();
+                unregisterTask = Releasables.wrap(
+                    unregisterTask,
+                    () -> statsTracker.addHandlingTime(TimeValue.nsecToMSec(System.nanoTime() - startTimeNanos))
+                );
+            }
             if (channel instanceof TcpTransportChannel && task instanceof CancellableTask) {
                 final TcpChannel tcpChannel = ((TcpTransportChannel) channel).getChannel();
                 final Releasable stopTracking = taskManager.startTrackingCancellableChannelTask(tcpChannel, (CancellableTask) task);
@@ -91,6 +126,10 @@ public class RequestHandlerRegistry<Request extends TransportRequest> {
         return handler;
     }
 
+    public TransportActionStatsTracker getStatsTracker() {
+        return statsTracker;
+    }
+
     @Override
     public String toString() {
         return handler.toString();
@@ -108,7 +147,8 @@ public class RequestHandlerRegistry<Request extends TransportRequest> {
             registry.executor,
             registry.forceExecution,
             registry.canTripCircuitBreaker,
-            registry.tracer
+            registry.tracer,
+            registry.statsTracker
         );
     }
 }
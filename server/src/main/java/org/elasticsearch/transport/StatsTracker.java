@@ -10,6 +10,10 @@ package org.elasticsearch.transport;
 
 import org.elasticsearch.common.metrics.MeanMetric;
 
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.LongAdder;
 
 public class StatsTracker {
@@ -17,6 +21,15 @@ public class StatsTracker {
     private final LongAdder bytesRead = new LongAdder();
     private final LongAdder messagesReceived = new LongAdder();
     private final MeanMetric writeBytesMetric = new MeanMetric();
+    // messages that were passed to their channel but aren't fully written yet, by type of request and for all responses
+    private final Map<TransportRequestOptions.Type, PendingWrites> pendingRequestWrites = new EnumMap<>(TransportRequestOptions.Type.class);
+    private final PendingWrites pendingResponseWrites = new PendingWrites();
+
+    public StatsTracker() {
+        for (TransportRequestOptions.Type type : TransportRequestOptions.Type.values()) {
+            pendingRequestWrites.put(type, new PendingWrites());
+        }
+    }
 
     public void markBytesRead(long bytesReceived) {
         bytesRead.add(bytesReceived);
@@ -45,4 +58,44 @@ public class StatsTracker {
     public long getMessagesSent() {
         return writeBytesMetric.count();
     }
+
+    PendingWrites pendingRequestWrites(TransportRequestOptions.Type type) {
+        return pendingRequestWrites.get(type);
+    }
+
+    PendingWrites pendingResponseWrites() {
+        return pendingResponseWrites;
+    }
+
+    /**
+     * Returns the number and size of the messages that are waiting to be written, for each type of request and for responses.
+     */
+    public Map<String, TransportStats.OutboundQueue> getOutboundQueues() {
+        final Map<String, TransportStats.OutboundQueue> queues = new TreeMap<>();
+        for (Map.Entry<TransportRequestOptions.Type, PendingWrites> entry : pendingRequestWrites.entrySet()) {
+            queues.put(entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue().toStats());
+        }
+        queues.put(TransportStats.OutboundQueue.RESPONSES, pendingResponseWrites.toStats());
+        return queues;
+    }
+
+    static final class PendingWrites {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        void add(long messageSize) {
+            count.increment();
+            bytes.add(messageSize);
+        }
+
+        void remove(long messageSize) {
+            count.decrement();
+            bytes.add(-messageSize);
+        }
+
+        TransportStats.OutboundQueue toStats() {
+            // the two sums aren't read atomically, don't report negative values if a write completed in between
+            return new TransportStats.OutboundQueue(Math.max(0L, count.sum()), Math.max(0L, bytes.sum()));
+        }
+    }
 }
@@ -9,6 +9,7 @@
 package org.elasticsearch.transport;
 
 import org.elasticsearch.Version;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 
 import java.io.IOException;
@@ -25,6 +26,8 @@ public final class TcpTransportChannel implements TransportChannel {
     private final Compression.Scheme compressionScheme;
     private final boolean isHandshake;
     private final Releasable breakerRelease;
+    @Nullable
+    private final TransportActionStatsTracker actionStats;
 
     TcpTransportChannel(
         OutboundHandler outboundHandler,
@@ -34,7 +37,8 @@ public final class TcpTransportChannel implements TransportChannel {
         Version version,
         Compression.Scheme compressionScheme,
         boolean isHandshake,
-        Releasable breakerRelease
+        Releasable breakerRelease,
+        @Nullable TransportActionStatsTracker actionStats
     ) {
         this.version = version;
         this.channel = channel;
@@ -44,6 +48,7 @@ public final class TcpTransportChannel implements TransportChannel {
         this.compressionScheme = compressionScheme;
         this.isHandshake = isHandshake;
         this.breakerRelease = breakerRelease;
+        this.actionStats = actionStats;
     }
 
     @Override
@@ -54,7 +59,7 @@ public final class TcpTransportChannel implements TransportChannel {
     @Override
     public void sendResponse(TransportResponse response) throws IOException {
         try {
-            outboundHandler.sendResponse(version, channel, requestId, action, response, compressionScheme, isHandshake);
+            outboundHandler.sendResponse(version, channel, requestId, action, response, compressionScheme, isHandshake, actionStats);
         } finally {
             release(false);
         }
@@ -63,7 +68,7 @@ public final class TcpTransportChannel implements TransportChannel {
     @Override
     public void sendResponse(Exception exception) throws IOException {
         try {
-            outboundHandler.sendErrorResponse(version, channel, requestId, action, exception);
+            outboundHandler.sendErrorResponse(version, channel, requestId, action, exception, actionStats);
         } finally {
             release(true);
         }
@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
@@ -198,6 +199,14 @@ public interface Transport extends LifecycleComponent {
             return handlers.containsKey(requestId);
         }
 
+        /**
+         * Returns the action of the request with the given ID or <code>null</code> if no context is associated with this request ID.
+         */
+        public String getAction(long requestId) {
+            final ResponseContext<? extends TransportResponse> context = handlers.get(requestId);
+            return context == null ? null : context.action();
+        }
+
         /**
          * Removes and return the {@link ResponseContext} for the given request ID or returns
          * <code>null</code> if no context is associated with this request ID.
@@ -283,5 +292,18 @@ public interface Transport extends LifecycleComponent {
         public <T extends TransportRequest> RequestHandlerRegistry<T> getHandler(String action) {
             return (RequestHandlerRegistry<T>) requestHandlers.get(action);
         }
+
+        /**
+         * Returns the statistics of the actions that received requests, by action name.
+         */
+        public Map<String, TransportActionStats> getStats() {
+            final Map<String, TransportActionStats> stats = new HashMap<>();
+            for (RequestHandlerRegistry<? extends TransportRequest> registry : requestHandlers.values()) {
+                if (registry.getStatsTracker().hasRequests()) {
+                    stats.put(registry.getAction(), registry.getStatsTracker().getStats());
+                }
+            }
+            return stats;
+        }
     }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.network.HandlingTimeTracker;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.xcontent.ToXContentObject;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Statistics about the requests that a node received for a transport action and the responses that it sent back, see
+ * {@link TransportActionStatsTracker}.
+ */
+public final class TransportActionStats implements Writeable, ToXContentObject {
+
+    private final long requestCount;
+    private final long totalRequestSize;
+    private final long[] requestSizeHistogram;
+    private final long responseCount;
+    private final long totalResponseSize;
+    private final long[] responseSizeHistogram;
+    private final long[] queueTimeHistogram;
+    private final long[] handlingTimeHistogram;
+    private final long[] serializationTimeHistogram;
+
+    public TransportActionStats(
+        long requestCount,
+        long totalRequestSize,
+        long[] requestSizeHistogram,
+        long responseCount,
+        long totalResponseSize,
+        long[] responseSizeHistogram,
+        long[] queueTimeHistogram,
+        long[] handlingTimeHistogram,
+        long[] serializationTimeHistogram
+    ) {
+        assert requestSizeHistogram.length == TransportActionStatsTracker.SIZE_BUCKET_COUNT;
+        assert responseSizeHistogram.length == TransportActionStatsTracker.SIZE_BUCKET_COUNT;
+        assert queueTimeHistogram.length == HandlingTimeTracker.BUCKET_COUNT;
+        assert handlingTimeHistogram.length == HandlingTimeTracker.BUCKET_COUNT;
+        assert serializationTimeHistogram.length == HandlingTimeTracker.BUCKET_COUNT;
+        this.requestCount = requestCount;
+        this.totalRequestSize = totalRequestSize;
+        this.requestSizeHistogram = requestSizeHistogram;
+        this.responseCount = responseCount;
+        this.totalResponseSize = totalResponseSize;
+        this.responseSizeHistogram = responseSizeHistogram;
+        this.queueTimeHistogram = queueTimeHistogram;
+        this.handlingTimeHistogram = handlingTimeHistogram;
+        this.serializationTimeHistogram = serializationTimeHistogram;
+    }
+
+    public TransportActionStats(StreamInput in) throws IOException {
+        requestCount = in.readVLong();
+        totalRequestSize = in.readVLong();
+        requestSizeHistogram = in.readVLongArray();
+        responseCount = in.readVLong();
+        totalResponseSize = in.readVLong();
+        responseSizeHistogram = in.readVLongArray();
+        queueTimeHistogram = in.readVLongArray();
+        handlingTimeHistogram = in.readVLongArray();
+        serializationTimeHistogram = in.readVLongArray();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(requestCount);
+        out.writeVLong(totalRequestSize);
+        out.writeVLongArray(requestSizeHistogram);
+        out.writeVLong(responseCount);
+        out.writeVLong(totalResponseSize);
+        out.writeVLongArray(responseSizeHistogram);
+        out.writeVLongArray(queueTimeHistogram);
+        out.writeVLongArray(handlingTimeHistogram);
+        out.writeVLongArray(serializationTimeHistogram);
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getTotalRequestSize() {
+        return totalRequestSize;
+    }
+
+    public long[] getRequestSizeHistogram() {
+        return Arrays.copyOf(requestSizeHistogram, requestSizeHistogram.length);
+    }
+
+    public long getResponseCount() {
+        return responseCount;
+    }
+
+    public long getTotalResponseSize() {
+        return totalResponseSize;
+    }
+
+    public long[] getResponseSizeHistogram() {
+        return Arrays.copyOf(responseSizeHistogram, responseSizeHistogram.length);
+    }
+
+    public long[] getQueueTimeHistogram() {
+        return Arrays.copyOf(queueTimeHistogram, queueTimeHistogram.length);
+    }
+
+    public long[] getHandlingTimeHistogram() {
+        return Arrays.copyOf(handlingTimeHistogram, handlingTimeHistogram.length);
+    }
+
+    public long[] getSerializationTimeHistogram() {
+        return Arrays.copyOf(serializationTimeHistogram, serializationTimeHistogram.length);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        messagesToXContent(builder, Fields.REQUESTS, requestCount, totalRequestSize, requestSizeHistogram);
+        messagesToXContent(builder, Fields.RESPONSES, responseCount, totalResponseSize, responseSizeHistogram);
+        // the buckets that are empty are omitted, there can be many actions
+        TransportStats.histogramToXContent(builder, queueTimeHistogram, Fields.QUEUE_TIME_HISTOGRAM, true);
+        TransportStats.histogramToXContent(builder, handlingTimeHistogram, Fields.HANDLING_TIME_HISTOGRAM, true);
+        TransportStats.histogramToXContent(builder, serializationTimeHistogram, Fields.SERIALIZATION_TIME_HISTOGRAM, true);
+        return builder.endObject();
+    }
+
+    private static void messagesToXContent(XContentBuilder builder, String fieldName, long count, long totalSize, long[] histogram)
+        throws IOException {
+        builder.startObject(fieldName);
+        builder.field(Fields.COUNT, count);
+        builder.humanReadableField(Fields.TOTAL_SIZE_IN_BYTES, Fields.TOTAL_SIZE, ByteSizeValue.ofBytes(totalSize));
+        final long[] bucketBounds = TransportActionStatsTracker.getSizeBucketUpperBounds();
+        assert histogram.length == bucketBounds.length + 1;
+        builder.startArray(Fields.SIZE_HISTOGRAM);
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] == 0) {
+                continue;
+            }
+            builder.startObject();
+            if (i > 0 && i <= bucketBounds.length) {
+                builder.humanReadableField(Fields.GE_BYTES, Fields.GE, ByteSizeValue.ofBytes(bucketBounds[i - 1]));
+            }
+            if (i < bucketBounds.length) {
+                builder.humanReadableField(Fields.LT_BYTES, Fields.LT, ByteSizeValue.ofBytes(bucketBounds[i]));
+            }
+            builder.field(Fields.COUNT, histogram[i]);
+            builder.endObject();
+        }
+        builder.endArray();
+        builder.endObject();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransportActionStats that = (TransportActionStats) o;
+        return requestCount == that.requestCount
+            && totalRequestSize == that.totalRequestSize
+            && Arrays.equals(requestSizeHistogram, that.requestSizeHistogram)
+            && responseCount == that.responseCount
+            && totalResponseSize == that.totalResponseSize
+            && Arrays.equals(responseSizeHistogram, that.responseSizeHistogram)
+            && Arrays.equals(queueTimeHistogram, that.queueTimeHistogram)
+            && Arrays.equals(handlingTimeHistogram, that.handlingTimeHistogram)
+            && Arrays.equals(serializationTimeHistogram, that.serializationTimeHistogram);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(requestCount, totalRequestSize, responseCount, totalResponseSize);
+        result = 31 * result + Arrays.hashCode(requestSizeHistogram);
+        result = 31 * result + Arrays.hashCode(responseSizeHistogram);
+        result = 31 * result + Arrays.hashCode(queueTimeHistogram);
+        result = 31 * result + Arrays.hashCode(handlingTimeHistogram);
+        result = 31 * result + Arrays.hashCode(serializationTimeHistogram);
+        return result;
+    }
+
+    static final class Fields {
+        static final String REQUESTS = "requests";
+        static final String RESPONSES = "responses";
+        static final String COUNT = "count";
+        static final String TOTAL_SIZE = "total_size";
+        static final String TOTAL_SIZE_IN_BYTES = "total_size_in_bytes";
+        static final String SIZE_HISTOGRAM = "size_histogram";
+        static final String GE = "ge";
+        static final String GE_BYTES = "ge_bytes";
+        static final String LT = "lt";
+        static final String LT_BYTES = "lt_bytes";
+        static final String QUEUE_TIME_HISTOGRAM = "queue_time_histogram";
+        static final String HANDLING_TIME_HISTOGRAM = "handling_time_histogram";
+        static final String SERIALIZATION_TIME_HISTOGRAM = "serialization_time_histogram";
+    }
+}
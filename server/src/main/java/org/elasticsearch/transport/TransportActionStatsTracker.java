@@ -0,0 +1,119 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.network.HandlingTimeTracker;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the requests that a node receives for a transport action and the responses that it sends back: the sizes of the
+ * messages, how long the requests wait for their executor, how long the handler takes to send a response and how long
+ * serializing the response takes.
+ */
+public final class TransportActionStatsTracker {
+
+    /**
+     * The upper bounds of the buckets of the message size histograms, in bytes: 64b, 128b, ..., 128mb.
+     */
+    public static long[] getSizeBucketUpperBounds() {
+        final long[] bounds = new long[22];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = 1L << (i + 6);
+        }
+        return bounds;
+    }
+
+    public static final int SIZE_BUCKET_COUNT = getSizeBucketUpperBounds().length + 1;
+
+    private static final long LAST_SIZE_BUCKET_LOWER_BOUND = getSizeBucketUpperBounds()[SIZE_BUCKET_COUNT - 2];
+
+    private static int getSizeBucket(long messageSize) {
+        if (messageSize < 64) {
+            return 0;
+        } else if (LAST_SIZE_BUCKET_LOWER_BOUND <= messageSize) {
+            return SIZE_BUCKET_COUNT - 1;
+        } else {
+            return Long.SIZE - Long.numberOfLeadingZeros(messageSize) - 6;
+        }
+    }
+
+    private final MessageSizeTracker requests = new MessageSizeTracker();
+    private final MessageSizeTracker responses = new MessageSizeTracker();
+    private final HandlingTimeTracker queueTimeTracker = new HandlingTimeTracker();
+    private final HandlingTimeTracker handlingTimeTracker = new HandlingTimeTracker();
+    private final HandlingTimeTracker serializationTimeTracker = new HandlingTimeTracker();
+
+    public void addRequest(long messageSize) {
+        requests.add(messageSize);
+    }
+
+    public void addResponse(long messageSize, long serializationTimeMillis) {
+        responses.add(messageSize);
+        serializationTimeTracker.addHandlingTime(serializationTimeMillis);
+    }
+
+    /**
+     * Records the time between the reception of a request and the start of its handler on the action's executor.
+     */
+    public void addQueueTime(long queueTimeMillis) {
+        queueTimeTracker.addHandlingTime(queueTimeMillis);
+    }
+
+    /**
+     * Records the time between the start of the handler of a request and the response being sent.
+     */
+    public void addHandlingTime(long handlingTimeMillis) {
+        handlingTimeTracker.addHandlingTime(handlingTimeMillis);
+    }
+
+    public boolean hasRequests() {
+        return requests.count.sum() > 0;
+    }
+
+    public TransportActionStats getStats() {
+        return new TransportActionStats(
+            requests.count.sum(),
+            requests.totalSize.sum(),
+            requests.getHistogram(),
+            responses.count.sum(),
+            responses.totalSize.sum(),
+            responses.getHistogram(),
+            queueTimeTracker.getHistogram(),
+            handlingTimeTracker.getHistogram(),
+            serializationTimeTracker.getHistogram()
+        );
+    }
+
+    private static final class MessageSizeTracker {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalSize = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[SIZE_BUCKET_COUNT];
+
+        MessageSizeTracker() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void add(long messageSize) {
+            count.increment();
+            totalSize.add(messageSize);
+            buckets[getSizeBucket(messageSize)].increment();
+        }
+
+        long[] getHistogram() {
+            final long[] histogram = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                histogram[i] = buckets[i].sum();
+            }
+            return histogram;
+        }
+    }
+}
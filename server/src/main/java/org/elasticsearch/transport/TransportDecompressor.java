@@ -42,6 +42,8 @@ public interface TransportDecompressor extends Releasable {
             return new DeflateTransportDecompressor(recycler);
         } else if (Compression.Scheme.isLZ4(bytes)) {
             return new Lz4TransportDecompressor(recycler);
+        } else if (Compression.Scheme.isLZ4HighCompression(bytes)) {
+            return new Lz4TransportDecompressor(recycler, Compression.Scheme.LZ4_HC);
         } else {
             throw createIllegalState(bytes);
         }
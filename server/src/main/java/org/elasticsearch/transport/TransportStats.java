@@ -19,6 +19,8 @@ import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class TransportStats implements Writeable, ToXContentFragment {
 
@@ -30,6 +32,8 @@ public class TransportStats implements Writeable, ToXContentFragment {
     private final long txSize;
     private final long[] inboundHandlingTimeBucketFrequencies;
     private final long[] outboundHandlingTimeBucketFrequencies;
+    private final Map<String, OutboundQueue> outboundQueues;
+    private final Map<String, TransportActionStats> transportActionStats;
 
     public TransportStats(
         long serverOpen,
@@ -39,7 +43,9 @@ public class TransportStats implements Writeable, ToXContentFragment {
         long txCount,
         long txSize,
         long[] inboundHandlingTimeBucketFrequencies,
-        long[] outboundHandlingTimeBucketFrequencies
+        long[] outboundHandlingTimeBucketFrequencies,
+        Map<String, OutboundQueue> outboundQueues,
+        Map<String, TransportActionStats> transportActionStats
     ) {
         this.serverOpen = serverOpen;
         this.totalOutboundConnections = totalOutboundConnections;
@@ -49,6 +55,8 @@ public class TransportStats implements Writeable, ToXContentFragment {
         this.txSize = txSize;
         this.inboundHandlingTimeBucketFrequencies = inboundHandlingTimeBucketFrequencies;
         this.outboundHandlingTimeBucketFrequencies = outboundHandlingTimeBucketFrequencies;
+        this.outboundQueues = outboundQueues;
+        this.transportActionStats = transportActionStats;
         assert assertHistogramsConsistent();
     }
 
@@ -72,6 +80,13 @@ public class TransportStats implements Writeable, ToXContentFragment {
             inboundHandlingTimeBucketFrequencies = new long[0];
             outboundHandlingTimeBucketFrequencies = new long[0];
         }
+        if (in.getVersion().onOrAfter(Version.V_8_7_0)) {
+            outboundQueues = in.readImmutableMap(StreamInput::readString, OutboundQueue::new);
+            transportActionStats = in.readImmutableMap(StreamInput::readString, TransportActionStats::new);
+        } else {
+            outboundQueues = Map.of();
+            transportActionStats = Map.of();
+        }
         assert assertHistogramsConsistent();
     }
 
@@ -93,6 +108,10 @@ public class TransportStats implements Writeable, ToXContentFragment {
                 out.writeVLong(handlingTimeBucketFrequency);
             }
         }
+        if (out.getVersion().onOrAfter(Version.V_8_7_0)) {
+            out.writeMap(outboundQueues, StreamOutput::writeString, (o, queue) -> queue.writeTo(o));
+            out.writeMap(transportActionStats, StreamOutput::writeString, (o, stats) -> stats.writeTo(o));
+        }
     }
 
     public long serverOpen() {
@@ -151,6 +170,20 @@ public class TransportStats implements Writeable, ToXContentFragment {
         return Arrays.copyOf(outboundHandlingTimeBucketFrequencies, outboundHandlingTimeBucketFrequencies.length);
     }
 
+    /**
+     * The number and size of the messages waiting to be written, by type of request and for responses.
+     */
+    public Map<String, OutboundQueue> getOutboundQueues() {
+        return outboundQueues;
+    }
+
+    /**
+     * Statistics about the requests that this node received and the responses that it sent, by action name.
+     */
+    public Map<String, TransportActionStats> getTransportActionStats() {
+        return transportActionStats;
+    }
+
     private boolean assertHistogramsConsistent() {
         assert inboundHandlingTimeBucketFrequencies.length == outboundHandlingTimeBucketFrequencies.length;
         if (inboundHandlingTimeBucketFrequencies.length == 0) {
@@ -172,21 +205,42 @@ public class TransportStats implements Writeable, ToXContentFragment {
         builder.field(Fields.TX_COUNT, txCount);
         builder.humanReadableField(Fields.TX_SIZE_IN_BYTES, Fields.TX_SIZE, ByteSizeValue.ofBytes(txSize));
         if (inboundHandlingTimeBucketFrequencies.length > 0) {
-            histogramToXContent(builder, inboundHandlingTimeBucketFrequencies, Fields.INBOUND_HANDLING_TIME_HISTOGRAM);
-            histogramToXContent(builder, outboundHandlingTimeBucketFrequencies, Fields.OUTBOUND_HANDLING_TIME_HISTOGRAM);
+            histogramToXContent(builder, inboundHandlingTimeBucketFrequencies, Fields.INBOUND_HANDLING_TIME_HISTOGRAM, false);
+            histogramToXContent(builder, outboundHandlingTimeBucketFrequencies, Fields.OUTBOUND_HANDLING_TIME_HISTOGRAM, false);
         } else {
             // Stats came from before v8.1
             assert Version.CURRENT.major == Version.V_8_0_0.major;
         }
+        if (outboundQueues.isEmpty() == false) {
+            builder.startObject(Fields.OUTBOUND_QUEUES);
+            for (Map.Entry<String, OutboundQueue> queue : new TreeMap<>(outboundQueues).entrySet()) {
+                builder.startObject(queue.getKey());
+                builder.field(Fields.COUNT, queue.getValue().count());
+                builder.humanReadableField(Fields.SIZE_IN_BYTES, Fields.SIZE, ByteSizeValue.ofBytes(queue.getValue().sizeInBytes()));
+                builder.endObject();
+            }
+            builder.endObject();
+        }
+        if (transportActionStats.isEmpty() == false) {
+            builder.startObject(Fields.ACTIONS);
+            for (Map.Entry<String, TransportActionStats> action : new TreeMap<>(transportActionStats).entrySet()) {
+                builder.field(action.getKey(), action.getValue());
+            }
+            builder.endObject();
+        }
         builder.endObject();
         return builder;
     }
 
-    private static void histogramToXContent(XContentBuilder builder, long[] bucketFrequencies, String fieldName) throws IOException {
+    static void histogramToXContent(XContentBuilder builder, long[] bucketFrequencies, String fieldName, boolean skipEmptyBuckets)
+        throws IOException {
         final int[] bucketBounds = HandlingTimeTracker.getBucketUpperBounds();
         assert bucketFrequencies.length == bucketBounds.length + 1;
         builder.startArray(fieldName);
         for (int i = 0; i < bucketFrequencies.length; i++) {
+            if (skipEmptyBuckets && bucketFrequencies[i] == 0) {
+                continue;
+            }
             builder.startObject();
             if (i > 0 && i <= bucketBounds.length) {
                 builder.field("ge_millis", bucketBounds[i - 1]);
@@ -212,5 +266,31 @@ public class TransportStats implements Writeable, ToXContentFragment {
         static final String TX_SIZE_IN_BYTES = "tx_size_in_bytes";
         static final String INBOUND_HANDLING_TIME_HISTOGRAM = "inbound_handling_time_histogram";
         static final String OUTBOUND_HANDLING_TIME_HISTOGRAM = "outbound_handling_time_histogram";
+        static final String OUTBOUND_QUEUES = "outbound_queues";
+        static final String ACTIONS = "actions";
+        static final String COUNT = "count";
+        static final String SIZE = "size";
+        static final String SIZE_IN_BYTES = "size_in_bytes";
+    }
+
+    /**
+     * The messages that were passed to a channel but aren't fully written yet.
+     */
+    public record OutboundQueue(long count, long sizeInBytes) implements Writeable {
+
+        /**
+         * The name of the queue of responses, the queues of requests are named after their {@link TransportRequestOptions.Type}.
+         */
+        public static final String RESPONSES = "responses";
+
+        public OutboundQueue(StreamInput in) throws IOException {
+            this(in.readVLong(), in.readVLong());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(count);
+            out.writeVLong(sizeInBytes);
+        }
     }
 }
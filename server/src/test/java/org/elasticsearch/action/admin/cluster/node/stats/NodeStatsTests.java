@@ -65,10 +65,13 @@ import org.elasticsearch.script.ScriptCacheStats;
 import org.elasticsearch.script.ScriptContextStats;
 import org.elasticsearch.script.ScriptStats;
 import org.elasticsearch.script.TimeSeries;
+import org.elasticsearch.search.backpressure.SearchBackpressureStats;
 import org.elasticsearch.search.suggest.completion.CompletionStats;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.VersionUtils;
 import org.elasticsearch.threadpool.ThreadPoolStats;
+import org.elasticsearch.transport.TransportActionStats;
+import org.elasticsearch.transport.TransportActionStatsTracker;
 import org.elasticsearch.transport.TransportStats;
 
 import java.io.IOException;
@@ -287,6 +290,11 @@ public class NodeStatsTests extends ESTestCase {
                         nodeStats.getTransport().getOutboundHandlingTimeBucketFrequencies(),
                         deserializedNodeStats.getTransport().getOutboundHandlingTimeBucketFrequencies()
                     );
+                    assertEquals(nodeStats.getTransport().getOutboundQueues(), deserializedNodeStats.getTransport().getOutboundQueues());
+                    assertEquals(
+                        nodeStats.getTransport().getTransportActionStats(),
+                        deserializedNodeStats.getTransport().getTransportActionStats()
+                    );
                 }
                 if (nodeStats.getHttp() == null) {
                     assertNull(deserializedNodeStats.getHttp());
@@ -546,6 +554,7 @@ public class NodeStatsTests extends ESTestCase {
                     assertEquals(limited, sum.getCompilationLimitTriggered());
                     assertEquals(compilations, sum.getCompilations());
                 }
+                assertEquals(nodeStats.getSearchBackpressureStats(), deserializedNodeStats.getSearchBackpressureStats());
             }
         }
     }
@@ -836,7 +845,16 @@ public class NodeStatsTests extends ESTestCase {
                 randomNonNegativeLong(),
                 randomNonNegativeLong(),
                 IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray(),
-                IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray()
+                IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray(),
+                randomMap(
+                    0,
+                    6,
+                    () -> new Tuple<>(
+                        randomAlphaOfLength(6),
+                        new TransportStats.OutboundQueue(randomNonNegativeLong(), randomNonNegativeLong())
+                    )
+                ),
+                randomMap(0, 10, () -> new Tuple<>(randomAlphaOfLength(10), randomTransportActionStats()))
             )
             : null;
         HttpStats httpStats = null;
@@ -1035,6 +1053,17 @@ public class NodeStatsTests extends ESTestCase {
                 randomLongBetween(0, maxStatValue)
             );
         }
+        SearchBackpressureStats searchBackpressureStats = null;
+        if (frequently()) {
+            searchBackpressureStats = new SearchBackpressureStats(
+                randomFrom("disabled", "monitor_only", "enforced"),
+                randomNonNegativeLong(),
+                randomNonNegativeLong(),
+                randomNonNegativeLong(),
+                randomNonNegativeLong(),
+                randomNonNegativeLong()
+            );
+        }
         return new NodeStats(
             node,
             randomNonNegativeLong(),
@@ -1052,10 +1081,29 @@ public class NodeStatsTests extends ESTestCase {
             ingestStats,
             adaptiveSelectionStats,
             scriptCacheStats,
-            indexingPressureStats
+            indexingPressureStats,
+            searchBackpressureStats
+        );
+    }
+
+    private static TransportActionStats randomTransportActionStats() {
+        return new TransportActionStats(
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomHistogram(TransportActionStatsTracker.SIZE_BUCKET_COUNT),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomHistogram(TransportActionStatsTracker.SIZE_BUCKET_COUNT),
+            randomHistogram(HandlingTimeTracker.BUCKET_COUNT),
+            randomHistogram(HandlingTimeTracker.BUCKET_COUNT),
+            randomHistogram(HandlingTimeTracker.BUCKET_COUNT)
         );
     }
 
+    private static long[] randomHistogram(int bucketCount) {
+        return IntStream.range(0, bucketCount).mapToLong(i -> randomBoolean() ? 0L : randomNonNegativeLong()).toArray();
+    }
+
     private static TimeSeries randomTimeSeries() {
         if (randomBoolean()) {
             long total = randomLongBetween(0, 1024);
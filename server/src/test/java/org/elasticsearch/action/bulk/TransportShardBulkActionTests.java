@@ -36,6 +36,7 @@ import org.elasticsearch.index.bulk.stats.BulkStats;
 import org.elasticsearch.index.bulk.stats.ShardBulkStats;
 import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.index.engine.VersionConflictEngineException;
+import org.elasticsearch.index.mapper.MapperParsingException;
 import org.elasticsearch.index.mapper.MapperService;
 import org.elasticsearch.index.mapper.Mapping;
 import org.elasticsearch.index.mapper.MetadataFieldMapper;
@@ -48,6 +49,7 @@ import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.threadpool.ThreadPool.Names;
+import org.elasticsearch.xcontent.XContentType;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -247,6 +249,70 @@ public class TransportShardBulkActionTests extends IndexShardTestCase {
         latch.await();
     }
 
+    public void testPerformOnPrimaryWithParseAhead() throws Exception {
+        IndexShard shard = newStartedShard(true);
+
+        BulkItemRequest[] items = new BulkItemRequest[randomIntBetween(2, 20)];
+        boolean[] malformed = new boolean[items.length];
+        int expectedDocs = 0;
+        for (int i = 0; i < items.length; i++) {
+            final DocWriteRequest<?> writeRequest;
+            if (i > 0 && rarely()) {
+                writeRequest = new DeleteRequest("index").id("id_" + (i - 1));
+            } else if (randomBoolean()) {
+                // fails to parse, the failure must be reported for this item only
+                malformed[i] = true;
+                writeRequest = new IndexRequest("index").id("id_" + i).source("{", XContentType.JSON);
+            } else {
+                writeRequest = new IndexRequest("index").id("id_" + i).source(Requests.INDEX_CONTENT_TYPE);
+            }
+            items[i] = new BulkItemRequest(i, writeRequest);
+        }
+        for (int i = 0; i < items.length; i++) {
+            if (items[i].request() instanceof IndexRequest && malformed[i] == false) {
+                boolean deleted = i + 1 < items.length && items[i + 1].request() instanceof DeleteRequest;
+                expectedDocs += deleted ? 0 : 1;
+            }
+        }
+        BulkShardRequest bulkShardRequest = new BulkShardRequest(shardId, RefreshPolicy.NONE, items);
+
+        final int finalExpectedDocs = expectedDocs;
+        final CountDownLatch latch = new CountDownLatch(1);
+        TransportShardBulkAction.performOnPrimary(
+            bulkShardRequest,
+            shard,
+            null,
+            threadPool::absoluteTimeInMillis,
+            new NoopMappingUpdatePerformer(),
+            listener -> {},
+            ActionListener.runAfter(ActionTestUtils.assertNoFailureListener(result -> {
+                assertThat(result.finalResponseIfSuccessful.getResponses(), arrayWithSize(items.length));
+                for (int i = 0; i < items.length; i++) {
+                    BulkItemResponse response = result.finalResponseIfSuccessful.getResponses()[i];
+                    assertThat(response.getItemId(), equalTo(i));
+                    if (malformed[i]) {
+                        assertTrue(response.isFailed());
+                        assertThat(response.getFailure().getCause(), instanceOf(MapperParsingException.class));
+                    } else if (items[i].request() instanceof IndexRequest) {
+                        assertFalse(response.isFailed());
+                    }
+                }
+                try {
+                    assertDocCount(shard, finalExpectedDocs);
+                    closeShards(shard);
+                } catch (IOException e) {
+                    throw new AssertionError(e);
+                }
+            }), latch::countDown),
+            threadPool,
+            Names.WRITE,
+            null,
+            randomIntBetween(1, 5)
+        );
+
+        latch.await();
+    }
+
     public void testExecuteBulkIndexRequestWithMappingUpdates() throws Exception {
 
         BulkItemRequest[] items = new BulkItemRequest[1];
@@ -0,0 +1,95 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.action.search;
+
+import org.apache.lucene.search.ScoreDoc;
+import org.elasticsearch.search.dfs.DfsKnnResults;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class KnnScoreBoundsCollectorTests extends ESTestCase {
+    public void testSingleKnnSearch() {
+        KnnScoreBoundsCollector collector = new KnnScoreBoundsCollector(new int[] { 3 });
+        assertNull(collector.getScoreBounds());
+
+        collector.consumeKnnResults(List.of(createKnnResults(0.9f, 0.8f)));
+        assertNull(collector.getScoreBounds());
+
+        collector.consumeKnnResults(List.of(createKnnResults(0.5f)));
+        assertArrayEquals(new float[] { 0.5f }, collector.getScoreBounds(), 0.0f);
+
+        collector.consumeKnnResults(List.of(createKnnResults(0.95f, 0.7f, 0.1f)));
+        assertArrayEquals(new float[] { 0.8f }, collector.getScoreBounds(), 0.0f);
+
+        collector.consumeKnnResults(List.of(createKnnResults(0.2f, 0.1f)));
+        assertArrayEquals(new float[] { 0.8f }, collector.getScoreBounds(), 0.0f);
+
+        collector.consumeKnnResults(List.of(createKnnResults()));
+        assertArrayEquals(new float[] { 0.8f }, collector.getScoreBounds(), 0.0f);
+    }
+
+    public void testMultipleKnnSearches() {
+        KnnScoreBoundsCollector collector = new KnnScoreBoundsCollector(new int[] { 1, 2 });
+        collector.consumeKnnResults(List.of(createKnnResults(0.3f), createKnnResults(0.6f)));
+        float[] bounds = collector.getScoreBounds();
+        assertNotNull(bounds);
+        assertThat(bounds[0], equalTo(0.3f));
+        assertThat(bounds[1], equalTo(Float.NEGATIVE_INFINITY));
+
+        collector.consumeKnnResults(List.of(createKnnResults(0.4f), createKnnResults(0.2f)));
+        assertArrayEquals(new float[] { 0.4f, 0.2f }, collector.getScoreBounds(), 0.0f);
+    }
+
+    public void testIgnoresMismatchedResults() {
+        KnnScoreBoundsCollector collector = new KnnScoreBoundsCollector(new int[] { 1, 1 });
+        collector.consumeKnnResults(null);
+        collector.consumeKnnResults(List.of(createKnnResults(0.5f)));
+        assertNull(collector.getScoreBounds());
+    }
+
+    public void testRandom() {
+        int k = randomIntBetween(1, 20);
+        KnnScoreBoundsCollector collector = new KnnScoreBoundsCollector(new int[] { k });
+        float[] allScores = new float[0];
+        int numShards = randomIntBetween(1, 10);
+        for (int shard = 0; shard < numShards; shard++) {
+            float[] shardScores = new float[randomIntBetween(0, k)];
+            for (int i = 0; i < shardScores.length; i++) {
+                shardScores[i] = randomFloat();
+            }
+            collector.consumeKnnResults(List.of(createKnnResults(shardScores)));
+            allScores = concat(allScores, shardScores);
+            if (allScores.length < k) {
+                assertNull(collector.getScoreBounds());
+            } else {
+                float[] sorted = allScores.clone();
+                Arrays.sort(sorted);
+                assertArrayEquals(new float[] { sorted[sorted.length - k] }, collector.getScoreBounds(), 0.0f);
+            }
+        }
+    }
+
+    private static float[] concat(float[] first, float[] second) {
+        float[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static DfsKnnResults createKnnResults(float... scores) {
+        ScoreDoc[] scoreDocs = new ScoreDoc[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            scoreDocs[i] = new ScoreDoc(i, scores[i]);
+        }
+        return new DfsKnnResults(scoreDocs);
+    }
+}
@@ -40,12 +40,14 @@ import org.junit.Before;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonMap;
 import static org.elasticsearch.test.XContentTestUtils.insertRandomFields;
 import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertToXContentEquivalent;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 public class SearchResponseTests extends ESTestCase {
 
@@ -305,6 +307,20 @@ public class SearchResponseTests extends ESTestCase {
         }
     }
 
+    public void testToXContentChunked() throws IOException {
+        SearchResponse response = createTestItem();
+        XContentBuilder builder = XContentBuilder.builder(XContentType.JSON.xContent());
+        Iterator<? extends ToXContent> chunks = response.toXContentChunked(ToXContent.EMPTY_PARAMS);
+        int numChunks = 0;
+        while (chunks.hasNext()) {
+            chunks.next().toXContent(builder, ToXContent.EMPTY_PARAMS);
+            numChunks++;
+        }
+        assertEquals(Strings.toString(response), Strings.toString(builder));
+        // each hit is serialized in its own chunk
+        assertThat(numChunks, greaterThanOrEqualTo(response.getHits().getHits().length + 5));
+    }
+
     public void testSerialization() throws IOException {
         SearchResponse searchResponse = createTestItem(false);
         SearchResponse deserialized = copyWriteable(searchResponse, namedWriteableRegistry, SearchResponse::new, Version.CURRENT);
@@ -467,4 +467,90 @@ public class OperationRoutingTests extends ESTestCase {
         terminate(threadPool);
     }
 
+    public void testARSShardCopyRanking() throws Exception {
+        String[] indexNames = new String[] { "test0" };
+        ClusterState state = ClusterStateCreationUtils.stateWithAssignedPrimariesAndReplicas(indexNames, 2, 1);
+        OperationRouting opRouting = new OperationRouting(
+            Settings.EMPTY,
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+        );
+        opRouting.setUseAdaptiveReplicaSelection(true);
+        TestThreadPool threadPool = new TestThreadPool("test");
+        ClusterService clusterService = ClusterServiceUtils.createClusterService(threadPool);
+
+        ResponseCollectorService collector = new ResponseCollectorService(clusterService);
+        ShardId shard0 = new ShardId("test0", "_na_", 0);
+        ShardId shard1 = new ShardId("test0", "_na_", 1);
+
+        // Both nodes look the same, but each of them holds a hot copy of a different shard
+        collector.addNodeStatistics("node_0", 1, TimeValue.timeValueMillis(50).nanos(), TimeValue.timeValueMillis(40).nanos());
+        collector.addNodeStatistics("node_1", 1, TimeValue.timeValueMillis(50).nanos(), TimeValue.timeValueMillis(40).nanos());
+        long slowResponse = TimeValue.timeValueMillis(300).nanos();
+        long slowService = TimeValue.timeValueMillis(200).nanos();
+        long fastResponse = TimeValue.timeValueMillis(20).nanos();
+        long fastService = TimeValue.timeValueMillis(10).nanos();
+        collector.addShardCopyStatistics("node_0", shard0, 5, slowResponse, slowService);
+        collector.addShardCopyStatistics("node_1", shard0, 1, fastResponse, fastService);
+        collector.addShardCopyStatistics("node_0", shard1, 1, fastResponse, fastService);
+        collector.addShardCopyStatistics("node_1", shard1, 5, slowResponse, slowService);
+
+        GroupShardsIterator<ShardIterator> groupIterator = opRouting.searchShards(
+            state,
+            indexNames,
+            null,
+            null,
+            collector,
+            new HashMap<>()
+        );
+        for (ShardIterator shardIterator : groupIterator) {
+            String expectedNodeId = shardIterator.shardId().equals(shard0) ? "node_1" : "node_0";
+            assertThat(shardIterator.nextOrNull().currentNodeId(), equalTo(expectedNodeId));
+        }
+
+        IOUtils.close(clusterService);
+        terminate(threadPool);
+    }
+
+    public void testARSRanksByNodeStatsUnlessAllShardCopiesHaveStats() throws Exception {
+        String[] indexNames = new String[] { "test0" };
+        ClusterState state = ClusterStateCreationUtils.stateWithAssignedPrimariesAndReplicas(indexNames, 1, 1);
+        OperationRouting opRouting = new OperationRouting(
+            Settings.EMPTY,
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+        );
+        opRouting.setUseAdaptiveReplicaSelection(true);
+        TestThreadPool threadPool = new TestThreadPool("test");
+        ClusterService clusterService = ClusterServiceUtils.createClusterService(threadPool);
+
+        ResponseCollectorService collector = new ResponseCollectorService(clusterService);
+        ShardId shard0 = new ShardId("test0", "_na_", 0);
+
+        // node_1 is the faster node, but its copy is slower than node_0 as a whole: the copies must not be ranked on mixed scales
+        collector.addNodeStatistics("node_0", 1, TimeValue.timeValueMillis(100).nanos(), TimeValue.timeValueMillis(80).nanos());
+        collector.addNodeStatistics("node_1", 1, TimeValue.timeValueMillis(20).nanos(), TimeValue.timeValueMillis(10).nanos());
+        collector.addShardCopyStatistics(
+            "node_1",
+            shard0,
+            5,
+            TimeValue.timeValueMillis(300).nanos(),
+            TimeValue.timeValueMillis(200).nanos()
+        );
+
+        GroupShardsIterator<ShardIterator> groupIterator = opRouting.searchShards(
+            state,
+            indexNames,
+            null,
+            null,
+            collector,
+            new HashMap<>()
+        );
+        assertThat(groupIterator.size(), equalTo(1));
+        assertThat(groupIterator.get(0).nextOrNull().currentNodeId(), equalTo("node_1"));
+
+        // the copy without statistics got the winning copy's ones, so the copies are ranked by their own statistics from now on
+        assertTrue(collector.getShardCopyStatistics("node_0", shard0).isPresent());
+
+        IOUtils.close(clusterService);
+        terminate(threadPool);
+    }
 }
@@ -38,6 +38,7 @@ import java.util.stream.Collectors;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class CacheTests extends ESTestCase {
     private int numberOfEntries;
@@ -879,6 +880,87 @@ public class CacheTests extends ESTestCase {
         assertEquals(500, cache.count());
     }
 
+    // read some entries frequently, then scan many entries that are read only once, and check that with frequency-aware
+    // eviction the frequently read entries survive the scan while they are flushed out in LRU order otherwise
+    public void testFrequencyAwareEvictionIsScanResistant() {
+        final boolean frequencyAware = randomBoolean();
+        final int maximumWeight = 100;
+        Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
+            .setMaximumWeight(maximumWeight)
+            .setFrequencyAwareEviction(frequencyAware)
+            .build();
+        assertEquals(frequencyAware, cache.isFrequencyAwareEviction());
+        for (int i = 0; i < maximumWeight; i++) {
+            cache.put(i, Integer.toString(i));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                assertNotNull(cache.get(i));
+            }
+        }
+        for (int i = maximumWeight; i < 10 * maximumWeight; i++) {
+            cache.put(i, Integer.toString(i));
+        }
+        assertEquals(maximumWeight, cache.count());
+        assertEquals(maximumWeight, cache.weight());
+        for (int i = 0; i < 10; i++) {
+            if (frequencyAware) {
+                assertEquals(Integer.toString(i), cache.get(i));
+            } else {
+                assertNull(cache.get(i));
+            }
+        }
+    }
+
+    // read and write entries concurrently, then check that the buffered reads did not corrupt the LRU list
+    public void testConcurrentReadsAndWrites() throws BrokenBarrierException, InterruptedException {
+        final int numberOfThreads = randomIntBetween(2, 32);
+        final int maximumWeight = randomIntBetween(1, 1000);
+        final Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
+            .setMaximumWeight(maximumWeight)
+            .setFrequencyAwareEviction(randomBoolean())
+            .build();
+
+        final CyclicBarrier barrier = new CyclicBarrier(1 + numberOfThreads);
+        for (int i = 0; i < numberOfThreads; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    barrier.await();
+                    Random random = new Random(random().nextLong());
+                    for (int j = 0; j < numberOfEntries; j++) {
+                        Integer key = random.nextInt(2 * maximumWeight);
+                        if (random.nextInt(10) == 0) {
+                            cache.put(key, Integer.toString(key));
+                        } else if (random.nextInt(100) == 0) {
+                            cache.invalidate(key);
+                        } else {
+                            String value = cache.get(key);
+                            assertTrue(value == null || value.equals(Integer.toString(key)));
+                        }
+                    }
+                    barrier.await();
+                } catch (BrokenBarrierException | InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            });
+            thread.start();
+        }
+
+        // wait for all threads to be ready
+        barrier.await();
+        // wait for all threads to finish
+        barrier.await();
+
+        cache.refresh();
+        assertThat(cache.count(), lessThanOrEqualTo(maximumWeight));
+        assertEquals(cache.count(), cache.weight());
+        Set<Integer> keys = new HashSet<>();
+        for (Integer key : cache.keys()) {
+            assertTrue("duplicate key [" + key + "] in the LRU list", keys.add(key));
+        }
+        assertEquals(cache.count(), keys.size());
+    }
+
     public void testRemoveUsingValuesIterator() {
         final List<RemovalNotification<Integer, String>> removalNotifications = new ArrayList<>();
         Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
@@ -0,0 +1,63 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.cache;
+
+import org.elasticsearch.test.ESTestCase;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+
+public class FrequencySketchTests extends ESTestCase {
+
+    public void testIncrement() {
+        FrequencySketch sketch = new FrequencySketch(randomIntBetween(16, 1024));
+        int hash = FrequencySketch.spread(randomAlphaOfLength(10));
+        assertEquals(0, sketch.frequency(hash));
+        int increments = randomIntBetween(1, 14);
+        for (int i = 0; i < increments; i++) {
+            sketch.increment(hash);
+        }
+        assertEquals(increments, sketch.frequency(hash));
+    }
+
+    public void testFrequencySaturates() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        int hash = FrequencySketch.spread(randomInt());
+        for (int i = 0; i < 20; i++) {
+            sketch.increment(hash);
+        }
+        assertEquals(15, sketch.frequency(hash));
+    }
+
+    // record many distinct keys once and check that the frequency of a popular key ages
+    public void testReset() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        int hash = FrequencySketch.spread(-1);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(hash);
+        }
+        assertThat(sketch.frequency(hash), greaterThanOrEqualTo(10));
+        for (int i = 0; i < 20 * sketch.capacity(); i++) {
+            sketch.increment(FrequencySketch.spread(i));
+        }
+        assertThat(sketch.frequency(hash), lessThan(10));
+    }
+
+    public void testEnsureCapacity() {
+        FrequencySketch sketch = new FrequencySketch(1);
+        assertEquals(16, sketch.capacity());
+        int capacity = randomIntBetween(17, 1 << 20);
+        sketch.ensureCapacity(capacity);
+        assertThat(sketch.capacity(), greaterThanOrEqualTo(capacity));
+        assertEquals(1, Integer.bitCount(sketch.capacity()));
+        int current = sketch.capacity();
+        sketch.ensureCapacity(capacity / 2);
+        assertEquals(current, sketch.capacity());
+    }
+}
@@ -10,11 +10,14 @@ package org.elasticsearch.common.util.concurrent;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
 import org.junit.Before;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
@@ -275,4 +278,99 @@ public class AsyncIOProcessorTests extends ESTestCase {
         assertEquals(threadCount, received.get());
         threads.forEach(t -> assertFalse(t.isAlive()));
     }
+
+    public void testForkProcessing() throws Exception {
+        final ThreadPool threadPool = new TestThreadPool(getTestName());
+        try {
+            final CountDownLatch blockWrite = new CountDownLatch(1);
+            final Set<Thread> writeThreads = ConcurrentCollections.newConcurrentSet();
+            final AtomicInteger received = new AtomicInteger(0);
+            final AsyncIOProcessor<Object> processor = new AsyncIOProcessor<>(
+                logger,
+                scaledRandomIntBetween(10, 2024),
+                threadContext,
+                threadPool.executor(ThreadPool.Names.GENERIC)
+            ) {
+                @Override
+                protected void write(List<Tuple<Object, Consumer<Exception>>> candidates) throws IOException {
+                    writeThreads.add(Thread.currentThread());
+                    try {
+                        assertTrue(blockWrite.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                    received.addAndGet(candidates.size());
+                }
+            };
+            final int count = randomIntBetween(1, 10);
+            final CountDownLatch notified = new CountDownLatch(count);
+            for (int i = 0; i < count; i++) {
+                // the write is blocked, the caller must not be
+                processor.put(new Object(), e -> {
+                    assertNull(e);
+                    notified.countDown();
+                });
+            }
+            assertEquals(count, notified.getCount());
+            blockWrite.countDown();
+            assertTrue(notified.await(10, TimeUnit.SECONDS));
+            assertEquals(count, received.get());
+            assertFalse(writeThreads.contains(Thread.currentThread()));
+        } finally {
+            terminate(threadPool);
+        }
+    }
+
+    public void testProcessOnCallingThreadIfExecutorIsBusy() throws Exception {
+        final EsThreadPoolExecutor executor = EsExecutors.newScaling(
+            getTestName(),
+            0,
+            1,
+            60,
+            TimeUnit.SECONDS,
+            true,
+            EsExecutors.daemonThreadFactory(getTestName()),
+            threadContext
+        );
+        try {
+            final CountDownLatch executorBusy = new CountDownLatch(1);
+            final CountDownLatch releaseExecutor = new CountDownLatch(1);
+            executor.execute(() -> {
+                executorBusy.countDown();
+                try {
+                    assertTrue(releaseExecutor.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            });
+            assertTrue(executorBusy.await(10, TimeUnit.SECONDS));
+
+            final Set<Thread> writeThreads = ConcurrentCollections.newConcurrentSet();
+            final AsyncIOProcessor<Object> processor = new AsyncIOProcessor<>(
+                logger,
+                scaledRandomIntBetween(10, 2024),
+                threadContext,
+                executor
+            ) {
+                @Override
+                protected void write(List<Tuple<Object, Consumer<Exception>>> candidates) {
+                    writeThreads.add(Thread.currentThread());
+                }
+            };
+            final int count = randomIntBetween(1, 10);
+            final AtomicInteger notified = new AtomicInteger();
+            for (int i = 0; i < count; i++) {
+                // the only thread of the executor is busy so the items don't wait for it
+                processor.put(new Object(), e -> {
+                    assertNull(e);
+                    notified.incrementAndGet();
+                });
+                assertEquals(i + 1, notified.get());
+            }
+            assertEquals(Set.of(Thread.currentThread()), writeThreads);
+            releaseExecutor.countDown();
+        } finally {
+            terminate(executor);
+        }
+    }
 }
@@ -9,9 +9,11 @@
 package org.elasticsearch.index.codec;
 
 import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.FilterCodec;
 import org.apache.lucene.codecs.lucene90.Lucene90StoredFieldsFormat;
 import org.apache.lucene.codecs.lucene94.Lucene94Codec;
 import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
@@ -23,6 +25,9 @@ import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.analysis.IndexAnalyzers;
+import org.elasticsearch.index.codec.storedfields.ES87LZ4HighCompressionCodec;
+import org.elasticsearch.index.codec.storedfields.ES87LZ4HighCompressionStoredFieldsFormat;
+import org.elasticsearch.index.engine.EngineConfig;
 import org.elasticsearch.index.mapper.MapperRegistry;
 import org.elasticsearch.index.mapper.MapperService;
 import org.elasticsearch.index.similarity.SimilarityService;
@@ -55,6 +60,45 @@ public class CodecTests extends ESTestCase {
         assertStoredFieldsCompressionEquals(Lucene94Codec.Mode.BEST_COMPRESSION, codec);
     }
 
+    public void testLZ4HighCompression() throws Exception {
+        Codec codec = createCodecService().codec("lz4_high_compression");
+        assertThat(codec, instanceOf(ES87LZ4HighCompressionCodec.class));
+        assertThat(codec.storedFieldsFormat(), instanceOf(ES87LZ4HighCompressionStoredFieldsFormat.class));
+        assertEquals(
+            ES87LZ4HighCompressionStoredFieldsFormat.DEFAULT_LEVEL,
+            ((ES87LZ4HighCompressionStoredFieldsFormat) codec.storedFieldsFormat()).level()
+        );
+        // the per-field formats are still resolved through the mappings
+        assertThat(((FilterCodec) codec).getDelegate(), instanceOf(PerFieldMapperCodec.class));
+
+        Directory dir = newDirectory();
+        IndexWriterConfig iwc = newIndexWriterConfig(null);
+        iwc.setCodec(codec);
+        IndexWriter iw = new IndexWriter(dir, iwc);
+        Document doc = new Document();
+        doc.add(new StoredField("field", "value"));
+        iw.addDocument(doc);
+        iw.commit();
+        iw.close();
+        DirectoryReader ir = DirectoryReader.open(dir);
+        SegmentReader sr = (SegmentReader) ir.leaves().get(0).reader();
+        assertEquals(ES87LZ4HighCompressionCodec.CODEC_NAME, sr.getSegmentInfo().info.getCodec().getName());
+        assertEquals("value", sr.document(0).get("field"));
+        ir.close();
+        dir.close();
+    }
+
+    public void testLZ4HighCompressionLevel() throws Exception {
+        int level = randomIntBetween(
+            ES87LZ4HighCompressionStoredFieldsFormat.MIN_LEVEL,
+            ES87LZ4HighCompressionStoredFieldsFormat.MAX_LEVEL
+        );
+        Codec codec = createCodecService(
+            Settings.builder().put(EngineConfig.INDEX_CODEC_LZ4_HIGH_COMPRESSION_LEVEL_SETTING.getKey(), level).build()
+        ).codec("lz4_high_compression");
+        assertEquals(level, ((ES87LZ4HighCompressionStoredFieldsFormat) codec.storedFieldsFormat()).level());
+    }
+
     // write some docs with it, inspect .si to see this was the used compression
     private void assertStoredFieldsCompressionEquals(Lucene94Codec.Mode expected, Codec actual) throws Exception {
         Directory dir = newDirectory();
@@ -74,8 +118,13 @@ public class CodecTests extends ESTestCase {
     }
 
     private CodecService createCodecService() throws IOException {
+        return createCodecService(Settings.EMPTY);
+    }
+
+    private CodecService createCodecService(Settings indexSettings) throws IOException {
         Settings nodeSettings = Settings.builder().put(Environment.PATH_HOME_SETTING.getKey(), createTempDir()).build();
-        IndexSettings settings = IndexSettingsModule.newIndexSettings("_na", nodeSettings);
+        Settings settingsWithIndex = Settings.builder().put(nodeSettings).put(indexSettings).build();
+        IndexSettings settings = IndexSettingsModule.newIndexSettings("_na", settingsWithIndex);
         SimilarityService similarityService = new SimilarityService(settings, null, Collections.emptyMap());
         IndexAnalyzers indexAnalyzers = createTestAnalysis(settings, nodeSettings).indexAnalyzers;
         MapperRegistry mapperRegistry = new MapperRegistry(
@@ -92,7 +141,8 @@ public class CodecTests extends ESTestCase {
             mapperRegistry,
             () -> null,
             settings.getMode().idFieldMapperWithoutFieldData(),
-            ScriptCompiler.NONE
+            ScriptCompiler.NONE,
+            query -> { throw new UnsupportedOperationException(); }
         );
         return new CodecService(service, BigArrays.NON_RECYCLING_INSTANCE);
     }
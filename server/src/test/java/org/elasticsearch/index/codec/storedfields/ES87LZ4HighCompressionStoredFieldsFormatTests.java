@@ -0,0 +1,42 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.codec.storedfields;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.lucene94.Lucene94Codec;
+import org.apache.lucene.tests.index.BaseStoredFieldsFormatTestCase;
+import org.apache.lucene.tests.util.TestUtil;
+
+public class ES87LZ4HighCompressionStoredFieldsFormatTests extends BaseStoredFieldsFormatTestCase {
+
+    private final Codec codec = new ES87LZ4HighCompressionCodec(
+        new Lucene94Codec(),
+        TestUtil.nextInt(random(), ES87LZ4HighCompressionStoredFieldsFormat.MIN_LEVEL, ES87LZ4HighCompressionStoredFieldsFormat.MAX_LEVEL)
+    );
+
+    @Override
+    protected Codec getCodec() {
+        return codec;
+    }
+
+    public void testInvalidLevel() {
+        int level = random().nextBoolean()
+            ? ES87LZ4HighCompressionStoredFieldsFormat.MIN_LEVEL - 1
+            : ES87LZ4HighCompressionStoredFieldsFormat.MAX_LEVEL + 1;
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> new ES87LZ4HighCompressionStoredFieldsFormat(level)
+        );
+        assertEquals("compression level must be between [1] and [9] but was [" + level + "]", e.getMessage());
+    }
+
+    public void testCodecIsRegistered() {
+        assertEquals(ES87LZ4HighCompressionCodec.class, Codec.forName(ES87LZ4HighCompressionCodec.CODEC_NAME).getClass());
+    }
+}
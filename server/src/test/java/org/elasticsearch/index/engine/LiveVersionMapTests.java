@@ -441,6 +441,27 @@ public class LiveVersionMapTests extends ESTestCase {
         }
     }
 
+    public void testVersionTable() {
+        final LiveVersionMap.VersionTable table = new LiveVersionMap.VersionTable(LiveVersionMap.VersionTable.capacityFor(between(0, 10)));
+        final Map<BytesRef, VersionValue> expected = new HashMap<>();
+        final int numKeys = between(1, 500);
+        final int numOps = between(1000, 10000);
+        for (int i = 0; i < numOps; i++) {
+            final BytesRef uid = uid(Integer.toString(between(0, numKeys)));
+            switch (between(0, 2)) {
+                case 0 -> {
+                    final IndexVersionValue value = randomIndexVersionValue();
+                    assertEquals(expected.put(uid, value), table.put(uid, uid.hashCode(), value));
+                }
+                case 1 -> assertEquals(expected.remove(uid), table.remove(uid, uid.hashCode()));
+                default -> assertEquals(expected.get(uid), table.get(uid, uid.hashCode()));
+            }
+        }
+        final Map<BytesRef, VersionValue> actual = new HashMap<>();
+        table.copyTo(actual);
+        assertEquals(expected, actual);
+    }
+
     IndexVersionValue randomIndexVersionValue() {
         return new IndexVersionValue(randomTranslogLocation(), randomNonNegativeLong(), randomNonNegativeLong(), randomNonNegativeLong());
     }
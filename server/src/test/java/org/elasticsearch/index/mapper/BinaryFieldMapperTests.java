@@ -22,7 +22,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
 
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class BinaryFieldMapperTests extends MapperTestCase {
@@ -43,6 +45,7 @@ public class BinaryFieldMapperTests extends MapperTestCase {
     protected void registerParameters(ParameterChecker checker) throws IOException {
         checker.registerConflictCheck("doc_values", b -> b.field("doc_values", true));
         checker.registerConflictCheck("store", b -> b.field("store", true));
+        checker.registerConflictCheck("synthetic_source_keep_arrays", b -> b.field("synthetic_source_keep_arrays", true));
     }
 
     public void testExistsQueryDocValuesEnabled() throws IOException {
@@ -129,6 +132,19 @@ public class BinaryFieldMapperTests extends MapperTestCase {
         }
     }
 
+    public void testArrayOrderOnlyStoredForMultipleValues() throws IOException {
+        DocumentMapper mapper = createDocumentMapper(syntheticSourceFieldMapping(b -> {
+            b.field("type", "binary").field("doc_values", true);
+            b.field("synthetic_source_keep_arrays", true);
+        }));
+        String arrayOrder = ArrayOrderDocValuesField.name("field");
+        String value = Base64.getEncoder().encodeToString(randomByteArrayOfLength(between(1, 10)));
+        ParsedDocument doc = mapper.parse(source(b -> b.field("field", value)));
+        assertThat(doc.rootDoc().getFields(arrayOrder).length, equalTo(0));
+        doc = mapper.parse(source(b -> b.array("field", value, value, value)));
+        assertThat(doc.rootDoc().getFields(arrayOrder).length, equalTo(1));
+    }
+
     @Override
     protected Object generateRandomInputValue(MappedFieldType ft) {
         if (rarely()) return null;
@@ -153,7 +169,62 @@ public class BinaryFieldMapperTests extends MapperTestCase {
 
     @Override
     protected SyntheticSourceSupport syntheticSourceSupport(boolean ignoreMalformed) {
-        throw new AssumptionViolatedException("not supported");
+        assertFalse("binary doesn't support ignore_malformed", ignoreMalformed);
+        return new SyntheticSourceSupport() {
+            private final boolean store = randomBoolean();
+            private final boolean keepArrays = store == false && randomBoolean();
+
+            @Override
+            public SyntheticSourceExample example(int maxValues) {
+                if (randomBoolean()) {
+                    String value = randomValue();
+                    return new SyntheticSourceExample(value, value, this::mapping);
+                }
+                List<String> in = randomList(1, maxValues, this::randomValue);
+                List<String> outList;
+                if (store || keepArrays) {
+                    outList = in;
+                } else {
+                    outList = in.stream()
+                        .map(v -> Base64.getDecoder().decode(v))
+                        .sorted(Arrays::compareUnsigned)
+                        .map(v -> Base64.getEncoder().encodeToString(v))
+                        .distinct()
+                        .toList();
+                }
+                Object out = outList.size() == 1 ? outList.get(0) : outList;
+                return new SyntheticSourceExample(in, out, this::mapping);
+            }
+
+            private String randomValue() {
+                return Base64.getEncoder().encodeToString(randomByteArrayOfLength(between(1, 10)));
+            }
+
+            private void mapping(XContentBuilder b) throws IOException {
+                minimalMapping(b);
+                if (store) {
+                    b.field("store", true);
+                } else {
+                    b.field("doc_values", true);
+                    if (keepArrays) {
+                        b.field("synthetic_source_keep_arrays", true);
+                    }
+                }
+            }
+
+            @Override
+            public List<SyntheticSourceInvalidExample> invalidExample() throws IOException {
+                return List.of(
+                    new SyntheticSourceInvalidExample(
+                        equalTo(
+                            "field [field] of type [binary] doesn't support synthetic source "
+                                + "because it doesn't have doc values and isn't stored"
+                        ),
+                        b -> b.field("type", "binary")
+                    )
+                );
+            }
+        };
     }
 
     @Override
@@ -8,10 +8,14 @@
 
 package org.elasticsearch.index.mapper;
 
+import org.elasticsearch.common.time.DateFormatter;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.junit.AssumptionViolatedException;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
 
 import static org.hamcrest.Matchers.containsString;
 
@@ -57,7 +61,14 @@ public class DateRangeFieldMapperTests extends RangeFieldMapperTests {
 
     @Override
     protected SyntheticSourceSupport syntheticSourceSupport(boolean ignoreMalformed) {
-        throw new AssumptionViolatedException("not supported");
+        // synthetic source prints the dates with the first format, which has second precision
+        DateFormatter formatter = DateFormatter.forPattern(DATE_FORMAT);
+        return rangeSyntheticSourceSupport(
+            ignoreMalformed,
+            () -> randomLongBetween(0, 4102444800L) * 1000,
+            Comparator.naturalOrder(),
+            millis -> formatter.format(Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC))
+        );
     }
 
     @Override
@@ -104,6 +104,23 @@ public class DotExpandingXContentParserTests extends ESTestCase {
 
     }
 
+    public void testInvalidDottedFieldNames() throws IOException {
+        assertInvalidFieldName("...", "field name cannot contain only dots");
+        assertInvalidFieldName("test..dots", "field name cannot contain only whitespace: ['test..dots']");
+        assertInvalidFieldName(".test", "field name cannot contain only whitespace: ['.test']");
+        assertInvalidFieldName("test. .dots", "field name starting or ending with a [.] makes object resolution ambiguous: [test. .dots]");
+    }
+
+    private void assertInvalidFieldName(String fieldName, String message) throws IOException {
+        XContentParser parser = DotExpandingXContentParser.expandDots(
+            createParser(JsonXContent.jsonXContent, "{\"" + fieldName + "\":\"value\"}"),
+            () -> false
+        );
+        assertEquals(XContentParser.Token.START_OBJECT, parser.nextToken());
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, parser::nextToken);
+        assertEquals(message, e.getMessage());
+    }
+
     public void testDuplicateKeys() throws IOException {
         assertXContentMatches("""
             {"test":{"with":{"dots1":"value1"}},"test":{"with":{"dots2":"value2"}}}""", """
@@ -166,7 +166,9 @@ public class FieldAliasMapperValidationTests extends ESTestCase {
     }
 
     private static NestedObjectMapper createNestedObjectMapper(String name) {
-        return new NestedObjectMapper.Builder(name, Version.CURRENT).build(MapperBuilderContext.root(false));
+        return new NestedObjectMapper.Builder(name, Version.CURRENT, query -> { throw new UnsupportedOperationException(); }).build(
+            MapperBuilderContext.root(false)
+        );
     }
 
     private static MappingLookup createMappingLookup(
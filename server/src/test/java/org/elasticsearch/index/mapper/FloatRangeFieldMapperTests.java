@@ -12,6 +12,7 @@ import org.elasticsearch.xcontent.XContentBuilder;
 import org.junit.AssumptionViolatedException;
 
 import java.io.IOException;
+import java.util.Comparator;
 
 public class FloatRangeFieldMapperTests extends RangeFieldMapperTests {
 
@@ -42,7 +43,12 @@ public class FloatRangeFieldMapperTests extends RangeFieldMapperTests {
 
     @Override
     protected SyntheticSourceSupport syntheticSourceSupport(boolean ignoreMalformed) {
-        throw new AssumptionViolatedException("not supported");
+        return rangeSyntheticSourceSupport(
+            ignoreMalformed,
+            () -> (float) randomDoubleBetween(-1000, 1000, true),
+            Comparator.naturalOrder(),
+            v -> v
+        );
     }
 
     @Override
@@ -12,6 +12,7 @@ import org.elasticsearch.xcontent.XContentBuilder;
 import org.junit.AssumptionViolatedException;
 
 import java.io.IOException;
+import java.util.Comparator;
 
 public class IntegerRangeFieldMapperTests extends RangeFieldMapperTests {
     @Override
@@ -36,7 +37,7 @@ public class IntegerRangeFieldMapperTests extends RangeFieldMapperTests {
 
     @Override
     protected SyntheticSourceSupport syntheticSourceSupport(boolean ignoreMalformed) {
-        throw new AssumptionViolatedException("not supported");
+        return rangeSyntheticSourceSupport(ignoreMalformed, () -> between(-1000, 1000), Comparator.naturalOrder(), v -> v);
     }
 
     @Override
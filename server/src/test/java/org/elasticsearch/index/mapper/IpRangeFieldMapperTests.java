@@ -7,13 +7,17 @@
  */
 package org.elasticsearch.index.mapper;
 
+import org.apache.lucene.document.InetAddressPoint;
 import org.apache.lucene.index.DocValuesType;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.network.InetAddresses;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.junit.AssumptionViolatedException;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -85,7 +89,12 @@ public class IpRangeFieldMapperTests extends RangeFieldMapperTests {
 
     @Override
     protected SyntheticSourceSupport syntheticSourceSupport(boolean ignoreMalformed) {
-        throw new AssumptionViolatedException("not supported");
+        return rangeSyntheticSourceSupport(
+            ignoreMalformed,
+            () -> randomIp(randomBoolean()),
+            Comparator.comparing((InetAddress ip) -> new BytesRef(InetAddressPoint.encode(ip))),
+            InetAddresses::toAddrString
+        );
     }
 
     @Override
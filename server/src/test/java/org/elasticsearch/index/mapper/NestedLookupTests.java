@@ -64,7 +64,9 @@ public class NestedLookupTests extends MapperServiceTestCase {
     }
 
     private static NestedObjectMapper buildMapper(String name) {
-        return new NestedObjectMapper.Builder(name, Version.CURRENT).build(MapperBuilderContext.root(false));
+        return new NestedObjectMapper.Builder(name, Version.CURRENT, query -> { throw new UnsupportedOperationException(); }).build(
+            MapperBuilderContext.root(false)
+        );
     }
 
     public void testAllParentFilters() {
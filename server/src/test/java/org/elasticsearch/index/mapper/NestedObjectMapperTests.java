@@ -8,7 +8,11 @@
 
 package org.elasticsearch.index.mapper;
 
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.RandomIndexWriter;
 import org.elasticsearch.Version;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.bytes.BytesReference;
@@ -16,6 +20,7 @@ import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.index.mapper.MapperService.MergeReason;
 import org.elasticsearch.index.mapper.ObjectMapper.Dynamic;
+import org.elasticsearch.search.lookup.Source;
 import org.elasticsearch.test.VersionUtils;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentFactory;
@@ -1496,12 +1501,16 @@ public class NestedObjectMapperTests extends MapperServiceTestCase {
     }
 
     public void testMergeNested() {
-        NestedObjectMapper firstMapper = new NestedObjectMapper.Builder("nested1", Version.CURRENT).includeInParent(true)
-            .includeInRoot(true)
-            .build(MapperBuilderContext.root(false));
-        NestedObjectMapper secondMapper = new NestedObjectMapper.Builder("nested1", Version.CURRENT).includeInParent(false)
-            .includeInRoot(true)
-            .build(MapperBuilderContext.root(false));
+        NestedObjectMapper firstMapper = new NestedObjectMapper.Builder(
+            "nested1",
+            Version.CURRENT,
+            query -> { throw new UnsupportedOperationException(); }
+        ).includeInParent(true).includeInRoot(true).build(MapperBuilderContext.root(false));
+        NestedObjectMapper secondMapper = new NestedObjectMapper.Builder(
+            "nested1",
+            Version.CURRENT,
+            query -> { throw new UnsupportedOperationException(); }
+        ).includeInParent(false).includeInRoot(true).build(MapperBuilderContext.root(false));
 
         MapperException e = expectThrows(MapperException.class, () -> firstMapper.merge(secondMapper, MapperBuilderContext.root(false)));
         assertThat(e.getMessage(), containsString("[include_in_parent] parameter can't be updated on a nested object mapping"));
@@ -1514,4 +1523,45 @@ public class NestedObjectMapperTests extends MapperServiceTestCase {
         assertFalse(result.isIncludeInParent());
         assertTrue(result.isIncludeInRoot());
     }
+
+    public void testSyntheticSource() throws IOException {
+        DocumentMapper mapper = createDocumentMapper(syntheticSourceMapping(b -> {
+            b.startObject("kwd").field("type", "keyword").endObject();
+            b.startObject("nested").field("type", "nested").startObject("properties");
+            {
+                b.startObject("kwd").field("type", "keyword").endObject();
+                b.startObject("inner").field("type", "nested").startObject("properties");
+                b.startObject("num").field("type", "long").endObject();
+                b.endObject().endObject();
+            }
+            b.endObject().endObject();
+        }));
+        List<LuceneDocument> first = mapper.parse(source("""
+            {"kwd": "a", "nested": [{"kwd": "x", "inner": [{"num": 1}, {"num": 2}]}, {"kwd": "y"}]}
+            """)).docs();
+        List<LuceneDocument> second = mapper.parse(source("""
+            {"nested": {"kwd": "z"}}
+            """)).docs();
+        try (Directory directory = newDirectory()) {
+            RandomIndexWriter iw = new RandomIndexWriter(random(), directory);
+            iw.addDocuments(first);
+            iw.addDocuments(second);
+            iw.forceMerge(1);
+            iw.close();
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                // the root document is indexed after its nested documents
+                int firstRoot = first.size() - 1;
+                int secondRoot = first.size() + second.size() - 1;
+                SourceLoader loader = mapper.sourceMapper().newSourceLoader(mapper.mapping());
+                LeafReader leafReader = getOnlyLeafReader(reader);
+                SourceLoader.Leaf leaf = loader.leaf(leafReader, new int[] { firstRoot, secondRoot });
+                Source source = leaf.source(syntheticSourceStoredFieldLoader(mapper, leafReader, loader), firstRoot);
+                assertThat(source.internalSourceRef().utf8ToString(), equalTo("""
+                    {"kwd":"a","nested":[{"inner":[{"num":1},{"num":2}],"kwd":"x"},{"kwd":"y"}]}"""));
+                source = leaf.source(syntheticSourceStoredFieldLoader(mapper, leafReader, loader), secondRoot);
+                assertThat(source.internalSourceRef().utf8ToString(), equalTo("""
+                    {"nested":[{"kwd":"z"}]}"""));
+            }
+        }
+    }
 }
@@ -270,7 +270,8 @@ public class ParametrizedMapperTests extends MapperServiceTestCase {
             ScriptCompiler.NONE,
             mapperService.getIndexAnalyzers(),
             mapperService.getIndexSettings(),
-            mapperService.getIndexSettings().getMode().idFieldMapperWithoutFieldData()
+            mapperService.getIndexSettings().getMode().idFieldMapperWithoutFieldData(),
+            query -> { throw new UnsupportedOperationException(); }
         );
         if (fromDynamicTemplate) {
             pc = pc.createDynamicTemplateContext(null);
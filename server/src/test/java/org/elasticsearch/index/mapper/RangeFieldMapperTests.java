@@ -15,6 +15,12 @@ import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.elasticsearch.index.query.RangeQueryBuilder.GTE_FIELD;
 import static org.elasticsearch.index.query.RangeQueryBuilder.GT_FIELD;
@@ -22,6 +28,7 @@ import static org.elasticsearch.index.query.RangeQueryBuilder.LTE_FIELD;
 import static org.elasticsearch.index.query.RangeQueryBuilder.LT_FIELD;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.hamcrest.Matchers.startsWith;
 
 public abstract class RangeFieldMapperTests extends MapperTestCase {
@@ -58,6 +65,7 @@ public abstract class RangeFieldMapperTests extends MapperTestCase {
         checker.registerConflictCheck("doc_values", b -> b.field("doc_values", false));
         checker.registerConflictCheck("index", b -> b.field("index", false));
         checker.registerConflictCheck("store", b -> b.field("store", true));
+        checker.registerConflictCheck("synthetic_source_keep_arrays", b -> b.field("synthetic_source_keep_arrays", true));
         checker.registerUpdateCheck(b -> b.field("coerce", false), m -> assertFalse(((RangeFieldMapper) m).coerce()));
     }
 
@@ -236,6 +244,78 @@ public abstract class RangeFieldMapperTests extends MapperTestCase {
         assertNullBounds(b -> b.startObject("field").field("gte", val).nullField("lte").endObject(), false, true);
     }
 
+    /**
+     * Synthetic source support for ranges with bounds made by {@code randomBound}. Doc values sort
+     * the ranges by their bounds in {@code order} and deduplicate them unless
+     * {@code synthetic_source_keep_arrays} is set. Bounds are sent and loaded as {@code format}
+     * makes them.
+     */
+    protected final <T> SyntheticSourceSupport rangeSyntheticSourceSupport(
+        boolean ignoreMalformed,
+        Supplier<T> randomBound,
+        Comparator<T> order,
+        Function<T, Object> format
+    ) {
+        assertFalse("range fields don't support ignore_malformed", ignoreMalformed);
+        return new SyntheticSourceSupport() {
+            private final boolean keepArrays = randomBoolean();
+
+            @Override
+            public SyntheticSourceExample example(int maxValues) {
+                if (randomBoolean()) {
+                    Map<String, Object> value = toSource(randomRange());
+                    return new SyntheticSourceExample(value, value, this::mapping);
+                }
+                List<List<T>> ranges = randomList(1, maxValues, this::randomRange);
+                List<Map<String, Object>> in = ranges.stream().map(this::toSource).toList();
+                List<Map<String, Object>> outList = keepArrays
+                    ? in
+                    : ranges.stream()
+                        .sorted(Comparator.<List<T>, T>comparing(r -> r.get(0), order).thenComparing(r -> r.get(1), order))
+                        .map(this::toSource)
+                        .distinct()
+                        .toList();
+                Object out = outList.size() == 1 ? outList.get(0) : outList;
+                return new SyntheticSourceExample(in, out, this::mapping);
+            }
+
+            private List<T> randomRange() {
+                T from = randomBound.get();
+                T to = randomBound.get();
+                return order.compare(from, to) <= 0 ? List.of(from, to) : List.of(to, from);
+            }
+
+            private Map<String, Object> toSource(List<T> range) {
+                Map<String, Object> source = new TreeMap<>();
+                source.put("gte", format.apply(range.get(0)));
+                source.put("lte", format.apply(range.get(1)));
+                return source;
+            }
+
+            private void mapping(XContentBuilder b) throws IOException {
+                minimalMapping(b);
+                if (keepArrays) {
+                    b.field("synthetic_source_keep_arrays", true);
+                }
+            }
+
+            @Override
+            public List<SyntheticSourceInvalidExample> invalidExample() throws IOException {
+                return List.of(
+                    new SyntheticSourceInvalidExample(
+                        matchesPattern(
+                            "field \\[field] of type \\[.+_range] doesn't support synthetic source because it doesn't have doc values"
+                        ),
+                        b -> {
+                            minimalMapping(b);
+                            b.field("doc_values", false);
+                        }
+                    )
+                );
+            }
+        };
+    }
+
     @Override
     protected Object generateRandomInputValue(MappedFieldType ft) {
         // Doc value fetching crashes.
@@ -80,7 +80,8 @@ public class TypeParsersTests extends ESTestCase {
             ScriptCompiler.NONE,
             mapperService.getIndexAnalyzers(),
             mapperService.getIndexSettings(),
-            ProvidedIdFieldMapper.NO_FIELD_DATA
+            ProvidedIdFieldMapper.NO_FIELD_DATA,
+            query -> { throw new UnsupportedOperationException(); }
         );
 
         TextFieldMapper.PARSER.parse("some-field", fieldNode, olderContext);
@@ -105,7 +106,8 @@ public class TypeParsersTests extends ESTestCase {
             ScriptCompiler.NONE,
             mapperService.getIndexAnalyzers(),
             mapperService.getIndexSettings(),
-            ProvidedIdFieldMapper.NO_FIELD_DATA
+            ProvidedIdFieldMapper.NO_FIELD_DATA,
+            query -> { throw new UnsupportedOperationException(); }
         );
 
         IllegalArgumentException e = expectThrows(
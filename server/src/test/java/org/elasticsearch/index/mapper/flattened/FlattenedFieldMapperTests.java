@@ -30,7 +30,9 @@ import org.junit.AssumptionViolatedException;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static org.apache.lucene.tests.analysis.BaseTokenStreamTestCase.assertTokenStreamContents;
 import static org.hamcrest.Matchers.containsString;
@@ -512,9 +514,63 @@ public class FlattenedFieldMapperTests extends MapperTestCase {
         assertAggregatableConsistency(mapperService.fieldType("field"));
     }
 
+    @Override
+    protected boolean supportsCopyTo() {
+        return false;
+    }
+
     @Override
     protected SyntheticSourceSupport syntheticSourceSupport(boolean ignoreMalformed) {
-        throw new AssumptionViolatedException("not supported");
+        assertFalse("flattened doesn't support ignore_malformed", ignoreMalformed);
+        return new SyntheticSourceSupport() {
+            @Override
+            public SyntheticSourceExample example(int maxValues) {
+                // Doc values store every leaf as a string and sort and deduplicate the values of each key
+                Map<String, Object> in = new TreeMap<>();
+                Map<String, Object> out = new TreeMap<>();
+                int keys = between(1, 5);
+                for (int k = 0; k < keys; k++) {
+                    String key = "k" + k;
+                    if (randomBoolean()) {
+                        Map<String, Object> inner = new TreeMap<>();
+                        Map<String, Object> innerOut = new TreeMap<>();
+                        leaf(inner, innerOut, "i", maxValues);
+                        in.put(key, inner);
+                        out.put(key, innerOut);
+                    } else {
+                        leaf(in, out, key, maxValues);
+                    }
+                }
+                return new SyntheticSourceExample(in, out, b -> minimalMapping(b));
+            }
+
+            private void leaf(Map<String, Object> in, Map<String, Object> out, String key, int maxValues) {
+                if (randomBoolean()) {
+                    String value = randomAlphaOfLength(5);
+                    in.put(key, value);
+                    out.put(key, value);
+                    return;
+                }
+                List<String> values = randomList(1, maxValues, () -> randomAlphaOfLength(5));
+                List<String> outValues = values.stream().sorted().distinct().toList();
+                in.put(key, values);
+                out.put(key, outValues.size() == 1 ? outValues.get(0) : outValues);
+            }
+
+            @Override
+            public List<SyntheticSourceInvalidExample> invalidExample() throws IOException {
+                return List.of(
+                    new SyntheticSourceInvalidExample(
+                        equalTo("field [field] of type [flattened] doesn't support synthetic source because it doesn't have doc values"),
+                        b -> b.field("type", "flattened").field("doc_values", false)
+                    ),
+                    new SyntheticSourceInvalidExample(
+                        equalTo("field [field] of type [flattened] doesn't support synthetic source because it declares ignore_above"),
+                        b -> b.field("type", "flattened").field("ignore_above", 10)
+                    )
+                );
+            }
+        };
     }
 
     @Override
@@ -16,7 +16,9 @@ import org.apache.lucene.codecs.lucene94.Lucene94HnswVectorsFormat;
 import org.apache.lucene.document.BinaryDocValuesField;
 import org.apache.lucene.document.KnnVectorField;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.VectorSimilarityFunction;
 import org.apache.lucene.search.FieldExistsQuery;
+import org.apache.lucene.search.KnnVectorQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.Version;
@@ -33,6 +35,7 @@ import org.elasticsearch.index.mapper.ParsedDocument;
 import org.elasticsearch.index.mapper.vectors.DenseVectorFieldMapper.DenseVectorFieldType;
 import org.elasticsearch.index.mapper.vectors.DenseVectorFieldMapper.ElementType;
 import org.elasticsearch.index.mapper.vectors.DenseVectorFieldMapper.VectorSimilarity;
+import org.elasticsearch.search.vectors.RescoreKnnVectorQuery;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.junit.AssumptionViolatedException;
@@ -44,9 +47,12 @@ import java.util.List;
 
 import static org.apache.lucene.codecs.lucene94.Lucene94HnswVectorsFormat.DEFAULT_BEAM_WIDTH;
 import static org.apache.lucene.codecs.lucene94.Lucene94HnswVectorsFormat.DEFAULT_MAX_CONN;
+import static org.hamcrest.Matchers.both;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class DenseVectorFieldMapperTests extends MapperTestCase {
 
@@ -267,6 +273,105 @@ public class DenseVectorFieldMapperTests extends MapperTestCase {
         assertEquals(similarity.function, vectorField.fieldType().vectorSimilarityFunction());
     }
 
+    public void testIndexedQuantizedVector() throws Exception {
+        VectorSimilarity similarity = randomFrom(VectorSimilarity.COSINE, VectorSimilarity.DOT_PRODUCT);
+        DocumentMapper mapper = createDocumentMapper(fieldMapping(b -> {
+            b.field("type", "dense_vector");
+            b.field("dims", 3);
+            b.field("index", true);
+            b.field("similarity", similarity);
+            b.startObject("index_options");
+            b.field("type", "int8_hnsw");
+            b.field("m", 5);
+            b.field("ef_construction", 50);
+            b.endObject();
+        }));
+
+        float[] vector = { -0.5f, 0.5f, 0.7071f };
+        ParsedDocument doc1 = mapper.parse(source(b -> b.array("field", vector)));
+
+        IndexableField[] fields = doc1.rootDoc().getFields("field");
+        assertEquals(2, fields.length);
+        assertThat(fields[0], instanceOf(KnnVectorField.class));
+        KnnVectorField vectorField = (KnnVectorField) fields[0];
+        assertEquals(new BytesRef(new byte[] { -90, 90, 127 }), vectorField.binaryValue());
+        assertEquals(VectorSimilarityFunction.COSINE, vectorField.fieldType().vectorSimilarityFunction());
+
+        assertThat(fields[1], instanceOf(BinaryDocValuesField.class));
+        float[] decodedValues = new float[vector.length];
+        VectorEncoderDecoder.decodeDenseVector(fields[1].binaryValue(), decodedValues);
+        assertArrayEquals("Raw vector is not equal to original.", vector, decodedValues, 0f);
+    }
+
+    public void testQuantizeToInt8() {
+        assertEquals(new BytesRef(new byte[] { 0, 0, 0 }), DenseVectorFieldMapper.quantizeToInt8(new float[] { 0f, 0f, 0f }));
+        assertEquals(new BytesRef(new byte[] { -127, 64, 0 }), DenseVectorFieldMapper.quantizeToInt8(new float[] { -2f, 1f, 0f }));
+
+        float[] vector = new float[randomIntBetween(1, 100)];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = randomFloat() * 2 - 1;
+        }
+        BytesRef quantized = DenseVectorFieldMapper.quantizeToInt8(vector);
+        assertEquals(vector.length, quantized.length);
+        for (int i = 0; i < vector.length; i++) {
+            assertThat((int) quantized.bytes[i], both(greaterThanOrEqualTo(-127)).and(lessThanOrEqualTo(127)));
+            assertTrue("quantization must not flip the sign of a component", quantized.bytes[i] * vector[i] >= 0);
+        }
+    }
+
+    public void testQuantizedKnnQuery() throws IOException {
+        boolean rescore = randomBoolean();
+        MapperService mapperService = createMapperService(fieldMapping(b -> {
+            b.field("type", "dense_vector");
+            b.field("dims", 3);
+            b.field("index", true);
+            b.field("similarity", "cosine");
+            b.startObject("index_options");
+            b.field("type", "int8_hnsw");
+            b.field("m", 5);
+            b.field("ef_construction", 50);
+            b.field("rescore", rescore);
+            b.endObject();
+        }));
+
+        DenseVectorFieldType denseVectorFieldType = (DenseVectorFieldType) mapperService.fieldType("field");
+        assertTrue(denseVectorFieldType.isQuantized());
+        Query query = denseVectorFieldType.createKnnQuery(new float[] { -0.5f, 0.5f, 0.7071f }, 10, null);
+        assertThat(query, instanceOf(rescore ? RescoreKnnVectorQuery.class : KnnVectorQuery.class));
+    }
+
+    public void testQuantizedIndexOptionsValidation() {
+        Exception e = expectThrows(MapperParsingException.class, () -> createMapperService(fieldMapping(b -> {
+            b.field("type", "dense_vector");
+            b.field("dims", 3);
+            b.field("element_type", "byte");
+            b.field("index", true);
+            b.field("similarity", "cosine");
+            b.startObject("index_options");
+            b.field("type", "int8_hnsw");
+            b.field("m", 5);
+            b.field("ef_construction", 50);
+            b.endObject();
+        })));
+        assertThat(e.getMessage(), containsString("[index_options] of type [int8_hnsw] can only be used with [element_type] [float]"));
+
+        e = expectThrows(MapperParsingException.class, () -> createMapperService(fieldMapping(b -> {
+            b.field("type", "dense_vector");
+            b.field("dims", 3);
+            b.field("index", true);
+            b.field("similarity", "l2_norm");
+            b.startObject("index_options");
+            b.field("type", "int8_hnsw");
+            b.field("m", 5);
+            b.field("ef_construction", 50);
+            b.endObject();
+        })));
+        assertThat(
+            e.getMessage(),
+            containsString("[index_options] of type [int8_hnsw] can only be used with the [cosine] or [dot_product] similarities")
+        );
+    }
+
     public void testDotProductWithInvalidNorm() throws Exception {
         DocumentMapper mapper = createDocumentMapper(
             fieldMapping(
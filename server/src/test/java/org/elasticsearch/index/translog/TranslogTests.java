@@ -537,7 +537,12 @@ public class TranslogTests extends ESTestCase {
                         "size_in_bytes": %s,
                         "uncommitted_operations": 4,
                         "uncommitted_size_in_bytes": %s,
-                        "earliest_last_modified_age": %s
+                        "earliest_last_modified_age": %s,
+                        "sync": {
+                          "total": 0,
+                          "requests": 0,
+                          "total_time_in_millis": 0
+                        }
                       }
                     }""", 325L + sourceLength, 270L + sourceLength, stats.getEarliestLastModifiedAge()))));
             }
@@ -661,6 +666,29 @@ public class TranslogTests extends ESTestCase {
         }
     }
 
+    public void testSnapshotReadsOperationsAcrossChunks() throws IOException {
+        final List<Translog.Operation> ops = new ArrayList<>();
+        final int numOps = randomIntBetween(1, 200);
+        for (int i = 0; i < numOps; i++) {
+            // mix small operations with ones that span chunk boundaries or don't fit in a chunk at all
+            final int sourceLength = rarely()
+                ? randomIntBetween(TranslogSnapshot.READ_AHEAD_SIZE / 2, TranslogSnapshot.READ_AHEAD_SIZE * 2)
+                : randomIntBetween(1, 2048);
+            addToTranslogAndList(
+                translog,
+                ops,
+                TranslogOperationsUtils.indexOp(Integer.toString(i), i, primaryTerm.get(), randomAlphaOfLength(sourceLength))
+            );
+            if (rarely()) {
+                translog.rollGeneration();
+            }
+        }
+        try (Translog.Snapshot snapshot = translog.newSnapshot()) {
+            assertThat(snapshot, SnapshotMatchers.containsOperationsInAnyOrder(ops));
+            assertThat(snapshot.totalOperations(), equalTo(numOps));
+        }
+    }
+
     public void testReadLocation() throws IOException {
         ArrayList<Translog.Operation> ops = new ArrayList<>();
         ArrayList<Translog.Location> locs = new ArrayList<>();
@@ -1187,6 +1215,8 @@ public class TranslogTests extends ESTestCase {
 
     public void testSyncUpToStream() throws IOException {
         int iters = randomIntBetween(5, 10);
+        long expectedSyncs = 0;
+        long expectedSyncedRequests = 0;
         for (int i = 0; i < iters; i++) {
             int translogOperations = randomIntBetween(10, 100);
             int count = 0;
@@ -1204,6 +1234,8 @@ public class TranslogTests extends ESTestCase {
                 assertTrue("this operation has not been synced", translog.ensureSynced(locations.stream()));
                 // we are the last location so everything should be synced
                 assertFalse("the last call to ensureSycned synced all previous ops", translog.syncNeeded());
+                expectedSyncs++;
+                expectedSyncedRequests += locations.size();
             } else if (rarely()) {
                 translog.rollGeneration();
                 // not syncing now
@@ -1217,6 +1249,11 @@ public class TranslogTests extends ESTestCase {
                 assertFalse("all of the locations should be synced: " + location, translog.ensureSynced(location));
             }
         }
+        // only the calls that actually fsynced are accounted for
+        final TranslogStats stats = translog.stats();
+        assertThat(stats.getSyncCount(), equalTo(expectedSyncs));
+        assertThat(stats.getSyncedRequests(), equalTo(expectedSyncedRequests));
+        assertThat(stats.getSyncTimeInMillis(), greaterThanOrEqualTo(0L));
     }
 
     public void testLocationComparison() throws IOException {
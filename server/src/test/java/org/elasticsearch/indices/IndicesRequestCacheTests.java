@@ -15,6 +15,7 @@ import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.TermQuery;
@@ -403,6 +404,61 @@ public class IndicesRequestCacheTests extends ESTestCase {
         );
     }
 
+    public void testSegmentEntriesSurviveRefresh() throws Exception {
+        ShardRequestCache requestCacheStats = new ShardRequestCache();
+        IndicesRequestCache cache = new IndicesRequestCache(Settings.EMPTY);
+        Directory dir = newDirectory();
+        IndexWriter writer = new IndexWriter(dir, newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE));
+
+        writer.addDocument(newDoc(0, "foo"));
+        DirectoryReader reader = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(writer), new ShardId("foo", "bar", 1));
+        MappingLookup.CacheKey mappingKey = MappingLookup.EMPTY.cacheKey();
+        TermQueryBuilder termQuery = new TermQueryBuilder("id", "0");
+        BytesReference termBytes = XContentHelper.toXContent(termQuery, XContentType.JSON, false);
+        AtomicBoolean indexShard = new AtomicBoolean(true);
+        TestEntity entity = new TestEntity(requestCacheStats, indexShard);
+
+        assertEquals(1, reader.leaves().size());
+        IndexReader.CacheHelper segmentCacheHelper = reader.leaves().get(0).reader().getReaderCacheHelper();
+        Loader loader = new Loader(reader, 0);
+        BytesReference value = cache.getOrComputeForSegment(entity, loader, mappingKey, segmentCacheHelper, termBytes);
+        assertEquals("foo", value.streamInput().readString());
+        assertFalse(loader.loadedFromCache);
+        assertEquals(1, requestCacheStats.stats().getMissCount());
+
+        // the refresh adds a segment, the first one is unchanged and its entry is still valid
+        writer.addDocument(newDoc(1, "bar"));
+        DirectoryReader secondReader = DirectoryReader.openIfChanged(reader);
+        assertNotNull(secondReader);
+        assertEquals(2, secondReader.leaves().size());
+        assertSame(segmentCacheHelper.getKey(), secondReader.leaves().get(0).reader().getReaderCacheHelper().getKey());
+        loader = new Loader(secondReader, 0);
+        value = cache.getOrComputeForSegment(
+            entity,
+            loader,
+            mappingKey,
+            secondReader.leaves().get(0).reader().getReaderCacheHelper(),
+            termBytes
+        );
+        assertEquals("foo", value.streamInput().readString());
+        assertTrue(loader.loadedFromCache);
+        assertEquals(1, requestCacheStats.stats().getHitCount());
+        assertEquals(1, cache.count());
+
+        // closing the first top level reader doesn't close the segment that is shared with the second one
+        reader.close();
+        cache.cleanCache();
+        assertEquals(1, cache.count());
+
+        secondReader.close();
+        cache.cleanCache();
+        assertEquals(0, cache.count());
+        assertEquals(0L, requestCacheStats.stats().getMemorySize().getBytes());
+
+        IOUtils.close(writer, dir, cache);
+        assertEquals(0, cache.numRegisteredCloseListeners());
+    }
+
     private static class Loader implements CheckedSupplier<BytesReference, IOException> {
 
         private final DirectoryReader reader;
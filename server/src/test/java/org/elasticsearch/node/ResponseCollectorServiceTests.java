@@ -13,10 +13,16 @@ import org.elasticsearch.cluster.ClusterName;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRoutingState;
+import org.elasticsearch.cluster.routing.TestShardRouting;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.transport.TransportAddress;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
@@ -63,6 +69,55 @@ public class ResponseCollectorServiceTests extends ESTestCase {
         assertThat(nodeStats.get("node1").serviceTime, equalTo(10.0));
     }
 
+    public void testShardCopyStats() {
+        ShardId shard0 = new ShardId(new Index("index", "_na_"), 0);
+        ShardId shard1 = new ShardId(new Index("index", "_na_"), 1);
+        ShardId otherShard = new ShardId(new Index("other", "_na_"), 0);
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        collector.addShardCopyStatistics("node1", shard0, 5, 200, 50);
+        collector.addShardCopyStatistics("node1", shard1, 0, 50, 5);
+        collector.addShardCopyStatistics("node2", otherShard, 2, 80, 8);
+
+        ResponseCollectorService.ComputedNodeStats copyStats = collector.getShardCopyStatistics("node1", shard0).get();
+        assertThat(copyStats.nodeId, equalTo("node1"));
+        assertThat(copyStats.queueSize, equalTo(5));
+        assertThat(copyStats.responseTime, equalTo(200.0));
+        assertThat(copyStats.serviceTime, equalTo(50.0));
+        assertTrue(collector.getShardCopyStatistics("node2", shard0).isEmpty());
+
+        collector.removeNode("node1");
+        assertTrue(collector.getShardCopyStatistics("node1", shard0).isEmpty());
+        assertTrue(collector.getShardCopyStatistics("node1", shard1).isEmpty());
+        assertTrue(collector.getShardCopyStatistics("node2", otherShard).isPresent());
+    }
+
+    public void testRemoveUnassignedShardCopies() {
+        Index index = new Index("index", "_na_");
+        ShardId shard0 = new ShardId(index, 0);
+        ShardId shard1 = new ShardId(index, 1);
+        ShardId otherShard = new ShardId(new Index("other", "_na_"), 0);
+        collector.addShardCopyStatistics("node1", shard0, 1, 100, 10);
+        collector.addShardCopyStatistics("node2", shard0, 1, 100, 10);
+        collector.addShardCopyStatistics("node1", shard1, 1, 100, 10);
+        collector.addShardCopyStatistics("node2", otherShard, 1, 100, 10);
+
+        // the copy of shard 0 relocated from node2 to node3 and the other index was deleted
+        RoutingTable routingTable = RoutingTable.builder()
+            .add(
+                IndexRoutingTable.builder(index)
+                    .addShard(TestShardRouting.newShardRouting(shard0, "node1", true, ShardRoutingState.STARTED))
+                    .addShard(TestShardRouting.newShardRouting(shard0, "node3", false, ShardRoutingState.STARTED))
+                    .addShard(TestShardRouting.newShardRouting(shard1, "node1", true, ShardRoutingState.STARTED))
+            )
+            .build();
+        collector.removeUnassignedShardCopies(routingTable);
+
+        assertTrue(collector.getShardCopyStatistics("node1", shard0).isPresent());
+        assertTrue(collector.getShardCopyStatistics("node1", shard1).isPresent());
+        assertTrue(collector.getShardCopyStatistics("node2", shard0).isEmpty());
+        assertTrue(collector.getShardCopyStatistics("node2", otherShard).isEmpty());
+    }
+
     /*
      * Test that concurrently adding values and removing nodes does not cause exceptions
      */
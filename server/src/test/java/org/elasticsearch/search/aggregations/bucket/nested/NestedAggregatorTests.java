@@ -923,6 +923,8 @@ public class NestedAggregatorTests extends AggregatorTestCase {
     );
 
     public static NestedObjectMapper nestedObject(String path) {
-        return new NestedObjectMapper.Builder(path, Version.CURRENT).build(MapperBuilderContext.root(false));
+        return new NestedObjectMapper.Builder(path, Version.CURRENT, query -> { throw new UnsupportedOperationException(); }).build(
+            MapperBuilderContext.root(false)
+        );
     }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.backpressure;
+
+import org.elasticsearch.action.search.SearchShardTask;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.tasks.Task;
+import org.elasticsearch.tasks.TaskAwareRequest;
+import org.elasticsearch.tasks.TaskId;
+import org.elasticsearch.tasks.TaskManager;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.junit.After;
+import org.junit.Before;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+public class SearchBackpressureServiceTests extends ESTestCase {
+
+    private ThreadPool threadPool;
+    private TaskManager taskManager;
+    private final AtomicInteger heapUsedPercent = new AtomicInteger();
+    private final AtomicInteger searchQueueSize = new AtomicInteger();
+
+    @Before
+    public void setUpThreadPool() {
+        threadPool = new TestThreadPool(getTestName());
+        taskManager = new TaskManager(Settings.EMPTY, threadPool, Set.of());
+    }
+
+    @After
+    public void tearDownThreadPool() {
+        terminate(threadPool);
+    }
+
+    private SearchBackpressureService newService(Settings settings) {
+        return new SearchBackpressureService(
+            settings,
+            new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
+            threadPool,
+            taskManager,
+            heapUsedPercent::get,
+            searchQueueSize::get
+        );
+    }
+
+    private TestTask registerTask(long cpuTimeNanos, long allocatedBytes) {
+        return (TestTask) taskManager.register("transport", "indices:data/read/search[phase/query]", new TaskAwareRequest() {
+            @Override
+            public void setParentTask(TaskId taskId) {}
+
+            @Override
+            public TaskId getParentTask() {
+                return TaskId.EMPTY_TASK_ID;
+            }
+
+            @Override
+            public Task createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+                return new TestTask(id, type, action, parentTaskId, headers, cpuTimeNanos, allocatedBytes);
+            }
+        });
+    }
+
+    public void testNodeDuress() {
+        SearchBackpressureService service = newService(
+            Settings.builder()
+                .put(SearchBackpressureService.NODE_DURESS_HEAP_THRESHOLD_SETTING.getKey(), 0.5)
+                .put(SearchBackpressureService.NODE_DURESS_SEARCH_QUEUE_THRESHOLD_SETTING.getKey(), 10)
+                .build()
+        );
+        heapUsedPercent.set(between(0, 49));
+        searchQueueSize.set(between(0, 9));
+        assertFalse(service.isNodeInDuress());
+        heapUsedPercent.set(between(50, 100));
+        assertTrue(service.isNodeInDuress());
+        heapUsedPercent.set(between(0, 49));
+        searchQueueSize.set(between(10, 100));
+        assertTrue(service.isNodeInDuress());
+    }
+
+    public void testSelectCandidates() {
+        SearchBackpressureService service = newService(
+            Settings.builder()
+                .put(SearchBackpressureService.SEARCH_SHARD_TASK_CPU_TIME_THRESHOLD_SETTING.getKey(), "10ms")
+                .put(SearchBackpressureService.SEARCH_SHARD_TASK_ALLOCATION_THRESHOLD_SETTING.getKey(), "1kb")
+                .build()
+        );
+        TestTask cheap = registerTask(1_000_000, 100);
+        TestTask cpuHeavy = registerTask(50_000_000, 100);
+        TestTask allocationHeavy = registerTask(1_000_000, 2048);
+        List<SearchBackpressureService.Candidate> candidates = service.selectCandidates(List.of(cheap, cpuHeavy, allocationHeavy));
+        assertThat(candidates.stream().map(SearchBackpressureService.Candidate::task).toList(), contains(cpuHeavy, allocationHeavy));
+        assertThat(service.selectCandidates(List.of(cheap)), empty());
+    }
+
+    public void testCancelsOnlyAfterSuccessiveBreaches() {
+        SearchBackpressureService service = newService(
+            Settings.builder()
+                .put(SearchBackpressureService.MODE_SETTING.getKey(), "enforced")
+                .put(SearchBackpressureService.NODE_DURESS_NUM_SUCCESSIVE_BREACHES_SETTING.getKey(), 3)
+                .put(SearchBackpressureService.NODE_DURESS_SEARCH_QUEUE_THRESHOLD_SETTING.getKey(), 10)
+                .put(SearchBackpressureService.SEARCH_SHARD_TASK_CPU_TIME_THRESHOLD_SETTING.getKey(), "10ms")
+                .put(SearchBackpressureService.SEARCH_SHARD_TASK_MAX_CANCELLATIONS_SETTING.getKey(), 1)
+                .build()
+        );
+        TestTask cheap = registerTask(1_000_000, 0);
+        TestTask heavy = registerTask(100_000_000, 0);
+        TestTask heavier = registerTask(200_000_000, 0);
+
+        searchQueueSize.set(100);
+        service.check();
+        service.check();
+        searchQueueSize.set(0);
+        service.check();
+        assertFalse(heavier.isCancelled());
+
+        searchQueueSize.set(100);
+        for (int i = 0; i < 3; i++) {
+            service.check();
+        }
+        assertTrue(heavier.isCancelled());
+        assertFalse(heavy.isCancelled());
+        assertFalse(cheap.isCancelled());
+
+        SearchBackpressureStats stats = service.stats();
+        assertThat(stats.mode(), equalTo("enforced"));
+        assertThat(stats.nodeDuressCount(), equalTo(1L));
+        assertThat(stats.currentTasks(), equalTo(3L));
+        assertThat(stats.cpuCancellationCount(), equalTo(1L));
+        assertThat(stats.allocationCancellationCount(), equalTo(0L));
+        assertThat(stats.limitReachedCount(), equalTo(1L));
+    }
+
+    public void testMonitorOnlyDoesNotCancel() {
+        SearchBackpressureService service = newService(
+            Settings.builder()
+                .put(SearchBackpressureService.NODE_DURESS_NUM_SUCCESSIVE_BREACHES_SETTING.getKey(), 1)
+                .put(SearchBackpressureService.SEARCH_SHARD_TASK_CPU_TIME_THRESHOLD_SETTING.getKey(), "10ms")
+                .build()
+        );
+        TestTask heavy = registerTask(100_000_000, 0);
+        heapUsedPercent.set(100);
+        service.check();
+        assertFalse(heavy.isCancelled());
+        assertThat(service.stats().mode(), equalTo("monitor_only"));
+        assertThat(service.stats().cpuCancellationCount(), equalTo(1L));
+    }
+
+    public void testMonitorOnlyCountsEachTaskOnce() {
+        SearchBackpressureService service = newService(
+            Settings.builder()
+                .put(SearchBackpressureService.NODE_DURESS_NUM_SUCCESSIVE_BREACHES_SETTING.getKey(), 1)
+                .put(SearchBackpressureService.SEARCH_SHARD_TASK_CPU_TIME_THRESHOLD_SETTING.getKey(), "10ms")
+                .put(SearchBackpressureService.SEARCH_SHARD_TASK_ALLOCATION_THRESHOLD_SETTING.getKey(), "1kb")
+                .put(SearchBackpressureService.SEARCH_SHARD_TASK_MAX_CANCELLATIONS_SETTING.getKey(), 1)
+                .build()
+        );
+        TestTask cpuHeavy = registerTask(100_000_000, 0);
+        TestTask allocationHeavy = registerTask(1_000_000, 1024 * 1024);
+        heapUsedPercent.set(100);
+
+        // the limit only lets one task be counted per check, the other one is counted by the next check
+        service.check();
+        service.check();
+        int checks = between(1, 5);
+        for (int i = 0; i < checks; i++) {
+            service.check();
+        }
+        SearchBackpressureStats stats = service.stats();
+        assertThat(stats.nodeDuressCount(), equalTo(2L + checks));
+        assertThat(stats.currentTasks(), equalTo(2L));
+        assertThat(stats.cpuCancellationCount(), equalTo(1L));
+        assertThat(stats.allocationCancellationCount(), equalTo(1L));
+        assertThat(stats.limitReachedCount(), equalTo(1L));
+        assertFalse(cpuHeavy.isCancelled());
+        assertFalse(allocationHeavy.isCancelled());
+
+        // a task is only remembered while it runs
+        taskManager.unregister(cpuHeavy);
+        service.check();
+        assertThat(service.stats().currentTasks(), equalTo(1L));
+        TestTask anotherCpuHeavy = registerTask(100_000_000, 0);
+        service.check();
+        assertThat(service.stats().cpuCancellationCount(), equalTo(2L));
+        assertThat(service.stats().allocationCancellationCount(), equalTo(1L));
+        assertFalse(anotherCpuHeavy.isCancelled());
+    }
+
+    private static class TestTask extends SearchShardTask {
+        private final long cpuTimeNanos;
+        private final long allocatedBytes;
+
+        TestTask(
+            long id,
+            String type,
+            String action,
+            TaskId parentTaskId,
+            Map<String, String> headers,
+            long cpuTimeNanos,
+            long allocatedBytes
+        ) {
+            super(id, type, action, "test", parentTaskId, headers);
+            this.cpuTimeNanos = cpuTimeNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        @Override
+        public long getCpuTimeNanos() {
+            return cpuTimeNanos;
+        }
+
+        @Override
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
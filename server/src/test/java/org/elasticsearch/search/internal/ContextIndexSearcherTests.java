@@ -42,6 +42,7 @@ import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.Accountable;
@@ -60,6 +61,7 @@ import org.elasticsearch.index.cache.bitset.BitsetFilterCache;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.lucene.util.CombinedBitSet;
 import org.elasticsearch.search.aggregations.LeafBucketCollector;
+import org.elasticsearch.tasks.TaskCancelledException;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.IndexSettingsModule;
 
@@ -68,12 +70,16 @@ import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.elasticsearch.search.internal.ContextIndexSearcher.intersectScorerAndBitSet;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitableLeafReader;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitablePointValues;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitableTerms;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class ContextIndexSearcherTests extends ESTestCase {
@@ -310,6 +316,99 @@ public class ContextIndexSearcherTests extends ESTestCase {
         dir.close();
     }
 
+    public void testComputeSlices() throws IOException {
+        Directory dir = newDirectory();
+        IndexWriter w = new IndexWriter(dir, newIndexWriterConfig(null).setMergePolicy(NoMergePolicy.INSTANCE));
+        int numSegments = randomIntBetween(2, 10);
+        int totalDocs = 0;
+        for (int i = 0; i < numSegments; i++) {
+            int numDocs = randomIntBetween(1, 20);
+            for (int j = 0; j < numDocs; j++) {
+                w.addDocument(new Document());
+            }
+            totalDocs += numDocs;
+            w.flush();
+        }
+        DirectoryReader reader = DirectoryReader.open(w);
+        assertEquals(numSegments, reader.leaves().size());
+
+        IndexSearcher.LeafSlice[] slices = ContextIndexSearcher.computeSlices(reader.leaves(), 1, 1);
+        assertEquals(1, slices.length);
+        assertEquals(numSegments, slices[0].leaves.length);
+
+        // there are not enough documents to fill more than a single slice
+        slices = ContextIndexSearcher.computeSlices(reader.leaves(), numSegments, totalDocs + 1);
+        assertEquals(1, slices.length);
+
+        int maxSlices = randomIntBetween(2, numSegments);
+        slices = ContextIndexSearcher.computeSlices(reader.leaves(), maxSlices, 1);
+        assertEquals(maxSlices, slices.length);
+        Set<LeafReaderContext> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (IndexSearcher.LeafSlice slice : slices) {
+            assertThat(slice.leaves.length, greaterThan(0));
+            for (LeafReaderContext leaf : slice.leaves) {
+                assertTrue("leaf assigned to several slices", seen.add(leaf));
+            }
+        }
+        assertEquals(numSegments, seen.size());
+
+        expectThrows(IllegalArgumentException.class, () -> ContextIndexSearcher.computeSlices(reader.leaves(), 0, 1));
+        expectThrows(IllegalArgumentException.class, () -> ContextIndexSearcher.computeSlices(reader.leaves(), 1, 0));
+        IOUtils.close(reader, w, dir);
+    }
+
+    public void testConcurrentSearch() throws IOException {
+        Directory dir = newDirectory();
+        IndexWriter w = new IndexWriter(dir, newIndexWriterConfig(null).setMergePolicy(NoMergePolicy.INSTANCE));
+        int numSegments = randomIntBetween(2, 10);
+        int numMatches = 0;
+        for (int i = 0; i < numSegments; i++) {
+            int numDocs = randomIntBetween(1, 20);
+            for (int j = 0; j < numDocs; j++) {
+                Document doc = new Document();
+                boolean match = randomBoolean();
+                doc.add(new StringField("field", match ? "value" : "other", Field.Store.NO));
+                numMatches += match ? 1 : 0;
+                w.addDocument(doc);
+            }
+            w.flush();
+        }
+        DirectoryReader reader = DirectoryReader.open(w);
+        ExecutorService executor = Executors.newFixedThreadPool(randomIntBetween(1, 4));
+        try {
+            ContextIndexSearcher searcher = new ContextIndexSearcher(
+                reader,
+                IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(),
+                IndexSearcher.getDefaultQueryCachingPolicy(),
+                true,
+                executor,
+                randomIntBetween(2, numSegments),
+                1
+            );
+            assertTrue(searcher.isConcurrentSearchEnabled());
+            Query query = new TermQuery(new Term("field", "value"));
+            AtomicBoolean cancelled = new AtomicBoolean();
+            searcher.addQueryCancellation(() -> {
+                if (cancelled.get()) {
+                    throw new TaskCancelledException("cancelled");
+                }
+            });
+            TopDocs topDocs = searcher.search(query, TopScoreDocCollector.createSharedManager(10, null, Integer.MAX_VALUE));
+            assertEquals(numMatches, topDocs.totalHits.value);
+            assertEquals(Math.min(10, numMatches), topDocs.scoreDocs.length);
+
+            cancelled.set(true);
+            expectThrows(
+                TaskCancelledException.class,
+                () -> searcher.search(query, TopScoreDocCollector.createSharedManager(10, null, Integer.MAX_VALUE))
+            );
+        } finally {
+            terminate(executor);
+        }
+        IOUtils.close(reader, w, dir);
+    }
+
     private SparseFixedBitSet query(LeafReaderContext leaf, String field, String value) throws IOException {
         SparseFixedBitSet sparseFixedBitSet = new SparseFixedBitSet(leaf.reader().maxDoc());
         TermsEnum tenum = leaf.reader().terms(field).iterator();
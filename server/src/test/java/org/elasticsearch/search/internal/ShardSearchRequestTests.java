@@ -115,6 +115,13 @@ public class ShardSearchRequestTests extends AbstractSearchTestCase {
         if (randomBoolean()) {
             req.setBottomSortValues(SearchSortValuesAndFormatsTests.randomInstance());
         }
+        if (randomBoolean()) {
+            float[] knnScoreBounds = new float[randomIntBetween(1, 3)];
+            for (int i = 0; i < knnScoreBounds.length; i++) {
+                knnScoreBounds[i] = randomFloat();
+            }
+            req.setKnnScoreBounds(knnScoreBounds);
+        }
         return req;
     }
 
@@ -186,6 +193,7 @@ public class ShardSearchRequestTests extends AbstractSearchTestCase {
         assertEquals(orig.getClusterAlias(), copy.getClusterAlias());
         assertEquals(orig.allowPartialSearchResults(), copy.allowPartialSearchResults());
         assertEquals(orig.canReturnNullResponseIfMatchNoDocs(), orig.canReturnNullResponseIfMatchNoDocs());
+        assertArrayEquals(orig.getKnnScoreBounds(), copy.getKnnScoreBounds(), 0.0f);
     }
 
     public static CompressedXContent filter(QueryBuilder filterBuilder) throws IOException {
@@ -111,4 +111,33 @@ public class SourceFilterTests extends ESTestCase {
 
     }
 
+    public void testIncludesAndExcludeWithWildcardsFilterBytes() {
+        BytesReference bytes = new BytesArray("""
+            { "field1" : "value1", "field2" : { "array_field" : [ "value2" ], "field3" : "value3" }, "field4" : "value4" }""");
+        Source s = new Source() {
+            @Override
+            public XContentType sourceContentType() {
+                return XContentType.JSON;
+            }
+
+            @Override
+            public Map<String, Object> source() {
+                throw new AssertionError("SourceFilter with includes should project the included fields from the bytes");
+            }
+
+            @Override
+            public BytesReference internalSourceRef() {
+                return bytes;
+            }
+
+            @Override
+            public Source filter(SourceFilter sourceFilter) {
+                return sourceFilter.filterBytes(this);
+            }
+        };
+
+        Source filtered = s.filter(new SourceFilter(new String[] { "field2", "field4" }, new String[] { "*.array*" }));
+        assertEquals(Map.of("field2", Map.of("field3", "value3"), "field4", "value4"), filtered.source());
+    }
+
 }
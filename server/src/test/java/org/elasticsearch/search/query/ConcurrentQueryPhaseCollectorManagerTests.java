@@ -0,0 +1,192 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.query;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.NumberFieldMapper;
+import org.elasticsearch.index.query.ParsedQuery;
+import org.elasticsearch.search.aggregations.AggregationReduceContext;
+import org.elasticsearch.search.aggregations.Aggregator;
+import org.elasticsearch.search.aggregations.AggregatorFactories;
+import org.elasticsearch.search.aggregations.AggregatorTestCase;
+import org.elasticsearch.search.aggregations.BucketCollector;
+import org.elasticsearch.search.aggregations.InternalAggregation;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.MultiBucketCollector;
+import org.elasticsearch.search.aggregations.SearchContextAggregations;
+import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
+import org.elasticsearch.search.aggregations.bucket.histogram.HistogramAggregationBuilder;
+import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.Cardinality;
+import org.elasticsearch.search.aggregations.metrics.CardinalityAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.Max;
+import org.elasticsearch.search.aggregations.metrics.MaxAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.Stats;
+import org.elasticsearch.search.aggregations.metrics.StatsAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.Sum;
+import org.elasticsearch.search.aggregations.metrics.SumAggregationBuilder;
+import org.elasticsearch.search.internal.ContextIndexSearcher;
+import org.elasticsearch.test.TestSearchContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class ConcurrentQueryPhaseCollectorManagerTests extends AggregatorTestCase {
+
+    private static final MappedFieldType NUMBER_FIELD = new NumberFieldMapper.NumberFieldType("number", NumberFieldMapper.NumberType.LONG);
+
+    public void testAggregationsMatchSequentialCollection() throws IOException {
+        AggregatorFactories.Builder builder = new AggregatorFactories.Builder().addAggregator(
+            new HistogramAggregationBuilder("histo").field("number")
+                .interval(10)
+                .minDocCount(randomIntBetween(0, 3))
+                .subAggregation(new MaxAggregationBuilder("max").field("number"))
+        )
+            .addAggregator(new SumAggregationBuilder("sum").field("number"))
+            .addAggregator(new StatsAggregationBuilder("stats").field("number"))
+            .addAggregator(new CardinalityAggregationBuilder("cardinality").field("number"));
+        assertTrue(builder.supportsShardLevelReduction());
+
+        Directory dir = newDirectory();
+        IndexWriter w = new IndexWriter(dir, newIndexWriterConfig(null).setMergePolicy(NoMergePolicy.INSTANCE));
+        int numSegments = randomIntBetween(2, 10);
+        for (int i = 0; i < numSegments; i++) {
+            for (int j = randomIntBetween(1, 50); j > 0; j--) {
+                Document doc = new Document();
+                doc.add(new SortedNumericDocValuesField("number", randomLongBetween(0, 100)));
+                w.addDocument(doc);
+            }
+            w.flush();
+        }
+        w.close();
+        IndexReader reader = DirectoryReader.open(dir);
+        Query query = new MatchAllDocsQuery();
+        ExecutorService executor = Executors.newFixedThreadPool(randomIntBetween(1, 4));
+        try {
+            InternalAggregations expected = collectSequentially(builder, reader, query);
+
+            ContextIndexSearcher searcher = new ContextIndexSearcher(
+                reader,
+                IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(),
+                IndexSearcher.getDefaultQueryCachingPolicy(),
+                true,
+                executor,
+                randomIntBetween(2, numSegments),
+                1
+            );
+            assertTrue(searcher.isConcurrentSearchEnabled());
+            TestSearchContext context = new TestSearchContext(null, null, searcher);
+            context.parsedQuery(new ParsedQuery(query));
+            context.setSize(0);
+            context.aggregations(
+                new SearchContextAggregations(
+                    builder.build(createAggregationContext(searcher, query, NUMBER_FIELD), null),
+                    () -> new AggregationReduceContext.ForPartial(
+                        BigArrays.NON_RECYCLING_INSTANCE,
+                        getMockScriptService(),
+                        () -> false,
+                        builder
+                    ),
+                    () -> builder.build(createAggregationContext(searcher, query, NUMBER_FIELD), null)
+                )
+            );
+            searcher.search(query, new ConcurrentQueryPhaseCollectorManager(context, query, false));
+            InternalAggregations actual = finalReduce(builder, context.queryResult().aggregations().expand());
+            assertThat(context.queryResult().topDocs().topDocs.totalHits.value, equalTo((long) reader.numDocs()));
+
+            Histogram expectedHisto = expected.get("histo");
+            Histogram actualHisto = actual.get("histo");
+            assertThat(actualHisto.getBuckets().size(), equalTo(expectedHisto.getBuckets().size()));
+            for (int i = 0; i < expectedHisto.getBuckets().size(); i++) {
+                Histogram.Bucket expectedBucket = expectedHisto.getBuckets().get(i);
+                Histogram.Bucket actualBucket = actualHisto.getBuckets().get(i);
+                assertThat(actualBucket.getKey(), equalTo(expectedBucket.getKey()));
+                assertThat(actualBucket.getDocCount(), equalTo(expectedBucket.getDocCount()));
+                Max expectedMax = expectedBucket.getAggregations().get("max");
+                Max actualMax = actualBucket.getAggregations().get("max");
+                assertThat(actualMax.value(), equalTo(expectedMax.value()));
+            }
+            assertThat(((Sum) actual.get("sum")).value(), equalTo(((Sum) expected.get("sum")).value()));
+            Stats expectedStats = expected.get("stats");
+            Stats actualStats = actual.get("stats");
+            assertThat(actualStats.getCount(), equalTo(expectedStats.getCount()));
+            assertThat(actualStats.getMin(), equalTo(expectedStats.getMin()));
+            assertThat(actualStats.getMax(), equalTo(expectedStats.getMax()));
+            assertThat(actualStats.getSum(), equalTo(expectedStats.getSum()));
+            Cardinality expectedCardinality = expected.get("cardinality");
+            Cardinality actualCardinality = actual.get("cardinality");
+            assertThat(actualCardinality.getValue(), equalTo(expectedCardinality.getValue()));
+        } finally {
+            terminate(executor);
+            reader.close();
+            dir.close();
+        }
+    }
+
+    public void testTopBucketsAggregationsAreNotCollectedConcurrently() {
+        AggregatorFactories.Builder builder = new AggregatorFactories.Builder().addAggregator(
+            new HistogramAggregationBuilder("histo").field("number").interval(10)
+        );
+        assertTrue(builder.supportsShardLevelReduction());
+        // the top terms of each slice are not the top terms of the shard
+        builder = new AggregatorFactories.Builder().addAggregator(
+            new HistogramAggregationBuilder("histo").field("number")
+                .interval(10)
+                .subAggregation(new TermsAggregationBuilder("terms").field("number"))
+        );
+        assertFalse(builder.supportsShardLevelReduction());
+        assertFalse(new AggregatorFactories.Builder().addAggregator(new TermsAggregationBuilder("terms")).supportsShardLevelReduction());
+    }
+
+    private InternalAggregations collectSequentially(AggregatorFactories.Builder builder, IndexReader reader, Query query)
+        throws IOException {
+        ContextIndexSearcher searcher = new ContextIndexSearcher(
+            reader,
+            IndexSearcher.getDefaultSimilarity(),
+            IndexSearcher.getDefaultQueryCache(),
+            IndexSearcher.getDefaultQueryCachingPolicy(),
+            true
+        );
+        Aggregator[] aggregators = builder.build(createAggregationContext(searcher, query, NUMBER_FIELD), null)
+            .createTopLevelAggregators();
+        BucketCollector collector = MultiBucketCollector.wrap(true, List.of(aggregators));
+        collector.preCollection();
+        searcher.search(query, collector.asCollector());
+        collector.postCollection();
+        List<InternalAggregation> aggregations = new ArrayList<>(aggregators.length);
+        for (Aggregator aggregator : aggregators) {
+            aggregations.add(aggregator.buildTopLevel());
+        }
+        return finalReduce(builder, InternalAggregations.from(aggregations));
+    }
+
+    private InternalAggregations finalReduce(AggregatorFactories.Builder builder, InternalAggregations aggregations) {
+        return InternalAggregations.topLevelReduce(
+            List.of(aggregations),
+            new AggregationReduceContext.ForFinal(BigArrays.NON_RECYCLING_INSTANCE, getMockScriptService(), () -> false, builder, b -> {})
+        );
+    }
+}
@@ -58,6 +58,7 @@ import org.apache.lucene.tests.index.RandomIndexWriter;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.FixedBitSet;
 import org.elasticsearch.action.search.SearchShardTask;
+import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
 import org.elasticsearch.index.mapper.DateFieldMapper;
 import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.index.mapper.NumberFieldMapper;
@@ -76,11 +77,13 @@ import org.elasticsearch.tasks.TaskCancelHelper;
 import org.elasticsearch.tasks.TaskCancelledException;
 import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.test.TestSearchContext;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.IntUnaryOperator;
 
 import static org.elasticsearch.search.query.TopDocsCollectorContext.hasInfMaxScore;
@@ -937,6 +940,141 @@ public class QueryPhaseTests extends IndexShardTestCase {
         }
     }
 
+    public void testConcurrentCollectionMatchesSequentialCollection() throws Exception {
+        Directory dir = newDirectory();
+        IndexWriter w = new IndexWriter(dir, newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE));
+        int[] segmentSizes = new int[randomIntBetween(2, 10)];
+        List<Integer> ranks = new ArrayList<>();
+        for (int i = 0; i < segmentSizes.length; i++) {
+            segmentSizes[i] = randomIntBetween(1, 50);
+            for (int j = 0; j < segmentSizes[i]; j++) {
+                ranks.add(ranks.size());
+            }
+        }
+        // unique ranks, so that the sorted hits are the same whatever the order of collection
+        Collections.shuffle(ranks, random());
+        int numMatches = 0;
+        int doc = 0;
+        for (int segmentSize : segmentSizes) {
+            for (int j = 0; j < segmentSize; j++) {
+                Document document = new Document();
+                long rank = ranks.get(doc++);
+                document.add(new LongPoint("rank", rank));
+                document.add(new NumericDocValuesField("rank", rank));
+                if (randomBoolean()) {
+                    document.add(new StringField("foo", "bar", Store.NO));
+                    numMatches++;
+                }
+                w.addDocument(document);
+            }
+            w.flush();
+        }
+        w.close();
+        IndexReader reader = DirectoryReader.open(dir);
+
+        // a boolean query can't be counted with a shortcut, the hits are counted while collecting
+        Query query = new BooleanQuery.Builder().add(new TermQuery(new Term("foo", "bar")), Occur.MUST)
+            .add(LongPoint.newRangeQuery("rank", 0, Long.MAX_VALUE), Occur.FILTER)
+            .build();
+        Sort sort = randomBoolean() ? null : new Sort(new SortField("rank", SortField.Type.LONG, randomBoolean()));
+        int size = randomIntBetween(1, 20);
+        int trackTotalHitsUpTo = randomBoolean() ? SearchContext.TRACK_TOTAL_HITS_ACCURATE : randomIntBetween(1, numMatches * 2 + 1);
+
+        TestSearchContext sequential = newQueryPhaseContext(newContextSearcher(reader), query, sort, size, trackTotalHitsUpTo);
+        QueryPhase.executeInternal(sequential);
+        TestSearchContext concurrent = newQueryPhaseContext(newConcurrentContextSearcher(reader), query, sort, size, trackTotalHitsUpTo);
+        assertTrue(ConcurrentQueryPhaseCollectorManager.canCollectConcurrently(concurrent));
+        QueryPhase.executeInternal(concurrent);
+
+        TopDocsAndMaxScore expected = sequential.queryResult().topDocs();
+        TopDocsAndMaxScore actual = concurrent.queryResult().topDocs();
+        assertThat(actual.topDocs.scoreDocs.length, equalTo(Math.min(size, numMatches)));
+        assertThat(actual.topDocs.scoreDocs.length, equalTo(expected.topDocs.scoreDocs.length));
+        for (int i = 0; i < expected.topDocs.scoreDocs.length; i++) {
+            assertThat(actual.topDocs.scoreDocs[i].doc, equalTo(expected.topDocs.scoreDocs[i].doc));
+            if (sort != null) {
+                assertArrayEquals(((FieldDoc) expected.topDocs.scoreDocs[i]).fields, ((FieldDoc) actual.topDocs.scoreDocs[i]).fields);
+            }
+        }
+        assertEquals(expected.maxScore, actual.maxScore, 0f);
+
+        TotalHits expectedTotalHits = expected.topDocs.totalHits;
+        if (expectedTotalHits.relation == TotalHits.Relation.EQUAL_TO) {
+            assertThat(expectedTotalHits.value, equalTo((long) numMatches));
+        } else {
+            assertThat(expectedTotalHits.value, greaterThanOrEqualTo((long) trackTotalHitsUpTo));
+        }
+        // the hits of the slices are summed, but no more than the threshold are reported
+        if (numMatches <= trackTotalHitsUpTo) {
+            assertEquals(new TotalHits(numMatches, TotalHits.Relation.EQUAL_TO), actual.topDocs.totalHits);
+        } else {
+            assertEquals(new TotalHits(trackTotalHitsUpTo, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO), actual.topDocs.totalHits);
+        }
+
+        reader.close();
+        dir.close();
+    }
+
+    public void testConcurrentCollectionTimeout() throws Exception {
+        Directory dir = newDirectory();
+        IndexWriter w = new IndexWriter(dir, newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE));
+        int numSegments = randomIntBetween(2, 10);
+        for (int i = 0; i < numSegments; i++) {
+            for (int j = randomIntBetween(1, 20); j > 0; j--) {
+                Document doc = new Document();
+                doc.add(new StringField("foo", "bar", Store.NO));
+                w.addDocument(doc);
+            }
+            w.flush();
+        }
+        w.close();
+        IndexReader reader = DirectoryReader.open(dir);
+
+        List<QuerySearchResult> results = new ArrayList<>();
+        for (ContextIndexSearcher searcher : List.of(newContextSearcher(reader), newConcurrentContextSearcher(reader))) {
+            AtomicLong relativeTime = new AtomicLong();
+            TestSearchContext context = new TestSearchContext(null, indexShard, searcher) {
+                @Override
+                public long getRelativeTimeInMillis() {
+                    // the zero timeout of the test context expires as soon as the first leaf is collected
+                    return relativeTime.getAndIncrement();
+                }
+            };
+            context.parsedQuery(new ParsedQuery(new TermQuery(new Term("foo", "bar"))));
+            context.setSize(10);
+            context.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+            QueryPhase.executeInternal(context);
+            results.add(context.queryResult());
+        }
+        QuerySearchResult expected = results.get(0);
+        QuerySearchResult actual = results.get(1);
+        assertTrue(expected.searchTimedOut());
+        assertTrue(actual.searchTimedOut());
+        assertEquals(expected.topDocs().topDocs.totalHits, actual.topDocs().topDocs.totalHits);
+        assertThat(actual.topDocs().topDocs.scoreDocs.length, equalTo(expected.topDocs().topDocs.scoreDocs.length));
+
+        reader.close();
+        dir.close();
+    }
+
+    private TestSearchContext newQueryPhaseContext(
+        ContextIndexSearcher searcher,
+        Query query,
+        Sort sort,
+        int size,
+        int trackTotalHitsUpTo
+    ) {
+        TestSearchContext context = new TestSearchContext(null, indexShard, searcher);
+        context.parsedQuery(new ParsedQuery(query));
+        if (sort != null) {
+            context.sort(new SortAndFormats(sort, new DocValueFormat[] { DocValueFormat.RAW }));
+        }
+        context.setSize(size);
+        context.trackTotalHitsUpTo(trackTotalHitsUpTo);
+        context.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+        return context;
+    }
+
     private static ContextIndexSearcher newContextSearcher(IndexReader reader) throws IOException {
         return new ContextIndexSearcher(
             reader,
@@ -947,6 +1085,19 @@ public class QueryPhaseTests extends IndexShardTestCase {
         );
     }
 
+    private ContextIndexSearcher newConcurrentContextSearcher(IndexReader reader) throws IOException {
+        return new ContextIndexSearcher(
+            reader,
+            IndexSearcher.getDefaultSimilarity(),
+            IndexSearcher.getDefaultQueryCache(),
+            IndexSearcher.getDefaultQueryCachingPolicy(),
+            true,
+            threadPool.executor(ThreadPool.Names.SEARCH_WORKER),
+            randomIntBetween(2, 4),
+            1
+        );
+    }
+
     private static ContextIndexSearcher newEarlyTerminationContextSearcher(IndexReader reader, int size) throws IOException {
         return new ContextIndexSearcher(
             reader,
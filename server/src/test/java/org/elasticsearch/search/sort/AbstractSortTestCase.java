@@ -194,7 +194,11 @@ public abstract class AbstractSortTestCase<T extends SortBuilder<T>> extends EST
             return builder.build(new IndexFieldDataCache.None(), null);
         };
         NestedLookup nestedLookup = NestedLookup.build(
-            List.of(new NestedObjectMapper.Builder("path", Version.CURRENT).build(MapperBuilderContext.root(false)))
+            List.of(
+                new NestedObjectMapper.Builder("path", Version.CURRENT, query -> { throw new UnsupportedOperationException(); }).build(
+                    MapperBuilderContext.root(false)
+                )
+            )
         );
         return new SearchExecutionContext(
             0,
@@ -0,0 +1,173 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.vectors;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.KnnVectorField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.either;
+import static org.hamcrest.Matchers.instanceOf;
+
+public class FilteredKnnVectorQueryTests extends ESTestCase {
+
+    public void testExactSearchBelowThreshold() throws IOException {
+        VectorSimilarityFunction similarity = randomFrom(VectorSimilarityFunction.values());
+        int dims = randomIntBetween(2, 16);
+        int numDocs = randomIntBetween(50, 200);
+        float[][] vectors = new float[numDocs][];
+        try (Directory directory = newDirectory(); IndexWriter iw = new IndexWriter(directory, indexWriterConfig())) {
+            for (int i = 0; i < numDocs; i++) {
+                vectors[i] = randomVector(dims);
+                Document doc = new Document();
+                doc.add(new KnnVectorField("field", vectors[i], similarity));
+                doc.add(new StringField("tenant", i % 10 == 0 ? "small" : "large", Field.Store.NO));
+                iw.addDocument(doc);
+                if (rarely()) {
+                    iw.commit();
+                }
+            }
+
+            try (IndexReader reader = DirectoryReader.open(iw)) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                float[] target = randomVector(dims);
+                int k = randomIntBetween(1, 5);
+                Query filter = new TermQuery(new Term("tenant", "small"));
+                FilteredKnnVectorQuery query = new FilteredKnnVectorQuery("field", target, k, filter, numDocs);
+
+                Query rewritten = query.rewrite(reader);
+                assertThat(rewritten.toString(), containsString("exact_segments=" + reader.leaves().size()));
+                assertThat(rewritten.toString(), containsString("approximate_segments=0"));
+
+                // the exact search returns the true nearest neighbors among the filtered docs
+                List<ScoreDoc> expected = new ArrayList<>();
+                for (int doc = 0; doc < numDocs; doc += 10) {
+                    expected.add(new ScoreDoc(doc, similarity.compare(target, vectors[doc])));
+                }
+                expected.sort(Comparator.<ScoreDoc>comparingDouble(scoreDoc -> scoreDoc.score).reversed());
+                TopDocs topDocs = searcher.search(query, k);
+                assertEquals(Math.min(k, expected.size()), topDocs.scoreDocs.length);
+                for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+                    assertEquals(expected.get(i).score, topDocs.scoreDocs[i].score, 1e-5f);
+                    assertEquals(0, topDocs.scoreDocs[i].doc % 10);
+                }
+            }
+        }
+    }
+
+    public void testApproximateSearchAboveThreshold() throws IOException {
+        try (Directory directory = newDirectory(); IndexWriter iw = new IndexWriter(directory, indexWriterConfig())) {
+            for (int i = 0; i < 100; i++) {
+                Document doc = new Document();
+                doc.add(new KnnVectorField("field", randomVector(4), VectorSimilarityFunction.EUCLIDEAN));
+                doc.add(new StringField("tenant", "large", Field.Store.NO));
+                iw.addDocument(doc);
+            }
+            iw.forceMerge(1);
+
+            try (IndexReader reader = DirectoryReader.open(iw)) {
+                Query filter = new TermQuery(new Term("tenant", "large"));
+                FilteredKnnVectorQuery query = new FilteredKnnVectorQuery("field", randomVector(4), 5, filter, 0);
+                Query rewritten = query.rewrite(reader);
+                assertThat(rewritten.toString(), containsString("exact_segments=0"));
+                // the graph search may visit every node of such a small graph, in which case it falls back to an exact search
+                assertThat(
+                    rewritten.toString(),
+                    either(containsString("approximate_segments=1")).or(containsString("fallback_segments=1"))
+                );
+                assertEquals(5, new IndexSearcher(reader).search(query, 10).scoreDocs.length);
+            }
+        }
+    }
+
+    public void testByteVectors() throws IOException {
+        try (Directory directory = newDirectory(); IndexWriter iw = new IndexWriter(directory, indexWriterConfig())) {
+            for (int i = 0; i < 20; i++) {
+                Document doc = new Document();
+                doc.add(new KnnVectorField("field", new BytesRef(new byte[] { (byte) i, 1 }), VectorSimilarityFunction.EUCLIDEAN));
+                doc.add(new StringField("tenant", i % 2 == 0 ? "even" : "odd", Field.Store.NO));
+                iw.addDocument(doc);
+            }
+            iw.forceMerge(1);
+
+            try (IndexReader reader = DirectoryReader.open(iw)) {
+                Query filter = new TermQuery(new Term("tenant", "odd"));
+                FilteredKnnVectorQuery query = new FilteredKnnVectorQuery("field", new float[] { 6, 1 }, 2, filter, 100);
+                TopDocs topDocs = new IndexSearcher(reader).search(query, 2);
+                assertEquals(2, topDocs.scoreDocs.length);
+                assertEquals(5, Math.min(topDocs.scoreDocs[0].doc, topDocs.scoreDocs[1].doc));
+                assertEquals(7, Math.max(topDocs.scoreDocs[0].doc, topDocs.scoreDocs[1].doc));
+            }
+        }
+    }
+
+    public void testNoMatchingDocs() throws IOException {
+        try (Directory directory = newDirectory(); IndexWriter iw = new IndexWriter(directory, indexWriterConfig())) {
+            Document doc = new Document();
+            doc.add(new KnnVectorField("field", randomVector(2), VectorSimilarityFunction.EUCLIDEAN));
+            iw.addDocument(doc);
+            try (IndexReader reader = DirectoryReader.open(iw)) {
+                Query filter = new TermQuery(new Term("tenant", "missing"));
+                FilteredKnnVectorQuery query = new FilteredKnnVectorQuery("field", randomVector(2), 3, filter, 100);
+                assertThat(query.rewrite(reader), instanceOf(MatchNoDocsQuery.class));
+            }
+        }
+    }
+
+    public void testScoreMatchesLucene() {
+        int dims = randomIntBetween(1, 64);
+        float[] query = randomVector(dims);
+        float[] vector = randomVector(dims);
+        for (VectorSimilarityFunction similarity : VectorSimilarityFunction.values()) {
+            assertEquals(similarity.compare(query, vector), FilteredKnnVectorQuery.score(similarity, query, vector), 1e-5f);
+        }
+    }
+
+    private static IndexWriterConfig indexWriterConfig() {
+        // keep doc IDs in insertion order
+        return newIndexWriterConfig().setMergePolicy(newLogMergePolicy());
+    }
+
+    private static float[] randomVector(int dims) {
+        float[] vector = new float[dims];
+        float squaredNorm = 0f;
+        for (int i = 0; i < dims; i++) {
+            vector[i] = randomFloat() * 2 - 1;
+            squaredNorm += vector[i] * vector[i];
+        }
+        // unit length so that the vectors are valid for every similarity
+        float norm = (float) Math.sqrt(squaredNorm);
+        for (int i = 0; i < dims; i++) {
+            vector[i] = norm == 0 ? 1f / (float) Math.sqrt(dims) : vector[i] / norm;
+        }
+        return vector;
+    }
+}
@@ -91,18 +91,27 @@ public class KnnVectorQueryBuilderTests extends AbstractQueryTestCase<KnnVectorQ
 
     @Override
     protected void doAssertLuceneQuery(KnnVectorQueryBuilder queryBuilder, Query query, SearchExecutionContext context) throws IOException {
-        assertTrue(query instanceof KnnVectorQuery);
-        KnnVectorQuery knnVectorQuery = (KnnVectorQuery) query;
-
         BooleanQuery.Builder builder = new BooleanQuery.Builder();
         for (QueryBuilder qb : queryBuilder.filterQueries()) {
             builder.add(qb.toQuery(context), BooleanClause.Occur.FILTER);
         }
         BooleanQuery booleanQuery = builder.build();
-        Query filterQuery = booleanQuery.clauses().isEmpty() ? null : booleanQuery;
         // The field should always be resolved to the concrete field
-        Query knnVectorQueryBuilt = new KnnVectorQuery(VECTOR_FIELD, queryBuilder.queryVector(), queryBuilder.numCands(), filterQuery);
-        assertEquals(knnVectorQuery, knnVectorQueryBuilt);
+        Query knnVectorQueryBuilt;
+        if (booleanQuery.clauses().isEmpty()) {
+            assertThat(query, instanceOf(KnnVectorQuery.class));
+            knnVectorQueryBuilt = new KnnVectorQuery(VECTOR_FIELD, queryBuilder.queryVector(), queryBuilder.numCands(), null);
+        } else {
+            assertThat(query, instanceOf(FilteredKnnVectorQuery.class));
+            knnVectorQueryBuilt = new FilteredKnnVectorQuery(
+                VECTOR_FIELD,
+                queryBuilder.queryVector(),
+                queryBuilder.numCands(),
+                booleanQuery,
+                context.getIndexSettings().getKnnExactSearchThreshold()
+            );
+        }
+        assertEquals(knnVectorQueryBuilt, query);
     }
 
     public void testWrongDimension() {
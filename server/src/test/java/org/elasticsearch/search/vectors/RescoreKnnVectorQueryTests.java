@@ -0,0 +1,117 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.vectors;
+
+import org.apache.lucene.document.BinaryDocValuesField;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.KnnVectorField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.KnnVectorQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.tests.index.RandomIndexWriter;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class RescoreKnnVectorQueryTests extends ESTestCase {
+
+    public void testRescoreWithRawVectors() throws IOException {
+        int dims = randomIntBetween(2, 32);
+        int numDocs = randomIntBetween(10, 100);
+        float[][] vectors = new float[numDocs][];
+        try (Directory directory = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
+            for (int i = 0; i < numDocs; i++) {
+                vectors[i] = randomVector(dims);
+                iw.addDocument(document(vectors[i]));
+                if (rarely()) {
+                    iw.flush();
+                }
+            }
+
+            try (IndexReader reader = iw.getReader()) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                float[] queryVector = randomVector(dims);
+                int numCands = randomIntBetween(1, numDocs);
+                KnnVectorQuery knnQuery = new KnnVectorQuery("field", quantize(queryVector), numCands, null);
+                Query query = new RescoreKnnVectorQuery("field", queryVector, VectorSimilarityFunction.COSINE, numCands, knnQuery);
+
+                TopDocs topDocs = searcher.search(query, numDocs);
+                assertThat(topDocs.scoreDocs.length, lessThanOrEqualTo(numCands));
+                float previousScore = Float.POSITIVE_INFINITY;
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    float expected = VectorSimilarityFunction.COSINE.compare(queryVector, vectors[scoreDoc.doc]);
+                    assertEquals(expected, scoreDoc.score, 1e-5f);
+                    assertThat(scoreDoc.score, lessThanOrEqualTo(previousScore));
+                    previousScore = scoreDoc.score;
+                }
+            }
+        }
+    }
+
+    public void testRewriteToMatchNone() throws IOException {
+        try (Directory directory = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
+            iw.addDocument(new Document());
+            try (IndexReader reader = iw.getReader()) {
+                float[] queryVector = randomVector(3);
+                KnnVectorQuery knnQuery = new KnnVectorQuery("field", quantize(queryVector), 10, null);
+                Query query = new RescoreKnnVectorQuery("field", queryVector, VectorSimilarityFunction.COSINE, 10, knnQuery);
+                assertThat(query.rewrite(reader), instanceOf(MatchNoDocsQuery.class));
+            }
+        }
+    }
+
+    private static Document document(float[] vector) {
+        byte[] quantized = new byte[vector.length];
+        float[] quantizedValues = quantize(vector);
+        ByteBuffer raw = ByteBuffer.allocate(vector.length * Float.BYTES + Float.BYTES);
+        float squaredMagnitude = 0f;
+        for (int i = 0; i < vector.length; i++) {
+            quantized[i] = (byte) quantizedValues[i];
+            raw.putFloat(vector[i]);
+            squaredMagnitude += vector[i] * vector[i];
+        }
+        raw.putFloat((float) Math.sqrt(squaredMagnitude));
+        Document doc = new Document();
+        doc.add(new KnnVectorField("field", new BytesRef(quantized), VectorSimilarityFunction.COSINE));
+        doc.add(new BinaryDocValuesField("field", new BytesRef(raw.array())));
+        return doc;
+    }
+
+    private static float[] quantize(float[] vector) {
+        float maxAbs = 0f;
+        for (float value : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        float[] quantized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            quantized[i] = Math.round(vector[i] * Byte.MAX_VALUE / maxAbs);
+        }
+        return quantized;
+    }
+
+    private static float[] randomVector(int dims) {
+        float[] vector = new float[dims];
+        for (int i = 0; i < dims; i++) {
+            vector[i] = randomFloat() * 2 - 1;
+        }
+        vector[0] = 1f; // never a zero vector
+        return vector;
+    }
+}
@@ -9,6 +9,7 @@
 package org.elasticsearch.transport;
 
 import org.elasticsearch.Version;
+import org.elasticsearch.cluster.coordination.FollowersChecker;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.breaker.TestCircuitBreaker;
 import org.elasticsearch.common.bytes.BytesArray;
@@ -18,11 +19,15 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.tracing.Tracer;
 import org.junit.Before;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -49,7 +54,7 @@ public class InboundAggregatorTests extends ESTestCase {
             }
         };
         circuitBreaker = new TestCircuitBreaker();
-        aggregator = new InboundAggregator(() -> circuitBreaker, requestCanTripBreaker);
+        aggregator = new InboundAggregator(() -> circuitBreaker, requestCanTripBreaker, requestId -> true);
     }
 
     public void testInboundAggregation() throws IOException {
@@ -182,6 +187,170 @@ public class InboundAggregatorTests extends ESTestCase {
         assertFalse(aggregated3.isShortCircuit());
     }
 
+    public void testResponseIsAccountedUntilReleased() throws IOException {
+        final AtomicLong used = new AtomicLong();
+        final InboundAggregator responseAggregator = new InboundAggregator(() -> new TestCircuitBreaker() {
+            @Override
+            public void addEstimateBytesAndMaybeBreak(long bytes, String label) {
+                used.addAndGet(bytes);
+            }
+
+            @Override
+            public void addWithoutBreaking(long bytes) {
+                used.addAndGet(bytes);
+            }
+        }, action -> true, requestId -> true);
+
+        Header header = new Header(randomInt(), randomNonNegativeLong(), TransportStatus.setResponse((byte) 0), Version.CURRENT);
+        header.headers = new Tuple<>(Collections.emptyMap(), Collections.emptyMap());
+        responseAggregator.headerReceived(header);
+        final int numChunks = randomIntBetween(1, 5);
+        for (int i = 0; i < numChunks; i++) {
+            final ReleasableBytesReference content = ReleasableBytesReference.wrap(new BytesArray(randomByteArrayOfLength(10)));
+            responseAggregator.aggregate(content);
+            content.close();
+            // the response is accounted while it is aggregated
+            assertThat(used.get(), equalTo(10L * (i + 1)));
+        }
+        InboundMessage aggregated = responseAggregator.finishAggregation();
+        assertFalse(aggregated.getHeader().isRequest());
+        assertThat(used.get(), equalTo(10L * numChunks));
+        aggregated.decRef();
+        assertThat(used.get(), equalTo(0L));
+
+        // a response whose aggregation doesn't complete is released with the aggregator
+        responseAggregator.headerReceived(header);
+        final ReleasableBytesReference content = ReleasableBytesReference.wrap(new BytesArray(randomByteArrayOfLength(10)));
+        responseAggregator.aggregate(content);
+        content.close();
+        assertThat(used.get(), equalTo(10L));
+        responseAggregator.close();
+        assertThat(used.get(), equalTo(0L));
+        assertFalse(content.hasReferences());
+    }
+
+    public void testResponseCircuitBreak() throws IOException {
+        final AtomicLong used = new AtomicLong();
+        final long limit = randomLongBetween(0, 40);
+        final InboundAggregator responseAggregator = new InboundAggregator(() -> new TestCircuitBreaker() {
+            @Override
+            public void addEstimateBytesAndMaybeBreak(long bytes, String label) {
+                if (used.get() + bytes > limit) {
+                    throw new CircuitBreakingException("broken", getDurability());
+                }
+                used.addAndGet(bytes);
+            }
+
+            @Override
+            public void addWithoutBreaking(long bytes) {
+                used.addAndGet(bytes);
+            }
+        }, action -> true, requestId -> true);
+
+        // the variable header is part of the content and is discarded with the rest of the response
+        Header header = new Header(randomInt(), randomNonNegativeLong(), TransportStatus.setResponse((byte) 0), Version.CURRENT);
+        responseAggregator.headerReceived(header);
+        final ArrayList<ReleasableBytesReference> references = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final ReleasableBytesReference content = ReleasableBytesReference.wrap(new BytesArray(randomByteArrayOfLength(10)));
+            references.add(content);
+            responseAggregator.aggregate(content);
+            content.close();
+            // the content received before the breaker tripped is released straight away
+            assertThat(used.get(), equalTo(10L * (i + 1) <= limit ? 10L * (i + 1) : 0L));
+        }
+        for (ReleasableBytesReference reference : references) {
+            assertFalse(reference.hasReferences());
+        }
+
+        InboundMessage aggregated = responseAggregator.finishAggregation();
+        assertTrue(aggregated.isShortCircuit());
+        assertThat(aggregated.getException(), instanceOf(CircuitBreakingException.class));
+        assertFalse(aggregated.getHeader().isRequest());
+        assertFalse(aggregated.getHeader().needsToReadVariableHeader());
+        assertThat(used.get(), equalTo(0L));
+
+        // handshake responses are never rejected
+        Header handshakeHeader = new Header(
+            randomInt(),
+            randomNonNegativeLong(),
+            TransportStatus.setHandshake(TransportStatus.setResponse((byte) 0)),
+            Version.CURRENT
+        );
+        handshakeHeader.headers = new Tuple<>(Collections.emptyMap(), Collections.emptyMap());
+        responseAggregator.headerReceived(handshakeHeader);
+        final ReleasableBytesReference content = ReleasableBytesReference.wrap(new BytesArray(randomByteArrayOfLength(50)));
+        responseAggregator.aggregate(content);
+        content.close();
+        InboundMessage handshake = responseAggregator.finishAggregation();
+        assertFalse(handshake.isShortCircuit());
+        assertThat(used.get(), equalTo(50L));
+        handshake.decRef();
+        assertThat(used.get(), equalTo(0L));
+    }
+
+    public void testResponseToUnbreakableActionIsNotRejected() throws IOException {
+        circuitBreaker.startBreaking();
+        final long breakableRequestId = randomNonNegativeLong();
+        final long coordinationRequestId = randomValueOtherThan(breakableRequestId, ESTestCase::randomNonNegativeLong);
+        final Map<String, RequestHandlerRegistry<TransportRequest>> registries = Map.of(
+            "action_name",
+            requestHandlerRegistry("action_name", true),
+            FollowersChecker.FOLLOWER_CHECK_ACTION_NAME,
+            requestHandlerRegistry(FollowersChecker.FOLLOWER_CHECK_ACTION_NAME, false)
+        );
+        final Map<Long, String> responseActions = Map.of(
+            breakableRequestId,
+            "action_name",
+            coordinationRequestId,
+            FollowersChecker.FOLLOWER_CHECK_ACTION_NAME
+        );
+        final InboundAggregator responseAggregator = new InboundAggregator(
+            () -> circuitBreaker,
+            registries::get,
+            responseActions::get,
+            false
+        );
+
+        // the response to a coordination request goes through while the breaker is full
+        Header coordinationHeader = new Header(randomInt(), coordinationRequestId, TransportStatus.setResponse((byte) 0), Version.CURRENT);
+        coordinationHeader.headers = new Tuple<>(Collections.emptyMap(), Collections.emptyMap());
+        responseAggregator.headerReceived(coordinationHeader);
+        final ReleasableBytesReference coordinationContent = ReleasableBytesReference.wrap(new BytesArray(randomByteArrayOfLength(10)));
+        responseAggregator.aggregate(coordinationContent);
+        coordinationContent.close();
+        InboundMessage coordinationResponse = responseAggregator.finishAggregation();
+        assertFalse(coordinationResponse.isShortCircuit());
+        assertThat(coordinationResponse.getContentLength(), equalTo(10));
+        coordinationResponse.decRef();
+        assertFalse(coordinationContent.hasReferences());
+
+        // the response to a request that can trip the breaker is rejected
+        Header breakableHeader = new Header(randomInt(), breakableRequestId, TransportStatus.setResponse((byte) 0), Version.CURRENT);
+        breakableHeader.headers = new Tuple<>(Collections.emptyMap(), Collections.emptyMap());
+        responseAggregator.headerReceived(breakableHeader);
+        final ReleasableBytesReference breakableContent = ReleasableBytesReference.wrap(new BytesArray(randomByteArrayOfLength(10)));
+        responseAggregator.aggregate(breakableContent);
+        breakableContent.close();
+        InboundMessage breakableResponse = responseAggregator.finishAggregation();
+        assertTrue(breakableResponse.isShortCircuit());
+        assertThat(breakableResponse.getException(), instanceOf(CircuitBreakingException.class));
+        assertFalse(breakableContent.hasReferences());
+    }
+
+    private static RequestHandlerRegistry<TransportRequest> requestHandlerRegistry(String action, boolean canTripCircuitBreaker) {
+        return new RequestHandlerRegistry<>(
+            action,
+            TransportRequest.Empty::new,
+            null,
+            (request, channel, task) -> {},
+            ThreadPool.Names.SAME,
+            false,
+            canTripCircuitBreaker,
+            Tracer.NOOP
+        );
+    }
+
     public void testCloseWillCloseContent() {
         long requestId = randomNonNegativeLong();
         Header header = new Header(randomInt(), requestId, TransportStatus.setRequest((byte) 0), Version.CURRENT);
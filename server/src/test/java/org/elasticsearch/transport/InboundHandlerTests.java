@@ -14,6 +14,8 @@ import org.apache.logging.log4j.Logger;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
@@ -46,6 +48,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 
 public class InboundHandlerTests extends ESTestCase {
 
@@ -207,6 +210,36 @@ public class InboundHandlerTests extends ESTestCase {
         }
     }
 
+    public void testFailsResponseHandlerOnCircuitBreak() throws Exception {
+        AtomicReference<TransportException> exceptionCaptor = new AtomicReference<>();
+        long requestId = responseHandlers.add(new Transport.ResponseContext<>(new TransportResponseHandler<TestResponse>() {
+            @Override
+            public void handleResponse(TestResponse response) {
+                fail("should not receive a response");
+            }
+
+            @Override
+            public void handleException(TransportException exp) {
+                exceptionCaptor.set(exp);
+            }
+
+            @Override
+            public TestResponse read(StreamInput in) throws IOException {
+                return new TestResponse(in);
+            }
+        }, null, "test-request"));
+
+        Header responseHeader = new Header(randomInt(), requestId, TransportStatus.setResponse((byte) 0), version);
+        responseHeader.headers = new Tuple<>(Collections.emptyMap(), Collections.emptyMap());
+        CircuitBreakingException breakingException = new CircuitBreakingException("broken", CircuitBreaker.Durability.TRANSIENT);
+        handler.inboundMessage(channel, new InboundMessage(responseHeader, breakingException));
+
+        // the breaker tripped on this node, so the failure isn't reported as a remote one
+        assertThat(exceptionCaptor.get(), not(instanceOf(RemoteTransportException.class)));
+        assertSame(breakingException, exceptionCaptor.get().getCause());
+        assertNull(responseHandlers.remove(requestId));
+    }
+
     public void testSendsErrorResponseToHandshakeFromCompatibleVersion() throws Exception {
         // Nodes use their minimum compatibility version for the TCP handshake, so a node from v(major-1).x will report its version as
         // v(major-2).last in the TCP handshake, with which we are not really compatible. We put extra effort into making sure that if
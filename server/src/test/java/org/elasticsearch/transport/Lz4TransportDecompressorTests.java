@@ -27,6 +27,7 @@ import org.elasticsearch.test.ESTestCase;
 import java.io.IOException;
 import java.io.OutputStream;
 
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.lessThan;
 
 public class Lz4TransportDecompressorTests extends ESTestCase {
@@ -51,6 +52,45 @@ public class Lz4TransportDecompressorTests extends ESTestCase {
         }
     }
 
+    public void testHighCompression() throws IOException {
+        // fits in a single page
+        int intsToWrite = 2000;
+        int uncompressedLength = intsToWrite * 4;
+
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            try (
+                StreamOutput lz4BlockStream = new OutputStreamStreamOutput(
+                    Compression.Scheme.lz4HighCompressionOutputStream(Streams.flushOnCloseStream(output))
+                )
+            ) {
+                for (int i = 0; i < intsToWrite; ++i) {
+                    lz4BlockStream.writeInt(i % 100);
+                }
+            }
+
+            BytesReference bytes = output.bytes();
+            assertThat(bytes.length(), lessThan(uncompressedLength / 2));
+            assertFalse(Compression.Scheme.isLZ4(bytes));
+            assertTrue(Compression.Scheme.isLZ4HighCompression(bytes));
+
+            TransportDecompressor decompressor = TransportDecompressor.getDecompressor(recycler, bytes);
+            assertThat(decompressor, instanceOf(Lz4TransportDecompressor.class));
+            assertEquals(Compression.Scheme.LZ4_HC, decompressor.getScheme());
+            int bytesConsumed = decompressor.decompress(bytes);
+            assertEquals(bytes.length(), bytesConsumed);
+
+            try (ReleasableBytesReference reference = decompressor.pollDecompressedPage(true)) {
+                assertNull(decompressor.pollDecompressedPage(true));
+                assertEquals(uncompressedLength, reference.length());
+                StreamInput streamInput = reference.streamInput();
+                for (int i = 0; i < intsToWrite; ++i) {
+                    assertEquals(i % 100, streamInput.readInt());
+                }
+            }
+            decompressor.close();
+        }
+    }
+
     public void testMultiPageCompression() throws IOException {
         int intsToWrite = 50000;
         int uncompressedLength = intsToWrite * 4;
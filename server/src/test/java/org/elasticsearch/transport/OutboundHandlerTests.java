@@ -40,6 +40,7 @@ import org.junit.Before;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -50,6 +51,7 @@ import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class OutboundHandlerTests extends ESTestCase {
@@ -59,6 +61,7 @@ public class OutboundHandlerTests extends ESTestCase {
     private final AtomicReference<Tuple<Header, BytesReference>> message = new AtomicReference<>();
     private final BytesRefRecycler recycler = new BytesRefRecycler(PageCacheRecycler.NON_RECYCLING_INSTANCE);
     private InboundPipeline pipeline;
+    private StatsTracker statsTracker;
     private OutboundHandler handler;
     private FakeTcpChannel channel;
     private DiscoveryNode node;
@@ -70,14 +73,14 @@ public class OutboundHandlerTests extends ESTestCase {
         channel = new FakeTcpChannel(randomBoolean(), buildNewFakeTransportAddress().address(), buildNewFakeTransportAddress().address());
         TransportAddress transportAddress = buildNewFakeTransportAddress();
         node = new DiscoveryNode("", transportAddress, Version.CURRENT);
-        StatsTracker statsTracker = new StatsTracker();
-        compressionScheme = randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4);
+        statsTracker = new StatsTracker();
+        compressionScheme = randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4, Compression.Scheme.LZ4_HC);
         handler = new OutboundHandler("node", Version.CURRENT, statsTracker, threadPool, recycler, new HandlingTimeTracker(), false);
 
         final LongSupplier millisSupplier = () -> TimeValue.nsecToMSec(System.nanoTime());
         final InboundDecoder decoder = new InboundDecoder(Version.CURRENT, this.recycler);
         final Supplier<CircuitBreaker> breaker = () -> new NoopCircuitBreaker("test");
-        final InboundAggregator aggregator = new InboundAggregator(breaker, (Predicate<String>) action -> true);
+        final InboundAggregator aggregator = new InboundAggregator(breaker, (Predicate<String>) action -> true, requestId -> true);
         pipeline = new InboundPipeline(statsTracker, millisSupplier, decoder, aggregator, (c, m) -> {
             try (BytesStreamOutput streamOutput = new BytesStreamOutput()) {
                 Streams.copy(m.openOrGetStreamInput(), streamOutput);
@@ -118,6 +121,37 @@ public class OutboundHandlerTests extends ESTestCase {
         assertEquals(bytesArray, reference);
     }
 
+    public void testPendingWritesAreTrackedByType() throws IOException {
+        final TransportRequestOptions.Type type = randomFrom(TransportRequestOptions.Type.values());
+        final String queue = type.name().toLowerCase(Locale.ROOT);
+        final TestRequest request = new TestRequest("message");
+        handler.sendRequest(node, channel, 1L, "action", request, TransportRequestOptions.of(null, type), Version.CURRENT, null, false);
+        final long requestSize = channel.getMessageCaptor().get().length();
+        final ActionListener<Void> requestListener = channel.getListenerCaptor().get();
+        assertThat(statsTracker.getOutboundQueues().get(queue), equalTo(new TransportStats.OutboundQueue(1L, requestSize)));
+
+        final TestResponse response = new TestResponse("response");
+        handler.sendResponse(Version.CURRENT, channel, 2L, "action", response, null, false, null);
+        final long responseSize = channel.getMessageCaptor().get().length();
+        final ActionListener<Void> responseListener = channel.getListenerCaptor().get();
+        assertThat(
+            statsTracker.getOutboundQueues().get(TransportStats.OutboundQueue.RESPONSES),
+            equalTo(new TransportStats.OutboundQueue(1L, responseSize))
+        );
+
+        if (randomBoolean()) {
+            requestListener.onResponse(null);
+        } else {
+            requestListener.onFailure(new IOException("failed"));
+        }
+        assertThat(statsTracker.getOutboundQueues().get(queue), equalTo(new TransportStats.OutboundQueue(0L, 0L)));
+        responseListener.onResponse(null);
+        assertThat(
+            statsTracker.getOutboundQueues().get(TransportStats.OutboundQueue.RESPONSES),
+            equalTo(new TransportStats.OutboundQueue(0L, 0L))
+        );
+    }
+
     public void testSendRequest() throws IOException {
         ThreadContext threadContext = threadPool.getThreadContext();
         Version version = randomFrom(Version.CURRENT, Version.CURRENT.minimumCompatibilityVersion());
@@ -125,8 +159,8 @@ public class OutboundHandlerTests extends ESTestCase {
         long requestId = randomLongBetween(0, 300);
         boolean isHandshake = randomBoolean();
         boolean compress = randomBoolean();
-        boolean compressUnsupportedDueToVersion = compressionScheme == Compression.Scheme.LZ4
-            && version.before(Compression.Scheme.LZ4_VERSION);
+        boolean compressUnsupportedDueToVersion = (compressionScheme == Compression.Scheme.LZ4
+            || compressionScheme == Compression.Scheme.LZ4_HC) && version.before(Compression.Scheme.LZ4_VERSION);
         String value = "message";
         threadContext.putHeader("header", "header_value");
         TestRequest request = new TestRequest(value);
@@ -198,8 +232,8 @@ public class OutboundHandlerTests extends ESTestCase {
         long requestId = randomLongBetween(0, 300);
         boolean isHandshake = randomBoolean();
         boolean compress = randomBoolean();
-        boolean compressUnsupportedDueToVersion = compressionScheme == Compression.Scheme.LZ4
-            && version.before(Compression.Scheme.LZ4_VERSION);
+        boolean compressUnsupportedDueToVersion = (compressionScheme == Compression.Scheme.LZ4
+            || compressionScheme == Compression.Scheme.LZ4_HC) && version.before(Compression.Scheme.LZ4_VERSION);
 
         String value = "message";
         threadContext.putHeader("header", "header_value");
@@ -217,9 +251,9 @@ public class OutboundHandlerTests extends ESTestCase {
             }
         });
         if (compress) {
-            handler.sendResponse(version, channel, requestId, action, response, compressionScheme, isHandshake);
+            handler.sendResponse(version, channel, requestId, action, response, compressionScheme, isHandshake, null);
         } else {
-            handler.sendResponse(version, channel, requestId, action, response, null, isHandshake);
+            handler.sendResponse(version, channel, requestId, action, response, null, isHandshake, null);
         }
 
         BytesReference reference = channel.getMessageCaptor().get();
@@ -277,7 +311,7 @@ public class OutboundHandlerTests extends ESTestCase {
                 responseRef.set(error);
             }
         });
-        handler.sendErrorResponse(version, channel, requestId, action, error);
+        handler.sendErrorResponse(version, channel, requestId, action, error, null);
 
         BytesReference reference = channel.getMessageCaptor().get();
         ActionListener<Void> sendListener = channel.getListenerCaptor().get();
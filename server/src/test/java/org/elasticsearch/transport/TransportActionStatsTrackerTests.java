@@ -0,0 +1,75 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.network.HandlingTimeTracker;
+import org.elasticsearch.test.ESTestCase;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+public class TransportActionStatsTrackerTests extends ESTestCase {
+
+    public void testSizeHistogram() {
+        final long[] upperBounds = TransportActionStatsTracker.getSizeBucketUpperBounds();
+        final long[] expectedCounts = new long[upperBounds.length + 1];
+        final TransportActionStatsTracker tracker = new TransportActionStatsTracker();
+        long expectedTotalSize = 0;
+        long expectedResponses = 0;
+        for (int i = between(0, 1000); i > 0; i--) {
+            final int bucket = between(0, expectedCounts.length - 1);
+            expectedCounts[bucket] += 1;
+
+            final long lowerBound = bucket == 0 ? 0 : upperBounds[bucket - 1];
+            final long upperBound = bucket == upperBounds.length ? Integer.MAX_VALUE : upperBounds[bucket] - 1;
+            final long size = randomLongBetween(lowerBound, upperBound);
+            expectedTotalSize += size;
+            tracker.addRequest(size);
+            if (randomBoolean()) {
+                expectedResponses += 1;
+                tracker.addResponse(size, 0L);
+            }
+        }
+
+        final TransportActionStats stats = tracker.getStats();
+        assertThat(tracker.hasRequests(), equalTo(stats.getRequestCount() > 0));
+        assertThat(stats.getTotalRequestSize(), equalTo(expectedTotalSize));
+        assertArrayEquals(expectedCounts, stats.getRequestSizeHistogram());
+        assertThat(stats.getResponseCount(), equalTo(expectedResponses));
+        assertThat(stats.getSerializationTimeHistogram()[0], equalTo(expectedResponses));
+    }
+
+    public void testTimeHistograms() {
+        final TransportActionStatsTracker tracker = new TransportActionStatsTracker();
+        tracker.addQueueTime(0L);
+        tracker.addHandlingTime(3L);
+        tracker.addResponse(randomNonNegativeLong(), 128L);
+
+        final TransportActionStats stats = tracker.getStats();
+        final long[] expected = new long[HandlingTimeTracker.BUCKET_COUNT];
+        expected[0] = 1;
+        assertArrayEquals(expected, stats.getQueueTimeHistogram());
+        expected[0] = 0;
+        expected[2] = 1;
+        assertArrayEquals(expected, stats.getHandlingTimeHistogram());
+        expected[2] = 0;
+        expected[8] = 1;
+        assertArrayEquals(expected, stats.getSerializationTimeHistogram());
+        assertThat(stats.getRequestCount(), equalTo(0L));
+        assertFalse(tracker.hasRequests());
+    }
+
+    public void testSizeBoundsConsistency() {
+        final long[] upperBounds = TransportActionStatsTracker.getSizeBucketUpperBounds();
+        assertThat(upperBounds[0], greaterThan(0L));
+        for (int i = 1; i < upperBounds.length; i++) {
+            assertThat(upperBounds[i], greaterThan(upperBounds[i - 1]));
+        }
+    }
+}
@@ -65,7 +65,8 @@ public class MapperTestUtils {
             mapperRegistry,
             () -> null,
             indexSettings.getMode().idFieldMapperWithoutFieldData(),
-            ScriptCompiler.NONE
+            ScriptCompiler.NONE,
+            query -> { throw new UnsupportedOperationException(); }
         );
     }
 }
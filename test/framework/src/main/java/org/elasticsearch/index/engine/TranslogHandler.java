@@ -60,7 +60,8 @@ public class TranslogHandler implements Engine.TranslogRecoveryRunner {
             mapperRegistry,
             () -> null,
             indexSettings.getMode().idFieldMapperWithoutFieldData(),
-            null
+            null,
+            query -> { throw new UnsupportedOperationException(); }
         );
     }
 
@@ -47,7 +47,8 @@ public class TestDocumentParserContext extends DocumentParserContext {
                 null,
                 null,
                 MapperTestCase.createIndexSettings(Version.CURRENT, Settings.EMPTY),
-                null
+                null,
+                query -> null
             ),
             source
         );
@@ -32,7 +32,8 @@ public class TestTransportChannels {
             version,
             null,
             false,
-            () -> {}
+            () -> {},
+            null
         );
     }
 }
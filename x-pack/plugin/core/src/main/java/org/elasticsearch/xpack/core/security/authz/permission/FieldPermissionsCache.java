@@ -45,6 +45,7 @@ public final class FieldPermissionsCache {
         this.cache = CacheBuilder.<FieldPermissionsDefinition, FieldPermissions>builder()
             .setMaximumWeight(CACHE_SIZE_SETTING.get(settings))
             .weigher((key, fieldPermissions) -> fieldPermissions.ramBytesUsed())
+            .setFrequencyAwareEviction(true)
             .build();
     }
 
@@ -139,14 +139,14 @@ public class CompositeRolesStore {
         this.privilegeStore = Objects.requireNonNull(privilegeStore);
         this.dlsBitsetCache = Objects.requireNonNull(dlsBitsetCache);
         this.fieldPermissionsCache = Objects.requireNonNull(fieldPermissionsCache);
-        CacheBuilder<RoleKey, Role> builder = CacheBuilder.builder();
+        CacheBuilder<RoleKey, Role> builder = CacheBuilder.<RoleKey, Role>builder().setFrequencyAwareEviction(true);
         final int cacheSize = CACHE_SIZE_SETTING.get(settings);
         if (cacheSize >= 0) {
             builder.setMaximumWeight(cacheSize);
         }
         this.roleCache = builder.build();
         this.roleCacheHelper = new CacheIteratorHelper<>(roleCache);
-        CacheBuilder<String, Boolean> nlcBuilder = CacheBuilder.builder();
+        CacheBuilder<String, Boolean> nlcBuilder = CacheBuilder.<String, Boolean>builder().setFrequencyAwareEviction(true);
         final int nlcCacheSize = NEGATIVE_LOOKUP_CACHE_SIZE_SETTING.get(settings);
         if (nlcCacheSize >= 0) {
             nlcBuilder.setMaximumWeight(nlcCacheSize);
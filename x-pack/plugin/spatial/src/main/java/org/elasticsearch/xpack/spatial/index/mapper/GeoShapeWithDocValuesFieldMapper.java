@@ -38,6 +38,7 @@ import org.elasticsearch.index.mapper.Mapper;
 import org.elasticsearch.index.mapper.MapperBuilderContext;
 import org.elasticsearch.index.mapper.MapperParsingException;
 import org.elasticsearch.index.mapper.MappingParserContext;
+import org.elasticsearch.index.mapper.SourceLoader;
 import org.elasticsearch.index.query.QueryShardException;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.legacygeo.mapper.LegacyGeoShapeFieldMapper;
@@ -157,6 +158,7 @@ public class GeoShapeWithDocValuesFieldMapper extends AbstractShapeGeometryField
                 copyTo.build(),
                 new GeoShapeIndexer(orientation.get().value(), ft.name()),
                 parser,
+                context.isSourceSynthetic(),
                 this
             );
         }
@@ -266,6 +268,7 @@ public class GeoShapeWithDocValuesFieldMapper extends AbstractShapeGeometryField
 
     private final Builder builder;
     private final GeoShapeIndexer indexer;
+    private final boolean isSyntheticSource;
 
     public GeoShapeWithDocValuesFieldMapper(
         String simpleName,
@@ -274,6 +277,7 @@ public class GeoShapeWithDocValuesFieldMapper extends AbstractShapeGeometryField
         CopyTo copyTo,
         GeoShapeIndexer indexer,
         GeoShapeParser parser,
+        boolean isSyntheticSource,
         Builder builder
     ) {
         super(
@@ -289,6 +293,7 @@ public class GeoShapeWithDocValuesFieldMapper extends AbstractShapeGeometryField
         );
         this.builder = builder;
         this.indexer = indexer;
+        this.isSyntheticSource = isSyntheticSource;
     }
 
     @Override
@@ -312,6 +317,9 @@ public class GeoShapeWithDocValuesFieldMapper extends AbstractShapeGeometryField
         } else if (fieldType().isIndexed()) {
             context.addToFieldNames(fieldType().name());
         }
+        if (isSyntheticSource) {
+            storeForSyntheticSource(context, geometry);
+        }
     }
 
     @Override
@@ -319,6 +327,11 @@ public class GeoShapeWithDocValuesFieldMapper extends AbstractShapeGeometryField
         return CONTENT_TYPE;
     }
 
+    @Override
+    public SourceLoader.SyntheticFieldLoader syntheticFieldLoader() {
+        return storedShapeSyntheticFieldLoader();
+    }
+
     @Override
     public FieldMapper.Builder getMergeBuilder() {
         return new Builder(
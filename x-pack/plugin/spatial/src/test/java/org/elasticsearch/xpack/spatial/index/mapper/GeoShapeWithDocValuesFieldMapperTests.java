@@ -26,7 +26,9 @@ import org.junit.AssumptionViolatedException;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
@@ -377,7 +379,40 @@ public class GeoShapeWithDocValuesFieldMapperTests extends GeoFieldMapperTests {
 
     @Override
     protected SyntheticSourceSupport syntheticSourceSupport(boolean ignoreMalformed) {
-        throw new AssumptionViolatedException("not supported");
+        assumeFalse("synthetic _source doesn't support malformed shapes", ignoreMalformed);
+        return new SyntheticSourceSupport() {
+            @Override
+            public SyntheticSourceExample example(int maxValues) {
+                if (randomBoolean()) {
+                    Map<String, Object> point = randomPoint();
+                    return new SyntheticSourceExample(point, point, b -> minimalMapping(b));
+                }
+                // Shapes are loaded from a stored copy so they keep their order and duplicates
+                List<Map<String, Object>> points = randomList(1, maxValues, this::randomPoint);
+                Object out = points.size() == 1 ? points.get(0) : points;
+                return new SyntheticSourceExample(points, out, b -> minimalMapping(b));
+            }
+
+            private Map<String, Object> randomPoint() {
+                Map<String, Object> point = new LinkedHashMap<>();
+                point.put("type", "Point");
+                point.put("coordinates", List.of((double) between(-180, 180), (double) between(-90, 90)));
+                return point;
+            }
+
+            @Override
+            public List<SyntheticSourceInvalidExample> invalidExample() throws IOException {
+                return List.of(
+                    new SyntheticSourceInvalidExample(
+                        equalTo("field [field] of type [geo_shape] doesn't support synthetic source because it ignores malformed shapes"),
+                        b -> {
+                            minimalMapping(b);
+                            b.field("ignore_malformed", true);
+                        }
+                    )
+                );
+            }
+        };
     }
 
     @Override